@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+#
+# Throughput benchmark for POST /api/mortgage/calculate/batch.
+#
+# Posts a deterministic batch of loans several times and reports loans per second for the best
+# round. To size replicas, run it against the image with different CPU limits, e.g.
+#
+#   for cpus in 1 2 4 8; do
+#     docker run -d --rm --name mortgage-bench --cpus="$cpus" -p 8080:8080 mortgage-calculator-api
+#     sleep 20
+#     ./scripts/benchmark-batch.sh http://localhost:8080 10000 5
+#     docker stop mortgage-bench
+#   done
+#
+# The batch pool is sized from the processors the JVM sees, so --cpus is all that needs to change.
+#
+# Usage: benchmark-batch.sh [base-url] [loans] [rounds] [detail]
+
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080}"
+LOANS="${2:-10000}"
+ROUNDS="${3:-5}"
+DETAIL="${4:-summary}"
+
+BODY="$(mktemp)"
+trap 'rm -f "$BODY"' EXIT
+
+# Varied amounts, rates, terms and buydowns, reseeded every round so the result cache never answers
+generate_batch() {
+  awk -v n="$LOANS" -v seed="$1" 'BEGIN {
+    srand(seed)
+    split("15 20 30", terms, " ")
+    split("NONE TWO_ONE THREE_TWO_ONE", buydowns, " ")
+    split("FIXED VARIABLE", types, " ")
+    printf "{\"loans\":["
+    for (i = 0; i < n; i++) {
+      if (i > 0) printf ","
+      printf "{\"loanAmount\":%.2f,\"interestRate\":%.2f,\"loanTermYears\":%d,\"mortgageType\":\"%s\",\"paymentFrequency\":\"MONTHLY\",\"buydownType\":\"%s\",\"additionalPrincipalPayment\":%d}",
+        50000 + rand() * 900000, 2 + rand() * 8, terms[1 + int(rand() * 3)], types[1 + int(rand() * 2)],
+        buydowns[1 + int(rand() * 3)], (rand() < 0.5 ? 0 : 100)
+    }
+    printf "]}"
+  }'
+}
+
+echo "Posting $LOANS loans to $BASE_URL ($ROUNDS rounds, detail=$DETAIL)"
+best=""
+for round in $(seq 1 "$ROUNDS"); do
+  generate_batch "$round" > "$BODY"
+  seconds=$(curl -sS -o /dev/null -w '%{time_total}' \
+    -H 'Content-Type: application/json' --data-binary "@$BODY" \
+    "$BASE_URL/api/mortgage/calculate/batch?detail=$DETAIL")
+  rate=$(awk -v n="$LOANS" -v s="$seconds" 'BEGIN { printf "%.0f", n / s }')
+  echo "  round $round: ${seconds}s, $rate loans/s"
+  if [[ -z "$best" || "$rate" -gt "$best" ]]; then
+    best="$rate"
+  fi
+done
+echo "Best: $best loans/s"
@@ -1,19 +1,28 @@
 package com.mortgagecalculator;
 
+import com.mortgagecalculator.config.MortgageProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
-@EnableConfigurationProperties
+@EnableConfigurationProperties(MortgageProperties.class)
 public class MortgageCalculatorApplication implements WebMvcConfigurer {
 
     public static void main(String[] args) {
         SpringApplication.run(MortgageCalculatorApplication.class, args);
     }
 
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Lenient enum binding so query parameters such as ?detail=summary are accepted
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Get allowed origins from environment or use defaults
@@ -0,0 +1,455 @@
+package com.mortgagecalculator.config;
+
+import com.mortgagecalculator.enums.CalculationEngine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Application settings bound from {@code app.mortgage.*}
+ */
+@ConfigurationProperties(prefix = "app.mortgage")
+public class MortgageProperties {
+
+    /**
+     * Engine used when a request does not select one explicitly. LONG_CENTS is opt-in: its amounts are
+     * the same, but all at cent scale, so zeros read {@code 0.00} rather than {@code 0}
+     */
+    private CalculationEngine engine = CalculationEngine.BIG_DECIMAL;
+
+    /**
+     * Largest number of rows a single schedule page may return
+     */
+    private int maxSchedulePageSize = 600;
+
+    /**
+     * Number of recent calculation and comparison IDs that can be looked up again
+     */
+    private long maxIndexedIds = 10_000;
+
+    /**
+     * Largest number of loans accepted by one batch request
+     */
+    private int maxBatchSize = 10_000;
+
+    /**
+     * Largest total number of schedule rows a batch may return when full detail is requested
+     */
+    private int maxBatchScheduleRows = 200_000;
+
+    /**
+     * Worker threads for batch calculations; 0 uses every processor available to the container
+     */
+    private int batchParallelism = 0;
+
+    /**
+     * Loans a streaming batch may have parsed but not yet written; bounds memory and lets a slow
+     * client throttle reading and calculation
+     */
+    private int streamBufferSize = 256;
+
+    /**
+     * Largest number of options accepted by one comparison request
+     */
+    private int maxComparisonOptions = 50;
+
+    /**
+     * Worker threads evaluating comparison options concurrently; 0 uses every processor available
+     */
+    private int comparisonParallelism = 0;
+
+    /**
+     * Options listed per metric in a comparison's best-by-metric selection
+     */
+    private int comparisonTopK = 3;
+
+    /**
+     * Largest number of rate x term x frequency cells in one grid request
+     */
+    private int maxGridCells = 10_000;
+
+    /**
+     * Evaluate batch payment quotes with the SIMD kernel; needs {@code --add-modules jdk.incubator.vector}
+     * at run time, and falls back to the scalar kernel without it
+     */
+    private boolean vectorPaymentKernel = false;
+
+    /**
+     * Write full-detail calculation responses row by row as the engine steps, instead of building the
+     * schedule and serializing it afterwards; the JSON is the same either way
+     */
+    private boolean streamScheduleJson = true;
+
+    /**
+     * Number of recent calculations whose yearly balance checkpoints are kept, for what-if requests and
+     * again for balance quotes
+     */
+    private long maxCheckpointedCalculations = 1_000;
+
+    private final AnnuityCache annuityCache = new AnnuityCache();
+
+    private final ResultCache resultCache = new ResultCache();
+
+    private final Simulation simulation = new Simulation();
+
+    private final Arm arm = new Arm();
+
+    public CalculationEngine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(CalculationEngine engine) {
+        this.engine = engine;
+    }
+
+    public int getMaxSchedulePageSize() {
+        return maxSchedulePageSize;
+    }
+
+    public void setMaxSchedulePageSize(int maxSchedulePageSize) {
+        this.maxSchedulePageSize = maxSchedulePageSize;
+    }
+
+    public long getMaxIndexedIds() {
+        return maxIndexedIds;
+    }
+
+    public void setMaxIndexedIds(long maxIndexedIds) {
+        this.maxIndexedIds = maxIndexedIds;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxBatchScheduleRows() {
+        return maxBatchScheduleRows;
+    }
+
+    public void setMaxBatchScheduleRows(int maxBatchScheduleRows) {
+        this.maxBatchScheduleRows = maxBatchScheduleRows;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+
+    public int getStreamBufferSize() {
+        return streamBufferSize;
+    }
+
+    public void setStreamBufferSize(int streamBufferSize) {
+        this.streamBufferSize = streamBufferSize;
+    }
+
+    public int getMaxComparisonOptions() {
+        return maxComparisonOptions;
+    }
+
+    public void setMaxComparisonOptions(int maxComparisonOptions) {
+        this.maxComparisonOptions = maxComparisonOptions;
+    }
+
+    public int getComparisonParallelism() {
+        return comparisonParallelism;
+    }
+
+    public void setComparisonParallelism(int comparisonParallelism) {
+        this.comparisonParallelism = comparisonParallelism;
+    }
+
+    public int getComparisonTopK() {
+        return comparisonTopK;
+    }
+
+    public void setComparisonTopK(int comparisonTopK) {
+        this.comparisonTopK = comparisonTopK;
+    }
+
+    public int getMaxGridCells() {
+        return maxGridCells;
+    }
+
+    public void setMaxGridCells(int maxGridCells) {
+        this.maxGridCells = maxGridCells;
+    }
+
+    public boolean isVectorPaymentKernel() {
+        return vectorPaymentKernel;
+    }
+
+    public void setVectorPaymentKernel(boolean vectorPaymentKernel) {
+        this.vectorPaymentKernel = vectorPaymentKernel;
+    }
+
+    public boolean isStreamScheduleJson() {
+        return streamScheduleJson;
+    }
+
+    public void setStreamScheduleJson(boolean streamScheduleJson) {
+        this.streamScheduleJson = streamScheduleJson;
+    }
+
+    public long getMaxCheckpointedCalculations() {
+        return maxCheckpointedCalculations;
+    }
+
+    public void setMaxCheckpointedCalculations(long maxCheckpointedCalculations) {
+        this.maxCheckpointedCalculations = maxCheckpointedCalculations;
+    }
+
+    public AnnuityCache getAnnuityCache() {
+        return annuityCache;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    public Arm getArm() {
+        return arm;
+    }
+
+    /**
+     * Settings for the calculation result cache ({@code app.mortgage.result-cache.*})
+     */
+    public static class ResultCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Upper bound on the estimated heap retained by cached results
+         */
+        private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+        /**
+         * How long a result stays cached after it was computed
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(DataSize maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * Settings for the shared annuity-factor cache ({@code app.mortgage.annuity-cache.*})
+     */
+    public static class AnnuityCache {
+
+        /**
+         * Largest number of rate/term/frequency factors kept in memory
+         */
+        private long maximumSize = 10_000;
+
+        private final Prewarm prewarm = new Prewarm();
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Prewarm getPrewarm() {
+            return prewarm;
+        }
+    }
+
+    /**
+     * Rate sheet loaded into the annuity-factor cache at startup, for every payment frequency
+     */
+    public static class Prewarm {
+
+        private boolean enabled = false;
+
+        /**
+         * Lowest annual rate, in percent
+         */
+        private BigDecimal minRate = new BigDecimal("2");
+
+        /**
+         * Highest annual rate, in percent
+         */
+        private BigDecimal maxRate = new BigDecimal("12");
+
+        /**
+         * Step between rates, in percent
+         */
+        private BigDecimal rateStep = new BigDecimal("0.125");
+
+        /**
+         * Loan terms, in years
+         */
+        private List<Integer> termYears = List.of(10, 15, 20, 30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public BigDecimal getMinRate() {
+            return minRate;
+        }
+
+        public void setMinRate(BigDecimal minRate) {
+            this.minRate = minRate;
+        }
+
+        public BigDecimal getMaxRate() {
+            return maxRate;
+        }
+
+        public void setMaxRate(BigDecimal maxRate) {
+            this.maxRate = maxRate;
+        }
+
+        public BigDecimal getRateStep() {
+            return rateStep;
+        }
+
+        public void setRateStep(BigDecimal rateStep) {
+            this.rateStep = rateStep;
+        }
+
+        public List<Integer> getTermYears() {
+            return termYears;
+        }
+
+        public void setTermYears(List<Integer> termYears) {
+            this.termYears = termYears;
+        }
+    }
+
+    /**
+     * Settings for variable-rate Monte Carlo simulations ({@code app.mortgage.simulation.*})
+     */
+    public static class Simulation {
+
+        /**
+         * Rate paths simulated when a request does not say
+         */
+        private int defaultPaths = 10_000;
+
+        /**
+         * Largest number of rate paths in one request
+         */
+        private int maxPaths = 100_000;
+
+        /**
+         * Worker threads simulating paths; 0 uses every processor available to the container
+         */
+        private int parallelism = 0;
+
+        /**
+         * Local CSV of monthly rate observations ({@code date,ratePercent} per line) resampled by the
+         * HISTORICAL model; the model is unavailable when unset
+         */
+        private String historicalRates;
+
+        public int getDefaultPaths() {
+            return defaultPaths;
+        }
+
+        public void setDefaultPaths(int defaultPaths) {
+            this.defaultPaths = defaultPaths;
+        }
+
+        public int getMaxPaths() {
+            return maxPaths;
+        }
+
+        public void setMaxPaths(int maxPaths) {
+            this.maxPaths = maxPaths;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public String getHistoricalRates() {
+            return historicalRates;
+        }
+
+        public void setHistoricalRates(String historicalRates) {
+            this.historicalRates = historicalRates;
+        }
+    }
+
+    /**
+     * Settings for adjustable-rate mortgages ({@code app.mortgage.arm.*})
+     */
+    public static class Arm {
+
+        /**
+         * Local CSV of index observations ({@code date,ratePercent} per line) read at each reset; without
+         * it, requests must give a flat index rate
+         */
+        private String indexRates;
+
+        /**
+         * Days before a rate change on which the index is read when a request does not say
+         */
+        private int lookbackDays = 45;
+
+        public String getIndexRates() {
+            return indexRates;
+        }
+
+        public void setIndexRates(String indexRates) {
+            this.indexRates = indexRates;
+        }
+
+        public int getLookbackDays() {
+            return lookbackDays;
+        }
+
+        public void setLookbackDays(int lookbackDays) {
+            this.lookbackDays = lookbackDays;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/v1/export")
@@ -140,7 +141,7 @@ public class ExportController {
         }
     }
 
-    @Operation(summary = "Get mortgage calculation by ID for export")
+    @Operation(summary = "Get mortgage calculation by ID for export", description = "Recomputes a recently issued calculation from its content-addressed ID. Returns 404 once the ID has aged out of the in-memory index; post the inputs again to reissue it")
     @GetMapping("/mortgage/{calculationId}")
     public ResponseEntity<MortgageCalculationDto> getMortgageForExport(
             @Parameter(description = "Calculation ID") @PathVariable String calculationId) {
@@ -148,16 +149,17 @@ public class ExportController {
         logger.info("Retrieving mortgage calculation for export: {}", calculationId);
 
         try {
-            // For now, return a basic response since we don't have persistence yet
-            // This endpoint would be useful when we add database integration
-            return ResponseEntity.notFound().build();
+            // The ID is derived from the inputs, so with the engine it is a strong ETag; If-None-Match yields 304
+            return mortgageCalculationService.findCalculation(calculationId)
+                    .map(calculation -> ResponseEntity.ok().eTag(etag(calculationId)).body(calculation))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             logger.error("Error retrieving mortgage calculation: {}", calculationId, e);
             throw new RuntimeException("Failed to retrieve calculation", e);
         }
     }
 
-    @Operation(summary = "Get mortgage comparison by ID for export")
+    @Operation(summary = "Get mortgage comparison by ID for export", description = "Recomputes a recently issued comparison from its content-addressed ID. Returns 404 once the ID has aged out of the in-memory index; post the inputs again to reissue it")
     @GetMapping("/comparison/{comparisonId}")
     public ResponseEntity<MortgageComparisonDto> getComparisonForExport(
             @Parameter(description = "Comparison ID") @PathVariable String comparisonId) {
@@ -165,15 +167,23 @@ public class ExportController {
         logger.info("Retrieving mortgage comparison for export: {}", comparisonId);
 
         try {
-            // For now, return a basic response since we don't have persistence yet
-            // This endpoint would be useful when we add database integration
-            return ResponseEntity.notFound().build();
+            return mortgageCalculationService.findComparison(comparisonId)
+                    .map(comparison -> ResponseEntity.ok().eTag(etag(comparisonId)).body(comparison))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             logger.error("Error retrieving mortgage comparison: {}", comparisonId, e);
             throw new RuntimeException("Failed to retrieve comparison", e);
         }
     }
 
+    /**
+     * Lookups recompute with the configured engine, whose schedules differ from the other's in the scale
+     * of zero amounts
+     */
+    private String etag(String id) {
+        return id + "-" + mortgageCalculationService.resolveEngine(null).name().toLowerCase(Locale.ROOT);
+    }
+
     private String generateFilename(String prefix, String extension) {
         String timestamp = LocalDateTime.now().format(FILENAME_FORMATTER);
         return String.format("%s_%s.%s", prefix, timestamp, extension);
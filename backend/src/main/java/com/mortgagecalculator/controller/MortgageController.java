@@ -1,7 +1,22 @@
 package com.mortgagecalculator.controller;
 
 import com.mortgagecalculator.dto.*;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.ScheduleField;
+import com.mortgagecalculator.service.ArmService;
+import com.mortgagecalculator.service.BatchCalculationService;
+import com.mortgagecalculator.service.BinaryCalculationWriter;
+import com.mortgagecalculator.service.CalculationJsonWriter;
+import com.mortgagecalculator.service.CalculationOptions;
+import com.mortgagecalculator.service.ExtraPaymentService;
+import com.mortgagecalculator.service.GoalSeekService;
 import com.mortgagecalculator.service.MortgageCalculationService;
+import com.mortgagecalculator.service.PaymentQuoteService;
+import com.mortgagecalculator.service.RateTermGridService;
+import com.mortgagecalculator.service.SimulationService;
+import com.mortgagecalculator.service.StreamedCalculation;
+import com.mortgagecalculator.service.WhatIfService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,14 +24,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -27,28 +51,98 @@ public class MortgageController {
     private static final Logger logger = LoggerFactory.getLogger(MortgageController.class);
 
     private final MortgageCalculationService calculationService;
+    private final BatchCalculationService batchCalculationService;
+    private final RateTermGridService gridService;
+    private final GoalSeekService goalSeekService;
+    private final ExtraPaymentService extraPaymentService;
+    private final WhatIfService whatIfService;
+    private final SimulationService simulationService;
+    private final ArmService armService;
+    private final PaymentQuoteService paymentQuoteService;
+    private final CalculationJsonWriter calculationJsonWriter;
+    private final BinaryCalculationWriter binaryCalculationWriter;
 
     @Autowired
-    public MortgageController(MortgageCalculationService calculationService) {
+    public MortgageController(MortgageCalculationService calculationService,
+            BatchCalculationService batchCalculationService, RateTermGridService gridService,
+            GoalSeekService goalSeekService, ExtraPaymentService extraPaymentService, WhatIfService whatIfService,
+            SimulationService simulationService, ArmService armService, PaymentQuoteService paymentQuoteService,
+            CalculationJsonWriter calculationJsonWriter, BinaryCalculationWriter binaryCalculationWriter) {
         this.calculationService = calculationService;
+        this.batchCalculationService = batchCalculationService;
+        this.gridService = gridService;
+        this.goalSeekService = goalSeekService;
+        this.extraPaymentService = extraPaymentService;
+        this.whatIfService = whatIfService;
+        this.simulationService = simulationService;
+        this.armService = armService;
+        this.paymentQuoteService = paymentQuoteService;
+        this.calculationJsonWriter = calculationJsonWriter;
+        this.binaryCalculationWriter = binaryCalculationWriter;
     }
 
-    @Operation(summary = "Calculate mortgage payment and amortization schedule", description = "Calculates monthly payment, total interest, and generates complete amortization schedule for a mortgage")
+    @Operation(summary = "Calculate mortgage payment and amortization schedule", description = "Calculates monthly payment, total interest, and generates complete amortization schedule for a mortgage. With detail=summary only the totals are computed and the schedule is left empty. With fields=... each schedule row carries only the named columns. Full-detail results are written row by row as the schedule is computed (app.mortgage.stream-schedule-json)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Calculation completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MortgageCalculationDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input parameters", content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
     })
     @PostMapping("/calculate")
-    public ResponseEntity<MortgageCalculationDto> calculateMortgage(
-            @Parameter(description = "Mortgage calculation input parameters", required = true) @Valid @RequestBody MortgageInputDto input) {
+    public ResponseEntity<?> calculateMortgage(
+            @Parameter(description = "Mortgage calculation input parameters", required = true) @Valid @RequestBody MortgageInputDto input,
+            @Parameter(description = "Calculation engine override (defaults to app.mortgage.engine)") @RequestParam(required = false) CalculationEngine engine,
+            @Parameter(description = "Result detail level") @RequestParam(defaultValue = "FULL") DetailLevel detail,
+            @Parameter(description = "Schedule columns to return, comma separated row field names such as remainingBalance,interestPayment; all when omitted. Columns left out are not computed where they cost work of their own") @RequestParam(required = false) List<String> fields) {
+        // Outside the try, so an unknown field name reaches the exception handler with its message
+        CalculationOptions options = new CalculationOptions(engine, detail, ScheduleField.parse(fields));
         try {
             logger.info("Received mortgage calculation request for loan amount: {}", input.loanAmount());
 
-            MortgageCalculationDto result = calculationService.calculateMortgage(input);
+            StreamedCalculation calculation = calculationService.prepareCalculation(input, options);
+            String calculationId = calculation.result().calculationId();
+            if (!calculation.isStreamed()) {
+                logger.info("Mortgage calculation completed successfully with ID: {}", calculationId);
+                return ResponseEntity.ok().eTag(etag(calculationId, options)).body(calculation.result());
+            }
+
+            // Inputs are validated and totals known; the schedule rows are computed as they are written
+            logger.info("Streaming mortgage calculation with ID: {}", calculationId);
+            StreamingResponseBody body = output -> calculationJsonWriter.write(calculation, output);
+            return ResponseEntity.ok().eTag(etag(calculationId, options)).contentType(MediaType.APPLICATION_JSON).body(body);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid input for mortgage calculation: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error calculating mortgage", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Calculate a mortgage in the compact binary format", description = "Same calculation as the JSON endpoint, selected with Accept: " + BinaryCalculationWriter.MEDIA_TYPE + ". The body is the JSON result with an empty schedule, followed by the schedule as delta-encoded integer columns; frontend/src/services/scheduleBinary.ts decodes it back to the JSON shape")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calculation completed successfully", content = @Content(mediaType = BinaryCalculationWriter.MEDIA_TYPE)),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/calculate", produces = BinaryCalculationWriter.MEDIA_TYPE)
+    public ResponseEntity<byte[]> calculateMortgageBinary(
+            @Parameter(description = "Mortgage calculation input parameters", required = true) @Valid @RequestBody MortgageInputDto input,
+            @Parameter(description = "Calculation engine override (defaults to app.mortgage.engine)") @RequestParam(required = false) CalculationEngine engine,
+            @Parameter(description = "Result detail level") @RequestParam(defaultValue = "FULL") DetailLevel detail,
+            @Parameter(description = "Schedule columns to return, comma separated row field names such as remainingBalance,interestPayment; all when omitted. Columns left out are not computed where they cost work of their own") @RequestParam(required = false) List<String> fields) {
+        // Outside the try, so an unknown field name reaches the exception handler with its message
+        CalculationOptions options = new CalculationOptions(engine, detail, ScheduleField.parse(fields));
+        try {
+            logger.info("Received binary mortgage calculation request for loan amount: {}", input.loanAmount());
+
+            MortgageCalculationDto result = calculationService.calculateMortgage(input, options);
 
             logger.info("Mortgage calculation completed successfully with ID: {}", result.calculationId());
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok()
+                .eTag(etag(result.calculationId(), options) + "-binary")
+                .contentType(MediaType.parseMediaType(BinaryCalculationWriter.MEDIA_TYPE))
+                .body(binaryCalculationWriter.write(result));
 
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid input for mortgage calculation: {}", e.getMessage());
@@ -59,7 +153,52 @@ public class MortgageController {
         }
     }
 
-    @Operation(summary = "Compare multiple mortgage options", description = "Compares 2-5 different mortgage options side by side and highlights the best choices")
+    @Operation(summary = "Calculate many mortgages in one request", description = "Calculates every loan in parallel on a work-stealing pool sized to the available processors. Each loan is validated independently and reported with its result or error, in request order. Only totals are returned unless detail=full")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; individual loans may have failed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchCalculationResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/calculate/batch")
+    public ResponseEntity<BatchCalculationResultDto> calculateBatch(
+            @Parameter(description = "Loans to calculate", required = true) @Valid @RequestBody BatchCalculationRequestDto request,
+            @Parameter(description = "Calculation engine override (defaults to app.mortgage.engine)") @RequestParam(required = false) CalculationEngine engine,
+            @Parameter(description = "Result detail level") @RequestParam(defaultValue = "SUMMARY") DetailLevel detail) {
+        try {
+            BatchCalculationResultDto result = batchCalculationService.calculateBatch(request.loans(), new CalculationOptions(engine, detail));
+
+            logger.info("Batch calculation completed: {} succeeded, {} failed", result.succeeded(), result.failed());
+            return ResponseEntity.ok(result);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch calculation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error calculating batch", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Stream a batch of mortgages as NDJSON", description = "Send one MortgageInputDto per line (application/x-ndjson). One BatchItemResultDto line is written per loan as soon as it completes, so lines arrive out of order and carry the loan's index. Memory use is independent of batch size, and a slow reader throttles calculation. Only totals are returned unless detail=full")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Results streamed; individual loans may have failed", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BatchItemResultDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(value = "/calculate/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBatch(
+            HttpServletRequest request,
+            @Parameter(description = "Calculation engine override (defaults to app.mortgage.engine)") @RequestParam(required = false) CalculationEngine engine,
+            @Parameter(description = "Result detail level") @RequestParam(defaultValue = "SUMMARY") DetailLevel detail) throws IOException {
+        logger.info("Received streaming batch calculation request");
+
+        InputStream input = request.getInputStream();
+        CalculationOptions options = new CalculationOptions(engine, detail);
+        StreamingResponseBody body = output -> batchCalculationService.streamBatch(input, output, options);
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Compare multiple mortgage options", description = "Compares 2 or more mortgage options (up to app.mortgage.max-comparison-options, default 50) side by side, calculating them concurrently, and ranks them by total cost. With fields=... each schedule row carries only the named columns")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Comparison completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = MortgageComparisonDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input parameters or insufficient mortgage options", content = @Content(mediaType = "application/json")),
@@ -67,14 +206,19 @@ public class MortgageController {
     })
     @PostMapping("/compare")
     public ResponseEntity<MortgageComparisonDto> compareMortgages(
-            @Parameter(description = "List of mortgage options to compare (2-5 mortgages)", required = true) @Valid @RequestBody MortgageComparisonRequestDto request) {
+            @Parameter(description = "List of mortgage options to compare (at least 2)", required = true) @Valid @RequestBody MortgageComparisonRequestDto request,
+            @Parameter(description = "Calculation engine override (defaults to app.mortgage.engine)") @RequestParam(required = false) CalculationEngine engine,
+            @Parameter(description = "Result detail level") @RequestParam(defaultValue = "FULL") DetailLevel detail,
+            @Parameter(description = "Schedule columns to return, comma separated row field names such as remainingBalance,interestPayment; all when omitted. Columns left out are not computed where they cost work of their own") @RequestParam(required = false) List<String> fields) {
+        // Outside the try, so an unknown field name reaches the exception handler with its message
+        CalculationOptions options = new CalculationOptions(engine, detail, ScheduleField.parse(fields));
         try {
             logger.info("Received mortgage comparison request for {} options", request.mortgages().size());
 
-            MortgageComparisonDto result = calculationService.compareMortgages(request);
+            MortgageComparisonDto result = calculationService.compareMortgages(request, options);
 
             logger.info("Mortgage comparison completed successfully with ID: {}", result.comparisonId());
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok().eTag(etag(result.comparisonId(), options)).body(result);
 
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid input for mortgage comparison: {}", e.getMessage());
@@ -85,6 +229,272 @@ public class MortgageController {
         }
     }
 
+    @Operation(summary = "Compare mortgage options in the compact binary format", description = "Same comparison as the JSON endpoint, selected with Accept: " + BinaryCalculationWriter.MEDIA_TYPE + ". The body is the JSON result with empty schedules, followed by each option's schedule as delta-encoded integer columns")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Comparison completed successfully", content = @Content(mediaType = BinaryCalculationWriter.MEDIA_TYPE)),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters or insufficient mortgage options"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/compare", produces = BinaryCalculationWriter.MEDIA_TYPE)
+    public ResponseEntity<byte[]> compareMortgagesBinary(
+            @Parameter(description = "List of mortgage options to compare (at least 2)", required = true) @Valid @RequestBody MortgageComparisonRequestDto request,
+            @Parameter(description = "Calculation engine override (defaults to app.mortgage.engine)") @RequestParam(required = false) CalculationEngine engine,
+            @Parameter(description = "Result detail level") @RequestParam(defaultValue = "FULL") DetailLevel detail,
+            @Parameter(description = "Schedule columns to return, comma separated row field names such as remainingBalance,interestPayment; all when omitted. Columns left out are not computed where they cost work of their own") @RequestParam(required = false) List<String> fields) {
+        // Outside the try, so an unknown field name reaches the exception handler with its message
+        CalculationOptions options = new CalculationOptions(engine, detail, ScheduleField.parse(fields));
+        try {
+            logger.info("Received binary mortgage comparison request for {} options", request.mortgages().size());
+
+            MortgageComparisonDto result = calculationService.compareMortgages(request, options);
+
+            logger.info("Mortgage comparison completed successfully with ID: {}", result.comparisonId());
+            return ResponseEntity.ok()
+                .eTag(etag(result.comparisonId(), options) + "-binary")
+                .contentType(MediaType.parseMediaType(BinaryCalculationWriter.MEDIA_TYPE))
+                .body(binaryCalculationWriter.write(result));
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid input for mortgage comparison: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error comparing mortgages", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Price a loan across rates, terms and frequencies", description = "Computes the regular payment and total interest of a fixed-rate loan for every rate x term x frequency combination in one request, without building schedules. Results are returned as flat columns")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Grid computed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = RateTermGridDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters or too many cells", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/grid")
+    public ResponseEntity<RateTermGridDto> calculateGrid(
+            @Parameter(description = "Loan amount and the rate, term and frequency axes", required = true) @Valid @RequestBody RateTermGridRequestDto request) {
+        try {
+            logger.info("Received grid request for {} rates x {} terms", request.interestRates().size(), request.loanTermYears().size());
+
+            RateTermGridDto grid = gridService.calculateGrid(request);
+
+            return ResponseEntity.ok(grid);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid grid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error computing grid", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Quote payments for many loans", description = "Computes the level payment and total interest of thousands of fixed-rate loans given as parallel columns, in one vectorized pass over primitive arrays when app.mortgage.vector-payment-kernel is enabled. Payments are within a cent of a full calculation; total interest is the level-annuity total and may differ from a cent-rounded schedule by a few dollars on long terms")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quotes computed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaymentQuoteDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters, columns of different lengths or too many loans", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/payments/batch")
+    public ResponseEntity<PaymentQuoteDto> quotePayments(
+            @Parameter(description = "Loan amounts, rates, terms and frequencies as parallel columns", required = true) @Valid @RequestBody PaymentQuoteRequestDto request) {
+        try {
+            logger.info("Received payment quote request for {} loans", request.loanAmounts().size());
+
+            PaymentQuoteDto result = paymentQuoteService.quote(request);
+
+            return ResponseEntity.ok(result);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid payment quote request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error quoting payments", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Solve for loan amount, rate or term", description = "Finds the largest loan amount, highest rate or shortest term whose payment does not exceed a target, without building a schedule. Returns the solved value, the achieved payment, the residual and the iterations used")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Solved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = GoalSeekResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters or no value meets the target", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/solve")
+    public ResponseEntity<GoalSeekResultDto> solve(
+            @Parameter(description = "Parameter to solve for, target payment and the rest of the loan", required = true) @Valid @RequestBody GoalSeekRequestDto request) {
+        try {
+            logger.info("Received goal-seek request for {} at payment {}", request.solveFor(), request.targetPayment());
+
+            GoalSeekResultDto result = goalSeekService.solve(request);
+
+            return ResponseEntity.ok(result);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid goal-seek request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error solving goal-seek request", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Payoff time across extra payment amounts", description = "Returns payoff date and total interest for up to 200 evenly spaced extra principal payments at the loan's additional payment frequency, and optionally the smallest extra that repays the loan within a target term, without building schedules")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Curve computed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ExtraPaymentSweepDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters or no extra payment meets the target term", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/extra-payments")
+    public ResponseEntity<ExtraPaymentSweepDto> sweepExtraPayments(
+            @Parameter(description = "Loan, extra payment range and optional target term", required = true) @Valid @RequestBody ExtraPaymentSweepRequestDto request) {
+        try {
+            logger.info("Received extra payment sweep request up to {} with target term {}", request.maxExtra(), request.targetTermYears());
+
+            ExtraPaymentSweepDto sweep = extraPaymentService.sweep(request);
+
+            return ResponseEntity.ok(sweep);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid extra payment sweep request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error computing extra payment sweep", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Simulate a variable-rate mortgage", description = "Amortizes a VARIABLE mortgage along simulated rate paths (Vasicek, CIR, or monthly changes resampled from a configured historical series), re-solving the payment at every rate reset, and returns P5/P50/P95 of the highest payment, total interest and final rate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Simulation completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SimulationResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters, a loan that is not variable-rate, or too many paths", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/simulate")
+    public ResponseEntity<SimulationResultDto> simulate(
+            @Parameter(description = "Variable-rate loan and rate model", required = true) @Valid @RequestBody SimulationRequestDto request) {
+        try {
+            logger.info("Received simulation request for {} paths with the {} model", request.paths(), request.model());
+
+            SimulationResultDto result = simulationService.simulate(request);
+
+            return ResponseEntity.ok(result);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid simulation request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error running simulation", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Calculate an adjustable-rate mortgage", description = "Amortizes a 5/1, 7/6 or 10/6 ARM, or a custom reset schedule, over an index series: each reset rate is the index plus the margin, rounded to the nearest 0.125 and limited by the initial, periodic and lifetime caps and the floor, and the payment is re-solved only at resets. The index comes from app.mortgage.arm.index-rates unless the request holds it flat")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calculation completed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArmCalculationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters, missing terms, or no index available for a reset date", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/arm")
+    public ResponseEntity<ArmCalculationDto> calculateArm(
+            @Parameter(description = "Loan, ARM terms and optional flat index", required = true) @Valid @RequestBody ArmRequestDto request) {
+        try {
+            logger.info("Received adjustable-rate calculation request for product {}", request.product());
+
+            ArmCalculationDto result = armService.calculate(request);
+
+            return ResponseEntity.ok(result);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid adjustable-rate request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error calculating adjustable-rate mortgage", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Change the extra payments of a previous calculation", description = "Applies a new additional principal payment and/or a lump sum from one payment onwards to a recently issued calculation. Earlier payments are not recomputed: the engine resumes from the base schedule's yearly balance checkpoint and returns only the rows from the change on, with the new totals. Returns 404 once the ID has aged out of the in-memory index")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "What-if computed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = WhatIfResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid change or a payment number past the end of the base schedule", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Base calculation ID is unknown or has expired", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/what-if")
+    public ResponseEntity<WhatIfResultDto> whatIf(
+            @Parameter(description = "Base calculation ID and the change to its extra payments", required = true) @Valid @RequestBody WhatIfRequestDto request) {
+        try {
+            logger.info("Received what-if request on {} from payment {}", request.baseCalculationId(), request.fromPayment());
+
+            return whatIfService.recalculate(request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid what-if request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error computing what-if request", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Get a window of the amortization schedule", description = "Computes only the requested payments. Pass nextCursor from the previous page to resume from its balance checkpoint instead of recomputing earlier payments")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule window computed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SchedulePageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters, window or cursor", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/schedule")
+    public ResponseEntity<SchedulePageDto> getSchedulePage(
+            @Parameter(description = "Mortgage calculation input parameters", required = true) @Valid @RequestBody MortgageInputDto input,
+            @Parameter(description = "Payment number to start from (ignored when a cursor is given)") @RequestParam(defaultValue = "1") int from,
+            @Parameter(description = "Maximum number of payments to return") @RequestParam(defaultValue = "120") int limit,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor) {
+        try {
+            logger.info("Received schedule page request from payment {} (limit {})", from, limit);
+
+            SchedulePageDto page = calculationService.getSchedulePage(input, from, limit, cursor);
+
+            return ResponseEntity.ok(page);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid schedule page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error computing schedule page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Operation(summary = "Get the loan balance after a payment", description = "Returns remaining balance (payoff amount), cumulative interest and cumulative principal after a payment number or on a date, to the cent of the full schedule but without building it. The first quote on a loan records its yearly balances; later quotes resume from the nearest one, so the cost does not grow with the payment number")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quote computed successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BalanceQuoteDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters, payment number or date", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/balance")
+    public ResponseEntity<BalanceQuoteDto> getBalanceQuote(
+            @Parameter(description = "Mortgage calculation input parameters", required = true) @Valid @RequestBody MortgageInputDto input,
+            @Parameter(description = "Payment number to quote after") @RequestParam(required = false) Integer period,
+            @Parameter(description = "Quote after the last payment on or before this date (ISO yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Date of the first payment (overrides the input start date, which defaults to today)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate) {
+        try {
+            logger.info("Received balance quote request for payment {} / date {}", period, date);
+
+            BalanceQuoteDto quote = calculationService.getBalanceQuote(input, period, date, startDate);
+
+            return ResponseEntity.ok(quote);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid balance quote request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error computing balance quote", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Operation(summary = "Health check endpoint", description = "Returns the health status of the mortgage calculation service")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Service is healthy", content = @Content(mediaType = "application/json"))
@@ -105,4 +515,17 @@ public class MortgageController {
                 "mortgageTypes", com.mortgagecalculator.model.MortgageType.values(),
                 "paymentFrequencies", com.mortgagecalculator.model.PaymentFrequency.values()));
     }
-}
\ No newline at end of file
+
+    /**
+     * IDs are content-addressed, so they double as entity tags. Summary and projected responses carry a
+     * different body, and so do the two engines' schedules, which differ in the scale of zero amounts;
+     * summaries are the same whichever engine is requested
+     */
+    private String etag(String id, CalculationOptions options) {
+        if (options.summaryOnly()) {
+            return id + "-summary";
+        }
+        String tag = id + "-" + calculationService.resolveEngine(options.engine()).name().toLowerCase(Locale.ROOT);
+        return options.projected() ? tag + "-fields-" + Integer.toHexString(ScheduleField.bits(options.fields())) : tag;
+    }
+}
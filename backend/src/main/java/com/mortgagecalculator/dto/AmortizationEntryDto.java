@@ -1,11 +1,13 @@
 package com.mortgagecalculator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
-@Schema(description = "Single payment entry in the amortization schedule")
+@Schema(description = "Single payment entry in the amortization schedule; fields left out by a projection are omitted")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record AmortizationEntryDto(
 
         @Schema(description = "Payment number in sequence", example = "1") Integer paymentNumber,
@@ -26,5 +28,5 @@ public record AmortizationEntryDto(
 
         @Schema(description = "Interest rate applicable for this payment period", example = "6.50") BigDecimal interestRate,
 
-        @Schema(description = "Interest saved compared to regular payment schedule", example = "123.45") BigDecimal interestSaved) {
+        @Schema(description = "Interest saved so far against the same loan without extra payments; on the final payment it includes the interest that loan would still pay, so it is the total saving", example = "123.45") BigDecimal interestSaved) {
 }
\ No newline at end of file
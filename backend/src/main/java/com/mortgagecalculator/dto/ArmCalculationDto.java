@@ -0,0 +1,36 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.enums.ArmProduct;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Schedule of an adjustable-rate mortgage with every rate reset it reaches")
+public record ArmCalculationDto(
+
+        @Schema(description = "Standard product requested, if any", example = "SEVEN_SIX") ArmProduct product,
+
+        @Schema(description = "Payments at the initial rate", example = "84") Integer fixedPayments,
+
+        @Schema(description = "Payments between later resets", example = "6") Integer resetPayments,
+
+        @Schema(description = "Regular payment at the initial rate", example = "2528.27") BigDecimal initialPayment,
+
+        @Schema(description = "Highest annual rate charged, in percent", example = "8.5") BigDecimal maxRate,
+
+        @Schema(description = "Highest regular payment", example = "2911.05") BigDecimal maxPayment,
+
+        @Schema(description = "Resets made before the loan is repaid") List<ArmResetDto> resets,
+
+        @Schema(description = "Total interest paid", example = "521903.77") BigDecimal totalInterest,
+
+        @Schema(description = "Loan amount plus total interest", example = "921903.77") BigDecimal totalAmountPaid,
+
+        @Schema(description = "Payment number of the final payment", example = "360") Integer payoffPaymentNumber,
+
+        @Schema(description = "Date of the final payment", example = "2054-07-05") LocalDate payoffDate,
+
+        @Schema(description = "Every payment of the schedule") List<AmortizationEntryDto> amortizationSchedule) {
+}
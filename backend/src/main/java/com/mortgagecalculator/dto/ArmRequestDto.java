@@ -0,0 +1,67 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.enums.ArmProduct;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Adjustable-rate mortgage: a standard product or custom reset schedule, with margin, caps and floor over an index")
+public record ArmRequestDto(
+
+        @NotNull(message = "Mortgage is required")
+        @Valid
+        @Schema(description = "The loan; interestRate is the initial rate, and it may not be interest-only or carry a buydown")
+        MortgageInputDto mortgage,
+
+        @Schema(description = "Standard product supplying the reset schedule and caps; fields set below override it", example = "SEVEN_SIX")
+        ArmProduct product,
+
+        @Min(value = 1, message = "Initial fixed period must be at least 1 year")
+        @Max(value = 30, message = "Initial fixed period cannot exceed 30 years")
+        @Schema(description = "Years at the initial rate; required without a product", example = "7")
+        Integer initialFixedYears,
+
+        @Min(value = 1, message = "Reset interval must be at least 1 month")
+        @Max(value = 120, message = "Reset interval cannot exceed 120 months")
+        @Schema(description = "Months between later resets; required without a product", example = "6")
+        Integer resetIntervalMonths,
+
+        @NotNull(message = "Margin is required")
+        @DecimalMin(value = "0.0", message = "Margin cannot be negative")
+        @DecimalMax(value = "10.0", message = "Margin cannot exceed 10 percentage points")
+        @Schema(description = "Percentage points added to the index", example = "2.75")
+        BigDecimal margin,
+
+        @DecimalMin(value = "0.0", message = "Initial cap cannot be negative")
+        @Schema(description = "Most the rate may move at the first reset, in percentage points; defaults to the product's", example = "5")
+        BigDecimal initialCap,
+
+        @DecimalMin(value = "0.0", message = "Periodic cap cannot be negative")
+        @Schema(description = "Most the rate may move at each later reset, in percentage points; defaults to the product's", example = "1")
+        BigDecimal periodicCap,
+
+        @DecimalMin(value = "0.0", message = "Lifetime cap cannot be negative")
+        @Schema(description = "Most the rate may ever rise above the initial rate, in percentage points; defaults to the product's", example = "5")
+        BigDecimal lifetimeCap,
+
+        @DecimalMin(value = "0.0", message = "Floor cannot be negative")
+        @DecimalMax(value = "30.0", message = "Floor cannot exceed 30%")
+        @Schema(description = "Lowest rate ever charged, in percent; defaults to the margin", example = "2.75")
+        BigDecimal floor,
+
+        @DecimalMin(value = "-5.0", message = "Index rate cannot be below -5%")
+        @DecimalMax(value = "30.0", message = "Index rate cannot exceed 30%")
+        @Schema(description = "Hold the index at this value in percent instead of reading app.mortgage.arm.index-rates", example = "4.30")
+        BigDecimal indexRate,
+
+        @Min(value = 0, message = "Lookback cannot be negative")
+        @Max(value = 365, message = "Lookback cannot exceed 365 days")
+        @Schema(description = "Days before each rate change on which the index is read; defaults to app.mortgage.arm.lookback-days", example = "45")
+        Integer lookbackDays) {
+}
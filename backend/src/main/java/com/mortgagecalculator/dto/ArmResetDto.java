@@ -0,0 +1,24 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "One rate change of an adjustable-rate mortgage")
+public record ArmResetDto(
+
+        @Schema(description = "First payment at the new rate", example = "85") Integer paymentNumber,
+
+        @Schema(description = "Date of that payment", example = "2032-01-01") LocalDate paymentDate,
+
+        @Schema(description = "Date the index was read", example = "2031-11-17") LocalDate indexDate,
+
+        @Schema(description = "Index value in percent", example = "4.30") BigDecimal indexRate,
+
+        @Schema(description = "Index plus margin, rounded to the nearest 0.125, before caps and floor", example = "7.125") BigDecimal fullyIndexedRate,
+
+        @Schema(description = "Annual rate charged from this payment, in percent", example = "7.125") BigDecimal rate,
+
+        @Schema(description = "Regular payment re-solved at this reset", example = "2691.42") BigDecimal payment) {
+}
@@ -0,0 +1,24 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Loan position after a given payment, computed without building the schedule")
+public record BalanceQuoteDto(
+
+        @Schema(description = "Payment number the quote applies to (0 before the first payment)", example = "60") Integer paymentNumber,
+
+        @Schema(description = "Date of that payment; null before the first payment") LocalDate paymentDate,
+
+        @Schema(description = "Remaining balance after the payment, i.e. the payoff amount", example = "373781.16") BigDecimal remainingBalance,
+
+        @Schema(description = "Interest paid up to and including the payment", example = "124329.96") BigDecimal cumulativeInterest,
+
+        @Schema(description = "Principal, including additional principal, paid up to and including the payment", example = "26218.84") BigDecimal cumulativePrincipal,
+
+        @Schema(description = "Whether the loan is fully repaid by this payment") Boolean paidOff,
+
+        @Schema(description = "Payment number on which the loan is repaid early because of additional principal; null if it runs to term", example = "287") Integer payoffPaymentNumber) {
+}
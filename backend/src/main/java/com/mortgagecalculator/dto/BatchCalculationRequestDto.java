@@ -0,0 +1,13 @@
+package com.mortgagecalculator.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Request to calculate many mortgages in one call")
+public record BatchCalculationRequestDto(
+
+        // Items are validated one by one so a bad loan fails only its own entry
+        @NotEmpty(message = "At least one loan is required") @Schema(description = "Loans to calculate; each is validated and reported independently") List<MortgageInputDto> loans) {
+}
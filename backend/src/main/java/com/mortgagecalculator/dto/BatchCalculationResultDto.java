@@ -0,0 +1,15 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Results of a batch calculation, in request order")
+public record BatchCalculationResultDto(
+
+        @Schema(description = "One entry per requested loan") List<BatchItemResultDto> results,
+
+        @Schema(description = "Number of loans calculated successfully", example = "9998") Integer succeeded,
+
+        @Schema(description = "Number of loans that failed validation or calculation", example = "2") Integer failed) {
+}
@@ -0,0 +1,13 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome for one loan of a batch")
+public record BatchItemResultDto(
+
+        @Schema(description = "Position of the loan in the request", example = "0") Integer index,
+
+        @Schema(description = "Calculation result; absent when the loan failed") MortgageCalculationDto result,
+
+        @Schema(description = "Why the loan could not be calculated; absent on success", example = "interestRate: Interest rate cannot exceed 30%") String error) {
+}
@@ -0,0 +1,13 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Best mortgage options for one metric")
+public record BestOptionsDto(
+
+        @Schema(description = "Name of the metric; lower is better", example = "Total Interest") String metric,
+
+        @Schema(description = "Positions of the best options in the request, best first", example = "[2, 0, 1]") List<Integer> optionIndexes) {
+}
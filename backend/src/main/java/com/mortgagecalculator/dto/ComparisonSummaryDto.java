@@ -12,5 +12,11 @@ public record ComparisonSummaryDto(
 
         @Schema(description = "Best (lowest) total interest among all options", example = "200000.00") BigDecimal bestTotalInterest,
 
-        @Schema(description = "Detailed differences between mortgage options") List<ComparisonDifferenceDto> differences) {
+        @Schema(description = "Differences between the first two mortgage options") List<ComparisonDifferenceDto> differences,
+
+        @Schema(description = "Differences between every pair of options, one matrix per metric") List<DifferenceMatrixDto> differenceMatrix,
+
+        @Schema(description = "Best options for each metric, up to app.mortgage.comparison-top-k per metric") List<BestOptionsDto> bestByMetric,
+
+        @Schema(description = "Every option ranked by total amount paid, then payment; ties keep request order") List<RankedOptionDto> ranking) {
 }
\ No newline at end of file
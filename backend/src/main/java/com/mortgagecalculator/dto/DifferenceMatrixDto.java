@@ -0,0 +1,17 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Signed differences between every pair of mortgage options for one metric")
+public record DifferenceMatrixDto(
+
+        @Schema(description = "Name of the metric being compared", example = "Monthly Payment") String metric,
+
+        @Schema(description = "Unit of the differences: CURRENCY, or DAYS for the payoff date", example = "CURRENCY") String unit,
+
+        @Schema(description = "Row i, column j holds option i minus option j, so negative values favour option i; "
+                + "null where either option has no value") List<List<BigDecimal>> values) {
+}
@@ -0,0 +1,20 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Smallest extra payment that repays the loan within a target term")
+public record ExtraPaymentSolutionDto(
+
+        @Schema(description = "Requested term in years", example = "20") Integer targetTermYears,
+
+        @Schema(description = "Smallest extra payment, to the cent, that meets the target", example = "812.47") BigDecimal requiredExtra,
+
+        @Schema(description = "Payment number of the final payment with that extra", example = "240") Integer payoffPaymentNumber,
+
+        @Schema(description = "Date of the final payment with that extra", example = "2045-01-01") LocalDate payoffDate,
+
+        @Schema(description = "Total interest paid with that extra", example = "201834.55") BigDecimal totalInterest) {
+}
@@ -0,0 +1,30 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Payoff curve over extra payment amounts in columnar form: entry i of every list describes the i-th extra payment")
+public record ExtraPaymentSweepDto(
+
+        @Schema(description = "How often the extra payment is made", example = "MONTHLY") AdditionalPaymentFrequency additionalPaymentFrequency,
+
+        @Schema(description = "Number of scheduled payments without any extra", example = "360") Integer scheduledPayments,
+
+        @Schema(description = "Total interest without any extra", example = "263616.00") BigDecimal baselineTotalInterest,
+
+        @Schema(description = "Extra payment amounts on the curve") List<BigDecimal> extraPayments,
+
+        @Schema(description = "Payment number of the final payment for each extra") List<Integer> payoffPaymentNumbers,
+
+        @Schema(description = "Date of the final payment for each extra") List<LocalDate> payoffDates,
+
+        @Schema(description = "Total interest for each extra, equal to that of a full calculation with the extra") List<BigDecimal> totalInterest,
+
+        @Schema(description = "Interest saved against no extra payments, for each extra") List<BigDecimal> interestSaved,
+
+        @Schema(description = "Extra payment needed to meet targetTermYears; absent when no target was given") ExtraPaymentSolutionDto solution) {
+}
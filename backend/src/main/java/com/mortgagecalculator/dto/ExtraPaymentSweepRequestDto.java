@@ -0,0 +1,37 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Payoff time across a range of extra principal payments, and the extra needed to pay off by a target term")
+public record ExtraPaymentSweepRequestDto(
+
+        @NotNull(message = "Mortgage is required")
+        @Valid
+        @Schema(description = "The loan; additionalPaymentFrequency sets how often the extra is paid and additionalPrincipalPayment is ignored")
+        MortgageInputDto mortgage,
+
+        @DecimalMin(value = "0.0", message = "Minimum extra payment cannot be negative")
+        @Schema(description = "Smallest extra payment on the curve; defaults to 0", example = "0.00")
+        BigDecimal minExtra,
+
+        @DecimalMin(value = "0.0", message = "Maximum extra payment cannot be negative")
+        @Schema(description = "Largest extra payment on the curve; omit to skip the curve", example = "2000.00")
+        BigDecimal maxExtra,
+
+        @Min(value = 2, message = "A curve needs at least 2 points")
+        @Max(value = 200, message = "A curve may have at most 200 points")
+        @Schema(description = "Evenly spaced points on the curve, including both ends; defaults to 50", example = "50")
+        Integer points,
+
+        @Min(value = 1, message = "Target term must be at least 1 year")
+        @Max(value = 50, message = "Target term cannot exceed 50 years")
+        @Schema(description = "Solve for the smallest extra payment that repays the loan within this many years", example = "20")
+        Integer targetTermYears) {
+}
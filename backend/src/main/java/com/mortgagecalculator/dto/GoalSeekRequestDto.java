@@ -0,0 +1,27 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.enums.GoalSeekTarget;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Find the loan amount, rate or term that meets a target payment")
+public record GoalSeekRequestDto(
+
+        @NotNull(message = "Parameter to solve for is required")
+        @Schema(description = "Loan parameter to solve for", example = "LOAN_AMOUNT")
+        GoalSeekTarget solveFor,
+
+        @NotNull(message = "Target payment is required")
+        @DecimalMin(value = "0.01", message = "Target payment must be positive")
+        @Schema(description = "Payment to meet, compared with the monthlyPayment a calculation reports", example = "2500.00")
+        BigDecimal targetPayment,
+
+        // Validated by the solver once the solved parameter has been filled in
+        @NotNull(message = "Mortgage is required")
+        @Schema(description = "The loan; the parameter being solved for may be omitted and is ignored. "
+                + "When solving for the loan amount, property value is ignored")
+        MortgageInputDto mortgage) {
+}
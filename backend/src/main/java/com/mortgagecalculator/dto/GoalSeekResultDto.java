@@ -0,0 +1,24 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.enums.GoalSeekTarget;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Solution of a goal-seek query")
+public record GoalSeekResultDto(
+
+        @Schema(description = "Loan parameter solved for", example = "LOAN_AMOUNT") GoalSeekTarget solveFor,
+
+        @Schema(description = "Solved value: an amount, a rate in percent or a term in years", example = "395432.17") BigDecimal solvedValue,
+
+        @Schema(description = "Requested payment", example = "2500.00") BigDecimal targetPayment,
+
+        @Schema(description = "Payment a calculation with the solved value reports", example = "2499.99") BigDecimal payment,
+
+        @Schema(description = "Target minus achieved payment; never negative", example = "0.01") BigDecimal residual,
+
+        @Schema(description = "How the first estimate was found: ANALYTIC (formula inverted directly) or NEWTON", example = "ANALYTIC") String method,
+
+        @Schema(description = "Newton steps plus exact payment evaluations used", example = "4") Integer iterations) {
+}
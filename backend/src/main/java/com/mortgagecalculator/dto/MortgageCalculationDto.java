@@ -14,9 +14,12 @@ public record MortgageCalculationDto(
 
         @Schema(description = "Total number of payments", example = "360") Integer totalPayments,
 
-        @Schema(description = "Complete amortization schedule") List<AmortizationEntryDto> amortizationSchedule,
+        @Schema(description = "Complete amortization schedule; empty when only the summary was requested") List<AmortizationEntryDto> amortizationSchedule,
 
         @Schema(description = "Loan summary information") MortgageSummaryDto summary,
 
-        @Schema(description = "Unique identifier for this calculation") String calculationId) {
+        @Schema(description = "Content-addressed identifier: 'calc_' followed by the first 16 hex digits (64 bits) of a "
+                + "SHA-256 over the canonicalized inputs and the engine version. Identical inputs always get the same ID, "
+                + "which, suffixed with the engine or detail level, is also the response ETag. Collisions are not expected "
+                + "below millions of live IDs; if one occurs, lookup by ID returns 404 instead of another calculation", example = "calc_3f9a1c2e7b4d6a80") String calculationId) {
 }
\ No newline at end of file
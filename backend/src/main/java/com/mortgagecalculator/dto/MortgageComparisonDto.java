@@ -11,5 +11,7 @@ public record MortgageComparisonDto(
 
         @Schema(description = "Summary of comparison with best options highlighted") ComparisonSummaryDto comparisonSummary,
 
-        @Schema(description = "Unique identifier for this comparison") String comparisonId) {
+        @Schema(description = "Content-addressed identifier: 'cmp_' followed by the first 16 hex digits of a SHA-256 over "
+                + "the calculation IDs in order. Identical requests always get the same ID; collisions are handled as for calculationId",
+                example = "cmp_91d0e4b2c7a85f36") String comparisonId) {
 }
\ No newline at end of file
@@ -10,5 +10,5 @@ import java.util.List;
 @Schema(description = "Request to compare multiple mortgage options")
 public record MortgageComparisonRequestDto(
 
-        @NotEmpty(message = "At least two mortgages are required for comparison") @Size(min = 2, max = 5, message = "Can compare between 2 and 5 mortgages") @Valid @Schema(description = "List of mortgage options to compare") List<MortgageInputDto> mortgages) {
+        @NotEmpty(message = "At least two mortgages are required for comparison") @Size(min = 2, message = "At least two mortgages are required for comparison") @Valid @Schema(description = "Mortgage options to compare; the upper limit is app.mortgage.max-comparison-options") List<MortgageInputDto> mortgages) {
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.*;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Schema(description = "Mortgage calculation input parameters")
 public record MortgageInputDto(
@@ -54,7 +55,10 @@ public record MortgageInputDto(
         BigDecimal additionalPrincipalPayment,
 
         @Schema(description = "Frequency of additional principal payments", example = "MONTHLY")
-        AdditionalPaymentFrequency additionalPaymentFrequency
+        AdditionalPaymentFrequency additionalPaymentFrequency,
+
+        @Schema(description = "Date of the first payment; defaults to today", example = "2025-01-01")
+        LocalDate startDate
 ) {
     // Custom validation method
     public void validate() {
@@ -74,4 +78,41 @@ public record MortgageInputDto(
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Equivalent input in canonical form: amounts at cent scale or finer, the rate without trailing
+     * zeros, and every optional setting that affects the schedule filled with the default the
+     * calculation would apply. Inputs that produce the same schedule compare equal in this form.
+     */
+    public MortgageInputDto canonicalize(LocalDate defaultStartDate) {
+        return new MortgageInputDto(
+            canonicalMoney(loanAmount),
+            canonicalRate(interestRate),
+            loanTermYears,
+            canonicalMoney(downPayment),
+            canonicalMoney(propertyValue),
+            mortgageType,
+            paymentFrequency,
+            buydownType != null ? buydownType : BuydownType.NONE,
+            canonicalMoney(additionalPrincipalPayment != null ? additionalPrincipalPayment : BigDecimal.ZERO),
+            additionalPaymentFrequency != null ? additionalPaymentFrequency : AdditionalPaymentFrequency.MONTHLY,
+            startDate != null ? startDate : defaultStartDate
+        );
+    }
+
+    private static BigDecimal canonicalMoney(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        BigDecimal stripped = amount.stripTrailingZeros();
+        return stripped.setScale(Math.max(stripped.scale(), 2));
+    }
+
+    private static BigDecimal canonicalRate(BigDecimal rate) {
+        if (rate == null) {
+            return null;
+        }
+        BigDecimal stripped = rate.stripTrailingZeros();
+        return stripped.setScale(Math.max(stripped.scale(), 0));
+    }
+}
@@ -4,6 +4,7 @@ import com.mortgagecalculator.model.PaymentFrequency;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Schema(description = "Summary of mortgage loan details and totals")
 public record MortgageSummaryDto(
@@ -20,5 +21,7 @@ public record MortgageSummaryDto(
 
         @Schema(description = "Loan term in years", example = "30") Integer loanTermYears,
 
-        @Schema(description = "Payment frequency") PaymentFrequency paymentFrequency) {
+        @Schema(description = "Payment frequency") PaymentFrequency paymentFrequency,
+
+        @Schema(description = "Date of the final payment; earlier than the full term when extra payments retire the loan early", example = "2054-01-15") LocalDate payoffDate) {
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Level payment and total interest of each loan, in request order")
+public record PaymentQuoteDto(
+
+        @Schema(description = "Kernel that evaluated the batch: VECTOR or SCALAR", example = "VECTOR") String kernel,
+
+        @Schema(description = "Regular payment of each loan; within a cent of a full calculation except at rates under about 1% on one- or two-year terms", example = "[2528.27, 965.11]") List<BigDecimal> payments,
+
+        @Schema(description = "Total interest of each loan at its level payment; within a few dollars of a full calculation's cent-rounded schedule", example = "[510179.52, 126395.65]") List<BigDecimal> totalInterest) {
+}
@@ -0,0 +1,32 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Many fixed-rate loans as parallel columns: element i of each list describes loan i")
+public record PaymentQuoteRequestDto(
+
+        @NotEmpty(message = "At least one loan amount is required")
+        @Schema(description = "Loan amounts", example = "[400000.00, 250000.00]")
+        List<@NotNull @DecimalMin(value = "1000.0", message = "Loan amount must be at least $1,000") @DecimalMax(value = "10000000.0", message = "Loan amount cannot exceed $10,000,000") BigDecimal> loanAmounts,
+
+        @NotEmpty(message = "At least one interest rate is required")
+        @Schema(description = "Annual interest rates as percentages", example = "[6.5, 5.875]")
+        List<@NotNull @DecimalMin(value = "0.1", message = "Interest rate must be at least 0.1%") @DecimalMax(value = "30.0", message = "Interest rate cannot exceed 30%") BigDecimal> interestRates,
+
+        @NotEmpty(message = "At least one loan term is required")
+        @Schema(description = "Loan terms in years", example = "[30, 15]")
+        List<@NotNull @Min(value = 1, message = "Loan term must be at least 1 year") @Max(value = 50, message = "Loan term cannot exceed 50 years") Integer> loanTermYears,
+
+        @Schema(description = "Payment frequency of each loan; defaults to monthly for all", example = "[\"MONTHLY\", \"BI_WEEKLY\"]")
+        List<@NotNull PaymentFrequency> paymentFrequencies) {
+}
@@ -0,0 +1,17 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Distribution of a simulated quantity across rate paths")
+public record PercentilesDto(
+
+        @Schema(description = "5th percentile", example = "1810.22") BigDecimal p5,
+
+        @Schema(description = "Median", example = "2528.27") BigDecimal p50,
+
+        @Schema(description = "95th percentile", example = "3402.91") BigDecimal p95,
+
+        @Schema(description = "Mean", example = "2571.40") BigDecimal mean) {
+}
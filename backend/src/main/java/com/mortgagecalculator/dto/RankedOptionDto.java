@@ -0,0 +1,21 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Position of one mortgage option when options are ranked by total cost")
+public record RankedOptionDto(
+
+        @Schema(description = "Rank, starting at 1 for the cheapest option overall", example = "1") Integer rank,
+
+        @Schema(description = "Position of the option in the request", example = "2") Integer optionIndex,
+
+        @Schema(description = "Calculation ID of the option", example = "calc_3f9a2b7c1d4e5f60") String calculationId,
+
+        @Schema(description = "Total amount paid over the life of the loan", example = "1152000.00") BigDecimal totalAmountPaid,
+
+        @Schema(description = "Regular payment amount", example = "3200.50") BigDecimal monthlyPayment,
+
+        @Schema(description = "Total interest paid", example = "352000.00") BigDecimal totalInterest) {
+}
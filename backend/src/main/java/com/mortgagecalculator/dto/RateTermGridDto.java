@@ -0,0 +1,24 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Rate x term x frequency grid in columnar form. Cell values are flattened frequency-major, "
+        + "then rate, then term: index = (frequencyIndex * interestRates.size() + rateIndex) * loanTermYears.size() + termIndex")
+public record RateTermGridDto(
+
+        @Schema(description = "Total loan amount", example = "400000.00") BigDecimal loanAmount,
+
+        @Schema(description = "Rate axis, in request order") List<BigDecimal> interestRates,
+
+        @Schema(description = "Term axis, in request order") List<Integer> loanTermYears,
+
+        @Schema(description = "Frequency axis, in request order") List<PaymentFrequency> paymentFrequencies,
+
+        @Schema(description = "Regular payment per cell; identical to a full calculation of the same loan") List<BigDecimal> payments,
+
+        @Schema(description = "Total interest per cell from the closed-form balance; within cents to a few dollars of a full calculation, which rounds every period") List<BigDecimal> totalInterest) {
+}
@@ -0,0 +1,34 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Fixed-rate loan priced across every combination of rate, term and payment frequency")
+public record RateTermGridRequestDto(
+
+        @NotNull(message = "Loan amount is required")
+        @DecimalMin(value = "1000.0", message = "Loan amount must be at least $1,000")
+        @DecimalMax(value = "10000000.0", message = "Loan amount cannot exceed $10,000,000")
+        @Schema(description = "Total loan amount", example = "400000.00")
+        BigDecimal loanAmount,
+
+        @NotEmpty(message = "At least one interest rate is required")
+        @Schema(description = "Annual interest rates as percentages", example = "[6.000, 6.125, 6.250]")
+        List<@NotNull @DecimalMin(value = "0.1", message = "Interest rate must be at least 0.1%") @DecimalMax(value = "30.0", message = "Interest rate cannot exceed 30%") BigDecimal> interestRates,
+
+        @NotEmpty(message = "At least one loan term is required")
+        @Schema(description = "Loan terms in years", example = "[15, 30]")
+        List<@NotNull @Min(value = 1, message = "Loan term must be at least 1 year") @Max(value = 50, message = "Loan term cannot exceed 50 years") Integer> loanTermYears,
+
+        @Schema(description = "Payment frequencies; defaults to monthly only", example = "[\"MONTHLY\", \"BI_WEEKLY\"]")
+        List<@NotNull PaymentFrequency> paymentFrequencies) {
+}
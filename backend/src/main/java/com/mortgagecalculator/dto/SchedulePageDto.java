@@ -0,0 +1,19 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A window of the amortization schedule")
+public record SchedulePageDto(
+
+        @Schema(description = "Schedule entries in this window") List<AmortizationEntryDto> entries,
+
+        @Schema(description = "Payment number of the first entry in this window", example = "1") Integer from,
+
+        @Schema(description = "Total number of scheduled payments", example = "360") Integer totalPayments,
+
+        @Schema(description = "Whether further payments follow this window") Boolean hasMore,
+
+        @Schema(description = "Opaque cursor resuming directly after this window; null when there are no more payments") String nextCursor) {
+}
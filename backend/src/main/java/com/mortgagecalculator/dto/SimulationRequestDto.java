@@ -0,0 +1,51 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.enums.RateModel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Monte Carlo simulation of a variable-rate mortgage over simulated rate paths")
+public record SimulationRequestDto(
+
+        @NotNull(message = "Mortgage is required")
+        @Valid
+        @Schema(description = "The loan; must be VARIABLE without a buydown, and interestRate is the rate until the first reset")
+        MortgageInputDto mortgage,
+
+        @Schema(description = "Rate model; defaults to VASICEK", example = "VASICEK")
+        RateModel model,
+
+        @Min(value = 1, message = "At least one path is required")
+        @Schema(description = "Number of rate paths; defaults to app.mortgage.simulation.default-paths", example = "10000")
+        Integer paths,
+
+        @Min(value = 1, message = "Reset interval must be at least 1 month")
+        @Max(value = 120, message = "Reset interval cannot exceed 120 months")
+        @Schema(description = "Months between rate resets; defaults to 12", example = "12")
+        Integer resetIntervalMonths,
+
+        @DecimalMin(value = "0.0", message = "Mean reversion cannot be negative")
+        @DecimalMax(value = "10.0", message = "Mean reversion cannot exceed 10")
+        @Schema(description = "Mean-reversion speed per year (VASICEK and CIR); defaults to 0.15", example = "0.15")
+        BigDecimal meanReversion,
+
+        @DecimalMin(value = "0.0", message = "Long-run rate cannot be negative")
+        @DecimalMax(value = "30.0", message = "Long-run rate cannot exceed 30%")
+        @Schema(description = "Long-run annual rate in percent (VASICEK and CIR); defaults to the loan's rate", example = "5.50")
+        BigDecimal longRunRate,
+
+        @DecimalMin(value = "0.0", message = "Volatility cannot be negative")
+        @DecimalMax(value = "10.0", message = "Volatility cannot exceed 10 percentage points")
+        @Schema(description = "Annualized rate volatility in percentage points; for CIR this is the volatility at the starting rate and scales with the square root of the rate. Defaults to 1.0", example = "1.0")
+        BigDecimal volatility,
+
+        @Schema(description = "Random seed; the same seed and inputs reproduce the same result. A random seed is chosen and reported when omitted", example = "42")
+        Long seed) {
+}
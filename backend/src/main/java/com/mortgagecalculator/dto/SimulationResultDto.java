@@ -0,0 +1,26 @@
+package com.mortgagecalculator.dto;
+
+import com.mortgagecalculator.enums.RateModel;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Payment, interest and rate percentiles of a variable-rate mortgage across simulated rate paths")
+public record SimulationResultDto(
+
+        @Schema(description = "Rate model used", example = "VASICEK") RateModel model,
+
+        @Schema(description = "Number of rate paths simulated", example = "10000") Integer paths,
+
+        @Schema(description = "Seed that reproduces this result", example = "42") Long seed,
+
+        @Schema(description = "Months between rate resets", example = "12") Integer resetIntervalMonths,
+
+        @Schema(description = "Regular payment until the first reset", example = "2528.27") BigDecimal initialPayment,
+
+        @Schema(description = "Highest regular payment over the life of the loan") PercentilesDto maxPayment,
+
+        @Schema(description = "Total interest paid over the life of the loan") PercentilesDto totalInterest,
+
+        @Schema(description = "Annual rate in percent charged after the last reset") PercentilesDto finalRate) {
+}
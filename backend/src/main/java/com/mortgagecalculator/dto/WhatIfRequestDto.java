@@ -0,0 +1,30 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Change to the extra payments of a previous calculation from one payment onwards")
+public record WhatIfRequestDto(
+
+        @NotBlank(message = "Base calculation ID is required")
+        @Schema(description = "calculationId of the calculation being changed", example = "calc_3f9a1c0d2b7e4a61")
+        String baseCalculationId,
+
+        @NotNull(message = "First changed payment is required")
+        @Min(value = 1, message = "First changed payment must be at least 1")
+        @Schema(description = "First payment the change applies to; earlier payments are unchanged", example = "61")
+        Integer fromPayment,
+
+        @DecimalMin(value = "0.0", message = "Additional principal payment cannot be negative")
+        @Schema(description = "Additional principal payment from fromPayment on, at the base frequency; omit to keep the base amount", example = "300.00")
+        BigDecimal additionalPrincipalPayment,
+
+        @DecimalMin(value = "0.0", message = "Lump sum cannot be negative")
+        @Schema(description = "One extra principal payment made with payment fromPayment", example = "10000.00")
+        BigDecimal lumpSum) {
+}
@@ -0,0 +1,29 @@
+package com.mortgagecalculator.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Schedule of a what-if change: the rows from the first changed payment on, and the new totals")
+public record WhatIfResultDto(
+
+        @Schema(description = "Calculation the change applies to", example = "calc_3f9a1c0d2b7e4a61") String baseCalculationId,
+
+        @Schema(description = "First changed payment; rows before it are those of the base schedule", example = "61") Integer fromPayment,
+
+        @Schema(description = "Schedule rows from fromPayment to the final payment") List<AmortizationEntryDto> entries,
+
+        @Schema(description = "Total interest over the whole changed schedule", example = "198432.17") BigDecimal totalInterest,
+
+        @Schema(description = "Loan amount plus total interest", example = "598432.17") BigDecimal totalAmountPaid,
+
+        @Schema(description = "Payment number of the final payment", example = "287") Integer payoffPaymentNumber,
+
+        @Schema(description = "Date of the final payment", example = "2048-11-20") LocalDate payoffDate,
+
+        @Schema(description = "Interest saved against the base calculation; negative when the change costs interest", example = "65183.83") BigDecimal interestSavedVsBase,
+
+        @Schema(description = "Payments saved against the base calculation", example = "73") Integer paymentsSavedVsBase) {
+}
@@ -0,0 +1,334 @@
+package com.mortgagecalculator.engine;
+
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Amortization of an adjustable-rate mortgage in scaled long cents.
+ * <p>
+ * The term is split into segments: the initial fixed period, then one segment per reset interval. Each
+ * reset rate is the index value {@code lookbackDays} before the change, plus the margin, rounded to the
+ * nearest eighth of a point and limited by the caps and the floor; all of them are resolved when the
+ * plan is built, so the per-period loop only reads arrays. The payment is re-solved on the balance over
+ * the remaining term at each segment's first payment and held until the next, and every period is
+ * rounded exactly as {@link LongCentsAmortizationEngine} rounds a fixed-rate period, so a loan that never
+ * reaches a reset reproduces the fixed-rate schedule to the cent.
+ */
+public final class AdjustableRateEngine {
+
+    private static final BigDecimal RATE_STEP = new BigDecimal("0.125");
+
+    private AdjustableRateEngine() {
+    }
+
+    /**
+     * Resolved adjustable-rate terms
+     *
+     * @param fixedPayments payments at the initial rate before the first reset
+     * @param resetPayments payments between later resets
+     * @param margin percentage points added to the index
+     * @param initialCap most the rate may move at the first reset, in percentage points
+     * @param periodicCap most the rate may move at each later reset, in percentage points
+     * @param lifetimeCap most the rate may rise above the initial rate, in percentage points
+     * @param floor lowest rate ever charged, in percent
+     * @param lookbackDays days before a rate change on which the index is read
+     */
+    public record Terms(int fixedPayments, int resetPayments, BigDecimal margin, BigDecimal initialCap,
+            BigDecimal periodicCap, BigDecimal lifetimeCap, BigDecimal floor, int lookbackDays) {
+    }
+
+    /**
+     * One rate change
+     *
+     * @param paymentNumber first payment at the new rate
+     * @param indexDate date the index was read
+     * @param indexRate index value in percent
+     * @param fullyIndexedRate index plus margin, rounded to the nearest eighth, before caps and floor
+     * @param rate annual rate charged from this payment, in percent
+     */
+    public record Reset(int paymentNumber, LocalDate indexDate, BigDecimal indexRate, BigDecimal fullyIndexedRate,
+            BigDecimal rate) {
+    }
+
+    /**
+     * Build the full schedule in columnar form
+     */
+    public static ColumnarSchedule generateSchedule(Plan plan) {
+        ColumnarSchedule.Builder schedule = ColumnarSchedule.builder(plan.totalPayments);
+        LongCentsAmortizationEngine.RowSink sink = (paymentNumber, principal, interest, additional, regular, total,
+                balance, annualRate, interestSaved) -> schedule.add(paymentNumber,
+                        plan.paymentDate(paymentNumber).toEpochDay(), principal, interest, additional, regular,
+                        balance, annualRate, interestSaved);
+        State state = plan.initialState();
+        while (step(plan, state, sink)) {
+            // rows are collected by the sink
+        }
+        return schedule.build();
+    }
+
+    /**
+     * Advance the state by one payment, emitting the row to the sink; the same loan without extra
+     * principal is stepped alongside when the plan makes extra payments, for {@code interestSaved}
+     *
+     * @return false once the schedule is complete and no row was emitted
+     */
+    public static boolean step(Plan plan, State state, LongCentsAmortizationEngine.RowSink sink) {
+        if (state.paymentNumber >= plan.totalPayments || state.balance <= 0) {
+            return false;
+        }
+
+        int paymentNumber = ++state.paymentNumber;
+        int segment = plan.segmentFor(paymentNumber);
+        long balance = state.balance;
+        if (paymentNumber == plan.segmentStart[segment]) {
+            state.payment = plan.payment(segment, balance);
+        }
+
+        long interest = CentsMath.multiplyRounded(balance, plan.rateUnscaled[segment], plan.rateScale[segment]);
+        long principal = state.payment - interest;
+        long regular = interest + principal;
+        long additional = 0;
+
+        if (plan.extraCents > 0) {
+            boolean applyExtra;
+            if (plan.extraOneTime) {
+                applyExtra = !state.oneTimeApplied;
+                state.oneTimeApplied = true;
+            } else {
+                applyExtra = paymentNumber % plan.extraInterval == 0;
+            }
+
+            if (applyExtra) {
+                additional = plan.extraCents;
+                if (principal + additional > balance) {
+                    additional = Math.max(balance - principal, 0);
+                }
+            }
+        }
+
+        if (principal + additional > balance) {
+            // Terminal over-payment: rescale exactly as the fixed-rate engines do
+            BigDecimal principalAmount = CentsMath.toMoney(principal);
+            BigDecimal combined = principalAmount.add(CentsMath.toMoney(additional));
+            if (combined.compareTo(BigDecimal.ZERO) > 0) {
+                BigDecimal ratio = CentsMath.toMoney(balance).divide(combined, PaymentMath.PRECISION);
+                principal = CentsMath.toCents(principalAmount.multiply(ratio).setScale(PaymentMath.SCALE, RoundingMode.HALF_UP));
+                additional = balance - principal;
+            }
+        }
+
+        long total = regular + additional;
+        balance = Math.max(balance - principal - additional, 0);
+        state.balance = balance;
+        state.totalInterest += interest;
+
+        long interestSaved = 0;
+        if (plan.extraCents > 0) {
+            stepBaseline(plan, state, paymentNumber);
+            if (balance <= 0 || paymentNumber == plan.totalPayments) {
+                // The baseline keeps paying interest after this, the final payment
+                for (int next = paymentNumber + 1; next <= plan.totalPayments && state.baselineBalance > 0; next++) {
+                    stepBaseline(plan, state, next);
+                }
+            }
+            interestSaved = state.baselineInterest - state.totalInterest;
+        }
+
+        sink.accept(paymentNumber, principal, interest, additional, regular, total, balance,
+                plan.annualRates[segment], interestSaved);
+        return true;
+    }
+
+    /**
+     * One payment of the same loan without extra principal, whose payment is re-solved on its own balance
+     * at each reset; only the balance and cumulative interest are kept
+     */
+    private static void stepBaseline(Plan plan, State state, int paymentNumber) {
+        long balance = state.baselineBalance;
+        if (balance <= 0) {
+            return;
+        }
+        int segment = plan.segmentFor(paymentNumber);
+        if (paymentNumber == plan.segmentStart[segment]) {
+            state.baselinePayment = plan.payment(segment, balance);
+        }
+        long interest = CentsMath.multiplyRounded(balance, plan.rateUnscaled[segment], plan.rateScale[segment]);
+        state.baselineInterest += interest;
+        state.baselineBalance = Math.max(balance - (state.baselinePayment - interest), 0);
+    }
+
+    /**
+     * Mutable running position within a schedule
+     */
+    public static final class State {
+        private int paymentNumber;
+        private long balance;
+        private long payment;
+        private long totalInterest;
+        private long baselineBalance;
+        private long baselinePayment;
+        private long baselineInterest;
+        private boolean oneTimeApplied;
+
+        private State(long balance) {
+            this.balance = balance;
+            this.baselineBalance = balance;
+        }
+
+        public int getPaymentNumber() {
+            return paymentNumber;
+        }
+
+        public long getBalance() {
+            return balance;
+        }
+
+        public long getTotalInterest() {
+            return totalInterest;
+        }
+    }
+
+    /**
+     * Per-calculation constants: the rate, periodic rate and payment multiplier of every segment
+     */
+    public static final class Plan {
+        private final int totalPayments;
+        private final int daysIncrement;
+        private final LocalDate startDate;
+        private final long loanCents;
+        private final int fixedPayments;
+        private final int resetPayments;
+
+        // Segment 0 is the initial fixed period; segment s > 0 starts at the s-th reset
+        private final int[] segmentStart;
+        private final BigDecimal[] annualRates;
+        private final long[] rateUnscaled;
+        private final int[] rateScale;
+        private final long[] multiplierUnscaled;
+        private final int[] multiplierScale;
+        private final List<Reset> resets;
+
+        private final long extraCents;
+        private final boolean extraOneTime;
+        private final int extraInterval;
+
+        private Plan(MortgageInputDto input, Terms terms, IndexSeries index, AnnuityFactors factors,
+                LocalDate startDate) {
+            if (terms.fixedPayments() < 1 || terms.resetPayments() < 1) {
+                throw new IllegalArgumentException("The initial period and reset interval must each be at least one payment");
+            }
+            int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+            this.totalPayments = input.loanTermYears() * paymentsPerYear;
+            this.daysIncrement = 365 / paymentsPerYear;
+            this.startDate = startDate;
+            this.loanCents = CentsMath.toCents(input.loanAmount());
+            this.fixedPayments = terms.fixedPayments();
+            this.resetPayments = terms.resetPayments();
+
+            int segments = fixedPayments >= totalPayments
+                    ? 1
+                    : 1 + (totalPayments - fixedPayments + resetPayments - 1) / resetPayments;
+            this.segmentStart = new int[segments];
+            this.annualRates = new BigDecimal[segments];
+            this.rateUnscaled = new long[segments];
+            this.rateScale = new int[segments];
+            this.multiplierUnscaled = new long[segments];
+            this.multiplierScale = new int[segments];
+            List<Reset> resets = new ArrayList<>(segments - 1);
+
+            BigDecimal initialRate = input.interestRate();
+            BigDecimal ceiling = initialRate.add(terms.lifetimeCap());
+            BigDecimal rate = initialRate;
+            for (int segment = 0; segment < segments; segment++) {
+                int start = segment == 0 ? 1 : fixedPayments + 1 + (segment - 1) * resetPayments;
+                if (segment > 0) {
+                    LocalDate indexDate = paymentDate(start).minusDays(terms.lookbackDays());
+                    BigDecimal indexRate = index.rateOn(indexDate);
+                    BigDecimal fullyIndexed = indexRate.add(terms.margin())
+                            .divide(RATE_STEP, 0, RoundingMode.HALF_UP)
+                            .multiply(RATE_STEP);
+                    BigDecimal cap = segment == 1 ? terms.initialCap() : terms.periodicCap();
+                    rate = canonicalRate(fullyIndexed
+                            .min(rate.add(cap))
+                            .max(rate.subtract(cap))
+                            .min(ceiling)
+                            .max(terms.floor()));
+                    resets.add(new Reset(start, indexDate, indexRate, fullyIndexed, rate));
+                }
+
+                BigDecimal periodicRate = PaymentMath.periodicRate(rate, paymentsPerYear);
+                segmentStart[segment] = start;
+                annualRates[segment] = rate;
+                rateUnscaled[segment] = periodicRate.unscaledValue().longValueExact();
+                rateScale[segment] = periodicRate.scale();
+                BigDecimal multiplier = factors.multiplier(rate, paymentsPerYear, totalPayments - start + 1);
+                if (multiplier != null) {
+                    multiplierUnscaled[segment] = multiplier.unscaledValue().longValueExact();
+                    multiplierScale[segment] = multiplier.scale();
+                }
+            }
+            this.resets = Collections.unmodifiableList(resets);
+
+            BigDecimal extra = input.additionalPrincipalPayment();
+            AdditionalPaymentFrequency frequency = input.additionalPaymentFrequency() != null
+                    ? input.additionalPaymentFrequency()
+                    : AdditionalPaymentFrequency.MONTHLY;
+            this.extraCents = extra != null ? CentsMath.toCents(extra) : 0;
+            this.extraOneTime = frequency.isOneTime();
+            this.extraInterval = extraOneTime ? 0 : frequency.getPaymentInterval(input.paymentFrequency());
+        }
+
+        /**
+         * Resolve every segment's rate from the index series; {@code input.interestRate()} is the initial rate
+         */
+        public static Plan of(MortgageInputDto input, Terms terms, IndexSeries index, AnnuityFactors factors,
+                LocalDate startDate) {
+            return new Plan(input, terms, index, factors, startDate);
+        }
+
+        public State initialState() {
+            return new State(loanCents);
+        }
+
+        public LocalDate paymentDate(int paymentNumber) {
+            return startDate.plusDays((long) daysIncrement * (paymentNumber - 1));
+        }
+
+        public int totalPayments() {
+            return totalPayments;
+        }
+
+        /**
+         * Rate changes within the term, in payment order
+         */
+        public List<Reset> resets() {
+            return resets;
+        }
+
+        private int segmentFor(int paymentNumber) {
+            return paymentNumber <= fixedPayments ? 0 : 1 + (paymentNumber - fixedPayments - 1) / resetPayments;
+        }
+
+        /**
+         * Payment re-solved on the balance at the start of a segment over the remaining term
+         */
+        private long payment(int segment, long balance) {
+            if (multiplierUnscaled[segment] == 0) {
+                return CentsMath.divideRounded(balance, totalPayments - segmentStart[segment] + 1);
+            }
+            return CentsMath.multiplyRounded(balance, multiplierUnscaled[segment], multiplierScale[segment]);
+        }
+
+        private static BigDecimal canonicalRate(BigDecimal rate) {
+            BigDecimal stripped = rate.stripTrailingZeros();
+            return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mortgagecalculator.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Source of annuity payment multipliers. Implementations may cache, but must return
+ * exactly what {@link PaymentMath#paymentMultiplier} computes for the same inputs.
+ */
+@FunctionalInterface
+public interface AnnuityFactors {
+
+    /**
+     * Computes every multiplier on demand
+     */
+    AnnuityFactors DIRECT = (annualRatePercent, paymentsPerYear, totalPayments) ->
+            PaymentMath.paymentMultiplier(PaymentMath.periodicRate(annualRatePercent, paymentsPerYear), totalPayments);
+
+    /**
+     * Multiplier for an annual percentage rate amortized over the given number of payments,
+     * or null when the rate is zero
+     */
+    BigDecimal multiplier(BigDecimal annualRatePercent, int paymentsPerYear, int totalPayments);
+}
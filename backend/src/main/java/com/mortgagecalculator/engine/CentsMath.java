@@ -0,0 +1,144 @@
+package com.mortgagecalculator.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Scaled-long arithmetic that reproduces the BigDecimal rounding used by
+ * {@link PaymentMath} without allocating. Monetary values are whole cents.
+ */
+public final class CentsMath {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    /**
+     * Smallest remainder of the exact product, below {@code 10^drop}, at which rounding away
+     * {@code excess} digits to PRECISION and then the rest to cents carries into the cents:
+     * {@code 5 * 10^(drop - 1)}, less what the first rounding can add when it stops short of the cent
+     */
+    private static final long[][] HALF_UP_THRESHOLDS = new long[19][];
+
+    /**
+     * {@code floor(2^(64 + shift) / 10^i)} and its shift, with which a multiply-high divides a
+     * non-negative long by {@code 10^i} exactly or one short
+     */
+    private static final long[] DIVISION_MULTIPLIERS = new long[19];
+    private static final int[] DIVISION_SHIFTS = new int[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            // 2^bits / 10^i lies in (2^62, 2^63), so the multiplier is a positive long
+            int bits = 126 - Long.numberOfLeadingZeros(POWERS_OF_TEN[i]);
+            DIVISION_MULTIPLIERS[i] = BigInteger.ONE.shiftLeft(bits).divide(BigInteger.valueOf(POWERS_OF_TEN[i])).longValueExact();
+            DIVISION_SHIFTS[i] = bits - 64;
+        }
+        for (int drop = 1; drop < HALF_UP_THRESHOLDS.length; drop++) {
+            HALF_UP_THRESHOLDS[drop] = new long[drop + 1];
+            long half = 5 * POWERS_OF_TEN[drop - 1];
+            for (int excess = 0; excess <= drop; excess++) {
+                HALF_UP_THRESHOLDS[drop][excess] = excess == 0 || excess == drop
+                    ? half
+                    : half - 5 * POWERS_OF_TEN[excess - 1];
+            }
+        }
+    }
+
+    private CentsMath() {
+    }
+
+    /**
+     * Cents value of a monetary amount, or throws if it carries sub-cent digits
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(PaymentMath.SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Whether an amount can be represented exactly in cents
+     */
+    public static boolean isWholeCents(BigDecimal amount) {
+        if (amount == null) {
+            return true;
+        }
+        try {
+            toCents(amount);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    public static BigDecimal toMoney(long cents) {
+        return BigDecimal.valueOf(cents, PaymentMath.SCALE);
+    }
+
+    /**
+     * Equivalent of {@code cents.multiply(factor, PRECISION).setScale(2, HALF_UP)} where
+     * factor is {@code factorUnscaled * 10^-factorScale}.
+     * <p>
+     * Rounding to PRECISION and then to cents drops {@code factorScale} digits of the exact product in
+     * all, so one division does both: the remainder decides whether either rounding carries. That
+     * division is a multiply-high, and the method is kept small enough to inline into the stepping
+     * loops, where it is most of the work.
+     */
+    public static long multiplyRounded(long cents, long factorUnscaled, int factorScale) {
+        long product = cents * factorUnscaled;
+        if (Math.multiplyHigh(cents, factorUnscaled) != product >> 63 || product == Long.MIN_VALUE
+                || factorScale <= 0 || factorScale >= POWERS_OF_TEN.length) {
+            return multiplyRoundedExactly(cents, factorUnscaled, factorScale);
+        }
+        int excessDigits = digits(product) - PaymentMath.PRECISION.getPrecision();
+        if (excessDigits > factorScale) {
+            // Rounding to PRECISION reaches above the cent
+            return multiplyRoundedExactly(cents, factorUnscaled, factorScale);
+        }
+
+        long magnitude = Math.abs(product);
+        long divisor = POWERS_OF_TEN[factorScale];
+        long quotient = Math.multiplyHigh(magnitude, DIVISION_MULTIPLIERS[factorScale]) >> DIVISION_SHIFTS[factorScale];
+        long remainder = magnitude - quotient * divisor;
+        if (remainder >= divisor) {
+            quotient++;
+            remainder -= divisor;
+        }
+        if (remainder >= HALF_UP_THRESHOLDS[factorScale][Math.max(excessDigits, 0)]) {
+            quotient++;
+        }
+        return product < 0 ? -quotient : quotient;
+    }
+
+    private static long multiplyRoundedExactly(long cents, long factorUnscaled, int factorScale) {
+        return toCents(toMoney(cents).multiply(BigDecimal.valueOf(factorUnscaled, factorScale), PaymentMath.PRECISION)
+                .setScale(PaymentMath.SCALE, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Equivalent of {@code cents.divide(divisor, 2, HALF_UP)}
+     */
+    public static long divideRounded(long cents, long divisor) {
+        long quotient = cents / divisor;
+        long remainder = cents % divisor;
+        if (Math.abs(remainder) * 2 >= Math.abs(divisor)) {
+            quotient += ((cents < 0) == (divisor < 0)) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    private static int digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            return 19;
+        }
+        long magnitude = Math.abs(value);
+        // floor(log10(2) * bit length), corrected by one comparison
+        int digits = ((64 - Long.numberOfLeadingZeros(magnitude)) * 1233) >>> 12;
+        if (digits < POWERS_OF_TEN.length && magnitude >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return Math.max(digits, 1);
+    }
+}
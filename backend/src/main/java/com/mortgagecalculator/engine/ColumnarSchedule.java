@@ -0,0 +1,344 @@
+package com.mortgagecalculator.engine;
+
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.enums.ScheduleField;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * An amortization schedule held as parallel primitive columns: amounts in cents and dates as epoch days.
+ * <p>
+ * As a {@code List<AmortizationEntryDto>} it is an immutable view that creates each record on demand,
+ * so it can stand wherever a schedule list is expected while retaining 28-36 bytes per row instead of
+ * the 300-340 a row of records retains. Principal, interest, balance and interest saved vary on every
+ * row and are stored per row, interest saved only when some row has any. Regular payment, additional
+ * principal and rate change at only a few rows (buydown steps, rate resets, the final payment), so they
+ * are stored as runs of equal values. Total payment is regular plus additional and has no column, and
+ * payment numbers are consecutive from the first row.
+ * <p>
+ * A schedule built for a projection keeps only the requested per-row columns; its records carry
+ * null for the others, and their column accessors throw. The runs are always kept, as is total interest.
+ */
+public final class ColumnarSchedule extends AbstractList<AmortizationEntryDto> implements RandomAccess {
+
+    private static final ColumnarSchedule EMPTY = new Builder(0, ScheduleField.ALL).build();
+
+    // Array headers, the schedule object and a rate, on a 64-bit JVM with compressed references
+    private static final int ARRAY_BYTES = 16;
+    private static final int OBJECT_BYTES = 72;
+    private static final int RATE_BYTES = 40;
+
+    private final int size;
+    private final int firstPaymentNumber;
+    private final Set<ScheduleField> fields;
+    private final long totalInterest;
+    private final int[] epochDays;
+    private final long[] principal;
+    private final long[] interest;
+    private final long[] balance;
+    private final long[] interestSaved;
+    private final int[] regularStarts;
+    private final long[] regularValues;
+    private final int[] additionalStarts;
+    private final long[] additionalValues;
+    private final int[] rateStarts;
+    private final BigDecimal[] rateValues;
+
+    private ColumnarSchedule(Builder builder) {
+        this.size = builder.size;
+        this.firstPaymentNumber = builder.firstPaymentNumber;
+        this.fields = builder.fields;
+        this.totalInterest = builder.totalInterest;
+        this.epochDays = builder.epochDays != null ? Arrays.copyOf(builder.epochDays, size) : null;
+        this.principal = builder.principal != null ? Arrays.copyOf(builder.principal, size) : null;
+        this.interest = builder.interest != null ? Arrays.copyOf(builder.interest, size) : null;
+        this.balance = builder.balance != null ? Arrays.copyOf(builder.balance, size) : null;
+        this.interestSaved = builder.anyInterestSaved ? Arrays.copyOf(builder.interestSaved, size) : null;
+        this.regularStarts = Arrays.copyOf(builder.regularStarts, builder.regularRuns);
+        this.regularValues = Arrays.copyOf(builder.regularValues, builder.regularRuns);
+        this.additionalStarts = Arrays.copyOf(builder.additionalStarts, builder.additionalRuns);
+        this.additionalValues = Arrays.copyOf(builder.additionalValues, builder.additionalRuns);
+        this.rateStarts = Arrays.copyOf(builder.rateStarts, builder.rateRuns);
+        this.rateValues = Arrays.copyOf(builder.rateValues, builder.rateRuns);
+    }
+
+    public static Builder builder(int expectedRows) {
+        return new Builder(expectedRows, ScheduleField.ALL);
+    }
+
+    /**
+     * Builder keeping only the given columns
+     */
+    public static Builder builder(int expectedRows, Set<ScheduleField> fields) {
+        return new Builder(expectedRows, fields);
+    }
+
+    public static ColumnarSchedule empty() {
+        return EMPTY;
+    }
+
+    /**
+     * The schedule itself when it is already columnar, otherwise a columnar copy of its records with
+     * amounts rounded half up to the cent, as they are displayed
+     */
+    public static ColumnarSchedule of(List<AmortizationEntryDto> schedule) {
+        if (schedule instanceof ColumnarSchedule columnar) {
+            return columnar;
+        }
+        Builder builder = new Builder(schedule.size(), ScheduleField.ALL);
+        for (AmortizationEntryDto entry : schedule) {
+            builder.add(entry.paymentNumber(), entry.paymentDate().toEpochDay(),
+                    cents(entry.principalPayment()), cents(entry.interestPayment()),
+                    cents(entry.additionalPrincipalPayment()), cents(entry.regularPayment()),
+                    cents(entry.remainingBalance()), entry.interestRate(), cents(entry.interestSaved()));
+        }
+        return builder.build();
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : CentsMath.toCents(amount.setScale(PaymentMath.SCALE, RoundingMode.HALF_UP));
+    }
+
+    @Override
+    public AmortizationEntryDto get(int row) {
+        return new AmortizationEntryDto(
+                includes(ScheduleField.PAYMENT_NUMBER) ? paymentNumber(row) : null,
+                includes(ScheduleField.PAYMENT_DATE) ? paymentDate(row) : null,
+                includes(ScheduleField.PRINCIPAL_PAYMENT) ? CentsMath.toMoney(principalCents(row)) : null,
+                includes(ScheduleField.INTEREST_PAYMENT) ? CentsMath.toMoney(interestCents(row)) : null,
+                includes(ScheduleField.ADDITIONAL_PRINCIPAL_PAYMENT) ? CentsMath.toMoney(additionalCents(row)) : null,
+                includes(ScheduleField.REGULAR_PAYMENT) ? CentsMath.toMoney(regularCents(row)) : null,
+                includes(ScheduleField.TOTAL_PAYMENT) ? CentsMath.toMoney(totalCents(row)) : null,
+                includes(ScheduleField.REMAINING_BALANCE) ? CentsMath.toMoney(balanceCents(row)) : null,
+                includes(ScheduleField.INTEREST_RATE) ? annualRate(row) : null,
+                includes(ScheduleField.INTEREST_SAVED) ? CentsMath.toMoney(interestSavedCents(row)) : null);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Columns this schedule was built with
+     */
+    public Set<ScheduleField> fields() {
+        return fields;
+    }
+
+    public boolean includes(ScheduleField field) {
+        return fields.contains(field);
+    }
+
+    public int paymentNumber(int row) {
+        return firstPaymentNumber + checkRow(row);
+    }
+
+    public long epochDay(int row) {
+        return column(epochDays, ScheduleField.PAYMENT_DATE)[row];
+    }
+
+    public LocalDate paymentDate(int row) {
+        return LocalDate.ofEpochDay(epochDay(row));
+    }
+
+    public long principalCents(int row) {
+        return column(principal, ScheduleField.PRINCIPAL_PAYMENT)[row];
+    }
+
+    public long interestCents(int row) {
+        return column(interest, ScheduleField.INTEREST_PAYMENT)[row];
+    }
+
+    public long additionalCents(int row) {
+        return additionalValues[run(additionalStarts, checkRow(row))];
+    }
+
+    public long regularCents(int row) {
+        return regularValues[run(regularStarts, checkRow(row))];
+    }
+
+    public long totalCents(int row) {
+        return regularCents(row) + additionalCents(row);
+    }
+
+    public long balanceCents(int row) {
+        return column(balance, ScheduleField.REMAINING_BALANCE)[row];
+    }
+
+    public long interestSavedCents(int row) {
+        checkRow(row);
+        if (interestSaved != null) {
+            return interestSaved[row];
+        }
+        if (!includes(ScheduleField.INTEREST_SAVED)) {
+            throw new IllegalStateException("Schedule was built without interestSaved");
+        }
+        return 0;
+    }
+
+    public BigDecimal annualRate(int row) {
+        return rateValues[run(rateStarts, checkRow(row))];
+    }
+
+    /**
+     * Interest paid over all rows, whether or not the interest column is kept
+     */
+    public long totalInterestCents() {
+        return totalInterest;
+    }
+
+    /**
+     * Estimated heap retained by this schedule, for cache weighing
+     */
+    public long retainedBytes() {
+        int longColumns = (principal != null ? 1 : 0) + (interest != null ? 1 : 0) + (balance != null ? 1 : 0)
+                + (interestSaved != null ? 1 : 0);
+        long rows = (long) (epochDays != null ? Integer.BYTES : 0) * size + (long) Long.BYTES * longColumns * size;
+        long runs = (long) (Integer.BYTES + Long.BYTES) * (regularStarts.length + additionalStarts.length)
+                + (long) (Integer.BYTES + Integer.BYTES + RATE_BYTES) * rateStarts.length;
+        return OBJECT_BYTES + ARRAY_BYTES * 11L + rows + runs;
+    }
+
+    /**
+     * Index of the run containing the row
+     */
+    private static int run(int[] starts, int row) {
+        if (starts.length == 1) {
+            return 0;
+        }
+        int found = Arrays.binarySearch(starts, row);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private static <T> T column(T values, ScheduleField field) {
+        if (values == null) {
+            throw new IllegalStateException("Schedule was built without " + field.getJsonName());
+        }
+        return values;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside schedule of " + size);
+        }
+        return row;
+    }
+
+    /**
+     * Appends rows in payment order; the arrays grow as needed and are trimmed by {@link #build()}
+     */
+    public static final class Builder {
+        private final Set<ScheduleField> fields;
+        private int size;
+        private int capacity;
+        private int firstPaymentNumber = 1;
+        private long totalInterest;
+        private int[] epochDays;
+        private long[] principal;
+        private long[] interest;
+        private long[] balance;
+        private long[] interestSaved;
+        private boolean anyInterestSaved;
+        private int[] regularStarts = new int[4];
+        private long[] regularValues = new long[4];
+        private int regularRuns;
+        private int[] additionalStarts = new int[4];
+        private long[] additionalValues = new long[4];
+        private int additionalRuns;
+        private int[] rateStarts = new int[4];
+        private BigDecimal[] rateValues = new BigDecimal[4];
+        private int rateRuns;
+
+        private Builder(int expectedRows, Set<ScheduleField> fields) {
+            this.capacity = Math.max(expectedRows, 0);
+            this.fields = fields;
+            this.epochDays = fields.contains(ScheduleField.PAYMENT_DATE) ? new int[capacity] : null;
+            this.principal = fields.contains(ScheduleField.PRINCIPAL_PAYMENT) ? new long[capacity] : null;
+            this.interest = fields.contains(ScheduleField.INTEREST_PAYMENT) ? new long[capacity] : null;
+            this.balance = fields.contains(ScheduleField.REMAINING_BALANCE) ? new long[capacity] : null;
+            this.interestSaved = fields.contains(ScheduleField.INTEREST_SAVED) ? new long[capacity] : null;
+        }
+
+        /**
+         * Append the next row; amounts are in cents and total payment is {@code regular + additional}.
+         * Values of columns the builder does not keep are ignored
+         */
+        public Builder add(int paymentNumber, long epochDay, long principalCents, long interestCents,
+                long additionalCents, long regularCents, long balanceCents, BigDecimal annualRate,
+                long interestSavedCents) {
+            if (size == 0) {
+                firstPaymentNumber = paymentNumber;
+            } else if (paymentNumber != firstPaymentNumber + size) {
+                throw new IllegalStateException("Schedule rows must have consecutive payment numbers");
+            }
+            if (size == capacity) {
+                grow();
+            }
+            if (epochDays != null) {
+                epochDays[size] = Math.toIntExact(epochDay);
+            }
+            if (principal != null) {
+                principal[size] = principalCents;
+            }
+            if (interest != null) {
+                interest[size] = interestCents;
+            }
+            if (balance != null) {
+                balance[size] = balanceCents;
+            }
+            if (interestSaved != null) {
+                interestSaved[size] = interestSavedCents;
+                anyInterestSaved |= interestSavedCents != 0;
+            }
+            totalInterest += interestCents;
+
+            if (regularRuns == 0 || regularValues[regularRuns - 1] != regularCents) {
+                if (regularRuns == regularStarts.length) {
+                    regularStarts = Arrays.copyOf(regularStarts, regularRuns * 2);
+                    regularValues = Arrays.copyOf(regularValues, regularRuns * 2);
+                }
+                regularStarts[regularRuns] = size;
+                regularValues[regularRuns++] = regularCents;
+            }
+            if (additionalRuns == 0 || additionalValues[additionalRuns - 1] != additionalCents) {
+                if (additionalRuns == additionalStarts.length) {
+                    additionalStarts = Arrays.copyOf(additionalStarts, additionalRuns * 2);
+                    additionalValues = Arrays.copyOf(additionalValues, additionalRuns * 2);
+                }
+                additionalStarts[additionalRuns] = size;
+                additionalValues[additionalRuns++] = additionalCents;
+            }
+            if (rateRuns == 0 || !rateValues[rateRuns - 1].equals(annualRate)) {
+                if (rateRuns == rateStarts.length) {
+                    rateStarts = Arrays.copyOf(rateStarts, rateRuns * 2);
+                    rateValues = Arrays.copyOf(rateValues, rateRuns * 2);
+                }
+                rateStarts[rateRuns] = size;
+                rateValues[rateRuns++] = annualRate;
+            }
+            size++;
+            return this;
+        }
+
+        public ColumnarSchedule build() {
+            return new ColumnarSchedule(this);
+        }
+
+        private void grow() {
+            capacity = Math.max(16, capacity * 2);
+            epochDays = epochDays != null ? Arrays.copyOf(epochDays, capacity) : null;
+            principal = principal != null ? Arrays.copyOf(principal, capacity) : null;
+            interest = interest != null ? Arrays.copyOf(interest, capacity) : null;
+            balance = balance != null ? Arrays.copyOf(balance, capacity) : null;
+            interestSaved = interestSaved != null ? Arrays.copyOf(interestSaved, capacity) : null;
+        }
+    }
+}
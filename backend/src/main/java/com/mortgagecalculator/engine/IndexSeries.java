@@ -0,0 +1,119 @@
+package com.mortgagecalculator.engine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Monthly values of a rate index, held in an array indexed by month so a lookup is one subtraction
+ * and one array read. Months missing from the source carry the previous observation forward, and
+ * dates after the last observation read the last value: the index is projected flat beyond the series.
+ */
+public final class IndexSeries {
+
+    private final int firstMonth;
+    private final BigDecimal[] monthlyRates;
+
+    private IndexSeries(int firstMonth, BigDecimal[] monthlyRates) {
+        this.firstMonth = firstMonth;
+        this.monthlyRates = monthlyRates;
+    }
+
+    /**
+     * An index that stays at one value on every date
+     */
+    public static IndexSeries flat(BigDecimal ratePercent) {
+        return new IndexSeries(Integer.MIN_VALUE, new BigDecimal[] {ratePercent});
+    }
+
+    /**
+     * Read {@code date,ratePercent} lines in date order, the date as {@code yyyy-MM-dd} or {@code yyyy-MM};
+     * blank lines, {@code #} comments and a header line are skipped, and the last observation in a month
+     * is that month's value
+     */
+    public static IndexSeries load(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read index rates from " + file, e);
+        }
+
+        int[] months = new int[lines.size()];
+        BigDecimal[] rates = new BigDecimal[lines.size()];
+        int count = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            int month;
+            BigDecimal rate;
+            try {
+                if (fields.length < 2) {
+                    throw new NumberFormatException();
+                }
+                month = monthOf(fields[0].trim());
+                rate = new BigDecimal(fields[1].trim());
+            } catch (NumberFormatException | DateTimeParseException e) {
+                if (count == 0) {
+                    // Header line
+                    continue;
+                }
+                throw new IllegalStateException("Malformed index observation on line " + (i + 1) + " of " + file);
+            }
+            if (count > 0 && month < months[count - 1]) {
+                throw new IllegalStateException("Index observations in " + file + " are out of date order at line " + (i + 1));
+            }
+            if (count > 0 && month == months[count - 1]) {
+                count--;
+            }
+            months[count] = month;
+            rates[count] = rate;
+            count++;
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No index observations in " + file);
+        }
+
+        int first = months[0];
+        BigDecimal[] monthlyRates = new BigDecimal[months[count - 1] - first + 1];
+        for (int i = 0; i < count; i++) {
+            int to = i + 1 < count ? months[i + 1] - first : monthlyRates.length;
+            Arrays.fill(monthlyRates, months[i] - first, to, rates[i]);
+        }
+        return new IndexSeries(first, monthlyRates);
+    }
+
+    /**
+     * Index value in percent for the month containing the date
+     */
+    public BigDecimal rateOn(LocalDate date) {
+        if (firstMonth == Integer.MIN_VALUE) {
+            return monthlyRates[0];
+        }
+        int offset = monthNumber(date.getYear(), date.getMonthValue()) - firstMonth;
+        if (offset < 0) {
+            throw new IllegalArgumentException("No index value for " + YearMonth.from(date) + "; the series starts in "
+                    + YearMonth.of(firstMonth / 12, firstMonth % 12 + 1));
+        }
+        return monthlyRates[Math.min(offset, monthlyRates.length - 1)];
+    }
+
+    private static int monthOf(String date) {
+        YearMonth month = date.length() > 7 ? YearMonth.from(LocalDate.parse(date)) : YearMonth.parse(date);
+        return monthNumber(month.getYear(), month.getMonthValue());
+    }
+
+    private static int monthNumber(int year, int month) {
+        return year * 12 + month - 1;
+    }
+}
@@ -0,0 +1,604 @@
+package com.mortgagecalculator.engine;
+
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.ScheduleField;
+import com.mortgagecalculator.model.BuydownPaymentPlan;
+import com.mortgagecalculator.model.MortgageType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Amortization engine working in scaled long cents.
+ * <p>
+ * Reproduces the BigDecimal schedule of {@code MortgageCalculationService} value for value:
+ * every rate and payment multiplier comes from {@link PaymentMath}, and every
+ * {@code multiply(..., PRECISION).setScale(2, HALF_UP)} is mirrored by {@link CentsMath}.
+ * Output amounts are normalised to scale 2, so they compare equal to the BigDecimal
+ * results but may differ in trailing zeros.
+ * <p>
+ * When a plan makes extra principal payments, the same loan without them is stepped in lockstep
+ * inside the same loop, so every row's {@code interestSaved} is the exact difference in interest
+ * rather than an estimate.
+ */
+public final class LongCentsAmortizationEngine {
+
+    private static final RowSink DISCARD = (paymentNumber, principal, interest, additional, regular, total, balance,
+            annualRate, interestSaved) -> {
+    };
+
+    private LongCentsAmortizationEngine() {
+    }
+
+    /**
+     * Receives each schedule row as it is produced
+     */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(int paymentNumber, long principal, long interest, long additional, long regular,
+                long total, long balance, BigDecimal annualRate, long interestSaved);
+    }
+
+    /**
+     * Whether the input can be represented in whole cents
+     */
+    public static boolean supports(MortgageInputDto input) {
+        return CentsMath.isWholeCents(input.loanAmount()) && CentsMath.isWholeCents(input.additionalPrincipalPayment());
+    }
+
+    /**
+     * Build the full schedule in columnar form
+     */
+    public static ColumnarSchedule generateSchedule(Plan plan) {
+        return generateRows(plan, plan.initialState(), plan.totalPayments());
+    }
+
+    /**
+     * Build the full schedule keeping only the given columns; dates are not computed unless kept,
+     * and the loan without extra payments is not stepped unless interest saved is kept
+     */
+    public static ColumnarSchedule generateSchedule(Plan plan, Set<ScheduleField> fields) {
+        if (fields.equals(ScheduleField.ALL)) {
+            return generateSchedule(plan);
+        }
+        ColumnarSchedule.Builder schedule = ColumnarSchedule.builder(plan.totalPayments(), fields);
+        boolean dates = fields.contains(ScheduleField.PAYMENT_DATE);
+        RowSink sink = (paymentNumber, principal, interest, additional, regular, total, balance, annualRate,
+                interestSaved) -> schedule.add(paymentNumber,
+                        dates ? plan.paymentDate(paymentNumber).toEpochDay() : 0,
+                        principal, interest, additional, regular, balance, annualRate, interestSaved);
+        State state = plan.initialState();
+        boolean trackSavings = fields.contains(ScheduleField.INTEREST_SAVED);
+        while (step(plan, state, sink, trackSavings)) {
+            // rows are collected by the sink
+        }
+        return schedule.build();
+    }
+
+    /**
+     * Build up to {@code limit} rows in columnar form, continuing from the given state
+     */
+    public static ColumnarSchedule generateRows(Plan plan, State state, int limit) {
+        ColumnarSchedule.Builder schedule = ColumnarSchedule.builder(
+                Math.min(limit, plan.totalPayments() - state.paymentNumber));
+        RowSink sink = (paymentNumber, principal, interest, additional, regular, total, balance, annualRate,
+                interestSaved) -> schedule.add(paymentNumber, plan.paymentDate(paymentNumber).toEpochDay(),
+                        principal, interest, additional, regular, balance, annualRate, interestSaved);
+        for (int i = 0; i < limit && step(plan, state, sink); i++) {
+            // rows are collected by the sink
+        }
+        return schedule.build();
+    }
+
+    /**
+     * Advance the state without emitting rows until the given payment has been made
+     */
+    public static void advanceTo(Plan plan, State state, int paymentNumber) {
+        while (state.paymentNumber < paymentNumber && step(plan, state, DISCARD)) {
+            // only the state is needed
+        }
+    }
+
+    /**
+     * Checkpoints every {@code interval} payments from the initial state, followed by the final state
+     * when the schedule does not end on a multiple of the interval; element {@code i} (except that last
+     * one) is taken after payment {@code i * interval}
+     */
+    public static List<ScheduleCheckpoint> checkpoints(Plan plan, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        State state = plan.initialState();
+        List<ScheduleCheckpoint> checkpoints = new ArrayList<>(plan.totalPayments() / interval + 2);
+        checkpoints.add(state.checkpoint());
+        while (step(plan, state, DISCARD)) {
+            if (state.paymentNumber % interval == 0) {
+                checkpoints.add(state.checkpoint());
+            }
+        }
+        if (state.paymentNumber % interval != 0) {
+            checkpoints.add(state.checkpoint());
+        }
+        return checkpoints;
+    }
+
+    /**
+     * Whether another payment remains after the current state
+     */
+    public static boolean hasNext(Plan plan, State state) {
+        return state.paymentNumber < plan.totalPayments && state.balance > 0;
+    }
+
+    /**
+     * Totals of a schedule without materializing its rows.
+     * Interest-only loans never amortize, so their totals are closed form per rate slot;
+     * all other loans are scanned period by period without allocating.
+     */
+    public static Summary summarize(Plan plan) {
+        if (plan.interestOnly) {
+            return summarizeInterestOnly(plan);
+        }
+
+        State state = plan.initialState();
+        long[] firstPayment = new long[1];
+        RowSink sink = (paymentNumber, principal, interest, additional, regular, total, balance, annualRate,
+                interestSaved) -> {
+            if (paymentNumber == 1) {
+                firstPayment[0] = total;
+            }
+        };
+        while (step(plan, state, sink, false)) {
+            // totals accumulate in the state
+        }
+        return new Summary(firstPayment[0], state.totalInterest, state.paymentNumber);
+    }
+
+    private static Summary summarizeInterestOnly(Plan plan) {
+        long balance = plan.loanCents;
+        if (balance <= 0 || plan.totalPayments == 0) {
+            return new Summary(0, 0, 0);
+        }
+
+        long totalInterest = 0;
+        long firstPayment = 0;
+        for (int slot = 0; slot <= plan.buydownYears; slot++) {
+            int firstPaymentInSlot = slot * plan.paymentsPerYear + 1;
+            int lastPaymentInSlot = slot < plan.buydownYears ? (slot + 1) * plan.paymentsPerYear : plan.totalPayments;
+            long interest = CentsMath.multiplyRounded(balance, plan.rateUnscaled[slot], plan.rateScale[slot]);
+            totalInterest += interest * (lastPaymentInSlot - firstPaymentInSlot + 1);
+            if (slot == 0) {
+                firstPayment = plan.totalPayments == 1 ? interest + balance : interest;
+            }
+        }
+        return new Summary(firstPayment, totalInterest, plan.totalPayments);
+    }
+
+    /**
+     * Advance the state by one payment, emitting the row to the sink.
+     *
+     * @return false once the schedule is complete and no row was emitted
+     */
+    public static boolean step(Plan plan, State state, RowSink sink) {
+        return step(plan, state, sink, true);
+    }
+
+    /**
+     * @param trackSavings whether to step the baseline without extra payments as well; callers that
+     *                     discard the state and ignore interest saved skip it, and receive 0 for it
+     */
+    public static boolean step(Plan plan, State state, RowSink sink, boolean trackSavings) {
+        if (state.paymentNumber >= plan.totalPayments || state.balance <= 0) {
+            return false;
+        }
+
+        int paymentNumber = ++state.paymentNumber;
+        int slot = plan.slotFor(paymentNumber);
+        long balance = state.balance;
+
+        long interest = CentsMath.multiplyRounded(balance, plan.rateUnscaled[slot], plan.rateScale[slot]);
+        long principal;
+        long regular;
+        long additional = 0;
+
+        if (plan.interestOnly) {
+            principal = 0;
+            regular = interest;
+            if (paymentNumber == plan.totalPayments) {
+                principal = balance;
+                regular = interest + principal;
+            }
+        } else {
+            long payment = slot < plan.buydownYears ? plan.buydownPayment(slot, balance) : plan.basePaymentCents;
+            principal = payment - interest;
+            regular = interest + principal;
+
+            if (plan.extraCents > 0) {
+                boolean applyExtra;
+                if (plan.extraOneTime) {
+                    applyExtra = !state.oneTimeApplied;
+                    state.oneTimeApplied = true;
+                } else {
+                    applyExtra = paymentNumber % plan.extraInterval == 0;
+                }
+
+                if (applyExtra) {
+                    additional = plan.extraCents;
+                    if (principal + additional > balance) {
+                        additional = Math.max(balance - principal, 0);
+                    }
+                }
+            }
+
+            if (plan.lumpSumCents > 0 && paymentNumber == plan.lumpSumPayment) {
+                additional = Math.min(additional + plan.lumpSumCents, Math.max(balance - principal, 0));
+            }
+
+            if (principal + additional > balance && principal + additional > 0) {
+                principal = terminalPrincipal(principal, additional, balance);
+                additional = balance - principal;
+            }
+        }
+
+        long total = regular + additional;
+
+        balance = balance - principal - additional;
+        if (balance < 0) {
+            balance = 0;
+        }
+
+        boolean diverged = state.baselineBalance != state.balance || state.baselineInterest != state.totalInterest;
+        state.balance = balance;
+        state.totalInterest += interest;
+
+        long interestSaved = 0;
+        if (trackSavings && (plan.makesExtraPayments() || diverged)) {
+            stepBaseline(plan, state, slot);
+            if (balance <= 0 || paymentNumber == plan.totalPayments) {
+                finishBaseline(plan, state);
+            }
+            interestSaved = state.baselineInterest - state.totalInterest;
+        } else if (trackSavings) {
+            // Without extras the baseline is this schedule
+            state.baselineBalance = balance;
+            state.baselineInterest = state.totalInterest;
+        }
+
+        sink.accept(paymentNumber, principal, interest, additional, regular, total, balance,
+                plan.annualRates[slot], interestSaved);
+        return true;
+    }
+
+    /**
+     * Scheduled share of a final payment that would overpay the balance, rescaled exactly as the
+     * BigDecimal path does; kept out of {@link #step} so the stepping loop stays small
+     */
+    private static long terminalPrincipal(long principal, long additional, long balance) {
+        BigDecimal principalAmount = CentsMath.toMoney(principal);
+        BigDecimal combined = principalAmount.add(CentsMath.toMoney(additional));
+        BigDecimal ratio = CentsMath.toMoney(balance).divide(combined, PaymentMath.PRECISION);
+        return CentsMath.toCents(principalAmount.multiply(ratio).setScale(PaymentMath.SCALE, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * The baseline's payments after this schedule's final one, in which it keeps paying interest
+     */
+    private static void finishBaseline(Plan plan, State state) {
+        long balance = state.baselineBalance;
+        long interestPaid = state.baselineInterest;
+        for (int next = state.paymentNumber + 1; next <= plan.totalPayments && balance > 0; next++) {
+            int slot = plan.slotFor(next);
+            long interest = CentsMath.multiplyRounded(balance, plan.rateUnscaled[slot], plan.rateScale[slot]);
+            long payment = slot < plan.buydownYears ? plan.buydownPayment(slot, balance) : plan.basePaymentCents;
+            interestPaid += interest;
+            balance = Math.max(balance - (payment - interest), 0);
+        }
+        state.baselineBalance = balance;
+        state.baselineInterest = interestPaid;
+    }
+
+    /**
+     * One payment of the same loan without extra principal, mirroring {@link #step} with no additional
+     * payment; only the balance and cumulative interest are kept
+     */
+    private static void stepBaseline(Plan plan, State state, int slot) {
+        long balance = state.baselineBalance;
+        if (balance <= 0) {
+            return;
+        }
+        long interest = CentsMath.multiplyRounded(balance, plan.rateUnscaled[slot], plan.rateScale[slot]);
+        long payment = slot < plan.buydownYears ? plan.buydownPayment(slot, balance) : plan.basePaymentCents;
+        state.baselineInterest += interest;
+        state.baselineBalance = Math.max(balance - (payment - interest), 0);
+    }
+
+    /**
+     * Schedule totals in cents
+     *
+     * @param firstPayment total payment of the first period
+     * @param totalInterest interest paid over the whole schedule
+     * @param paymentCount number of payments actually made
+     */
+    public record Summary(long firstPayment, long totalInterest, int paymentCount) {
+    }
+
+    /**
+     * Mutable running position within a schedule
+     */
+    public static final class State {
+        private int paymentNumber;
+        private long balance;
+        private long totalInterest;
+        private long baselineBalance;
+        private long baselineInterest;
+        private boolean oneTimeApplied;
+
+        private State(long balance) {
+            this.balance = balance;
+            this.baselineBalance = balance;
+        }
+
+        public int getPaymentNumber() {
+            return paymentNumber;
+        }
+
+        public long getBalance() {
+            return balance;
+        }
+
+        public long getTotalInterest() {
+            return totalInterest;
+        }
+
+        /**
+         * Interest saved so far against the same loan without extra payments
+         */
+        public long getInterestSaved() {
+            return baselineInterest - totalInterest;
+        }
+
+        public ScheduleCheckpoint checkpoint() {
+            return new ScheduleCheckpoint(paymentNumber, balance, totalInterest, baselineBalance, baselineInterest,
+                    oneTimeApplied);
+        }
+    }
+
+    /**
+     * Per-calculation constants, resolved once so the per-period loop does no BigDecimal work
+     */
+    public static final class Plan {
+        private final int totalPayments;
+        private final int paymentsPerYear;
+        private final int daysIncrement;
+        private final boolean interestOnly;
+        private final LocalDate startDate;
+        private final long loanCents;
+        private final long basePaymentCents;
+
+        // Slots 0..buydownYears-1 hold the buydown years, slot buydownYears the permanent rate
+        private final int buydownYears;
+        private final BigDecimal[] annualRates;
+        private final long[] rateUnscaled;
+        private final int[] rateScale;
+        private final long[] multiplierUnscaled;
+        private final int[] multiplierScale;
+        private final int[] buydownTermPayments;
+
+        private final long extraCents;
+        private final boolean extraOneTime;
+        private final int extraInterval;
+
+        // A single extra principal payment made with one scheduled payment, on top of any regular extra
+        private final int lumpSumPayment;
+        private final long lumpSumCents;
+
+        private Plan(MortgageInputDto input, BigDecimal basePayment, BuydownPaymentPlan buydownPlan, LocalDate startDate) {
+            this.paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+            this.totalPayments = input.loanTermYears() * paymentsPerYear;
+            this.daysIncrement = 365 / paymentsPerYear;
+            this.interestOnly = input.mortgageType() == MortgageType.INTEREST_ONLY;
+            this.startDate = startDate;
+            this.loanCents = CentsMath.toCents(input.loanAmount());
+            this.basePaymentCents = CentsMath.toCents(basePayment);
+
+            this.buydownYears = buydownPlan != null ? buydownPlan.getYears() : 0;
+            int slots = buydownYears + 1;
+            this.annualRates = new BigDecimal[slots];
+            this.rateUnscaled = new long[slots];
+            this.rateScale = new int[slots];
+            this.multiplierUnscaled = new long[buydownYears];
+            this.multiplierScale = new int[buydownYears];
+            this.buydownTermPayments = new int[buydownYears];
+
+            for (int slot = 0; slot < slots; slot++) {
+                BigDecimal annualRate = slot < buydownYears ? buydownPlan.getRateForYear(slot + 1) : input.interestRate();
+                BigDecimal periodicRate = PaymentMath.periodicRate(annualRate, paymentsPerYear);
+                annualRates[slot] = annualRate;
+                rateUnscaled[slot] = periodicRate.unscaledValue().longValueExact();
+                rateScale[slot] = periodicRate.scale();
+
+                if (slot < buydownYears) {
+                    BigDecimal multiplier = buydownPlan.getMultiplierForYear(slot + 1);
+                    buydownTermPayments[slot] = buydownPlan.getTermPaymentsForYear(slot + 1);
+                    if (multiplier != null) {
+                        multiplierUnscaled[slot] = multiplier.unscaledValue().longValueExact();
+                        multiplierScale[slot] = multiplier.scale();
+                    }
+                }
+            }
+
+            BigDecimal extra = input.additionalPrincipalPayment();
+            AdditionalPaymentFrequency frequency = input.additionalPaymentFrequency() != null
+                    ? input.additionalPaymentFrequency()
+                    : AdditionalPaymentFrequency.MONTHLY;
+            this.extraCents = extra != null ? CentsMath.toCents(extra) : 0;
+            this.extraOneTime = frequency.isOneTime();
+            this.extraInterval = extraOneTime ? 0 : frequency.getPaymentInterval(input.paymentFrequency());
+            this.lumpSumPayment = 0;
+            this.lumpSumCents = 0;
+        }
+
+        private Plan(Plan base, long extraCents, int lumpSumPayment, long lumpSumCents) {
+            this.totalPayments = base.totalPayments;
+            this.paymentsPerYear = base.paymentsPerYear;
+            this.daysIncrement = base.daysIncrement;
+            this.interestOnly = base.interestOnly;
+            this.startDate = base.startDate;
+            this.loanCents = base.loanCents;
+            this.basePaymentCents = base.basePaymentCents;
+            this.buydownYears = base.buydownYears;
+            this.annualRates = base.annualRates;
+            this.rateUnscaled = base.rateUnscaled;
+            this.rateScale = base.rateScale;
+            this.multiplierUnscaled = base.multiplierUnscaled;
+            this.multiplierScale = base.multiplierScale;
+            this.buydownTermPayments = base.buydownTermPayments;
+            this.extraCents = extraCents;
+            this.extraOneTime = base.extraOneTime;
+            this.extraInterval = base.extraInterval;
+            this.lumpSumPayment = lumpSumPayment;
+            this.lumpSumCents = lumpSumCents;
+        }
+
+        /**
+         * Resolve the plan for an input whose base payment has already been computed
+         */
+        public static Plan of(MortgageInputDto input, BigDecimal basePayment, BuydownPaymentPlan buydownPlan,
+                LocalDate startDate) {
+            return new Plan(input, basePayment, buydownPlan, startDate);
+        }
+
+        /**
+         * The same loan with a different additional principal amount at the same frequency; the
+         * arrays are shared, so this costs no BigDecimal work
+         */
+        public Plan withExtraCents(long extraCents) {
+            return new Plan(this, extraCents, lumpSumPayment, lumpSumCents);
+        }
+
+        /**
+         * The same loan with one extra principal payment made together with the given scheduled payment,
+         * replacing any lump sum set earlier. Only the stepping engine applies it; {@link ClosedFormAmortization}
+         * models regular extras alone
+         */
+        public Plan withLumpSum(int paymentNumber, long lumpSumCents) {
+            if (paymentNumber < 1 || paymentNumber > totalPayments) {
+                throw new IllegalArgumentException("Lump sum payment number is outside the schedule");
+            }
+            return new Plan(this, extraCents, paymentNumber, lumpSumCents);
+        }
+
+        public State initialState() {
+            return new State(loanCents);
+        }
+
+        /**
+         * State positioned at a previously taken checkpoint
+         */
+        public State resume(ScheduleCheckpoint checkpoint) {
+            if (checkpoint.paymentNumber() < 0 || checkpoint.paymentNumber() > totalPayments) {
+                throw new IllegalArgumentException("Checkpoint payment number is outside the schedule");
+            }
+            State state = new State(checkpoint.balance());
+            state.paymentNumber = checkpoint.paymentNumber();
+            state.totalInterest = checkpoint.totalInterest();
+            state.baselineBalance = checkpoint.baselineBalance();
+            state.baselineInterest = checkpoint.baselineInterest();
+            state.oneTimeApplied = checkpoint.oneTimeApplied();
+            return state;
+        }
+
+        public LocalDate startDate() {
+            return startDate;
+        }
+
+        public LocalDate paymentDate(int paymentNumber) {
+            return startDate.plusDays((long) daysIncrement * (paymentNumber - 1));
+        }
+
+        /**
+         * Last payment number falling on or before the given date (0 when before the first payment)
+         */
+        public int paymentNumberOn(LocalDate date) {
+            long days = date.toEpochDay() - startDate.toEpochDay();
+            if (days < 0) {
+                return 0;
+            }
+            return (int) Math.min(days / daysIncrement + 1, totalPayments);
+        }
+
+        boolean interestOnly() {
+            return interestOnly;
+        }
+
+        long loanCents() {
+            return loanCents;
+        }
+
+        long basePaymentCents() {
+            return basePaymentCents;
+        }
+
+        int paymentsPerYear() {
+            return paymentsPerYear;
+        }
+
+        int buydownYears() {
+            return buydownYears;
+        }
+
+        int buydownTermPayments(int slot) {
+            return buydownTermPayments[slot];
+        }
+
+        long interestOnlyPayment(int slot) {
+            return CentsMath.multiplyRounded(loanCents, rateUnscaled[slot], rateScale[slot]);
+        }
+
+        double periodicRate(int slot) {
+            return BigDecimal.valueOf(rateUnscaled[slot], rateScale[slot]).doubleValue();
+        }
+
+        long extraCents() {
+            return extraCents;
+        }
+
+        /**
+         * Whether any extra principal is ever paid; interest-only loans ignore extras
+         */
+        private boolean makesExtraPayments() {
+            return !interestOnly && (extraCents > 0 || lumpSumCents > 0);
+        }
+
+        boolean extraOneTime() {
+            return extraOneTime;
+        }
+
+        int extraInterval() {
+            return extraInterval;
+        }
+
+        public int totalPayments() {
+            return totalPayments;
+        }
+
+        private int slotFor(int paymentNumber) {
+            int year = ((paymentNumber - 1) / paymentsPerYear) + 1;
+            return year <= buydownYears ? year - 1 : buydownYears;
+        }
+
+        /**
+         * Buydown-year payment re-solved on the current balance, as the BigDecimal path does
+         */
+        private long buydownPayment(int slot, long balance) {
+            if (multiplierUnscaled[slot] == 0) {
+                return CentsMath.divideRounded(balance, buydownTermPayments[slot]);
+            }
+            return CentsMath.multiplyRounded(balance, multiplierUnscaled[slot], multiplierScale[slot]);
+        }
+    }
+}
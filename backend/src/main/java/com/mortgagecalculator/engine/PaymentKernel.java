@@ -0,0 +1,36 @@
+package com.mortgagecalculator.engine;
+
+/**
+ * Level payments and total interest of many amortizing loans at once, over parallel primitive columns.
+ * <p>
+ * Each payment is {@code P * r / (1 - (1+r)^-n)}, or {@code P / n} at a zero rate, rounded half up to
+ * the cent as a schedule charges it. Total interest is {@code n * payment - P + B(n)}, where the residual
+ * balance {@code B(n) = (1+r)^n * P - payment * ((1+r)^n - 1) / r} is what the rounded payment leaves
+ * behind, as {@link RateTermGrid} computes it. Everything is carried in doubles, so:
+ * <ul>
+ * <li>a payment is within a cent of the one {@link PaymentMath} gives. The exception is loans whose
+ * {@code (1+r)^n - 1} is tiny (rates under about 1% on terms of a year or two): there the 10-digit
+ * reference loses digits and can be several cents off, while the double result is closer to exact;</li>
+ * <li>total interest differs from a cent-rounded schedule by tens of cents on average and by a few
+ * dollars on 40-year weekly terms.</li>
+ * </ul>
+ */
+public interface PaymentKernel {
+
+    /**
+     * Evaluate the first {@code count} loans of the columns
+     *
+     * @param principal amounts borrowed
+     * @param periodicRate rates per payment period as fractions
+     * @param totalPayments number of payments of each loan
+     * @param payment receives each level payment, a whole number of cents
+     * @param totalInterest receives each total interest
+     */
+    void evaluate(double[] principal, double[] periodicRate, double[] totalPayments, double[] payment,
+            double[] totalInterest, int count);
+
+    /**
+     * Short name reported with results, e.g. {@code SCALAR}
+     */
+    String name();
+}
@@ -0,0 +1,46 @@
+package com.mortgagecalculator.engine;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * BigDecimal payment formulas shared by every calculation engine.
+ * Both engines must derive rates and payment multipliers from here so their
+ * outputs stay identical to the cent.
+ */
+public final class PaymentMath {
+
+    public static final MathContext PRECISION = new MathContext(10, RoundingMode.HALF_UP);
+    public static final int SCALE = 2;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private PaymentMath() {
+    }
+
+    /**
+     * Convert an annual percentage rate into the periodic rate for the given frequency
+     */
+    public static BigDecimal periodicRate(BigDecimal annualRatePercent, int paymentsPerYear) {
+        return annualRatePercent.divide(HUNDRED, PRECISION)
+                .divide(BigDecimal.valueOf(paymentsPerYear), PRECISION);
+    }
+
+    /**
+     * Annuity payment multiplier r(1+r)^n / ((1+r)^n - 1), or null when the rate is zero
+     */
+    public static BigDecimal paymentMultiplier(BigDecimal periodicRate, int totalPayments) {
+        if (periodicRate.compareTo(BigDecimal.ZERO) == 0) {
+            return null;
+        }
+
+        BigDecimal onePlusRate = BigDecimal.ONE.add(periodicRate);
+        BigDecimal onePlusRatePowN = onePlusRate.pow(totalPayments, PRECISION);
+
+        BigDecimal numerator = periodicRate.multiply(onePlusRatePowN, PRECISION);
+        BigDecimal denominator = onePlusRatePowN.subtract(BigDecimal.ONE, PRECISION);
+
+        return numerator.divide(denominator, PRECISION);
+    }
+}
@@ -0,0 +1,57 @@
+package com.mortgagecalculator.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Monthly evolution of a simulated annual rate, held as a decimal fraction (0.065 for 6.5%).
+ * Implementations are stateless, so one instance serves every path and thread.
+ */
+@FunctionalInterface
+public interface RatePathModel {
+
+    double MONTH = 1.0 / 12;
+
+    /**
+     * Rate one month after {@code rate}
+     */
+    double next(double rate, SplittableRandom random);
+
+    /**
+     * Vasicek model, stepped with its exact monthly transition
+     *
+     * @param speed mean-reversion speed per year
+     * @param mean long-run rate
+     * @param volatility annualized standard deviation of rate changes
+     */
+    static RatePathModel vasicek(double speed, double mean, double volatility) {
+        double decay = Math.exp(-speed * MONTH);
+        double deviation = speed > 0
+            ? volatility * Math.sqrt((1 - decay * decay) / (2 * speed))
+            : volatility * Math.sqrt(MONTH);
+        return (rate, random) -> mean + (rate - mean) * decay + deviation * random.nextGaussian();
+    }
+
+    /**
+     * Cox-Ingersoll-Ross model, stepped monthly with full-truncation Euler: the drift and diffusion use
+     * the rate floored at zero, so a path that dips below zero reverts without producing NaNs
+     */
+    static RatePathModel cir(double speed, double mean, double volatility) {
+        double scaledVolatility = volatility * Math.sqrt(MONTH);
+        return (rate, random) -> {
+            double positive = Math.max(rate, 0);
+            return rate + speed * (mean - positive) * MONTH
+                + scaledVolatility * Math.sqrt(positive) * random.nextGaussian();
+        };
+    }
+
+    /**
+     * Bootstrap of observed month-on-month changes, drawn independently with replacement
+     */
+    static RatePathModel bootstrap(double[] monthlyChanges) {
+        if (monthlyChanges.length == 0) {
+            throw new IllegalArgumentException("A bootstrap needs at least one observed change");
+        }
+        double[] changes = monthlyChanges.clone();
+        return (rate, random) -> rate + changes[random.nextInt(changes.length)];
+    }
+}
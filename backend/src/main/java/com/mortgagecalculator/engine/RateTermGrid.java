@@ -0,0 +1,101 @@
+package com.mortgagecalculator.engine;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Payment and total interest of a fixed-rate loan for every combination of rate, term and frequency,
+ * without building schedules.
+ * <p>
+ * Payments come from {@link AnnuityFactors} and are identical to the cent to a full calculation.
+ * Total interest is {@code n*payment - loan + B(n)}, where the residual balance
+ * {@code B(n) = (1+r)^n * loan - payment * ((1+r)^n - 1) / r} follows the exact recurrence rather than
+ * the cent-rounded schedule (see {@link ClosedFormAmortization}). Per-period rounding compounds, so it
+ * differs from a full calculation by tens of cents on average and by up to a few dollars on 40-year
+ * weekly terms.
+ * <p>
+ * For each rate and frequency the power {@code (1+r)^n} is built up across the terms in ascending
+ * order, so each extra term costs one {@code pow} of the term difference.
+ * <p>
+ * Cells are laid out frequency-major, then rate, then term:
+ * {@code index = (frequency * rates + rate) * terms + term}.
+ */
+public final class RateTermGrid {
+
+    private final long[] paymentCents;
+    private final long[] totalInterestCents;
+
+    private RateTermGrid(int cells) {
+        this.paymentCents = new long[cells];
+        this.totalInterestCents = new long[cells];
+    }
+
+    /**
+     * @param loanCents amount borrowed, in cents
+     * @param annualRatesPercent annual rates as percentages
+     * @param termYears loan terms in years, in any order
+     * @param paymentsPerYear payment frequencies as payments per year
+     */
+    public static RateTermGrid evaluate(long loanCents, BigDecimal[] annualRatesPercent, int[] termYears,
+            int[] paymentsPerYear, AnnuityFactors factors) {
+        int rates = annualRatesPercent.length;
+        int terms = termYears.length;
+        RateTermGrid grid = new RateTermGrid(paymentsPerYear.length * rates * terms);
+
+        // Visit terms shortest first so each power extends the previous one
+        Integer[] order = new Integer[terms];
+        for (int t = 0; t < terms; t++) {
+            order[t] = t;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(termYears[a], termYears[b]));
+
+        double loan = loanCents / 100.0;
+        for (int f = 0; f < paymentsPerYear.length; f++) {
+            int ppy = paymentsPerYear[f];
+            for (int r = 0; r < rates; r++) {
+                BigDecimal annualRate = annualRatesPercent[r];
+                double rate = PaymentMath.periodicRate(annualRate, ppy).doubleValue();
+                double growth = 1 + rate;
+                double power = 1;
+                int poweredPayments = 0;
+                int row = (f * rates + r) * terms;
+
+                for (int t : order) {
+                    int n = termYears[t] * ppy;
+                    int cell = row + t;
+
+                    BigDecimal multiplier = factors.multiplier(annualRate, ppy, n);
+                    if (multiplier == null) {
+                        // No interest: the balance falls by exactly one payment per period
+                        grid.paymentCents[cell] = CentsMath.divideRounded(loanCents, n);
+                        grid.totalInterestCents[cell] = 0;
+                        continue;
+                    }
+                    long payment = CentsMath.multiplyRounded(loanCents, multiplier.unscaledValue().longValueExact(),
+                            multiplier.scale());
+
+                    power *= Math.pow(growth, n - poweredPayments);
+                    poweredPayments = n;
+                    double paymentAmount = payment / 100.0;
+                    double residual = power * loan - paymentAmount * (power - 1) / rate;
+
+                    grid.paymentCents[cell] = payment;
+                    grid.totalInterestCents[cell] = Math.round((n * paymentAmount - loan + residual) * 100);
+                }
+            }
+        }
+        return grid;
+    }
+
+    public long paymentCents(int cell) {
+        return paymentCents[cell];
+    }
+
+    public long totalInterestCents(int cell) {
+        return totalInterestCents[cell];
+    }
+
+    public int size() {
+        return paymentCents.length;
+    }
+}
@@ -0,0 +1,48 @@
+package com.mortgagecalculator.engine;
+
+/**
+ * One loan at a time in plain Java; always available
+ */
+public final class ScalarPaymentKernel implements PaymentKernel {
+
+    @Override
+    public void evaluate(double[] principal, double[] periodicRate, double[] totalPayments, double[] payment,
+            double[] totalInterest, int count) {
+        evaluate(principal, periodicRate, totalPayments, payment, totalInterest, 0, count);
+    }
+
+    /**
+     * Evaluate the loans in {@code [from, to)}
+     */
+    static void evaluate(double[] principal, double[] periodicRate, double[] totalPayments, double[] payment,
+            double[] totalInterest, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double loan = principal[i];
+            double rate = periodicRate[i];
+            double n = totalPayments[i];
+            if (rate == 0) {
+                payment[i] = toCents(loan / n);
+                totalInterest[i] = 0;
+                continue;
+            }
+            // (1+r)^n - 1 via expm1 and log1p, which keep their precision at small rates
+            double growth = Math.expm1(n * Math.log1p(rate));
+            double level = toCents(loan * rate * (1 + growth) / growth);
+            double residual = (1 + growth) * loan - level * growth / rate;
+            payment[i] = level;
+            totalInterest[i] = n * level - loan + residual;
+        }
+    }
+
+    /**
+     * Round a positive amount half up to the cent
+     */
+    private static double toCents(double amount) {
+        return (long) (amount * 100 + 0.5) / 100.0;
+    }
+
+    @Override
+    public String name() {
+        return "SCALAR";
+    }
+}
@@ -0,0 +1,15 @@
+package com.mortgagecalculator.engine;
+
+/**
+ * Compact snapshot of a schedule position; resuming from it reproduces the remaining rows exactly
+ *
+ * @param paymentNumber last payment already made (0 before the first payment)
+ * @param balance remaining balance in cents
+ * @param totalInterest interest paid so far in cents
+ * @param baselineBalance balance of the same loan without extra payments, in cents
+ * @param baselineInterest interest paid so far by the same loan without extra payments, in cents
+ * @param oneTimeApplied whether a one-time additional payment has already been made
+ */
+public record ScheduleCheckpoint(int paymentNumber, long balance, long totalInterest, long baselineBalance,
+        long baselineInterest, boolean oneTimeApplied) {
+}
@@ -0,0 +1,105 @@
+package com.mortgagecalculator.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Amortizes one loan along simulated rate paths.
+ * <p>
+ * The rate is reset every {@code resetPayments} payments to the path's current rate (floored at zero)
+ * and the payment is re-solved on the remaining balance over the remaining term, as an adjustable
+ * loan without caps would; extra principal therefore lowers the payment from the next reset rather than
+ * shortening the term. Amounts are carried in doubles without cent rounding: across thousands of
+ * paths the rounding is far below the spread between them, and the inner loop allocates nothing.
+ */
+public final class VariableRateSimulation {
+
+    private final double loan;
+    private final double initialRate;
+    private final int paymentsPerYear;
+    private final int totalPayments;
+    private final int resetPayments;
+    private final double extra;
+    private final boolean extraOneTime;
+    private final int extraInterval;
+
+    /**
+     * @param initialRate annual rate charged until the first reset, as a decimal fraction
+     * @param resetPayments payments between rate resets
+     * @param extraInterval payments between extra principal payments (ignored when one-time)
+     */
+    public VariableRateSimulation(long loanCents, double initialRate, int paymentsPerYear, int totalPayments,
+            int resetPayments, long extraCents, boolean extraOneTime, int extraInterval) {
+        if (resetPayments < 1) {
+            throw new IllegalArgumentException("Rate resets must be at least one payment apart");
+        }
+        this.loan = loanCents / 100.0;
+        this.initialRate = initialRate;
+        this.paymentsPerYear = paymentsPerYear;
+        this.totalPayments = totalPayments;
+        this.resetPayments = resetPayments;
+        this.extra = extraCents / 100.0;
+        this.extraOneTime = extraOneTime;
+        this.extraInterval = extraInterval;
+    }
+
+    /**
+     * Regular payment until the first reset, in dollars
+     */
+    public double initialPayment() {
+        double periodRate = initialRate / paymentsPerYear;
+        return periodRate > 0
+            ? loan * periodRate / (1 - Math.pow(1 + periodRate, -totalPayments))
+            : loan / totalPayments;
+    }
+
+    /**
+     * Simulate paths {@code from} (inclusive) to {@code to} (exclusive), writing each path's results at
+     * its index. The random stream is consumed in path order, so a given stream always yields the same
+     * results.
+     *
+     * @param maxPayment highest regular payment over the loan, in dollars
+     * @param totalInterest interest paid over the loan, in dollars
+     * @param finalRate rate charged after the last reset, as a decimal fraction
+     */
+    public void run(RatePathModel model, SplittableRandom random, int from, int to,
+            double[] maxPayment, double[] totalInterest, double[] finalRate) {
+        for (int path = from; path < to; path++) {
+            double rate = initialRate;
+            int month = 0;
+            double balance = loan;
+            double interestPaid = 0;
+            double periodRate = 0;
+            double payment = 0;
+            double peak = 0;
+
+            for (int paymentNumber = 1; paymentNumber <= totalPayments && balance > 0; paymentNumber++) {
+                if ((paymentNumber - 1) % resetPayments == 0) {
+                    // Bring the rate path up to the month this payment falls in
+                    int paymentMonth = (int) ((long) (paymentNumber - 1) * 12 / paymentsPerYear);
+                    while (month < paymentMonth) {
+                        rate = model.next(rate, random);
+                        month++;
+                    }
+                    periodRate = Math.max(rate, 0) / paymentsPerYear;
+                    int remaining = totalPayments - paymentNumber + 1;
+                    payment = periodRate > 0
+                        ? balance * periodRate / (1 - Math.pow(1 + periodRate, -remaining))
+                        : balance / remaining;
+                    peak = Math.max(peak, payment);
+                }
+
+                double interest = balance * periodRate;
+                double principal = payment - interest;
+                if (extra > 0 && (extraOneTime ? paymentNumber == 1 : paymentNumber % extraInterval == 0)) {
+                    principal += extra;
+                }
+                interestPaid += interest;
+                balance -= Math.min(principal, balance);
+            }
+
+            maxPayment[path] = peak;
+            totalInterest[path] = interestPaid;
+            finalRate[path] = periodRate * paymentsPerYear;
+        }
+    }
+}
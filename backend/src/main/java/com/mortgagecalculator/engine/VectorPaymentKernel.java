@@ -0,0 +1,61 @@
+package com.mortgagecalculator.engine;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The payment formula evaluated a full SIMD register of loans at a time with {@code jdk.incubator.vector};
+ * the tail that does not fill a register is done by {@link ScalarPaymentKernel}. The lanewise LOG1P and
+ * EXPM1 are not bit-identical to {@link Math#log1p} and {@link Math#expm1}, so a payment on a half cent
+ * can round the other way; the two kernels agree to the cent.
+ * <p>
+ * Loading this class needs {@code --add-modules jdk.incubator.vector}; callers must check the module is
+ * in the boot layer before touching it.
+ */
+public final class VectorPaymentKernel implements PaymentKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void evaluate(double[] principal, double[] periodicRate, double[] totalPayments, double[] payment,
+            double[] totalInterest, int count) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector loan = DoubleVector.fromArray(SPECIES, principal, i);
+            DoubleVector rate = DoubleVector.fromArray(SPECIES, periodicRate, i);
+            DoubleVector n = DoubleVector.fromArray(SPECIES, totalPayments, i);
+
+            // (1+r)^n - 1 = expm1(n * log1p(r))
+            DoubleVector growth = rate.lanewise(VectorOperators.LOG1P).mul(n).lanewise(VectorOperators.EXPM1);
+            DoubleVector compounded = growth.add(1);
+            VectorMask<Double> interestFree = rate.compare(VectorOperators.EQ, 0);
+            DoubleVector level = toCents(loan.mul(rate).mul(compounded).div(growth)
+                    .blend(loan.div(n), interestFree));
+            DoubleVector residual = compounded.mul(loan).sub(level.mul(growth).div(rate));
+            DoubleVector interest = n.mul(level).sub(loan).add(residual)
+                    .blend(0, interestFree);
+
+            level.intoArray(payment, i);
+            interest.intoArray(totalInterest, i);
+        }
+        ScalarPaymentKernel.evaluate(principal, periodicRate, totalPayments, payment, totalInterest, i, count);
+    }
+
+    /**
+     * Round positive amounts half up to the cent, truncating through a long lane as the scalar kernel does
+     */
+    private static DoubleVector toCents(DoubleVector amount) {
+        DoubleVector cents = (DoubleVector) amount.mul(100).add(0.5)
+                .convert(VectorOperators.D2L, 0)
+                .convert(VectorOperators.L2D, 0);
+        return cents.div(100);
+    }
+
+    @Override
+    public String name() {
+        return "VECTOR";
+    }
+}
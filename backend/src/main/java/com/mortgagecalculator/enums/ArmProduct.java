@@ -0,0 +1,74 @@
+package com.mortgagecalculator.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Standard adjustable-rate products: years at the initial rate / months between later resets")
+public enum ArmProduct {
+
+    @Schema(description = "Fixed for 5 years, then resets annually; 2/2/5 caps")
+    FIVE_ONE(5, 12, "2", "2", "5", "5/1 ARM"),
+
+    @Schema(description = "Fixed for 7 years, then resets every 6 months; 5/1/5 caps")
+    SEVEN_SIX(7, 6, "5", "1", "5", "7/6 ARM"),
+
+    @Schema(description = "Fixed for 10 years, then resets every 6 months; 5/1/5 caps")
+    TEN_SIX(10, 6, "5", "1", "5", "10/6 ARM");
+
+    private final int initialFixedYears;
+    private final int resetIntervalMonths;
+    private final BigDecimal initialCap;
+    private final BigDecimal periodicCap;
+    private final BigDecimal lifetimeCap;
+    private final String displayName;
+
+    ArmProduct(int initialFixedYears, int resetIntervalMonths, String initialCap, String periodicCap,
+            String lifetimeCap, String displayName) {
+        this.initialFixedYears = initialFixedYears;
+        this.resetIntervalMonths = resetIntervalMonths;
+        this.initialCap = new BigDecimal(initialCap);
+        this.periodicCap = new BigDecimal(periodicCap);
+        this.lifetimeCap = new BigDecimal(lifetimeCap);
+        this.displayName = displayName;
+    }
+
+    /**
+     * Years the initial rate is held before the first reset
+     */
+    public int getInitialFixedYears() {
+        return initialFixedYears;
+    }
+
+    /**
+     * Months between resets after the first
+     */
+    public int getResetIntervalMonths() {
+        return resetIntervalMonths;
+    }
+
+    /**
+     * Most the rate may move at the first reset, in percentage points
+     */
+    public BigDecimal getInitialCap() {
+        return initialCap;
+    }
+
+    /**
+     * Most the rate may move at each later reset, in percentage points
+     */
+    public BigDecimal getPeriodicCap() {
+        return periodicCap;
+    }
+
+    /**
+     * Most the rate may ever rise above the initial rate, in percentage points
+     */
+    public BigDecimal getLifetimeCap() {
+        return lifetimeCap;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,13 @@
+package com.mortgagecalculator.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Arithmetic engine used to build the amortization schedule")
+public enum CalculationEngine {
+
+    @Schema(description = "Reference engine using BigDecimal arithmetic for every period")
+    BIG_DECIMAL,
+
+    @Schema(description = "Engine using scaled long cents; produces the same amounts as BIG_DECIMAL, each at cent scale (0.00 where BIG_DECIMAL gives 0)")
+    LONG_CENTS
+}
@@ -0,0 +1,13 @@
+package com.mortgagecalculator.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How much of the calculation result to return")
+public enum DetailLevel {
+
+    @Schema(description = "Totals plus the complete amortization schedule")
+    FULL,
+
+    @Schema(description = "Totals and summary only; the amortization schedule is not built")
+    SUMMARY
+}
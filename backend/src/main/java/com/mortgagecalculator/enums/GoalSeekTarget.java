@@ -0,0 +1,16 @@
+package com.mortgagecalculator.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Loan parameter solved for by a goal-seek query")
+public enum GoalSeekTarget {
+
+    @Schema(description = "Largest loan amount whose payment does not exceed the target")
+    LOAN_AMOUNT,
+
+    @Schema(description = "Highest interest rate, to 0.001%, whose payment does not exceed the target")
+    INTEREST_RATE,
+
+    @Schema(description = "Shortest whole-year term whose payment does not exceed the target")
+    LOAN_TERM
+}
@@ -0,0 +1,16 @@
+package com.mortgagecalculator.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Interest rate model driving a variable-rate simulation")
+public enum RateModel {
+
+    @Schema(description = "Vasicek: reverts to the long-run rate with normally distributed shocks; negative rates are charged as zero")
+    VASICEK,
+
+    @Schema(description = "Cox-Ingersoll-Ross: reverts to the long-run rate with shocks scaled by the square root of the rate, so rates stay near or above zero")
+    CIR,
+
+    @Schema(description = "Monthly rate changes resampled from the historical series configured in app.mortgage.simulation.historical-rates")
+    HISTORICAL
+}
@@ -0,0 +1,82 @@
+package com.mortgagecalculator.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Schema(description = "A column of the amortization schedule, named as in the response rows")
+public enum ScheduleField {
+
+    PAYMENT_NUMBER("paymentNumber"),
+    PAYMENT_DATE("paymentDate"),
+    PRINCIPAL_PAYMENT("principalPayment"),
+    INTEREST_PAYMENT("interestPayment"),
+    ADDITIONAL_PRINCIPAL_PAYMENT("additionalPrincipalPayment"),
+    REGULAR_PAYMENT("regularPayment"),
+    TOTAL_PAYMENT("totalPayment"),
+    REMAINING_BALANCE("remainingBalance"),
+    INTEREST_RATE("interestRate"),
+
+    @Schema(description = "Requires stepping the same loan without extra payments alongside the schedule")
+    INTEREST_SAVED("interestSaved");
+
+    /**
+     * Every column, the projection when none is requested
+     */
+    public static final Set<ScheduleField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ScheduleField.class));
+
+    private final String jsonName;
+
+    ScheduleField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * Name of the field in a schedule row
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * One bit per column, {@code 1 << ordinal()}
+     */
+    public static int bits(Set<ScheduleField> fields) {
+        int bits = 0;
+        for (ScheduleField field : fields) {
+            bits |= 1 << field.ordinal();
+        }
+        return bits;
+    }
+
+    /**
+     * Columns named by row field names such as {@code remainingBalance}, or by constant names;
+     * all columns when no names are given
+     *
+     * @throws IllegalArgumentException for a name that is not a schedule column
+     */
+    public static Set<ScheduleField> parse(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return ALL;
+        }
+        EnumSet<ScheduleField> fields = EnumSet.noneOf(ScheduleField.class);
+        for (String name : names) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            fields.add(Arrays.stream(values())
+                .filter(field -> field.jsonName.equals(trimmed) || field.name().equalsIgnoreCase(trimmed))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown schedule field '" + trimmed
+                    + "'; expected any of " + Arrays.stream(values()).map(ScheduleField::getJsonName)
+                        .collect(Collectors.joining(", ")))));
+        }
+        return fields.isEmpty() ? ALL : Collections.unmodifiableSet(fields);
+    }
+}
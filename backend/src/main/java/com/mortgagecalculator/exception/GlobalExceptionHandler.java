@@ -3,6 +3,7 @@ package com.mortgagecalculator.exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,6 +14,10 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Error responses as JSON. The content type is set on each, so the body is written even for a request
+ * that accepts only another format, such as the binary schedule.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -35,7 +40,7 @@ public class GlobalExceptionHandler {
         response.put("timestamp", Instant.now().toString());
 
         logger.warn("Validation failed: {}", errors);
-        return ResponseEntity.badRequest().body(response);
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -46,7 +51,7 @@ public class GlobalExceptionHandler {
         response.put("timestamp", Instant.now().toString());
 
         logger.warn("Illegal argument: {}", ex.getMessage());
-        return ResponseEntity.badRequest().body(response);
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
     }
 
     @ExceptionHandler(Exception.class)
@@ -57,6 +62,6 @@ public class GlobalExceptionHandler {
         response.put("timestamp", Instant.now().toString());
 
         logger.error("Unexpected error", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(response);
     }
 }
\ No newline at end of file
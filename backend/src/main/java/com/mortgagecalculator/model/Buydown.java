@@ -1,5 +1,7 @@
 package com.mortgagecalculator.model;
 
+import com.mortgagecalculator.engine.AnnuityFactors;
+
 import java.math.BigDecimal;
 
 /**
@@ -52,6 +54,14 @@ public class Buydown {
         );
     }
 
+    /**
+     * Precomputes the per-year payment multipliers for a loan of the given term and frequency
+     */
+    public BuydownPaymentPlan createPaymentPlan(int loanTermYears, PaymentFrequency paymentFrequency,
+            AnnuityFactors factors) {
+        return new BuydownPaymentPlan(this, loanTermYears, paymentFrequency, factors);
+    }
+
     /**
      * Gets the applicable interest rate for a given year
      */
@@ -0,0 +1,73 @@
+package com.mortgagecalculator.model;
+
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.engine.PaymentMath;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Precomputed payment multipliers for each year of a buydown.
+ * During a buydown year the payment is re-solved on the remaining balance over the remaining
+ * whole-year term; the multiplier for that year depends only on rate, term and frequency, so it is
+ * computed once here instead of every period. Instances are immutable and safe to share.
+ */
+public final class BuydownPaymentPlan {
+
+    private final BigDecimal[] annualRates;
+    private final BigDecimal[] multipliers; // null entries mark zero-rate years
+    private final int[] termPayments;
+
+    BuydownPaymentPlan(Buydown buydown, int loanTermYears, PaymentFrequency paymentFrequency, AnnuityFactors factors) {
+        int paymentsPerYear = paymentFrequency.getPaymentsPerYear();
+        // Buydown years beyond the loan term are never reached
+        int years = Math.min(buydown.getDuration(), loanTermYears);
+
+        this.annualRates = new BigDecimal[years];
+        this.multipliers = new BigDecimal[years];
+        this.termPayments = new int[years];
+        for (int i = 0; i < years; i++) {
+            annualRates[i] = buydown.getRateForYear(i + 1);
+            termPayments[i] = (loanTermYears - i) * paymentsPerYear;
+            multipliers[i] = factors.multiplier(annualRates[i], paymentsPerYear, termPayments[i]);
+        }
+    }
+
+    /**
+     * Number of buydown years covered by the plan
+     */
+    public int getYears() {
+        return annualRates.length;
+    }
+
+    public BigDecimal getRateForYear(int year) {
+        return annualRates[year - 1];
+    }
+
+    /**
+     * Payment multiplier for the year, or null when that year's rate is zero
+     */
+    public BigDecimal getMultiplierForYear(int year) {
+        return multipliers[year - 1];
+    }
+
+    /**
+     * Number of payments the year's payment is amortized over
+     */
+    public int getTermPaymentsForYear(int year) {
+        return termPayments[year - 1];
+    }
+
+    /**
+     * Payment for a period in the given buydown year, re-solved on the remaining balance
+     */
+    public BigDecimal paymentFor(int year, BigDecimal remainingBalance) {
+        BigDecimal multiplier = multipliers[year - 1];
+        if (multiplier == null) {
+            return remainingBalance.divide(BigDecimal.valueOf(termPayments[year - 1]), PaymentMath.SCALE,
+                    RoundingMode.HALF_UP);
+        }
+        return remainingBalance.multiply(multiplier, PaymentMath.PRECISION).setScale(PaymentMath.SCALE,
+                RoundingMode.HALF_UP);
+    }
+}
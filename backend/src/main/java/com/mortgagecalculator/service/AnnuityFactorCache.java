@@ -0,0 +1,80 @@
+package com.mortgagecalculator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Bounded, concurrent cache of annuity payment multipliers keyed by rate, term and frequency.
+ * Hit and miss counts are published as the {@code cache.gets} metric with {@code cache=annuityFactors}.
+ */
+@Component
+public class AnnuityFactorCache implements AnnuityFactors {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnnuityFactorCache.class);
+    static final String CACHE_NAME = "annuityFactors";
+
+    private final MortgageProperties.AnnuityCache settings;
+    // Zero-rate factors are null, which Caffeine cannot store
+    private final Cache<FactorKey, Optional<BigDecimal>> factors;
+
+    public AnnuityFactorCache(MortgageProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getAnnuityCache();
+        this.factors = Caffeine.newBuilder()
+            .maximumSize(settings.getMaximumSize())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, factors, CACHE_NAME);
+    }
+
+    @Override
+    public BigDecimal multiplier(BigDecimal annualRatePercent, int paymentsPerYear, int totalPayments) {
+        FactorKey key = new FactorKey(annualRatePercent.stripTrailingZeros(), paymentsPerYear, totalPayments);
+        return factors.get(key, k -> Optional.ofNullable(
+            DIRECT.multiplier(k.annualRatePercent(), k.paymentsPerYear(), k.totalPayments()))).orElse(null);
+    }
+
+    /**
+     * Load the configured rate sheet for every payment frequency
+     */
+    @PostConstruct
+    void prewarm() {
+        MortgageProperties.Prewarm sheet = settings.getPrewarm();
+        if (!sheet.isEnabled()) {
+            return;
+        }
+        if (sheet.getRateStep().signum() <= 0) {
+            logger.warn("Skipping annuity factor pre-warm: rate step must be positive");
+            return;
+        }
+
+        long loaded = 0;
+        for (BigDecimal rate = sheet.getMinRate(); rate.compareTo(sheet.getMaxRate()) <= 0; rate = rate.add(sheet.getRateStep())) {
+            for (int termYears : sheet.getTermYears()) {
+                for (PaymentFrequency frequency : PaymentFrequency.values()) {
+                    int paymentsPerYear = frequency.getPaymentsPerYear();
+                    multiplier(rate, paymentsPerYear, termYears * paymentsPerYear);
+                    loaded++;
+                }
+            }
+        }
+        logger.info("Pre-warmed {} annuity factors", loaded);
+    }
+
+    /**
+     * Trailing zeros are stripped from the rate so 6.5 and 6.50 share an entry; the factor depends only on its value
+     */
+    private record FactorKey(BigDecimal annualRatePercent, int paymentsPerYear, int totalPayments) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.ArmCalculationDto;
+import com.mortgagecalculator.dto.ArmRequestDto;
+import com.mortgagecalculator.dto.ArmResetDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.AdjustableRateEngine;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.ColumnarSchedule;
+import com.mortgagecalculator.engine.IndexSeries;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.enums.ArmProduct;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules of adjustable-rate mortgages (5/1, 7/6, 10/6 or a custom reset schedule) over an index
+ * series. The configured series is loaded once into a month-indexed array; a request may instead
+ * hold the index flat at a value of its own.
+ */
+@Service
+public class ArmService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArmService.class);
+
+    private final MortgageProperties.Arm settings;
+    private final AnnuityFactors annuityFactors;
+    private volatile IndexSeries indexSeries;
+
+    public ArmService(MortgageProperties properties, AnnuityFactorCache annuityFactors) {
+        this.settings = properties.getArm();
+        this.annuityFactors = annuityFactors;
+    }
+
+    public ArmCalculationDto calculate(ArmRequestDto request) {
+        MortgageInputDto input = request.mortgage().canonicalize(LocalDate.now());
+        input.validate();
+        if (input.mortgageType() == MortgageType.INTEREST_ONLY) {
+            throw new IllegalArgumentException("Adjustable-rate schedules amortize; interest-only loans are not supported");
+        }
+        if (input.buydownType() != null && input.buydownType() != BuydownType.NONE) {
+            throw new IllegalArgumentException("Buydowns cannot be combined with an adjustable rate");
+        }
+        if (!LongCentsAmortizationEngine.supports(input)) {
+            throw new IllegalArgumentException("Amounts must be whole cents");
+        }
+
+        AdjustableRateEngine.Terms terms = termsFor(request, input);
+        IndexSeries index = request.indexRate() != null ? IndexSeries.flat(request.indexRate()) : indexSeries();
+        AdjustableRateEngine.Plan plan = AdjustableRateEngine.Plan.of(input, terms, index, annuityFactors,
+            input.startDate());
+        ColumnarSchedule schedule = AdjustableRateEngine.generateSchedule(plan);
+
+        int lastRow = schedule.size() - 1;
+        long maxPayment = 0;
+        BigDecimal maxRate = input.interestRate();
+        for (int row = 0; row <= lastRow; row++) {
+            maxPayment = Math.max(maxPayment, schedule.regularCents(row));
+            maxRate = maxRate.max(schedule.annualRate(row));
+        }
+        BigDecimal totalInterest = CentsMath.toMoney(schedule.totalInterestCents());
+
+        List<ArmResetDto> resets = new ArrayList<>();
+        for (AdjustableRateEngine.Reset reset : plan.resets()) {
+            if (reset.paymentNumber() > schedule.paymentNumber(lastRow)) {
+                break;
+            }
+            int row = reset.paymentNumber() - 1;
+            resets.add(new ArmResetDto(
+                reset.paymentNumber(),
+                schedule.paymentDate(row),
+                reset.indexDate(),
+                reset.indexRate(),
+                reset.fullyIndexedRate(),
+                reset.rate(),
+                CentsMath.toMoney(schedule.regularCents(row))
+            ));
+        }
+
+        logger.info("Calculated adjustable-rate schedule with {} resets over {} payments", resets.size(), schedule.size());
+        return new ArmCalculationDto(
+            request.product(),
+            terms.fixedPayments(),
+            terms.resetPayments(),
+            CentsMath.toMoney(schedule.regularCents(0)),
+            maxRate,
+            CentsMath.toMoney(maxPayment),
+            resets,
+            totalInterest,
+            input.loanAmount().add(totalInterest),
+            schedule.paymentNumber(lastRow),
+            schedule.paymentDate(lastRow),
+            schedule
+        );
+    }
+
+    /**
+     * Product defaults overridden by whatever the request sets
+     */
+    private AdjustableRateEngine.Terms termsFor(ArmRequestDto request, MortgageInputDto input) {
+        ArmProduct product = request.product();
+        Integer fixedYears = request.initialFixedYears() != null ? request.initialFixedYears()
+            : product != null ? Integer.valueOf(product.getInitialFixedYears()) : null;
+        Integer resetMonths = request.resetIntervalMonths() != null ? request.resetIntervalMonths()
+            : product != null ? Integer.valueOf(product.getResetIntervalMonths()) : null;
+        if (fixedYears == null || resetMonths == null) {
+            throw new IllegalArgumentException("Specify a product, or both initialFixedYears and resetIntervalMonths");
+        }
+        BigDecimal initialCap = capOrDefault(request.initialCap(), product != null ? product.getInitialCap() : null, "initial");
+        BigDecimal periodicCap = capOrDefault(request.periodicCap(), product != null ? product.getPeriodicCap() : null, "periodic");
+        BigDecimal lifetimeCap = capOrDefault(request.lifetimeCap(), product != null ? product.getLifetimeCap() : null, "lifetime");
+        BigDecimal floor = request.floor() != null ? request.floor() : request.margin();
+        if (floor.compareTo(input.interestRate().add(lifetimeCap)) > 0) {
+            throw new IllegalArgumentException("The floor cannot be above the lifetime cap");
+        }
+
+        int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+        // Resets fall on the payment nearest each interval, and never more often than every payment
+        int resetPayments = Math.max(1, Math.round(resetMonths * paymentsPerYear / 12f));
+        return new AdjustableRateEngine.Terms(
+            fixedYears * paymentsPerYear,
+            resetPayments,
+            request.margin(),
+            initialCap,
+            periodicCap,
+            lifetimeCap,
+            floor,
+            request.lookbackDays() != null ? request.lookbackDays() : settings.getLookbackDays()
+        );
+    }
+
+    private static BigDecimal capOrDefault(BigDecimal requested, BigDecimal productDefault, String name) {
+        if (requested != null) {
+            return requested;
+        }
+        if (productDefault == null) {
+            throw new IllegalArgumentException("The " + name + " cap is required without a product");
+        }
+        return productDefault;
+    }
+
+    /**
+     * The configured index series, loaded once
+     */
+    private IndexSeries indexSeries() {
+        IndexSeries series = indexSeries;
+        if (series == null) {
+            String location = settings.getIndexRates();
+            if (location == null || location.isBlank()) {
+                throw new IllegalArgumentException("Give an indexRate, or configure app.mortgage.arm.index-rates to name an index file");
+            }
+            series = IndexSeries.load(Path.of(location));
+            indexSeries = series;
+        }
+        return series;
+    }
+}
@@ -0,0 +1,282 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.BatchCalculationResultDto;
+import com.mortgagecalculator.dto.BatchItemResultDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Calculates many loans per request on a dedicated work-stealing pool, reporting each loan's
+ * result or error independently, either as one JSON document or as an NDJSON stream.
+ */
+@Service
+public class BatchCalculationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchCalculationService.class);
+
+    /**
+     * Loans calculated sequentially by one task before it stops splitting; at tens of microseconds
+     * per loan this keeps task overhead negligible while leaving plenty of tasks to steal
+     */
+    private static final int GRAIN = 32;
+
+    private static final int STREAM_OUTPUT_BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * Queued by the stream reader once every loan has been written
+     */
+    private static final BatchItemResultDto END_OF_STREAM = new BatchItemResultDto(-1, null, null);
+
+    private final MortgageCalculationService calculationService;
+    private final Validator validator;
+    private final MortgageProperties properties;
+    private final ForkJoinPool pool;
+    private final ExecutorService streamReaders;
+    private final ObjectReader inputReader;
+    private final ObjectWriter resultWriter;
+
+    public BatchCalculationService(MortgageCalculationService calculationService, Validator validator,
+            MortgageProperties properties, ObjectMapper objectMapper) {
+        this.calculationService = calculationService;
+        this.validator = validator;
+        this.properties = properties;
+        this.inputReader = objectMapper.readerFor(MortgageInputDto.class);
+        this.resultWriter = objectMapper.writerFor(BatchItemResultDto.class);
+        // availableProcessors honours container CPU limits
+        int parallelism = properties.getBatchParallelism() > 0
+            ? properties.getBatchParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        // Stream readers block on request input, so they stay off the calculation pool
+        this.streamReaders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "batch-stream-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Calculate every loan, keeping results in request order
+     */
+    public BatchCalculationResultDto calculateBatch(List<MortgageInputDto> inputs, CalculationOptions options) {
+        if (inputs.size() > properties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("A batch may contain at most " + properties.getMaxBatchSize() + " loans");
+        }
+        if (!options.summaryOnly() && scheduleRows(inputs) > properties.getMaxBatchScheduleRows()) {
+            // Every result is held until the response is written, and a row retains about 330 bytes as
+            // records or 30-40 in columnar form
+            throw new IllegalArgumentException("A full-detail batch may contain at most "
+                + properties.getMaxBatchScheduleRows() + " schedule rows; request detail=summary or split the batch");
+        }
+        logger.info("Calculating batch of {} loans on {} workers", inputs.size(), pool.getParallelism());
+
+        BatchItemResultDto[] results = new BatchItemResultDto[inputs.size()];
+        pool.invoke(new CalculateRange(inputs, options, LocalDate.now(), results, 0, inputs.size()));
+
+        int failed = (int) Arrays.stream(results).filter(item -> item.error() != null).count();
+        return new BatchCalculationResultDto(Arrays.asList(results), results.length - failed, failed);
+    }
+
+    /**
+     * Calculate newline-delimited JSON loans from {@code input}, writing one NDJSON result per loan to
+     * {@code output} as each completes, so results arrive out of request order and carry their index.
+     * <p>
+     * Reading and parsing, calculation and writing run as concurrent stages. At most
+     * {@code app.mortgage.stream-buffer-size} loans are between being read and being written, so memory
+     * stays flat regardless of batch size and a slow client throttles reading and calculation.
+     */
+    public void streamBatch(InputStream input, OutputStream output, CalculationOptions options) throws IOException {
+        int capacity = properties.getStreamBufferSize();
+        // Every queued item holds a permit, plus room for the end marker
+        BlockingQueue<BatchItemResultDto> completed = new ArrayBlockingQueue<>(capacity + 1);
+        Semaphore inFlight = new Semaphore(capacity);
+        LocalDate today = LocalDate.now();
+
+        Future<?> reader = streamReaders.submit(() -> readAndDispatch(input, options, today, completed, inFlight, capacity));
+        long written = 0;
+        long failed = 0;
+        try {
+            OutputStream out = new BufferedOutputStream(output, STREAM_OUTPUT_BUFFER_BYTES);
+            while (true) {
+                BatchItemResultDto item = completed.poll(1, TimeUnit.SECONDS);
+                if (item == null) {
+                    if (reader.isDone() && completed.isEmpty()) {
+                        throw new IOException("Batch stream reader stopped before the end of the input");
+                    }
+                    continue;
+                }
+                if (item == END_OF_STREAM) {
+                    break;
+                }
+                out.write(resultWriter.writeValueAsBytes(item));
+                out.write('\n');
+                inFlight.release();
+                written++;
+                if (item.error() != null) {
+                    failed++;
+                }
+                if (completed.isEmpty()) {
+                    // Nothing ready to write, so hand what we have to the client
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch stream interrupted");
+        } finally {
+            // Stops the reader if the client went away mid-stream
+            reader.cancel(true);
+        }
+        logger.info("Streamed batch of {} loans, {} failed", written, failed);
+    }
+
+    /**
+     * Reader stage: parse each line and hand it to the calculation pool, blocking while the buffer is full
+     */
+    private void readAndDispatch(InputStream input, CalculationOptions options, LocalDate today,
+            BlockingQueue<BatchItemResultDto> completed, Semaphore inFlight, int capacity) {
+        int index = 0;
+        try {
+            BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            try {
+                for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    int itemIndex = index++;
+                    inFlight.acquire();
+                    MortgageInputDto loan;
+                    try {
+                        loan = inputReader.readValue(line);
+                    } catch (JsonProcessingException e) {
+                        completed.add(new BatchItemResultDto(itemIndex, null, "Invalid JSON: " + e.getOriginalMessage()));
+                        continue;
+                    }
+                    pool.execute(() -> completed.add(calculateItem(itemIndex, loan, options, today)));
+                }
+            } catch (IOException e) {
+                logger.warn("Batch stream input failed after {} loans: {}", index, e.getMessage());
+                inFlight.acquire();
+                completed.add(new BatchItemResultDto(index, null, "Request body could not be read"));
+            }
+            // Every dispatched loan has been written once all permits are back
+            inFlight.acquire(capacity);
+            completed.add(END_OF_STREAM);
+        } catch (InterruptedException e) {
+            // The writer gave up; in-flight results are discarded
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Batch stream reader failed after {} loans", index, e);
+        }
+    }
+
+    private static long scheduleRows(List<MortgageInputDto> inputs) {
+        long rows = 0;
+        for (MortgageInputDto input : inputs) {
+            if (input != null && input.loanTermYears() != null && input.paymentFrequency() != null) {
+                rows += (long) input.loanTermYears() * input.paymentFrequency().getPaymentsPerYear();
+            }
+        }
+        return rows;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+        streamReaders.shutdownNow();
+    }
+
+    private BatchItemResultDto calculateItem(int index, MortgageInputDto input, CalculationOptions options, LocalDate today) {
+        if (input == null) {
+            return new BatchItemResultDto(index, null, "Loan is required");
+        }
+        Set<ConstraintViolation<MortgageInputDto>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            String error = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+            return new BatchItemResultDto(index, null, error);
+        }
+        try {
+            return new BatchItemResultDto(index, calculationService.calculate(input, options, today), null);
+        } catch (IllegalArgumentException e) {
+            return new BatchItemResultDto(index, null, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Error calculating batch item {}", index, e);
+            return new BatchItemResultDto(index, null, "Calculation failed");
+        }
+    }
+
+    /**
+     * Splits the index range in halves until it is small enough to calculate directly
+     */
+    private final class CalculateRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<MortgageInputDto> inputs;
+        private final CalculationOptions options;
+        private final LocalDate today;
+        private final BatchItemResultDto[] results;
+        private final int from;
+        private final int to;
+
+        CalculateRange(List<MortgageInputDto> inputs, CalculationOptions options, LocalDate today,
+                BatchItemResultDto[] results, int from, int to) {
+            this.inputs = inputs;
+            this.options = options;
+            this.today = today;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GRAIN) {
+                for (int i = from; i < to; i++) {
+                    results[i] = calculateItem(i, inputs.get(i), options, today);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CalculateRange(inputs, options, today, results, from, middle),
+                new CalculateRange(inputs, options, today, results, middle, to));
+        }
+    }
+}
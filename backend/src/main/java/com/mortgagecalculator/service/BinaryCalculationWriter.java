@@ -0,0 +1,380 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageComparisonDto;
+import com.mortgagecalculator.engine.ColumnarSchedule;
+import com.mortgagecalculator.enums.ScheduleField;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary form of calculation and comparison responses, served for
+ * {@value #MEDIA_TYPE} and decoded by {@code frontend/src/services/scheduleBinary.ts}.
+ * <p>
+ * The response is the usual JSON with every amortization schedule left empty, followed by the
+ * schedules as delta-encoded integer columns, so only the rows change representation:
+ * <pre>
+ * "MCS1"  varint headerLength  header JSON (UTF-8)  varint scheduleCount  schedule...
+ *
+ * schedule: varint rows; when rows &gt; 0:
+ *   varint fields                the columns present, bit ScheduleField.ordinal() each; only those follow
+ *   varint scale                 amounts are integers in units of 10^-scale (2, i.e. cents, unless sub-cent)
+ *   varint firstPaymentNumber    payment numbers are consecutive
+ *   date                         signed firstEpochDay, varint dateMode,
+ *                                then 0: signed daysBetweenPayments; 1: rows-1 signed day deltas
+ *   principal, interest          signed first value, then rows-1 signed deltas
+ *   regular, additional          varint runs, then per run: varint length, signed change from the previous run
+ *   total                        runs as above, only when regular or additional is absent
+ *   rate                         varint runs, then per run: varint length, signed unscaled value, signed scale
+ *   balance                      with principal and additional: signed opening balance, then per row signed
+ *                                (previous balance - principal - additional - balance); otherwise as principal
+ *   interestSaved                varint present, then when 1: signed first value and deltas; 0: all zero
+ * </pre>
+ * Varints are unsigned LEB128 and signed values are zigzag-encoded first. Total payment is otherwise
+ * regular plus additional and is not sent. Schedules follow the order they appear in the header.
+ */
+@Component
+public class BinaryCalculationWriter {
+
+    public static final String MEDIA_TYPE = "application/vnd.mortgage.schedule+binary";
+
+    private static final byte[] MAGIC = {'M', 'C', 'S', '1'};
+    private static final int CENTS_SCALE = 2;
+
+    private final ObjectMapper objectMapper;
+
+    public BinaryCalculationWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] write(MortgageCalculationDto calculation) throws IOException {
+        return write(objectMapper.writeValueAsBytes(withoutSchedule(calculation)),
+            List.of(calculation.amortizationSchedule()));
+    }
+
+    public byte[] write(MortgageComparisonDto comparison) throws IOException {
+        MortgageComparisonDto header = new MortgageComparisonDto(
+            comparison.mortgages().stream().map(BinaryCalculationWriter::withoutSchedule).toList(),
+            comparison.comparisonSummary(),
+            comparison.comparisonId()
+        );
+        return write(objectMapper.writeValueAsBytes(header),
+            comparison.mortgages().stream().map(MortgageCalculationDto::amortizationSchedule).toList());
+    }
+
+    /**
+     * The response for an already serialized header and its schedules
+     */
+    static byte[] write(byte[] header, List<List<AmortizationEntryDto>> schedules) {
+        int rows = schedules.stream().mapToInt(List::size).sum();
+        Output out = new Output(header.length + 16 + rows * 12);
+        out.bytes(MAGIC);
+        out.varint(header.length);
+        out.bytes(header);
+        out.varint(schedules.size());
+        for (List<AmortizationEntryDto> schedule : schedules) {
+            writeSchedule(out, schedule);
+        }
+        return out.toByteArray();
+    }
+
+    private static MortgageCalculationDto withoutSchedule(MortgageCalculationDto calculation) {
+        return new MortgageCalculationDto(
+            calculation.monthlyPayment(),
+            calculation.totalInterest(),
+            calculation.totalPayments(),
+            List.of(),
+            calculation.summary(),
+            calculation.calculationId()
+        );
+    }
+
+    private static void writeSchedule(Output out, List<AmortizationEntryDto> schedule) {
+        int rows = schedule.size();
+        out.varint(rows);
+        if (rows == 0) {
+            return;
+        }
+        Columns columns = schedule instanceof ColumnarSchedule columnar ? Columns.of(columnar) : Columns.of(schedule);
+
+        out.varint(columns.fields);
+        out.varint(columns.scale);
+        if (columns.has(ScheduleField.PAYMENT_NUMBER)) {
+            out.varint(columns.firstPaymentNumber);
+        }
+        if (columns.has(ScheduleField.PAYMENT_DATE)) {
+            writeDates(out, columns.epochDays);
+        }
+        if (columns.has(ScheduleField.PRINCIPAL_PAYMENT)) {
+            writeDeltas(out, columns.principal);
+        }
+        if (columns.has(ScheduleField.INTEREST_PAYMENT)) {
+            writeDeltas(out, columns.interest);
+        }
+        boolean regular = columns.has(ScheduleField.REGULAR_PAYMENT);
+        boolean additional = columns.has(ScheduleField.ADDITIONAL_PRINCIPAL_PAYMENT);
+        if (regular) {
+            writeRuns(out, columns.regular);
+        }
+        if (additional) {
+            writeRuns(out, columns.additional);
+        }
+        if (columns.has(ScheduleField.TOTAL_PAYMENT) && !(regular && additional)) {
+            writeRuns(out, columns.total);
+        }
+        if (columns.has(ScheduleField.INTEREST_RATE)) {
+            writeRateRuns(out, columns.rates);
+        }
+
+        if (columns.has(ScheduleField.REMAINING_BALANCE)) {
+            if (columns.has(ScheduleField.PRINCIPAL_PAYMENT) && additional) {
+                long balance = columns.balance[0] + columns.principal[0] + columns.additional[0];
+                out.signed(balance);
+                for (int row = 0; row < rows; row++) {
+                    out.signed(balance - columns.principal[row] - columns.additional[row] - columns.balance[row]);
+                    balance = columns.balance[row];
+                }
+            } else {
+                writeDeltas(out, columns.balance);
+            }
+        }
+
+        if (columns.has(ScheduleField.INTEREST_SAVED)) {
+            boolean saved = Arrays.stream(columns.interestSaved).anyMatch(value -> value != 0);
+            out.varint(saved ? 1 : 0);
+            if (saved) {
+                writeDeltas(out, columns.interestSaved);
+            }
+        }
+    }
+
+    private static void writeDates(Output out, long[] days) {
+        out.signed(days[0]);
+        long step = days.length > 1 ? days[1] - days[0] : 0;
+        boolean evenlySpaced = true;
+        for (int row = 1; row < days.length && evenlySpaced; row++) {
+            evenlySpaced = days[row] - days[row - 1] == step;
+        }
+        if (evenlySpaced) {
+            out.varint(0);
+            out.signed(step);
+        } else {
+            out.varint(1);
+            for (int row = 1; row < days.length; row++) {
+                out.signed(days[row] - days[row - 1]);
+            }
+        }
+    }
+
+    private static void writeDeltas(Output out, long[] values) {
+        long previous = 0;
+        for (long value : values) {
+            out.signed(value - previous);
+            previous = value;
+        }
+    }
+
+    private static void writeRuns(Output out, long[] values) {
+        int runs = 1;
+        for (int row = 1; row < values.length; row++) {
+            if (values[row] != values[row - 1]) {
+                runs++;
+            }
+        }
+        out.varint(runs);
+        long previous = 0;
+        for (int start = 0; start < values.length; ) {
+            int end = start + 1;
+            while (end < values.length && values[end] == values[start]) {
+                end++;
+            }
+            out.varint(end - start);
+            out.signed(values[start] - previous);
+            previous = values[start];
+            start = end;
+        }
+    }
+
+    private static void writeRateRuns(Output out, BigDecimal[] rates) {
+        int runs = 1;
+        for (int row = 1; row < rates.length; row++) {
+            if (!rates[row].equals(rates[row - 1])) {
+                runs++;
+            }
+        }
+        out.varint(runs);
+        for (int start = 0; start < rates.length; ) {
+            int end = start + 1;
+            while (end < rates.length && rates[end].equals(rates[start])) {
+                end++;
+            }
+            out.varint(end - start);
+            out.signed(rates[start].unscaledValue().longValueExact());
+            out.signed(rates[start].scale());
+            start = end;
+        }
+    }
+
+    /**
+     * A schedule's values as integers at one scale; columns outside {@code fields} are not filled
+     */
+    private static final class Columns {
+        final int fields;
+        int scale;
+        int firstPaymentNumber;
+        final long[] epochDays;
+        final long[] principal;
+        final long[] interest;
+        final long[] additional;
+        final long[] regular;
+        final long[] total;
+        final long[] balance;
+        final long[] interestSaved;
+        final BigDecimal[] rates;
+
+        private Columns(int rows, int fields) {
+            this.fields = fields;
+            epochDays = new long[rows];
+            principal = new long[rows];
+            interest = new long[rows];
+            additional = new long[rows];
+            regular = new long[rows];
+            total = new long[rows];
+            balance = new long[rows];
+            interestSaved = new long[rows];
+            rates = new BigDecimal[rows];
+        }
+
+        boolean has(ScheduleField field) {
+            return (fields & 1 << field.ordinal()) != 0;
+        }
+
+        static Columns of(ColumnarSchedule schedule) {
+            Columns columns = new Columns(schedule.size(), ScheduleField.bits(schedule.fields()));
+            columns.scale = CENTS_SCALE;
+            columns.firstPaymentNumber = schedule.paymentNumber(0);
+            boolean dates = columns.has(ScheduleField.PAYMENT_DATE);
+            boolean principal = columns.has(ScheduleField.PRINCIPAL_PAYMENT);
+            boolean interest = columns.has(ScheduleField.INTEREST_PAYMENT);
+            boolean balance = columns.has(ScheduleField.REMAINING_BALANCE);
+            boolean saved = columns.has(ScheduleField.INTEREST_SAVED);
+            for (int row = 0; row < schedule.size(); row++) {
+                columns.epochDays[row] = dates ? schedule.epochDay(row) : 0;
+                columns.principal[row] = principal ? schedule.principalCents(row) : 0;
+                columns.interest[row] = interest ? schedule.interestCents(row) : 0;
+                columns.additional[row] = schedule.additionalCents(row);
+                columns.regular[row] = schedule.regularCents(row);
+                columns.total[row] = schedule.totalCents(row);
+                columns.balance[row] = balance ? schedule.balanceCents(row) : 0;
+                columns.interestSaved[row] = saved ? schedule.interestSavedCents(row) : 0;
+                columns.rates[row] = schedule.annualRate(row);
+            }
+            return columns;
+        }
+
+        /**
+         * Records from the BigDecimal engine, at the largest scale any amount has so nothing is rounded;
+         * the fields present in the first row are the schedule's columns
+         */
+        static Columns of(List<AmortizationEntryDto> schedule) {
+            AmortizationEntryDto first = schedule.get(0);
+            int fields = bit(ScheduleField.PAYMENT_NUMBER, first.paymentNumber())
+                | bit(ScheduleField.PAYMENT_DATE, first.paymentDate())
+                | bit(ScheduleField.PRINCIPAL_PAYMENT, first.principalPayment())
+                | bit(ScheduleField.INTEREST_PAYMENT, first.interestPayment())
+                | bit(ScheduleField.ADDITIONAL_PRINCIPAL_PAYMENT, first.additionalPrincipalPayment())
+                | bit(ScheduleField.REGULAR_PAYMENT, first.regularPayment())
+                | bit(ScheduleField.TOTAL_PAYMENT, first.totalPayment())
+                | bit(ScheduleField.REMAINING_BALANCE, first.remainingBalance())
+                | bit(ScheduleField.INTEREST_RATE, first.interestRate())
+                | bit(ScheduleField.INTEREST_SAVED, first.interestSaved());
+
+            int scale = CENTS_SCALE;
+            for (AmortizationEntryDto entry : schedule) {
+                scale = Math.max(scale, Math.max(Math.max(scale(entry.principalPayment()), scale(entry.interestPayment())),
+                    Math.max(Math.max(scale(entry.additionalPrincipalPayment()), scale(entry.regularPayment())),
+                        Math.max(scale(entry.totalPayment()),
+                            Math.max(scale(entry.remainingBalance()), scale(entry.interestSaved()))))));
+            }
+
+            Columns columns = new Columns(schedule.size(), fields);
+            columns.scale = scale;
+            columns.firstPaymentNumber = first.paymentNumber() != null ? first.paymentNumber() : 0;
+            for (int row = 0; row < schedule.size(); row++) {
+                AmortizationEntryDto entry = schedule.get(row);
+                if (entry.paymentNumber() != null && entry.paymentNumber() != columns.firstPaymentNumber + row) {
+                    throw new IllegalStateException("Schedule rows must have consecutive payment numbers");
+                }
+                columns.epochDays[row] = entry.paymentDate() != null ? entry.paymentDate().toEpochDay() : 0;
+                columns.principal[row] = unscaled(entry.principalPayment(), scale);
+                columns.interest[row] = unscaled(entry.interestPayment(), scale);
+                columns.additional[row] = unscaled(entry.additionalPrincipalPayment(), scale);
+                columns.regular[row] = unscaled(entry.regularPayment(), scale);
+                columns.total[row] = unscaled(entry.totalPayment(), scale);
+                columns.balance[row] = unscaled(entry.remainingBalance(), scale);
+                columns.interestSaved[row] = unscaled(entry.interestSaved(), scale);
+                columns.rates[row] = entry.interestRate();
+            }
+            return columns;
+        }
+
+        private static int bit(ScheduleField field, Object value) {
+            return value != null ? 1 << field.ordinal() : 0;
+        }
+
+        private static int scale(BigDecimal amount) {
+            return amount != null ? amount.scale() : 0;
+        }
+
+        private static long unscaled(BigDecimal amount, int scale) {
+            return amount != null ? amount.movePointRight(scale).longValueExact() : 0;
+        }
+    }
+
+    /**
+     * Growable byte buffer with LEB128 varints
+     */
+    private static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void signed(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void bytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int more) {
+            if (size + more > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + more));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.MortgageInputDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Content-addressed identifiers: a truncated SHA-256 of the canonical input and the engine version,
+ * so identical requests always receive the same ID.
+ */
+final class CalculationIds {
+
+    /**
+     * Bump whenever a change alters calculation results, so an ID never names two different results
+     */
+    static final int ENGINE_VERSION = 2;
+
+    /**
+     * 64 bits of the digest: the chance of any collision stays below one in a million until
+     * about six million distinct inputs are live at once
+     */
+    static final int HEX_LENGTH = 16;
+
+    private static final String CALCULATION_PREFIX = "calc_";
+    private static final String COMPARISON_PREFIX = "cmp_";
+
+    private CalculationIds() {
+    }
+
+    static String forCalculation(MortgageInputDto canonicalInput) {
+        StringBuilder content = new StringBuilder("calculation");
+        append(content, canonicalInput.loanAmount());
+        append(content, canonicalInput.interestRate());
+        append(content, canonicalInput.loanTermYears());
+        append(content, canonicalInput.downPayment());
+        append(content, canonicalInput.propertyValue());
+        append(content, canonicalInput.mortgageType());
+        append(content, canonicalInput.paymentFrequency());
+        append(content, canonicalInput.buydownType());
+        append(content, canonicalInput.additionalPrincipalPayment());
+        append(content, canonicalInput.additionalPaymentFrequency());
+        append(content, canonicalInput.startDate());
+        return CALCULATION_PREFIX + hash(content);
+    }
+
+    static String forComparison(List<String> calculationIds) {
+        StringBuilder content = new StringBuilder("comparison");
+        calculationIds.forEach(id -> append(content, id));
+        return COMPARISON_PREFIX + hash(content);
+    }
+
+    private static void append(StringBuilder content, Object value) {
+        // Canonical BigDecimals have a fixed scale, so toString is stable for equal values
+        content.append('|').append(value != null ? value : "-");
+    }
+
+    private static String hash(CharSequence content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(("v" + ENGINE_VERSION + "|").getBytes(StandardCharsets.UTF_8));
+        byte[] bytes = digest.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(bytes, 0, HEX_LENGTH / 2);
+    }
+}
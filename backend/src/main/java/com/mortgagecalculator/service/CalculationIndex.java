@@ -0,0 +1,58 @@
+package com.mortgagecalculator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory map from recently issued calculation and comparison IDs to their canonical
+ * inputs, so results can be looked up by ID and recomputed without a database.
+ * <p>
+ * IDs are truncated hashes. If two different inputs ever share one, the entry is dropped rather
+ * than resolving the ID to the wrong inputs; lookups then miss until the ID is issued again.
+ */
+@Component
+public class CalculationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationIndex.class);
+
+    private final Cache<String, MortgageInputDto> calculations;
+    private final Cache<String, List<MortgageInputDto>> comparisons;
+
+    public CalculationIndex(MortgageProperties properties) {
+        long maximumSize = properties.getMaxIndexedIds();
+        this.calculations = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.comparisons = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public void registerCalculation(String calculationId, MortgageInputDto canonicalInput) {
+        register(calculations, calculationId, canonicalInput);
+    }
+
+    public void registerComparison(String comparisonId, List<MortgageInputDto> canonicalInputs) {
+        register(comparisons, comparisonId, List.copyOf(canonicalInputs));
+    }
+
+    public Optional<MortgageInputDto> findCalculation(String calculationId) {
+        return Optional.ofNullable(calculations.getIfPresent(calculationId));
+    }
+
+    public Optional<List<MortgageInputDto>> findComparison(String comparisonId) {
+        return Optional.ofNullable(comparisons.getIfPresent(comparisonId));
+    }
+
+    private static <T> void register(Cache<String, T> index, String id, T inputs) {
+        T existing = index.asMap().putIfAbsent(id, inputs);
+        if (existing != null && !existing.equals(inputs)) {
+            logger.warn("ID collision on {}; dropping it from the index", id);
+            index.invalidate(id);
+        }
+    }
+}
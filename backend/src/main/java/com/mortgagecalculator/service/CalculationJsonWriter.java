@@ -0,0 +1,78 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.enums.ScheduleField;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a streamed calculation as the JSON Jackson would produce for the complete
+ * {@link MortgageCalculationDto}, emitting each schedule row as the engine steps rather than
+ * collecting the schedule first. The generator buffers a few kilobytes, so memory does not grow
+ * with the schedule, and the totals and first row are flushed before the remaining rows are computed.
+ */
+@Component
+public class CalculationJsonWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public CalculationJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(StreamedCalculation calculation, OutputStream output) throws IOException {
+        MortgageCalculationDto result = calculation.result();
+        LongCentsAmortizationEngine.Plan plan = calculation.plan();
+        try (JsonGenerator json = objectMapper.createGenerator(output, JsonEncoding.UTF8)) {
+            // The servlet container owns the response stream
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!calculation.isStreamed()) {
+                json.writeObject(result);
+                return;
+            }
+
+            // Fields in MortgageCalculationDto component order
+            json.writeStartObject();
+            json.writeObjectField("monthlyPayment", result.monthlyPayment());
+            json.writeObjectField("totalInterest", result.totalInterest());
+            json.writeObjectField("totalPayments", result.totalPayments());
+            json.writeArrayFieldStart("amortizationSchedule");
+            char[] buffer = new char[MoneyJsonModule.BUFFER_LENGTH];
+            int fields = ScheduleField.bits(calculation.fields());
+            boolean dates = calculation.fields().contains(ScheduleField.PAYMENT_DATE);
+            boolean trackSavings = calculation.fields().contains(ScheduleField.INTEREST_SAVED);
+            LongCentsAmortizationEngine.RowSink sink = (paymentNumber, principal, interest, additional, regular,
+                    total, balance, annualRate, interestSaved) -> {
+                try {
+                    MoneyJsonModule.writeRow(json, buffer, fields, paymentNumber,
+                        dates ? plan.paymentDate(paymentNumber).toEpochDay() : 0,
+                        principal, interest, additional, regular, total, balance, annualRate, interestSaved);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            try {
+                LongCentsAmortizationEngine.State state = plan.initialState();
+                if (LongCentsAmortizationEngine.step(plan, state, sink, trackSavings)) {
+                    json.flush();
+                    while (LongCentsAmortizationEngine.step(plan, state, sink, trackSavings)) {
+                        // rows are written by the sink
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.writeEndArray();
+            json.writeObjectField("summary", result.summary());
+            json.writeObjectField("calculationId", result.calculationId());
+            json.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.ScheduleField;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Per-request switches for a calculation; null components fall back to the configured defaults.
+ * {@code fields} projects the schedule rows onto the named columns: the others are left out of every
+ * row, and a column that costs work of its own, such as interest saved, is not computed.
+ */
+public record CalculationOptions(CalculationEngine engine, DetailLevel detail, Set<ScheduleField> fields) {
+
+    public static final CalculationOptions DEFAULT = new CalculationOptions(null, DetailLevel.FULL);
+
+    public CalculationOptions {
+        if (detail == null) {
+            detail = DetailLevel.FULL;
+        }
+        if (fields == null || fields.isEmpty() || detail == DetailLevel.SUMMARY) {
+            // A summary has no rows to project
+            fields = ScheduleField.ALL;
+        } else if (fields != ScheduleField.ALL) {
+            fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+        }
+    }
+
+    public CalculationOptions(CalculationEngine engine, DetailLevel detail) {
+        this(engine, detail, null);
+    }
+
+    public boolean summaryOnly() {
+        return detail == DetailLevel.SUMMARY;
+    }
+
+    /**
+     * Whether the schedule rows leave out some columns
+     */
+    public boolean projected() {
+        return !fields.equals(ScheduleField.ALL);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mortgagecalculator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.ColumnarSchedule;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.ScheduleField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Results of recent calculations keyed on the canonical input, evicted by estimated heap size
+ * and by age. Hit and miss counts are published as {@code cache.gets} with {@code cache=calculationResults}.
+ */
+@Component
+public class CalculationResultCache {
+
+    static final String CACHE_NAME = "calculationResults";
+
+    // Approximate retained sizes on a 64-bit JVM with compressed references; a schedule row held as a
+    // record (with its Integer, LocalDate and BigDecimal fields) measures 300-340 bytes, rounded up here,
+    // while columnar schedules report their own size
+    private static final int RESULT_BYTES = 1_024;
+    private static final int ENTRY_BYTES = 360;
+
+    private final Cache<ResultKey, MortgageCalculationDto> results;
+
+    public CalculationResultCache(MortgageProperties properties, MeterRegistry meterRegistry) {
+        MortgageProperties.ResultCache settings = properties.getResultCache();
+        if (!settings.isEnabled()) {
+            this.results = null;
+            return;
+        }
+        this.results = Caffeine.newBuilder()
+            .maximumWeight(settings.getMaximumSize().toBytes())
+            .weigher((ResultKey key, MortgageCalculationDto result) -> estimateBytes(result))
+            .expireAfterWrite(settings.getTimeToLive())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+    }
+
+    /**
+     * Cached result for a canonical input, computing and storing it on a miss; each projection of the
+     * schedule, and the result of each engine, is cached on its own
+     */
+    public MortgageCalculationDto get(MortgageInputDto canonicalInput, CalculationEngine engine, DetailLevel detail,
+            Set<ScheduleField> fields, Supplier<MortgageCalculationDto> calculation) {
+        if (results == null) {
+            return calculation.get();
+        }
+        return results.get(new ResultKey(canonicalInput, engine, detail, fields), key -> freeze(calculation.get()));
+    }
+
+    static int estimateBytes(MortgageCalculationDto result) {
+        List<AmortizationEntryDto> schedule = result.amortizationSchedule();
+        long bytes = RESULT_BYTES + (schedule instanceof ColumnarSchedule columnar
+            ? columnar.retainedBytes()
+            : (long) ENTRY_BYTES * schedule.size());
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Cached results are shared between callers, so the schedule must not be modifiable; columnar
+     * schedules already are not, and are kept as they are
+     */
+    private static MortgageCalculationDto freeze(MortgageCalculationDto result) {
+        return new MortgageCalculationDto(
+            result.monthlyPayment(),
+            result.totalInterest(),
+            result.totalPayments(),
+            result.amortizationSchedule() instanceof ColumnarSchedule
+                ? result.amortizationSchedule()
+                : List.copyOf(result.amortizationSchedule()),
+            result.summary(),
+            result.calculationId()
+        );
+    }
+
+    private record ResultKey(MortgageInputDto input, CalculationEngine engine, DetailLevel detail,
+            Set<ScheduleField> fields) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.BestOptionsDto;
+import com.mortgagecalculator.dto.DifferenceMatrixDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * All-pairs differences and best-by-metric selection for a comparison. Each option's metrics are read
+ * once from its totals; schedules are never rescanned, so this also works for summary-only results.
+ */
+final class ComparisonMatrix {
+
+    /**
+     * Compared metrics; lower is better for every one of them
+     */
+    enum Metric {
+        MONTHLY_PAYMENT("Monthly Payment", "CURRENCY", MortgageCalculationDto::monthlyPayment),
+        TOTAL_INTEREST("Total Interest", "CURRENCY", MortgageCalculationDto::totalInterest),
+        TOTAL_AMOUNT_PAID("Total Amount Paid", "CURRENCY", calculation -> calculation.summary().totalAmountPaid()),
+        PAYOFF_DATE("Payoff Date", "DAYS", calculation -> epochDay(calculation.summary().payoffDate()));
+
+        private final String label;
+        private final String unit;
+        private final Function<MortgageCalculationDto, BigDecimal> value;
+
+        Metric(String label, String unit, Function<MortgageCalculationDto, BigDecimal> value) {
+            this.label = label;
+            this.unit = unit;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Aggregates indexed by metric ordinal, then option
+     */
+    private final BigDecimal[][] aggregates;
+
+    ComparisonMatrix(List<MortgageCalculationDto> calculations) {
+        Metric[] metrics = Metric.values();
+        this.aggregates = new BigDecimal[metrics.length][calculations.size()];
+        for (int option = 0; option < calculations.size(); option++) {
+            MortgageCalculationDto calculation = calculations.get(option);
+            for (Metric metric : metrics) {
+                aggregates[metric.ordinal()][option] = metric.value.apply(calculation);
+            }
+        }
+    }
+
+    /**
+     * One matrix per metric where entry [i][j] is option i minus option j; the lower triangle is the
+     * negated upper triangle, so each pair is subtracted once
+     */
+    List<DifferenceMatrixDto> differences() {
+        List<DifferenceMatrixDto> matrices = new ArrayList<>(Metric.values().length);
+        for (Metric metric : Metric.values()) {
+            BigDecimal[] values = aggregates[metric.ordinal()];
+            int n = values.length;
+            BigDecimal[][] matrix = new BigDecimal[n][n];
+            for (int i = 0; i < n; i++) {
+                matrix[i][i] = values[i] != null ? BigDecimal.ZERO.setScale(values[i].scale()) : null;
+                for (int j = i + 1; j < n; j++) {
+                    if (values[i] == null || values[j] == null) {
+                        continue;
+                    }
+                    BigDecimal difference = values[i].subtract(values[j]);
+                    matrix[i][j] = difference;
+                    matrix[j][i] = difference.negate();
+                }
+            }
+            List<List<BigDecimal>> rows = Arrays.stream(matrix)
+                .map(Arrays::asList)
+                .toList();
+            matrices.add(new DifferenceMatrixDto(metric.label, metric.unit, rows));
+        }
+        return matrices;
+    }
+
+    /**
+     * The {@code k} best options for each metric, best first, ties keeping request order.
+     * A bounded heap keeps this O(n log k) per metric.
+     */
+    List<BestOptionsDto> best(int k) {
+        List<BestOptionsDto> best = new ArrayList<>(Metric.values().length);
+        for (Metric metric : Metric.values()) {
+            BigDecimal[] values = aggregates[metric.ordinal()];
+            Comparator<Integer> better = Comparator
+                .comparing((Integer index) -> values[index], Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder()))
+                .thenComparing(Comparator.naturalOrder());
+
+            // Worst of the current best k on top, so each option costs at most one log k replacement
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(k, 1), better.reversed());
+            for (int i = 0; i < values.length && k > 0; i++) {
+                if (heap.size() < k) {
+                    heap.add(i);
+                } else if (better.compare(i, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(i);
+                }
+            }
+
+            List<Integer> indexes = new ArrayList<>(heap);
+            indexes.sort(better);
+            best.add(new BestOptionsDto(metric.label, indexes));
+        }
+        return best;
+    }
+
+    private static BigDecimal epochDay(LocalDate date) {
+        return date != null ? BigDecimal.valueOf(date.toEpochDay()) : null;
+    }
+}
@@ -1,8 +1,8 @@
 package com.mortgagecalculator.service;
 
-import com.mortgagecalculator.dto.AmortizationEntryDto;
 import com.mortgagecalculator.dto.MortgageCalculationDto;
 import com.mortgagecalculator.dto.MortgageComparisonDto;
+import com.mortgagecalculator.engine.ColumnarSchedule;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.xssf.usermodel.*;
@@ -35,7 +35,7 @@ public class ExcelExportService {
             createSummarySheet(workbook, calculation);
 
             // Create amortization schedule sheet
-            createAmortizationSheet(workbook, calculation.amortizationSchedule());
+            createAmortizationSheet(workbook, ColumnarSchedule.of(calculation.amortizationSchedule()));
 
             // Write to byte array
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -70,7 +70,8 @@ public class ExcelExportService {
             for (int i = 0; i < comparison.mortgages().size(); i++) {
                 MortgageCalculationDto mortgage = comparison.mortgages().get(i);
                 String amortSheetName = "Option " + (i + 1) + " Schedule";
-                createCompleteAmortizationSheet(workbook, mortgage.amortizationSchedule(), amortSheetName);
+                createCompleteAmortizationSheet(workbook, ColumnarSchedule.of(mortgage.amortizationSchedule()),
+                        amortSheetName);
             }
 
             // Create yearly comparison sheet
@@ -132,7 +133,7 @@ public class ExcelExportService {
         sheet.autoSizeColumn(1);
     }
 
-    private void createAmortizationSheet(Workbook workbook, List<AmortizationEntryDto> schedule) {
+    private void createAmortizationSheet(Workbook workbook, ColumnarSchedule schedule) {
         Sheet sheet = workbook.createSheet("Amortization Schedule");
 
         // Create styles
@@ -153,29 +154,29 @@ public class ExcelExportService {
         }
 
         // Data rows
-        for (AmortizationEntryDto entry : schedule) {
+        for (int i = 0; i < schedule.size(); i++) {
             Row row = sheet.createRow(rowNum++);
 
-            row.createCell(0).setCellValue(entry.paymentNumber());
+            row.createCell(0).setCellValue(schedule.paymentNumber(i));
 
             Cell dateCell = row.createCell(1);
-            dateCell.setCellValue(entry.paymentDate());
+            dateCell.setCellValue(schedule.paymentDate(i));
             dateCell.setCellStyle(dateStyle);
 
             Cell principalCell = row.createCell(2);
-            principalCell.setCellValue(entry.principalPayment().doubleValue());
+            principalCell.setCellValue(money(schedule.principalCents(i)));
             principalCell.setCellStyle(currencyStyle);
 
             Cell interestCell = row.createCell(3);
-            interestCell.setCellValue(entry.interestPayment().doubleValue());
+            interestCell.setCellValue(money(schedule.interestCents(i)));
             interestCell.setCellStyle(currencyStyle);
 
             Cell totalCell = row.createCell(4);
-            totalCell.setCellValue(entry.totalPayment().doubleValue());
+            totalCell.setCellValue(money(schedule.totalCents(i)));
             totalCell.setCellStyle(currencyStyle);
 
             Cell balanceCell = row.createCell(5);
-            balanceCell.setCellValue(entry.remainingBalance().doubleValue());
+            balanceCell.setCellValue(money(schedule.balanceCents(i)));
             balanceCell.setCellStyle(currencyStyle);
         }
 
@@ -313,6 +314,13 @@ public class ExcelExportService {
         }
     }
 
+    /**
+     * Cents as the double a cell holds; the same value {@code BigDecimal.doubleValue()} gives
+     */
+    private static double money(long cents) {
+        return cents / 100.0;
+    }
+
     private CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         Font font = workbook.createFont();
@@ -729,13 +737,14 @@ public class ExcelExportService {
         rowNum += 2;
 
         // Add yearly breakdown
-        createYearlyBreakdown(sheet, rowNum, calculation.amortizationSchedule(), headerStyle, currencyStyle);
+        createYearlyBreakdown(sheet, rowNum, ColumnarSchedule.of(calculation.amortizationSchedule()), headerStyle,
+                currencyStyle);
 
         sheet.autoSizeColumn(0);
         sheet.autoSizeColumn(1);
     }
 
-    private void createCompleteAmortizationSheet(Workbook workbook, List<AmortizationEntryDto> schedule,
+    private void createCompleteAmortizationSheet(Workbook workbook, ColumnarSchedule schedule,
             String sheetName) {
         Sheet sheet = workbook.createSheet(sheetName);
 
@@ -758,33 +767,33 @@ public class ExcelExportService {
         }
 
         // Data rows - all payments
-        for (AmortizationEntryDto entry : schedule) {
+        for (int i = 0; i < schedule.size(); i++) {
             Row row = sheet.createRow(rowNum++);
 
-            row.createCell(0).setCellValue(entry.paymentNumber());
+            row.createCell(0).setCellValue(schedule.paymentNumber(i));
 
             Cell dateCell = row.createCell(1);
-            dateCell.setCellValue(entry.paymentDate());
+            dateCell.setCellValue(schedule.paymentDate(i));
             dateCell.setCellStyle(dateStyle);
 
             Cell principalCell = row.createCell(2);
-            principalCell.setCellValue(entry.principalPayment().doubleValue());
+            principalCell.setCellValue(money(schedule.principalCents(i)));
             principalCell.setCellStyle(currencyStyle);
 
             Cell interestCell = row.createCell(3);
-            interestCell.setCellValue(entry.interestPayment().doubleValue());
+            interestCell.setCellValue(money(schedule.interestCents(i)));
             interestCell.setCellStyle(currencyStyle);
 
             Cell totalCell = row.createCell(4);
-            totalCell.setCellValue(entry.totalPayment().doubleValue());
+            totalCell.setCellValue(money(schedule.totalCents(i)));
             totalCell.setCellStyle(currencyStyle);
 
             Cell balanceCell = row.createCell(5);
-            balanceCell.setCellValue(entry.remainingBalance().doubleValue());
+            balanceCell.setCellValue(money(schedule.balanceCents(i)));
             balanceCell.setCellStyle(currencyStyle);
 
             Cell rateCell = row.createCell(6);
-            rateCell.setCellValue(entry.interestRate().doubleValue() / 100);
+            rateCell.setCellValue(schedule.annualRate(i).doubleValue() / 100);
             rateCell.setCellStyle(percentStyle);
         }
 
@@ -830,12 +839,12 @@ public class ExcelExportService {
 
             dataRow.createCell(0).setCellValue("Option " + (i + 1));
 
-            List<AmortizationEntryDto> schedule = mortgage.amortizationSchedule();
+            ColumnarSchedule schedule = ColumnarSchedule.of(mortgage.amortizationSchedule());
             for (int year = 1; year <= 10; year++) {
                 int paymentIndex = year * 12 - 1; // Last payment of the year
                 if (paymentIndex < schedule.size()) {
                     Cell balanceCell = dataRow.createCell(year);
-                    balanceCell.setCellValue(schedule.get(paymentIndex).remainingBalance().doubleValue());
+                    balanceCell.setCellValue(money(schedule.balanceCents(paymentIndex)));
                     balanceCell.setCellStyle(currencyStyle);
                 } else {
                     dataRow.createCell(year).setCellValue(0); // Loan paid off
@@ -849,7 +858,7 @@ public class ExcelExportService {
         }
     }
 
-    private void createYearlyBreakdown(Sheet sheet, int startRow, List<AmortizationEntryDto> schedule,
+    private void createYearlyBreakdown(Sheet sheet, int startRow, ColumnarSchedule schedule,
             CellStyle headerStyle, CellStyle currencyStyle) {
         Row yearHeaderRow = sheet.createRow(startRow++);
         yearHeaderRow.createCell(0).setCellValue("Yearly Breakdown (First 10 Years)");
@@ -868,33 +877,32 @@ public class ExcelExportService {
         }
 
         for (int year = 1; year <= Math.min(10, schedule.size() / 12 + 1); year++) {
-            BigDecimal yearlyPrincipal = BigDecimal.ZERO;
-            BigDecimal yearlyInterest = BigDecimal.ZERO;
-            BigDecimal endBalance = BigDecimal.ZERO;
+            long yearlyPrincipal = 0;
+            long yearlyInterest = 0;
+            long endBalance = 0;
 
             int startIdx = (year - 1) * 12;
             int endIdx = Math.min(year * 12, schedule.size());
 
             for (int i = startIdx; i < endIdx; i++) {
-                AmortizationEntryDto entry = schedule.get(i);
-                yearlyPrincipal = yearlyPrincipal.add(entry.principalPayment());
-                yearlyInterest = yearlyInterest.add(entry.interestPayment());
-                endBalance = entry.remainingBalance();
+                yearlyPrincipal += schedule.principalCents(i);
+                yearlyInterest += schedule.interestCents(i);
+                endBalance = schedule.balanceCents(i);
             }
 
             Row yearRow = sheet.createRow(startRow++);
             yearRow.createCell(0).setCellValue(year);
 
             Cell principalCell = yearRow.createCell(1);
-            principalCell.setCellValue(yearlyPrincipal.doubleValue());
+            principalCell.setCellValue(money(yearlyPrincipal));
             principalCell.setCellStyle(currencyStyle);
 
             Cell interestCell = yearRow.createCell(2);
-            interestCell.setCellValue(yearlyInterest.doubleValue());
+            interestCell.setCellValue(money(yearlyInterest));
             interestCell.setCellStyle(currencyStyle);
 
             Cell balanceCell = yearRow.createCell(3);
-            balanceCell.setCellValue(endBalance.doubleValue());
+            balanceCell.setCellValue(money(endBalance));
             balanceCell.setCellStyle(currencyStyle);
         }
     }
@@ -0,0 +1,149 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.ExtraPaymentSolutionDto;
+import com.mortgagecalculator.dto.ExtraPaymentSweepDto;
+import com.mortgagecalculator.dto.ExtraPaymentSweepRequestDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.ClosedFormAmortization;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.model.MortgageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payoff time as a function of the extra principal payment, for any additional payment frequency.
+ * <p>
+ * The loan is resolved into a plan once; each extra amount only swaps the extra on that plan and is
+ * summarized by {@link LongCentsAmortizationEngine}, which keeps no rows, so every point agrees to the
+ * cent with a full calculation. The extra needed for a target term is estimated with
+ * {@link ClosedFormAmortization} and then confirmed against the exact engine.
+ */
+@Service
+public class ExtraPaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtraPaymentService.class);
+
+    private static final int DEFAULT_POINTS = 50;
+
+    private final MortgageCalculationService calculationService;
+
+    public ExtraPaymentService(MortgageCalculationService calculationService) {
+        this.calculationService = calculationService;
+    }
+
+    public ExtraPaymentSweepDto sweep(ExtraPaymentSweepRequestDto request) {
+        MortgageInputDto input = request.mortgage().canonicalize(LocalDate.now());
+        input.validate();
+        if (input.mortgageType() == MortgageType.INTEREST_ONLY) {
+            throw new IllegalArgumentException("Extra principal payments do not apply to interest-only loans");
+        }
+        if (request.maxExtra() == null && request.targetTermYears() == null) {
+            throw new IllegalArgumentException("Either maxExtra or targetTermYears is required");
+        }
+
+        LongCentsAmortizationEngine.Plan plan = calculationService.planFor(input);
+        int scheduledPayments = plan.totalPayments();
+        long baselineInterest = LongCentsAmortizationEngine.summarize(plan.withExtraCents(0)).totalInterest();
+
+        List<BigDecimal> extras = new ArrayList<>();
+        List<Integer> payoffNumbers = new ArrayList<>();
+        List<LocalDate> payoffDates = new ArrayList<>();
+        List<BigDecimal> totalInterest = new ArrayList<>();
+        List<BigDecimal> interestSaved = new ArrayList<>();
+        if (request.maxExtra() != null) {
+            long minCents = toCents(request.minExtra() != null ? request.minExtra() : BigDecimal.ZERO);
+            long maxCents = toCents(request.maxExtra());
+            if (maxCents < minCents) {
+                throw new IllegalArgumentException("Maximum extra payment must not be less than the minimum");
+            }
+            int points = request.points() != null ? request.points() : DEFAULT_POINTS;
+            for (int i = 0; i < points; i++) {
+                long extraCents = minCents + Math.round((double) (maxCents - minCents) * i / (points - 1));
+                LongCentsAmortizationEngine.Summary point = LongCentsAmortizationEngine.summarize(plan.withExtraCents(extraCents));
+                int payoff = point.paymentCount();
+                long interest = point.totalInterest();
+
+                extras.add(CentsMath.toMoney(extraCents));
+                payoffNumbers.add(payoff);
+                payoffDates.add(plan.paymentDate(payoff));
+                totalInterest.add(CentsMath.toMoney(interest));
+                interestSaved.add(CentsMath.toMoney(baselineInterest - interest));
+            }
+        }
+
+        ExtraPaymentSolutionDto solution = request.targetTermYears() != null
+            ? solveForTerm(input, plan, request.targetTermYears())
+            : null;
+
+        logger.info("Swept {} extra payment amounts at {} frequency", extras.size(), input.additionalPaymentFrequency());
+        return new ExtraPaymentSweepDto(
+            input.additionalPaymentFrequency(),
+            scheduledPayments,
+            CentsMath.toMoney(baselineInterest),
+            extras,
+            payoffNumbers,
+            payoffDates,
+            totalInterest,
+            interestSaved,
+            solution
+        );
+    }
+
+    /**
+     * Smallest extra, to the cent, whose final payment falls within the target term. Payoff moves
+     * earlier as the extra grows, so a bisection on the closed form estimates it and the exact engine
+     * settles the last few cents that per-period rounding can shift.
+     */
+    private ExtraPaymentSolutionDto solveForTerm(MortgageInputDto input, LongCentsAmortizationEngine.Plan plan,
+            int targetTermYears) {
+        int targetPayments = targetTermYears * input.paymentFrequency().getPaymentsPerYear();
+        // Paying the whole loan as extra clears it at the first payment that carries an extra
+        long maxCents = CentsMath.toCents(input.loanAmount());
+
+        long low = 0;
+        long high = maxCents;
+        if (payoffPaymentNumber(ClosedFormAmortization.of(plan.withExtraCents(0))) <= targetPayments) {
+            high = 0;
+        }
+        while (high - low > 1) {
+            long middle = (low + high) >>> 1;
+            if (payoffPaymentNumber(ClosedFormAmortization.of(plan.withExtraCents(middle))) <= targetPayments) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+
+        long requiredCents = MonotoneSearch.firstMeeting(0, maxCents, high,
+                extraCents -> LongCentsAmortizationEngine.summarize(plan.withExtraCents(extraCents)).paymentCount() <= targetPayments)
+            .orElseThrow(() -> new IllegalArgumentException(
+                "No extra payment at this frequency repays the loan within " + targetTermYears + " years"));
+
+        LongCentsAmortizationEngine.Summary exact = LongCentsAmortizationEngine.summarize(plan.withExtraCents(requiredCents));
+        return new ExtraPaymentSolutionDto(
+            targetTermYears,
+            CentsMath.toMoney(requiredCents),
+            exact.paymentCount(),
+            plan.paymentDate(exact.paymentCount()),
+            CentsMath.toMoney(exact.totalInterest())
+        );
+    }
+
+    private static int payoffPaymentNumber(ClosedFormAmortization curve) {
+        return curve.payoffPaymentNumber() > 0 ? curve.payoffPaymentNumber() : curve.totalPayments();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (!CentsMath.isWholeCents(amount)) {
+            throw new IllegalArgumentException("Extra payment amounts must be whole cents");
+        }
+        return CentsMath.toCents(amount);
+    }
+}
@@ -0,0 +1,281 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.GoalSeekRequestDto;
+import com.mortgagecalculator.dto.GoalSeekResultDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.PaymentMath;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.GoalSeekTarget;
+import com.mortgagecalculator.model.MortgageType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Solves for the loan amount, rate or term that meets a target payment.
+ * <p>
+ * The payment formula is inverted analytically, or by Newton iteration for the rate of an amortizing
+ * loan, to estimate the answer. The exact payment, computed from the first period alone, is then
+ * evaluated at a few neighbouring values to land on the last value that meets the target. No
+ * schedule is ever built.
+ */
+@Service
+public class GoalSeekService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalSeekService.class);
+
+    // Search bounds match the MortgageInputDto constraints
+    private static final long MIN_LOAN_CENTS = 100_000;
+    private static final long MAX_LOAN_CENTS = 1_000_000_000;
+    private static final int RATE_SCALE = 3;
+    private static final long MIN_RATE_UNITS = 100;
+    private static final long MAX_RATE_UNITS = 30_000;
+    private static final int MIN_TERM_YEARS = 1;
+    private static final int MAX_TERM_YEARS = 50;
+
+    // Stand in for the solved parameter so the rest of the input can be validated first
+    private static final BigDecimal SEED_LOAN_AMOUNT = new BigDecimal("100000.00");
+    private static final BigDecimal SEED_INTEREST_RATE = new BigDecimal("5");
+    private static final int SEED_TERM_YEARS = 30;
+
+    private static final BigDecimal HALF_CENT = new BigDecimal("0.005");
+
+    private static final int MAX_NEWTON_STEPS = 50;
+    // Periodic rate; far finer than the 0.001% annual rate the answer is rounded to
+    private static final double NEWTON_TOLERANCE = 1e-10;
+
+    private final MortgageCalculationService calculationService;
+    private final AnnuityFactors annuityFactors;
+    private final Validator validator;
+
+    public GoalSeekService(MortgageCalculationService calculationService, AnnuityFactorCache annuityFactors,
+            Validator validator) {
+        this.calculationService = calculationService;
+        this.annuityFactors = annuityFactors;
+        this.validator = validator;
+    }
+
+    public GoalSeekResultDto solve(GoalSeekRequestDto request) {
+        MortgageInputDto seeded = seed(request.solveFor(), request.mortgage());
+        validate(seeded);
+        Solve solve = new Solve(seeded.canonicalize(LocalDate.now()), request.targetPayment());
+
+        MortgageInputDto solved = switch (request.solveFor()) {
+            case LOAN_AMOUNT -> solveLoanAmount(solve);
+            case INTEREST_RATE -> solveInterestRate(solve);
+            case LOAN_TERM -> solveLoanTerm(solve);
+        };
+        BigDecimal solvedValue = switch (request.solveFor()) {
+            case LOAN_AMOUNT -> solved.loanAmount();
+            case INTEREST_RATE -> solved.interestRate();
+            case LOAN_TERM -> BigDecimal.valueOf(solved.loanTermYears());
+        };
+
+        BigDecimal payment = calculationService.firstPayment(solved);
+        logger.info("Solved {} = {} for payment {} in {} iterations", request.solveFor(), solvedValue,
+            request.targetPayment(), solve.iterations());
+        return new GoalSeekResultDto(
+            request.solveFor(),
+            solvedValue,
+            request.targetPayment(),
+            payment,
+            request.targetPayment().subtract(payment),
+            solve.method,
+            solve.iterations()
+        );
+    }
+
+    /**
+     * The first payment is the loan times a payment per dollar, rounded half-up to the cent, so the
+     * largest loan that rounds to the target is about (target + half a cent) / payment per dollar
+     */
+    private MortgageInputDto solveLoanAmount(Solve solve) {
+        MortgageInputDto input = solve.input;
+        BigDecimal rate = calculationService.firstYearRate(input);
+        int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+        int totalPayments = input.loanTermYears() * paymentsPerYear;
+
+        BigDecimal perDollar = input.mortgageType() == MortgageType.INTEREST_ONLY
+            ? PaymentMath.periodicRate(rate, paymentsPerYear)
+            : annuityFactors.multiplier(rate, paymentsPerYear, totalPayments);
+        if (perDollar == null) {
+            perDollar = BigDecimal.ONE.divide(BigDecimal.valueOf(totalPayments), PaymentMath.PRECISION);
+        }
+        BigDecimal available = solve.target.subtract(extraWithFirstPayment(input)).add(HALF_CENT);
+        long guess = perDollar.signum() > 0
+            ? available.divide(perDollar, PaymentMath.SCALE, RoundingMode.DOWN).movePointRight(PaymentMath.SCALE).longValue()
+            : MAX_LOAN_CENTS;
+
+        solve.method = "ANALYTIC";
+        long cents = MonotoneSearch.lastMeeting(MIN_LOAN_CENTS, MAX_LOAN_CENTS, guess,
+                candidate -> solve.meets(with(input, CentsMath.toMoney(candidate), input.interestRate(), input.loanTermYears())))
+            .orElseThrow(() -> new IllegalArgumentException("Even the minimum loan amount exceeds the target payment"));
+        return with(input, CentsMath.toMoney(cents), input.interestRate(), input.loanTermYears());
+    }
+
+    private MortgageInputDto solveInterestRate(Solve solve) {
+        MortgageInputDto input = solve.input;
+        int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+        double loan = input.loanAmount().doubleValue();
+        double payment = solve.target.subtract(extraWithFirstPayment(input)).doubleValue();
+
+        double periodicRate;
+        if (input.mortgageType() == MortgageType.INTEREST_ONLY) {
+            solve.method = "ANALYTIC";
+            periodicRate = payment / loan;
+        } else {
+            solve.method = "NEWTON";
+            periodicRate = newtonPeriodicRate(loan, payment, input.loanTermYears() * paymentsPerYear, solve);
+        }
+        // The estimate is for the first-year rate; a buydown takes a fixed number of points off the note rate
+        BigDecimal buydownPoints = input.interestRate().subtract(calculationService.firstYearRate(input));
+        long guess = Math.round(periodicRate * paymentsPerYear * 100 * 1_000)
+            + buydownPoints.movePointRight(RATE_SCALE).longValue();
+
+        long units = MonotoneSearch.lastMeeting(MIN_RATE_UNITS, MAX_RATE_UNITS, guess,
+                candidate -> solve.meets(with(input, input.loanAmount(), BigDecimal.valueOf(candidate, RATE_SCALE), input.loanTermYears())))
+            .orElseThrow(() -> new IllegalArgumentException("Even the minimum interest rate exceeds the target payment"));
+        return with(input, input.loanAmount(), BigDecimal.valueOf(units, RATE_SCALE), input.loanTermYears());
+    }
+
+    /**
+     * Inverts {@code P = L * r / (1 - (1+r)^-n)} for the term: {@code n = -ln(1 - r*L/P) / ln(1+r)}
+     */
+    private MortgageInputDto solveLoanTerm(Solve solve) {
+        MortgageInputDto input = solve.input;
+        if (input.mortgageType() == MortgageType.INTEREST_ONLY) {
+            throw new IllegalArgumentException("Interest-only payments do not depend on the loan term");
+        }
+        int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+        double rate = PaymentMath.periodicRate(calculationService.firstYearRate(input), paymentsPerYear).doubleValue();
+        double loan = input.loanAmount().doubleValue();
+        double payment = solve.target.subtract(extraWithFirstPayment(input)).doubleValue();
+
+        double payments;
+        if (rate <= 0) {
+            payments = loan / payment;
+        } else if (payment <= loan * rate) {
+            // The payment never covers the interest
+            payments = Double.POSITIVE_INFINITY;
+        } else {
+            payments = -Math.log(1 - rate * loan / payment) / Math.log1p(rate);
+        }
+        long guess = (long) Math.ceil(payments / paymentsPerYear);
+
+        solve.method = "ANALYTIC";
+        // Payments fall as the term grows, so every term beyond the shortest one meets the target too
+        long years = MonotoneSearch.firstMeeting(MIN_TERM_YEARS, MAX_TERM_YEARS, guess,
+                candidate -> solve.meets(with(input, input.loanAmount(), input.interestRate(), (int) candidate)))
+            .orElseThrow(() -> new IllegalArgumentException("No term up to " + MAX_TERM_YEARS + " years meets the target payment"));
+        return with(input, input.loanAmount(), input.interestRate(), (int) years);
+    }
+
+    /**
+     * Periodic rate at which {@code loan * r / (1 - (1+r)^-n)} equals the payment. The left side is
+     * increasing and convex in r, so Newton's method started above the root (at the rate whose interest
+     * alone equals the payment) descends to it monotonically without needing a bracket.
+     */
+    private static double newtonPeriodicRate(double loan, double payment, int totalPayments, Solve solve) {
+        if (payment * totalPayments <= loan) {
+            // Not even the principal is repaid at a zero rate
+            return 0;
+        }
+        double rate = payment / loan;
+        for (int step = 0; step < MAX_NEWTON_STEPS; step++) {
+            solve.newtonSteps++;
+            double discount = Math.pow(1 + rate, -totalPayments);
+            double multiplier = rate / (1 - discount);
+            double slope = ((1 - discount) - rate * totalPayments * discount / (1 + rate)) / ((1 - discount) * (1 - discount));
+            double next = rate - (loan * multiplier - payment) / (loan * slope);
+            if (!(next > 0)) {
+                next = rate / 2;
+            }
+            if (Math.abs(next - rate) <= NEWTON_TOLERANCE) {
+                return next;
+            }
+            rate = next;
+        }
+        return rate;
+    }
+
+    /**
+     * Extra principal the engine adds to the first payment
+     */
+    private static BigDecimal extraWithFirstPayment(MortgageInputDto input) {
+        BigDecimal extra = input.additionalPrincipalPayment();
+        if (input.mortgageType() == MortgageType.INTEREST_ONLY || extra == null || extra.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        AdditionalPaymentFrequency frequency = input.additionalPaymentFrequency() != null
+            ? input.additionalPaymentFrequency()
+            : AdditionalPaymentFrequency.MONTHLY;
+        return frequency.isOneTime() || frequency.getPaymentInterval(input.paymentFrequency()) == 1
+            ? extra
+            : BigDecimal.ZERO;
+    }
+
+    private static MortgageInputDto seed(GoalSeekTarget target, MortgageInputDto input) {
+        return switch (target) {
+            // The solved amount need not match property value minus down payment, so the check is dropped
+            case LOAN_AMOUNT -> new MortgageInputDto(SEED_LOAN_AMOUNT, input.interestRate(), input.loanTermYears(),
+                input.downPayment(), null, input.mortgageType(), input.paymentFrequency(), input.buydownType(),
+                input.additionalPrincipalPayment(), input.additionalPaymentFrequency(), input.startDate());
+            case INTEREST_RATE -> with(input, input.loanAmount(), SEED_INTEREST_RATE, input.loanTermYears());
+            case LOAN_TERM -> with(input, input.loanAmount(), input.interestRate(), SEED_TERM_YEARS);
+        };
+    }
+
+    private void validate(MortgageInputDto input) {
+        Set<ConstraintViolation<MortgageInputDto>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+        input.validate();
+    }
+
+    private static MortgageInputDto with(MortgageInputDto input, BigDecimal loanAmount, BigDecimal interestRate,
+            int loanTermYears) {
+        return new MortgageInputDto(loanAmount, interestRate, loanTermYears, input.downPayment(),
+            input.propertyValue(), input.mortgageType(), input.paymentFrequency(), input.buydownType(),
+            input.additionalPrincipalPayment(), input.additionalPaymentFrequency(), input.startDate());
+    }
+
+    /**
+     * One solve: the canonical input, the target and the work done so far
+     */
+    private final class Solve {
+
+        private final MortgageInputDto input;
+        private final BigDecimal target;
+        private String method;
+        private int newtonSteps;
+        private int evaluations;
+
+        Solve(MortgageInputDto input, BigDecimal target) {
+            this.input = input;
+            this.target = target;
+        }
+
+        boolean meets(MortgageInputDto candidate) {
+            evaluations++;
+            return calculationService.firstPayment(candidate).compareTo(target) <= 0;
+        }
+
+        int iterations() {
+            return newtonSteps + evaluations;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.ColumnarSchedule;
+import com.mortgagecalculator.enums.ScheduleField;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Jackson module, registered with Spring's ObjectMapper, that writes schedules held in cents straight
+ * from their columns. A {@link ColumnarSchedule} is serialized without creating its row records, and each
+ * amount is formatted from its long cents into a reused character buffer rather than through a
+ * {@code BigDecimal} and its {@code toString}. The output is byte for byte what the record serializer
+ * writes: the same field order, amounts as scale-2 decimals and dates as ISO strings, and only the
+ * columns a projected schedule keeps.
+ */
+@Component
+public class MoneyJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    // Row field names, encoded once as Jackson's bean serializer does
+    private static final SerializedString PAYMENT_NUMBER = new SerializedString("paymentNumber");
+    private static final SerializedString PAYMENT_DATE = new SerializedString("paymentDate");
+    private static final SerializedString PRINCIPAL_PAYMENT = new SerializedString("principalPayment");
+    private static final SerializedString INTEREST_PAYMENT = new SerializedString("interestPayment");
+    private static final SerializedString ADDITIONAL_PRINCIPAL_PAYMENT = new SerializedString("additionalPrincipalPayment");
+    private static final SerializedString REGULAR_PAYMENT = new SerializedString("regularPayment");
+    private static final SerializedString TOTAL_PAYMENT = new SerializedString("totalPayment");
+    private static final SerializedString REMAINING_BALANCE = new SerializedString("remainingBalance");
+    private static final SerializedString INTEREST_RATE = new SerializedString("interestRate");
+    private static final SerializedString INTEREST_SAVED = new SerializedString("interestSaved");
+
+    /**
+     * Characters needed for any long cents amount: sign, 17 integer digits, the point and two decimals
+     */
+    static final int BUFFER_LENGTH = 21;
+
+    public MoneyJsonModule() {
+        super("MoneyJsonModule");
+        addSerializer(ColumnarSchedule.class, new ColumnarScheduleSerializer());
+    }
+
+    /**
+     * One row in AmortizationEntryDto component order, with the fields whose {@link ScheduleField#bits} are
+     * set; {@code buffer} holds at least {@link #BUFFER_LENGTH} characters
+     */
+    static void writeRow(JsonGenerator json, char[] buffer, int fields, int paymentNumber, long epochDay,
+            long principal, long interest, long additional, long regular, long total, long balance,
+            BigDecimal annualRate, long interestSaved) throws IOException {
+        json.writeStartObject();
+        if (has(fields, ScheduleField.PAYMENT_NUMBER)) {
+            json.writeFieldName(PAYMENT_NUMBER);
+            json.writeNumber(paymentNumber);
+        }
+        if (has(fields, ScheduleField.PAYMENT_DATE)) {
+            json.writeFieldName(PAYMENT_DATE);
+            writeDate(json, buffer, epochDay);
+        }
+        if (has(fields, ScheduleField.PRINCIPAL_PAYMENT)) {
+            json.writeFieldName(PRINCIPAL_PAYMENT);
+            writeCents(json, buffer, principal);
+        }
+        if (has(fields, ScheduleField.INTEREST_PAYMENT)) {
+            json.writeFieldName(INTEREST_PAYMENT);
+            writeCents(json, buffer, interest);
+        }
+        if (has(fields, ScheduleField.ADDITIONAL_PRINCIPAL_PAYMENT)) {
+            json.writeFieldName(ADDITIONAL_PRINCIPAL_PAYMENT);
+            writeCents(json, buffer, additional);
+        }
+        if (has(fields, ScheduleField.REGULAR_PAYMENT)) {
+            json.writeFieldName(REGULAR_PAYMENT);
+            writeCents(json, buffer, regular);
+        }
+        if (has(fields, ScheduleField.TOTAL_PAYMENT)) {
+            json.writeFieldName(TOTAL_PAYMENT);
+            writeCents(json, buffer, total);
+        }
+        if (has(fields, ScheduleField.REMAINING_BALANCE)) {
+            json.writeFieldName(REMAINING_BALANCE);
+            writeCents(json, buffer, balance);
+        }
+        if (has(fields, ScheduleField.INTEREST_RATE)) {
+            json.writeFieldName(INTEREST_RATE);
+            json.writeNumber(annualRate);
+        }
+        if (has(fields, ScheduleField.INTEREST_SAVED)) {
+            json.writeFieldName(INTEREST_SAVED);
+            writeCents(json, buffer, interestSaved);
+        }
+        json.writeEndObject();
+    }
+
+    private static boolean has(int fields, ScheduleField field) {
+        return (fields & 1 << field.ordinal()) != 0;
+    }
+
+    /**
+     * Write cents as the decimal {@code BigDecimal.valueOf(cents, 2).toString()} produces
+     */
+    static void writeCents(JsonGenerator json, char[] buffer, long cents) throws IOException {
+        if (cents == Long.MIN_VALUE) {
+            json.writeNumber(CentsMath.toMoney(cents));
+            return;
+        }
+        long magnitude = Math.abs(cents);
+        int position = BUFFER_LENGTH;
+        buffer[--position] = (char) ('0' + magnitude % 10);
+        magnitude /= 10;
+        buffer[--position] = (char) ('0' + magnitude % 10);
+        magnitude /= 10;
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude != 0);
+        if (cents < 0) {
+            buffer[--position] = '-';
+        }
+        json.writeNumber(buffer, position, BUFFER_LENGTH - position);
+    }
+
+    /**
+     * Write the ISO date {@code LocalDate.toString()} produces
+     */
+    private static void writeDate(JsonGenerator json, char[] buffer, long epochDay) throws IOException {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            json.writeString(date.toString());
+            return;
+        }
+        buffer[0] = (char) ('0' + year / 1000);
+        buffer[1] = (char) ('0' + year / 100 % 10);
+        buffer[2] = (char) ('0' + year / 10 % 10);
+        buffer[3] = (char) ('0' + year % 10);
+        buffer[4] = '-';
+        buffer[5] = (char) ('0' + date.getMonthValue() / 10);
+        buffer[6] = (char) ('0' + date.getMonthValue() % 10);
+        buffer[7] = '-';
+        buffer[8] = (char) ('0' + date.getDayOfMonth() / 10);
+        buffer[9] = (char) ('0' + date.getDayOfMonth() % 10);
+        json.writeString(buffer, 0, 10);
+    }
+
+    /**
+     * Writes a columnar schedule as the array of its rows, reading the columns directly
+     */
+    static final class ColumnarScheduleSerializer extends StdSerializer<ColumnarSchedule> {
+
+        private static final long serialVersionUID = 1L;
+
+        ColumnarScheduleSerializer() {
+            super(ColumnarSchedule.class);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, ColumnarSchedule schedule) {
+            return schedule.isEmpty();
+        }
+
+        @Override
+        public void serialize(ColumnarSchedule schedule, JsonGenerator json, SerializerProvider provider)
+                throws IOException {
+            json.writeStartArray(schedule, schedule.size());
+            if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                // Dates in the mapper's configured form, through the record serializer
+                JsonSerializer<Object> rows = provider.findValueSerializer(AmortizationEntryDto.class);
+                for (AmortizationEntryDto row : schedule) {
+                    rows.serialize(row, json, provider);
+                }
+            } else {
+                char[] buffer = new char[BUFFER_LENGTH];
+                int fields = ScheduleField.bits(schedule.fields());
+                boolean dates = has(fields, ScheduleField.PAYMENT_DATE);
+                boolean principal = has(fields, ScheduleField.PRINCIPAL_PAYMENT);
+                boolean interest = has(fields, ScheduleField.INTEREST_PAYMENT);
+                boolean balance = has(fields, ScheduleField.REMAINING_BALANCE);
+                boolean saved = has(fields, ScheduleField.INTEREST_SAVED);
+                for (int row = 0; row < schedule.size(); row++) {
+                    // Columns a projected schedule does not keep are not read
+                    writeRow(json, buffer, fields, schedule.paymentNumber(row),
+                        dates ? schedule.epochDay(row) : 0,
+                        principal ? schedule.principalCents(row) : 0,
+                        interest ? schedule.interestCents(row) : 0,
+                        schedule.additionalCents(row), schedule.regularCents(row), schedule.totalCents(row),
+                        balance ? schedule.balanceCents(row) : 0,
+                        schedule.annualRate(row),
+                        saved ? schedule.interestSavedCents(row) : 0);
+                }
+            }
+            json.writeEndArray();
+        }
+    }
+}
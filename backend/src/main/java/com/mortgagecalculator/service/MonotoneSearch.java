@@ -0,0 +1,73 @@
+package com.mortgagecalculator.service;
+
+import java.util.OptionalLong;
+import java.util.function.LongPredicate;
+
+/**
+ * Boundary searches over integer domains (cents, rate steps, years) on which a condition changes
+ * only once, used by the solvers to refine an analytic estimate against exact calculations
+ */
+final class MonotoneSearch {
+
+    private MonotoneSearch() {
+    }
+
+    /**
+     * Largest value in [lo, hi] that meets a condition, where values meet it up to some point and fail
+     * beyond it; empty when none does. Gallops out from the guess, so an estimate that is off by d
+     * costs O(log d) evaluations.
+     */
+    static OptionalLong lastMeeting(long lo, long hi, long guess, LongPredicate meets) {
+        long start = Math.max(lo, Math.min(hi, guess));
+        long good;
+        long bad;
+        long step = 1;
+        if (meets.test(start)) {
+            good = start;
+            while (true) {
+                if (good == hi) {
+                    return OptionalLong.of(good);
+                }
+                long probe = Math.min(hi, good + step);
+                if (!meets.test(probe)) {
+                    bad = probe;
+                    break;
+                }
+                good = probe;
+                step <<= 1;
+            }
+        } else {
+            bad = start;
+            while (true) {
+                if (bad == lo) {
+                    return OptionalLong.empty();
+                }
+                long probe = Math.max(lo, bad - step);
+                if (meets.test(probe)) {
+                    good = probe;
+                    break;
+                }
+                bad = probe;
+                step <<= 1;
+            }
+        }
+        while (bad - good > 1) {
+            long middle = good + (bad - good) / 2;
+            if (meets.test(middle)) {
+                good = middle;
+            } else {
+                bad = middle;
+            }
+        }
+        return OptionalLong.of(good);
+    }
+
+    /**
+     * Smallest value in [lo, hi] that meets a condition, where values fail it up to some point and meet
+     * it from there on; empty when none does
+     */
+    static OptionalLong firstMeeting(long lo, long hi, long guess, LongPredicate meets) {
+        OptionalLong negated = lastMeeting(-hi, -lo, -guess, value -> meets.test(-value));
+        return negated.isPresent() ? OptionalLong.of(-negated.getAsLong()) : OptionalLong.empty();
+    }
+}
@@ -1,13 +1,28 @@
 package com.mortgagecalculator.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mortgagecalculator.config.MortgageProperties;
 import com.mortgagecalculator.dto.*;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.ColumnarSchedule;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.engine.PaymentMath;
+import com.mortgagecalculator.engine.ScheduleCheckpoint;
 import com.mortgagecalculator.model.MortgageType;
 import com.mortgagecalculator.model.PaymentFrequency;
 import com.mortgagecalculator.model.BuydownType;
 import com.mortgagecalculator.model.Buydown;
+import com.mortgagecalculator.model.BuydownPaymentPlan;
 import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.ScheduleField;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -15,61 +30,176 @@ import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 @Service
 public class MortgageCalculationService {
 
     private static final Logger logger = LoggerFactory.getLogger(MortgageCalculationService.class);
-    private static final MathContext PRECISION = new MathContext(10, RoundingMode.HALF_UP);
-    private static final int SCALE = 2;
+    private static final MathContext PRECISION = PaymentMath.PRECISION;
+    private static final int SCALE = PaymentMath.SCALE;
+
+    private static final int MAX_CACHED_BUYDOWN_PLANS = 1024;
+
+    private final MortgageProperties properties;
+    private final AnnuityFactors annuityFactors;
+    private final CalculationResultCache resultCache;
+    private final CalculationIndex calculationIndex;
+    private final Map<BuydownPlanKey, BuydownPaymentPlan> buydownPlans = new ConcurrentHashMap<>();
+    private final ForkJoinPool comparisonPool;
+    // Yearly positions of recently quoted loans, by canonical input
+    private final Cache<MortgageInputDto, List<ScheduleCheckpoint>> quoteCheckpoints;
+
+    @Autowired
+    public MortgageCalculationService(MortgageProperties properties, AnnuityFactorCache annuityFactors,
+            CalculationResultCache resultCache, CalculationIndex calculationIndex) {
+        this.properties = properties;
+        this.annuityFactors = annuityFactors;
+        this.resultCache = resultCache;
+        this.calculationIndex = calculationIndex;
+        // Kept apart from the common pool so comparisons cannot starve, or be starved by, other work
+        int parallelism = properties.getComparisonParallelism() > 0
+            ? properties.getComparisonParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.comparisonPool = new ForkJoinPool(parallelism);
+        this.quoteCheckpoints = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxCheckpointedCalculations())
+            .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        comparisonPool.shutdown();
+    }
 
     /**
      * Calculate mortgage payment and generate amortization schedule
      */
     public MortgageCalculationDto calculateMortgage(MortgageInputDto input) {
+        return calculateMortgage(input, CalculationOptions.DEFAULT);
+    }
+
+    /**
+     * Calculate mortgage payment, generating the amortization schedule unless only the summary is requested
+     */
+    public MortgageCalculationDto calculateMortgage(MortgageInputDto input, CalculationOptions options) {
         logger.info("Calculating mortgage for loan amount: {}, rate: {}%, term: {} years, buydown: {}", 
                    input.loanAmount(), input.interestRate(), input.loanTermYears(), input.buydownType());
 
+        return calculate(input, options, LocalDate.now());
+    }
+
+    /**
+     * Prepare a calculation for {@link CalculationJsonWriter}. A full-detail result from the long-cents
+     * engine is not built: only its totals are computed, in a pass that keeps no rows, and the rows
+     * are produced again while the response is written. Other calculations are returned complete.
+     */
+    public StreamedCalculation prepareCalculation(MortgageInputDto input, CalculationOptions options) {
+        logger.info("Calculating mortgage for loan amount: {}, rate: {}%, term: {} years, buydown: {}",
+                   input.loanAmount(), input.interestRate(), input.loanTermYears(), input.buydownType());
+        input.validate();
+        MortgageInputDto canonicalInput = input.canonicalize(LocalDate.now());
+
+        if (!properties.isStreamScheduleJson() || options.summaryOnly()
+                || resolveEngine(options.engine()) != CalculationEngine.LONG_CENTS
+                || !LongCentsAmortizationEngine.supports(canonicalInput)) {
+            return new StreamedCalculation(calculateCanonical(canonicalInput, options), null, options.fields());
+        }
+        MortgageCalculationDto totals = calculateCanonical(canonicalInput,
+            new CalculationOptions(options.engine(), DetailLevel.SUMMARY));
+        return new StreamedCalculation(totals, createPlan(canonicalInput, canonicalInput.startDate()), options.fields());
+    }
+
+    /**
+     * Validate and calculate an input whose start date defaults to {@code today}, without per-call logging
+     */
+    MortgageCalculationDto calculate(MortgageInputDto input, CalculationOptions options, LocalDate today) {
         // Validate input
         input.validate();
 
+        return calculateCanonical(input.canonicalize(today), options);
+    }
+
+    /**
+     * Recompute a recently issued calculation from its ID
+     */
+    public Optional<MortgageCalculationDto> findCalculation(String calculationId) {
+        return calculationIndex.findCalculation(calculationId)
+            .map(input -> calculateCanonical(input, CalculationOptions.DEFAULT));
+    }
+
+    private MortgageCalculationDto calculateCanonical(MortgageInputDto canonicalInput, CalculationOptions options) {
+        // The engines agree to the cent but not on the scale of zero amounts, so each keeps its own results
+        MortgageCalculationDto result = resultCache.get(canonicalInput, computingEngine(canonicalInput, options),
+            options.detail(), options.fields(), () -> computeMortgage(canonicalInput, options));
+        calculationIndex.registerCalculation(result.calculationId(), canonicalInput);
+        return result;
+    }
+
+    /**
+     * Calculate a canonical input; the schedule starts on its start date
+     */
+    private MortgageCalculationDto computeMortgage(MortgageInputDto input, CalculationOptions options) {
         // Create buydown configuration if applicable
         Buydown buydown = createBuydown(input);
 
-        // For buydown mortgages, we need to use the permanent rate for monthly payment calculation
-        // The actual payments will vary during the buydown period
-        BigDecimal calculationRate = buydown != null ? buydown.getPermanentRate() : input.interestRate();
-        MortgageInputDto calculationInput = new MortgageInputDto(
-            input.loanAmount(),
-            calculationRate,
-            input.loanTermYears(),
-            input.downPayment(),
-            input.propertyValue(),
-            input.mortgageType(),
-            input.paymentFrequency(),
-            input.buydownType(),
-            BigDecimal.ZERO, // Don't use additional principal for base payment calculation
-            input.additionalPaymentFrequency()
-        );
-
         // Calculate basic payment information using permanent rate
-        BigDecimal baseMonthlyPayment = calculateMonthlyPayment(calculationInput);
+        BigDecimal baseMonthlyPayment = calculateBasePayment(input, buydown);
+        BuydownPaymentPlan buydownPlan = createBuydownPlan(input, buydown);
         int totalPayments = input.loanTermYears() * input.paymentFrequency().getPaymentsPerYear();
-        
-        // Generate amortization schedule (this will handle variable rates for buydown)
-        List<AmortizationEntryDto> schedule = generateAmortizationSchedule(input, baseMonthlyPayment, buydown);
-        
-        // Calculate totals from actual schedule
-        BigDecimal totalInterest = schedule.stream()
-            .map(AmortizationEntryDto::interestPayment)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        BigDecimal totalAmountPaid = input.loanAmount().add(totalInterest);
+        List<AmortizationEntryDto> schedule;
+        BigDecimal totalInterest;
+        BigDecimal displayMonthlyPayment;
+        LocalDate payoffDate;
+        boolean centsSupported = LongCentsAmortizationEngine.supports(input);
+
+        if (options.summaryOnly() && centsSupported) {
+            // Totals only: no rows are materialized, regardless of the engine selected
+            LongCentsAmortizationEngine.Plan plan = LongCentsAmortizationEngine.Plan.of(
+                input, baseMonthlyPayment, buydownPlan, input.startDate());
+            LongCentsAmortizationEngine.Summary totals = LongCentsAmortizationEngine.summarize(plan);
+
+            schedule = List.of();
+            totalInterest = CentsMath.toMoney(totals.totalInterest());
+            displayMonthlyPayment = totals.paymentCount() == 0 ? baseMonthlyPayment : CentsMath.toMoney(totals.firstPayment());
+            payoffDate = totals.paymentCount() == 0 ? null : plan.paymentDate(totals.paymentCount());
+        } else {
+            // Generate amortization schedule (this will handle variable rates for buydown)
+            if (resolveEngine(options.engine()) == CalculationEngine.LONG_CENTS && centsSupported) {
+                LongCentsAmortizationEngine.Plan plan = LongCentsAmortizationEngine.Plan.of(
+                    input, baseMonthlyPayment, buydownPlan, input.startDate());
+                // Only the requested columns are computed and kept; the totals do not depend on them
+                ColumnarSchedule columnar = LongCentsAmortizationEngine.generateSchedule(plan, options.fields());
+                schedule = columnar;
+                totalInterest = CentsMath.toMoney(columnar.totalInterestCents());
+                displayMonthlyPayment = columnar.isEmpty() ? baseMonthlyPayment : CentsMath.toMoney(columnar.totalCents(0));
+                payoffDate = columnar.isEmpty() ? null : plan.paymentDate(columnar.paymentNumber(columnar.size() - 1));
+            } else {
+                // Rows are built with only the requested fields, so the totals are kept beside them
+                ScheduleTotals totals = new ScheduleTotals();
+                schedule = generateAmortizationSchedule(input, baseMonthlyPayment, buydownPlan, options.fields(), totals);
+                totalInterest = totals.interest;
+
+                // For display purposes, use the first year's payment as "monthly payment"
+                displayMonthlyPayment = schedule.isEmpty() ? baseMonthlyPayment : totals.firstPayment;
+                payoffDate = totals.payoffDate;
+            }
+
+            if (options.summaryOnly()) {
+                schedule = List.of();
+            }
+        }
 
-        // For display purposes, use the first year's payment as "monthly payment"
-        BigDecimal displayMonthlyPayment = schedule.isEmpty() ? baseMonthlyPayment : schedule.get(0).totalPayment();
+        BigDecimal totalAmountPaid = input.loanAmount().add(totalInterest);
 
         // Create summary
         MortgageSummaryDto summary = new MortgageSummaryDto(
@@ -79,10 +209,11 @@ public class MortgageCalculationService {
             displayMonthlyPayment,
             input.interestRate(),
             input.loanTermYears(),
-            input.paymentFrequency()
+            input.paymentFrequency(),
+            payoffDate
         );
 
-        String calculationId = generateCalculationId();
+        String calculationId = CalculationIds.forCalculation(input);
 
         return new MortgageCalculationDto(
             displayMonthlyPayment,
@@ -94,22 +225,252 @@ public class MortgageCalculationService {
         );
     }
 
+    /**
+     * Compute one window of the amortization schedule.
+     * A cursor from a previous page resumes from its checkpoint; otherwise the engine fast-forwards
+     * to {@code from} without building rows.
+     */
+    public SchedulePageDto getSchedulePage(MortgageInputDto input, int from, int limit, String cursor) {
+        input.validate();
+        if (from < 1) {
+            throw new IllegalArgumentException("Schedule window must start at payment 1 or later");
+        }
+        if (limit < 1 || limit > properties.getMaxSchedulePageSize()) {
+            throw new IllegalArgumentException("Schedule window size must be between 1 and " + properties.getMaxSchedulePageSize());
+        }
+
+        int totalPayments = input.loanTermYears() * input.paymentFrequency().getPaymentsPerYear();
+
+        if (!LongCentsAmortizationEngine.supports(input)) {
+            // Sub-cent amounts need the BigDecimal engine, which can only replay from the start
+            List<AmortizationEntryDto> schedule = calculateMortgage(input).amortizationSchedule();
+            int start = Math.min(from - 1, schedule.size());
+            int end = Math.min(start + limit, schedule.size());
+            return new SchedulePageDto(schedule.subList(start, end), from, totalPayments, end < schedule.size(), null);
+        }
+
+        int fingerprint = ScheduleCursor.fingerprint(input);
+        LongCentsAmortizationEngine.Plan plan;
+        LongCentsAmortizationEngine.State state;
+        if (cursor != null && !cursor.isBlank()) {
+            ScheduleCursor decoded = ScheduleCursor.decode(cursor);
+            if (decoded.inputFingerprint() != fingerprint) {
+                throw new IllegalArgumentException("Schedule cursor was issued for different inputs");
+            }
+            plan = createPlan(input, LocalDate.ofEpochDay(decoded.startEpochDay()));
+            state = plan.resume(decoded.checkpoint());
+        } else {
+            plan = createPlan(input, input.startDate() != null ? input.startDate() : LocalDate.now());
+            state = plan.initialState();
+            LongCentsAmortizationEngine.advanceTo(plan, state, from - 1);
+        }
+
+        // Past the final payment the window is empty, and starts where it was asked to, as above
+        int firstPayment = cursor != null && !cursor.isBlank() ? state.getPaymentNumber() + 1 : from;
+        List<AmortizationEntryDto> entries = LongCentsAmortizationEngine.generateRows(plan, state, limit);
+        boolean hasMore = LongCentsAmortizationEngine.hasNext(plan, state);
+        String nextCursor = hasMore
+            ? new ScheduleCursor(fingerprint, plan.startDate().toEpochDay(), state.checkpoint()).encode()
+            : null;
+
+        return new SchedulePageDto(entries, firstPayment, totalPayments, hasMore, nextCursor);
+    }
+
+    /**
+     * Answer balance, cumulative interest and cumulative principal after a payment, identified either
+     * by payment number or by date. The figures are those of the cent-rounded schedule: the first quote
+     * on a loan records a checkpoint at the end of every year in one pass that builds no rows, and each
+     * quote resumes from the last checkpoint before its payment and steps at most a year to reach it.
+     */
+    public BalanceQuoteDto getBalanceQuote(MortgageInputDto input, Integer paymentNumber, LocalDate date, LocalDate startDate) {
+        input.validate();
+        if ((paymentNumber == null) == (date == null)) {
+            throw new IllegalArgumentException("Specify either a payment number or a date");
+        }
+        if (!LongCentsAmortizationEngine.supports(input)) {
+            throw new IllegalArgumentException("Balance quotes require amounts in whole cents");
+        }
+
+        if (startDate == null) {
+            startDate = input.startDate() != null ? input.startDate() : LocalDate.now();
+        }
+        LongCentsAmortizationEngine.Plan plan = createPlan(input, startDate);
+        int totalPayments = plan.totalPayments();
+        int period = paymentNumber != null ? paymentNumber : plan.paymentNumberOn(date);
+        if (period < 0 || period > totalPayments) {
+            throw new IllegalArgumentException("Payment number must be between 0 and " + totalPayments);
+        }
+
+        int interval = input.paymentFrequency().getPaymentsPerYear();
+        List<ScheduleCheckpoint> checkpoints = quoteCheckpoints.get(input.canonicalize(startDate),
+            key -> LongCentsAmortizationEngine.checkpoints(plan, interval));
+        ScheduleCheckpoint end = checkpoints.get(checkpoints.size() - 1);
+        LongCentsAmortizationEngine.State state = plan.resume(checkpoints.get(Math.min(period / interval, checkpoints.size() - 1)));
+        LongCentsAmortizationEngine.advanceTo(plan, state, period);
+
+        long balance = state.getBalance();
+        int payoff = end.balance() == 0 ? end.paymentNumber() : 0;
+        return new BalanceQuoteDto(
+            period,
+            period > 0 ? plan.paymentDate(period) : null,
+            CentsMath.toMoney(balance),
+            CentsMath.toMoney(state.getTotalInterest()),
+            CentsMath.toMoney(CentsMath.toCents(input.loanAmount()) - balance),
+            balance == 0 && period > 0,
+            payoff > 0 && payoff < totalPayments ? payoff : null
+        );
+    }
+
     /**
      * Compare multiple mortgage options
      */
     public MortgageComparisonDto compareMortgages(MortgageComparisonRequestDto request) {
+        return compareMortgages(request, CalculationOptions.DEFAULT);
+    }
+
+    /**
+     * Compare multiple mortgage options with the given per-request options
+     */
+    public MortgageComparisonDto compareMortgages(MortgageComparisonRequestDto request, CalculationOptions options) {
+        int maxOptions = properties.getMaxComparisonOptions();
+        if (request.mortgages().size() < 2 || request.mortgages().size() > maxOptions) {
+            throw new IllegalArgumentException("Can compare between 2 and " + maxOptions + " mortgages");
+        }
         logger.info("Comparing {} mortgage options", request.mortgages().size());
 
-        List<MortgageCalculationDto> calculations = request.mortgages().stream()
-            .map(this::calculateMortgage)
+        LocalDate today = LocalDate.now();
+        List<MortgageInputDto> canonicalInputs = request.mortgages().stream()
+            .map(input -> {
+                input.validate();
+                return input.canonicalize(today);
+            })
             .toList();
+        return compareCanonical(canonicalInputs, options);
+    }
+
+    /**
+     * Recompute a recently issued comparison from its ID
+     */
+    public Optional<MortgageComparisonDto> findComparison(String comparisonId) {
+        return calculationIndex.findComparison(comparisonId)
+            .map(inputs -> compareCanonical(inputs, CalculationOptions.DEFAULT));
+    }
+
+    /**
+     * Options are independent, so they are calculated concurrently and the comparison takes about as
+     * long as its slowest option; results keep request order
+     */
+    private MortgageComparisonDto compareCanonical(List<MortgageInputDto> canonicalInputs, CalculationOptions options) {
+        List<CompletableFuture<MortgageCalculationDto>> pending = canonicalInputs.stream()
+            .map(input -> CompletableFuture.supplyAsync(() -> calculateCanonical(input, options), comparisonPool))
+            .toList();
+        List<MortgageCalculationDto> calculations;
+        try {
+            calculations = pending.stream()
+                .map(CompletableFuture::join)
+                .toList();
+        } catch (CompletionException e) {
+            // Surface the option's own exception so invalid inputs are still reported as bad requests
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
 
         ComparisonSummaryDto summary = generateComparisonSummary(calculations);
-        String comparisonId = generateCalculationId();
+        String comparisonId = CalculationIds.forComparison(calculations.stream()
+            .map(MortgageCalculationDto::calculationId)
+            .toList());
+        calculationIndex.registerComparison(comparisonId, canonicalInputs);
 
         return new MortgageComparisonDto(calculations, summary, comparisonId);
     }
 
+    /**
+     * The requested engine, or the configured one when none is requested
+     */
+    public CalculationEngine resolveEngine(CalculationEngine requested) {
+        return requested != null ? requested : properties.getEngine();
+    }
+
+    /**
+     * Engine that computes the result of an input for these options: the one requested or configured,
+     * except that amounts finer than a cent need BIG_DECIMAL and totals alone always come from the
+     * long-cents pass when the amounts are whole cents
+     */
+    public CalculationEngine computingEngine(MortgageInputDto input, CalculationOptions options) {
+        if (!LongCentsAmortizationEngine.supports(input)) {
+            return CalculationEngine.BIG_DECIMAL;
+        }
+        return options.summaryOnly() ? CalculationEngine.LONG_CENTS : resolveEngine(options.engine());
+    }
+
+    /**
+     * Resolve the long-cents engine plan for an input, starting the schedule on the given date
+     */
+    private LongCentsAmortizationEngine.Plan createPlan(MortgageInputDto input, LocalDate startDate) {
+        Buydown buydown = createBuydown(input);
+        return LongCentsAmortizationEngine.Plan.of(input, calculateBasePayment(input, buydown),
+            createBuydownPlan(input, buydown), startDate);
+    }
+
+    /**
+     * Regular payment at the permanent rate; buydown years re-solve their own payment per period
+     */
+    private BigDecimal calculateBasePayment(MortgageInputDto input, Buydown buydown) {
+        // For buydown mortgages, we need to use the permanent rate for monthly payment calculation
+        // The actual payments will vary during the buydown period
+        BigDecimal calculationRate = buydown != null ? buydown.getPermanentRate() : input.interestRate();
+        MortgageInputDto calculationInput = new MortgageInputDto(
+            input.loanAmount(),
+            calculationRate,
+            input.loanTermYears(),
+            input.downPayment(),
+            input.propertyValue(),
+            input.mortgageType(),
+            input.paymentFrequency(),
+            input.buydownType(),
+            BigDecimal.ZERO, // Don't use additional principal for base payment calculation
+            input.additionalPaymentFrequency(),
+            input.startDate()
+        );
+        return calculateMonthlyPayment(calculationInput);
+    }
+
+    /**
+     * The payment reported as {@code monthlyPayment} (the first regular payment plus any extra principal
+     * due with it), computed from the first period alone
+     */
+    BigDecimal firstPayment(MortgageInputDto canonicalInput) {
+        LongCentsAmortizationEngine.Plan plan = planFor(canonicalInput);
+        long[] firstPayment = new long[1];
+        LongCentsAmortizationEngine.step(plan, plan.initialState(),
+            (paymentNumber, principal, interest, additional, regular, total, balance, annualRate, interestSaved) ->
+                firstPayment[0] = total);
+        return CentsMath.toMoney(firstPayment[0]);
+    }
+
+    /**
+     * Long-cents plan for a canonical input, for callers that evaluate the schedule without building it
+     */
+    LongCentsAmortizationEngine.Plan planFor(MortgageInputDto canonicalInput) {
+        if (!LongCentsAmortizationEngine.supports(canonicalInput)) {
+            throw new IllegalArgumentException("Amounts must be whole cents");
+        }
+        Buydown buydown = createBuydown(canonicalInput);
+        BigDecimal basePayment = calculateBasePayment(canonicalInput, buydown);
+        return LongCentsAmortizationEngine.Plan.of(
+            canonicalInput, basePayment, createBuydownPlan(canonicalInput, buydown), canonicalInput.startDate());
+    }
+
+    /**
+     * Annual rate charged in the first year, after any buydown reduction
+     */
+    BigDecimal firstYearRate(MortgageInputDto input) {
+        Buydown buydown = createBuydown(input);
+        return buydown != null ? buydown.getRateForYear(1) : input.interestRate();
+    }
+
     /**
      * Create buydown configuration based on input type
      */
@@ -125,14 +486,39 @@ public class MortgageCalculationService {
         };
     }
 
+    /**
+     * Per-year buydown payment multipliers, shared across calculations with the same rate, term and frequency
+     */
+    private BuydownPaymentPlan createBuydownPlan(MortgageInputDto input, Buydown buydown) {
+        if (buydown == null) {
+            return null;
+        }
+        BuydownPlanKey key = new BuydownPlanKey(input.buydownType(), input.interestRate(),
+            input.loanTermYears(), input.paymentFrequency());
+        BuydownPaymentPlan cached = buydownPlans.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BuydownPaymentPlan plan = buydown.createPaymentPlan(input.loanTermYears(), input.paymentFrequency(), annuityFactors);
+        if (buydownPlans.size() < MAX_CACHED_BUYDOWN_PLANS) {
+            buydownPlans.putIfAbsent(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * The rate is kept with its original scale, which the schedule's interestRate column echoes
+     */
+    private record BuydownPlanKey(BuydownType type, BigDecimal rate, int termYears, PaymentFrequency frequency) {
+    }
+
     /**
      * Calculate monthly payment using standard mortgage formula
      */
     private BigDecimal calculateMonthlyPayment(MortgageInputDto input) {
         BigDecimal principal = input.loanAmount();
-        BigDecimal annualRate = input.interestRate().divide(BigDecimal.valueOf(100), PRECISION);
         int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
-        BigDecimal periodicRate = annualRate.divide(BigDecimal.valueOf(paymentsPerYear), PRECISION);
+        BigDecimal periodicRate = PaymentMath.periodicRate(input.interestRate(), paymentsPerYear);
         int totalPayments = input.loanTermYears() * paymentsPerYear;
 
         // Handle special case for interest-only mortgages
@@ -141,19 +527,12 @@ public class MortgageCalculationService {
         }
 
         // Standard mortgage payment calculation: P * [r(1+r)^n] / [(1+r)^n - 1]
-        if (periodicRate.compareTo(BigDecimal.ZERO) == 0) {
+        BigDecimal paymentMultiplier = annuityFactors.multiplier(input.interestRate(), paymentsPerYear, totalPayments);
+        if (paymentMultiplier == null) {
             // No interest case
             return principal.divide(BigDecimal.valueOf(totalPayments), SCALE, RoundingMode.HALF_UP);
         }
 
-        BigDecimal onePlusRate = BigDecimal.ONE.add(periodicRate);
-        BigDecimal onePlusRatePowN = onePlusRate.pow(totalPayments, PRECISION);
-        
-        BigDecimal numerator = periodicRate.multiply(onePlusRatePowN, PRECISION);
-        BigDecimal denominator = onePlusRatePowN.subtract(BigDecimal.ONE, PRECISION);
-        
-        BigDecimal paymentMultiplier = numerator.divide(denominator, PRECISION);
-        
         return principal.multiply(paymentMultiplier, PRECISION).setScale(SCALE, RoundingMode.HALF_UP);
     }
 
@@ -161,20 +540,25 @@ public class MortgageCalculationService {
      * Generate complete amortization schedule
      */
     private List<AmortizationEntryDto> generateAmortizationSchedule(MortgageInputDto input, BigDecimal baseMonthlyPayment) {
-        return generateAmortizationSchedule(input, baseMonthlyPayment, null);
+        return generateAmortizationSchedule(input, baseMonthlyPayment, null, ScheduleField.ALL, new ScheduleTotals());
     }
 
     /**
-     * Generate complete amortization schedule with buydown support
+     * Generate the amortization schedule with buydown support, keeping only the given fields in each row
+     * (the others null). Without {@code INTEREST_SAVED} the loan without extra payments is not stepped,
+     * and without {@code PAYMENT_DATE} no dates are computed but the payoff date.
      */
-    private List<AmortizationEntryDto> generateAmortizationSchedule(MortgageInputDto input, BigDecimal baseMonthlyPayment, Buydown buydown) {
+    private List<AmortizationEntryDto> generateAmortizationSchedule(MortgageInputDto input, BigDecimal baseMonthlyPayment,
+            BuydownPaymentPlan buydownPlan, Set<ScheduleField> fields, ScheduleTotals totals) {
         List<AmortizationEntryDto> schedule = new ArrayList<>();
+        boolean trackSavings = fields.contains(ScheduleField.INTEREST_SAVED);
+        boolean datesWanted = fields.contains(ScheduleField.PAYMENT_DATE);
         
         BigDecimal remainingBalance = input.loanAmount();
         int totalPayments = input.loanTermYears() * input.paymentFrequency().getPaymentsPerYear();
         int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
         
-        LocalDate currentDate = LocalDate.now();
+        LocalDate currentDate = input.startDate();
         int daysIncrement = 365 / paymentsPerYear;
         
         // Additional principal payment configuration
@@ -190,8 +574,12 @@ public class MortgageCalculationService {
         // Track when one-time payment has been applied
         boolean oneTimePaymentApplied = false;
 
-        // Calculate interest savings for cumulative tracking
-        BigDecimal cumulativeInterestSaved = BigDecimal.ZERO;
+        // The same loan without extra principal, stepped in lockstep so interest saved is exact
+        BaselineSchedule baseline = trackSavings && input.mortgageType() != MortgageType.INTEREST_ONLY
+                && additionalPrincipalAmount.compareTo(BigDecimal.ZERO) > 0
+            ? new BaselineSchedule(input, baseMonthlyPayment, buydownPlan)
+            : null;
+        BigDecimal cumulativeInterest = BigDecimal.ZERO;
 
         for (int paymentNumber = 1; paymentNumber <= totalPayments && remainingBalance.compareTo(BigDecimal.ZERO) > 0; paymentNumber++) {
             // Determine current year for buydown calculation
@@ -199,14 +587,14 @@ public class MortgageCalculationService {
             
             // Get applicable interest rate for this payment
             BigDecimal currentAnnualRate;
-            if (buydown != null && currentYear <= buydown.getDuration()) {
-                currentAnnualRate = buydown.getRateForYear(currentYear);
+            boolean inBuydown = buydownPlan != null && currentYear <= buydownPlan.getYears();
+            if (inBuydown) {
+                currentAnnualRate = buydownPlan.getRateForYear(currentYear);
             } else {
                 currentAnnualRate = input.interestRate();
             }
             
-            BigDecimal periodicRate = currentAnnualRate.divide(BigDecimal.valueOf(100), PRECISION)
-                .divide(BigDecimal.valueOf(paymentsPerYear), PRECISION);
+            BigDecimal periodicRate = PaymentMath.periodicRate(currentAnnualRate, paymentsPerYear);
             
             // Calculate interest for this period using current rate
             BigDecimal interestPayment = remainingBalance.multiply(periodicRate, PRECISION).setScale(SCALE, RoundingMode.HALF_UP);
@@ -228,21 +616,9 @@ public class MortgageCalculationService {
                 }
             } else {
                 // For buydown mortgages, calculate payment based on current rate
-                if (buydown != null && currentYear <= buydown.getDuration()) {
-                    // During buydown period, calculate payment with reduced rate
-                    MortgageInputDto tempInput = new MortgageInputDto(
-                        remainingBalance,
-                        currentAnnualRate,
-                        input.loanTermYears() - (currentYear - 1),
-                        BigDecimal.ZERO,
-                        BigDecimal.ZERO,
-                        input.mortgageType(),
-                        input.paymentFrequency(),
-                        BuydownType.NONE,
-                        BigDecimal.ZERO, // No additional principal for temp calculation
-                        input.additionalPaymentFrequency()
-                    );
-                    BigDecimal buydownPayment = calculateMonthlyPayment(tempInput);
+                if (inBuydown) {
+                    // During buydown period, re-solve the payment on the remaining balance at the reduced rate
+                    BigDecimal buydownPayment = buydownPlan.paymentFor(currentYear, remainingBalance);
                     principalPayment = buydownPayment.subtract(interestPayment);
                 } else {
                     // Use base payment calculation
@@ -304,34 +680,41 @@ public class MortgageCalculationService {
                 remainingBalance = BigDecimal.ZERO;
             }
 
-            // Calculate interest saved (approximate - the interest we won't pay on the additional principal)
-            BigDecimal interestSavedThisPayment = BigDecimal.ZERO;
-            if (actualAdditionalPrincipal.compareTo(BigDecimal.ZERO) > 0) {
-                // Approximate interest saved over remaining term
-                int remainingPayments = totalPayments - paymentNumber;
-                if (remainingPayments > 0) {
-                    interestSavedThisPayment = actualAdditionalPrincipal
-                        .multiply(periodicRate)
-                        .multiply(BigDecimal.valueOf(remainingPayments))
-                        .setScale(SCALE, RoundingMode.HALF_UP);
+            cumulativeInterest = cumulativeInterest.add(interestPayment);
+            BigDecimal cumulativeInterestSaved = BigDecimal.ZERO;
+            if (baseline != null) {
+                baseline.step(paymentNumber);
+                if (remainingBalance.compareTo(BigDecimal.ZERO) == 0 || paymentNumber == totalPayments) {
+                    // The baseline keeps paying interest after this, the final payment
+                    baseline.finish(paymentNumber);
                 }
-                cumulativeInterestSaved = cumulativeInterestSaved.add(interestSavedThisPayment);
+                cumulativeInterestSaved = baseline.interest.subtract(cumulativeInterest);
+            }
+
+            boolean lastPayment = remainingBalance.compareTo(BigDecimal.ZERO) == 0 || paymentNumber == totalPayments;
+            if (paymentNumber == 1) {
+                totals.firstPayment = totalPayment;
             }
 
             // Calculate payment date
-            LocalDate paymentDate = currentDate.plusDays((long) daysIncrement * (paymentNumber - 1));
+            LocalDate paymentDate = datesWanted || lastPayment
+                ? currentDate.plusDays((long) daysIncrement * (paymentNumber - 1))
+                : null;
+            if (lastPayment) {
+                totals.payoffDate = paymentDate;
+            }
 
             schedule.add(new AmortizationEntryDto(
-                paymentNumber,
-                paymentDate,
-                principalPayment,
-                interestPayment,
-                actualAdditionalPrincipal,
-                regularPayment,
-                totalPayment,
-                remainingBalance,
-                currentAnnualRate,
-                cumulativeInterestSaved
+                fields.contains(ScheduleField.PAYMENT_NUMBER) ? paymentNumber : null,
+                datesWanted ? paymentDate : null,
+                fields.contains(ScheduleField.PRINCIPAL_PAYMENT) ? principalPayment : null,
+                fields.contains(ScheduleField.INTEREST_PAYMENT) ? interestPayment : null,
+                fields.contains(ScheduleField.ADDITIONAL_PRINCIPAL_PAYMENT) ? actualAdditionalPrincipal : null,
+                fields.contains(ScheduleField.REGULAR_PAYMENT) ? regularPayment : null,
+                fields.contains(ScheduleField.TOTAL_PAYMENT) ? totalPayment : null,
+                fields.contains(ScheduleField.REMAINING_BALANCE) ? remainingBalance : null,
+                fields.contains(ScheduleField.INTEREST_RATE) ? currentAnnualRate : null,
+                trackSavings ? cumulativeInterestSaved : null
             ));
 
             // Break if balance is paid off
@@ -340,9 +723,75 @@ public class MortgageCalculationService {
             }
         }
 
+        totals.interest = cumulativeInterest;
         return schedule;
     }
 
+    /**
+     * Totals of a generated schedule, which a projected schedule's rows may not carry
+     */
+    private static final class ScheduleTotals {
+        private BigDecimal interest = BigDecimal.ZERO;
+        private BigDecimal firstPayment;
+        private LocalDate payoffDate;
+    }
+
+    /**
+     * Balance and cumulative interest of a loan without extra principal, mirroring the schedule loop
+     * with no additional payment
+     */
+    private static final class BaselineSchedule {
+        private final BigDecimal permanentRate;
+        private final BigDecimal basePayment;
+        private final BuydownPaymentPlan buydownPlan;
+        private final int paymentsPerYear;
+        private final int totalPayments;
+
+        private BigDecimal balance;
+        private BigDecimal interest = BigDecimal.ZERO;
+        private int rateYear;
+        private BigDecimal periodicRate;
+
+        BaselineSchedule(MortgageInputDto input, BigDecimal basePayment, BuydownPaymentPlan buydownPlan) {
+            this.permanentRate = input.interestRate();
+            this.basePayment = basePayment;
+            this.buydownPlan = buydownPlan;
+            this.paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+            this.totalPayments = input.loanTermYears() * paymentsPerYear;
+            this.balance = input.loanAmount();
+        }
+
+        void step(int paymentNumber) {
+            if (balance.compareTo(BigDecimal.ZERO) <= 0) {
+                return;
+            }
+            int year = ((paymentNumber - 1) / paymentsPerYear) + 1;
+            boolean inBuydown = buydownPlan != null && year <= buydownPlan.getYears();
+            if (year != rateYear) {
+                periodicRate = PaymentMath.periodicRate(inBuydown ? buydownPlan.getRateForYear(year) : permanentRate, paymentsPerYear);
+                rateYear = year;
+            }
+
+            BigDecimal periodInterest = balance.multiply(periodicRate, PRECISION).setScale(SCALE, RoundingMode.HALF_UP);
+            BigDecimal payment = inBuydown ? buydownPlan.paymentFor(year, balance) : basePayment;
+            interest = interest.add(periodInterest);
+            balance = balance.subtract(payment.subtract(periodInterest));
+            if (balance.compareTo(BigDecimal.ZERO) < 0) {
+                balance = BigDecimal.ZERO;
+            }
+        }
+
+        /**
+         * Payments the baseline still makes after the schedule's final payment
+         */
+        void finish(int lastPaymentNumber) {
+            for (int paymentNumber = lastPaymentNumber + 1; paymentNumber <= totalPayments
+                    && balance.compareTo(BigDecimal.ZERO) > 0; paymentNumber++) {
+                step(paymentNumber);
+            }
+        }
+    }
+
     /**
      * Generate comparison summary highlighting best options
      */
@@ -357,7 +806,7 @@ public class MortgageCalculationService {
             .min(BigDecimal::compareTo)
             .orElse(BigDecimal.ZERO);
 
-        // Generate detailed differences for the first two mortgages as an example
+        // Pairwise detail for the first two options, kept for existing clients; the matrix covers every pair
         List<ComparisonDifferenceDto> differences = new ArrayList<>();
         if (calculations.size() >= 2) {
             MortgageCalculationDto first = calculations.get(0);
@@ -368,7 +817,39 @@ public class MortgageCalculationService {
             differences.add(createDifference("Total Amount Paid", first.summary().totalAmountPaid(), second.summary().totalAmountPaid()));
         }
 
-        return new ComparisonSummaryDto(bestMonthlyPayment, bestTotalInterest, differences);
+        ComparisonMatrix matrix = new ComparisonMatrix(calculations);
+        return new ComparisonSummaryDto(bestMonthlyPayment, bestTotalInterest, differences,
+            matrix.differences(), matrix.best(properties.getComparisonTopK()), rankOptions(calculations));
+    }
+
+    /**
+     * Rank every option by total amount paid, breaking ties on the regular payment and then request order
+     */
+    private List<RankedOptionDto> rankOptions(List<MortgageCalculationDto> calculations) {
+        Comparator<Integer> byCost = Comparator
+            .comparing((Integer index) -> calculations.get(index).summary().totalAmountPaid())
+            .thenComparing(index -> calculations.get(index).monthlyPayment())
+            .thenComparing(Comparator.naturalOrder());
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < calculations.size(); i++) {
+            order.add(i);
+        }
+        order.sort(byCost);
+
+        List<RankedOptionDto> ranking = new ArrayList<>(order.size());
+        for (int index : order) {
+            MortgageCalculationDto calculation = calculations.get(index);
+            ranking.add(new RankedOptionDto(
+                ranking.size() + 1,
+                index,
+                calculation.calculationId(),
+                calculation.summary().totalAmountPaid(),
+                calculation.monthlyPayment(),
+                calculation.totalInterest()
+            ));
+        }
+        return ranking;
     }
 
     /**
@@ -386,11 +867,4 @@ public class MortgageCalculationService {
 
         return new ComparisonDifferenceDto(metric, value1, value2, difference, percentageDifference);
     }
-
-    /**
-     * Generate unique calculation ID
-     */
-    private String generateCalculationId() {
-        return "calc_" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.PaymentQuoteDto;
+import com.mortgagecalculator.dto.PaymentQuoteRequestDto;
+import com.mortgagecalculator.engine.PaymentKernel;
+import com.mortgagecalculator.engine.ScalarPaymentKernel;
+import com.mortgagecalculator.engine.VectorPaymentKernel;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payments and total interest of thousands of fixed-rate loans per request, evaluated over primitive
+ * columns by a {@link PaymentKernel} rather than one BigDecimal calculation per loan. The SIMD kernel is
+ * used when {@code app.mortgage.vector-payment-kernel} is set and the incubator module is present.
+ */
+@Service
+public class PaymentQuoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentQuoteService.class);
+
+    private final MortgageProperties properties;
+    private final PaymentKernel kernel;
+
+    public PaymentQuoteService(MortgageProperties properties) {
+        this.properties = properties;
+        if (!properties.isVectorPaymentKernel()) {
+            this.kernel = new ScalarPaymentKernel();
+        } else if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            this.kernel = vectorKernel();
+        } else {
+            logger.warn("app.mortgage.vector-payment-kernel is set but jdk.incubator.vector is not loaded; using the scalar kernel");
+            this.kernel = new ScalarPaymentKernel();
+        }
+        logger.info("Payment quotes use the {} kernel", kernel.name());
+    }
+
+    /**
+     * Kept apart so the vector class is only loaded once the module is known to be present
+     */
+    private static PaymentKernel vectorKernel() {
+        return new VectorPaymentKernel();
+    }
+
+    public PaymentQuoteDto quote(PaymentQuoteRequestDto request) {
+        int count = request.loanAmounts().size();
+        List<PaymentFrequency> frequencies = request.paymentFrequencies();
+        boolean monthly = frequencies == null || frequencies.isEmpty();
+        if (request.interestRates().size() != count || request.loanTermYears().size() != count
+                || (!monthly && frequencies.size() != count)) {
+            throw new IllegalArgumentException("Every column must have one entry per loan");
+        }
+        if (count > properties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("A batch may contain at most " + properties.getMaxBatchSize() + " loans");
+        }
+
+        double[] principal = new double[count];
+        double[] periodicRate = new double[count];
+        double[] totalPayments = new double[count];
+        for (int i = 0; i < count; i++) {
+            int paymentsPerYear = monthly ? PaymentFrequency.MONTHLY.getPaymentsPerYear() : frequencies.get(i).getPaymentsPerYear();
+            principal[i] = request.loanAmounts().get(i).doubleValue();
+            periodicRate[i] = request.interestRates().get(i).doubleValue() / 100 / paymentsPerYear;
+            totalPayments[i] = request.loanTermYears().get(i) * paymentsPerYear;
+        }
+
+        double[] payment = new double[count];
+        double[] totalInterest = new double[count];
+        kernel.evaluate(principal, periodicRate, totalPayments, payment, totalInterest, count);
+
+        BigDecimal[] payments = new BigDecimal[count];
+        BigDecimal[] interest = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            payments[i] = BigDecimal.valueOf(Math.round(payment[i] * 100), 2);
+            interest[i] = BigDecimal.valueOf(Math.round(totalInterest[i] * 100), 2);
+        }
+        logger.info("Quoted {} loans with the {} kernel", count, kernel.name());
+        return new PaymentQuoteDto(kernel.name(), List.of(payments), List.of(interest));
+    }
+}
@@ -12,9 +12,10 @@ import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.borders.SolidBorder;
 
 import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
-import com.mortgagecalculator.dto.AmortizationEntryDto;
 import com.mortgagecalculator.dto.MortgageCalculationDto;
 import com.mortgagecalculator.dto.MortgageComparisonDto;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.ColumnarSchedule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -51,7 +52,7 @@ public class PdfExportService {
             addMortgageSummary(document, calculation);
 
             // Add amortization schedule table
-            addAmortizationTable(document, calculation.amortizationSchedule());
+            addAmortizationTable(document, ColumnarSchedule.of(calculation.amortizationSchedule()));
 
             // Add footer
             addFooter(document);
@@ -97,7 +98,8 @@ public class PdfExportService {
             // Add complete amortization schedules for all options
             for (int i = 0; i < comparison.mortgages().size(); i++) {
                 document.add(new AreaBreak());
-                addCompleteAmortizationTable(document, comparison.mortgages().get(i).amortizationSchedule(),
+                addCompleteAmortizationTable(document,
+                        ColumnarSchedule.of(comparison.mortgages().get(i).amortizationSchedule()),
                         "Option " + (i + 1) + " - Complete Amortization Schedule");
             }
 
@@ -242,7 +244,7 @@ public class PdfExportService {
         }
     }
 
-    private void addAmortizationTable(Document document, List<AmortizationEntryDto> schedule) {
+    private void addAmortizationTable(Document document, ColumnarSchedule schedule) {
         // Section title
         Paragraph sectionHeader = new Paragraph("Amortization Schedule")
                 .setFontSize(18)
@@ -266,14 +268,12 @@ public class PdfExportService {
         // Add data rows (limit to first 120 payments for PDF readability)
         int maxRows = Math.min(schedule.size(), 120);
         for (int i = 0; i < maxRows; i++) {
-            AmortizationEntryDto entry = schedule.get(i);
-
-            table.addCell(new Cell().add(new Paragraph(String.valueOf(entry.paymentNumber()))));
-            table.addCell(new Cell().add(new Paragraph(entry.paymentDate().format(DATE_FORMATTER))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.principalPayment()))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.interestPayment()))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.totalPayment()))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.remainingBalance()))));
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(schedule.paymentNumber(i)))));
+            table.addCell(new Cell().add(new Paragraph(schedule.paymentDate(i).format(DATE_FORMATTER))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.principalCents(i)))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.interestCents(i)))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.totalCents(i)))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.balanceCents(i)))));
         }
 
         document.add(table);
@@ -655,10 +655,10 @@ public class PdfExportService {
         document.add(summaryTable);
 
         // Add payment breakdown by year
-        addPaymentBreakdownByYear(document, calculation.amortizationSchedule());
+        addPaymentBreakdownByYear(document, ColumnarSchedule.of(calculation.amortizationSchedule()));
     }
 
-    private void addCompleteAmortizationTable(Document document, List<AmortizationEntryDto> schedule, String title) {
+    private void addCompleteAmortizationTable(Document document, ColumnarSchedule schedule, String title) {
         // Section title
         Paragraph sectionHeader = new Paragraph(title)
                 .setFontSize(16)
@@ -681,14 +681,14 @@ public class PdfExportService {
         table.addHeaderCell(new Cell().add(new Paragraph("Rate %").setBold()));
 
         // Add all data rows
-        for (AmortizationEntryDto entry : schedule) {
-            table.addCell(new Cell().add(new Paragraph(String.valueOf(entry.paymentNumber()))));
-            table.addCell(new Cell().add(new Paragraph(entry.paymentDate().format(DATE_FORMATTER))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.principalPayment()))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.interestPayment()))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.totalPayment()))));
-            table.addCell(new Cell().add(new Paragraph(formatCurrency(entry.remainingBalance()))));
-            table.addCell(new Cell().add(new Paragraph(String.format("%.3f", entry.interestRate()))));
+        for (int i = 0; i < schedule.size(); i++) {
+            table.addCell(new Cell().add(new Paragraph(String.valueOf(schedule.paymentNumber(i)))));
+            table.addCell(new Cell().add(new Paragraph(schedule.paymentDate(i).format(DATE_FORMATTER))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.principalCents(i)))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.interestCents(i)))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.totalCents(i)))));
+            table.addCell(new Cell().add(new Paragraph(formatCurrency(schedule.balanceCents(i)))));
+            table.addCell(new Cell().add(new Paragraph(String.format("%.3f", schedule.annualRate(i)))));
         }
 
         document.add(table);
@@ -725,7 +725,7 @@ public class PdfExportService {
         }
     }
 
-    private void addPaymentBreakdownByYear(Document document, List<AmortizationEntryDto> schedule) {
+    private void addPaymentBreakdownByYear(Document document, ColumnarSchedule schedule) {
         Paragraph yearBreakdownHeader = new Paragraph("Annual Payment Breakdown")
                 .setFontSize(14)
                 .setBold()
@@ -745,18 +745,17 @@ public class PdfExportService {
 
         // Calculate yearly totals (show first 10 years)
         for (int year = 1; year <= Math.min(10, schedule.size() / 12 + 1); year++) {
-            BigDecimal yearlyPrincipal = BigDecimal.ZERO;
-            BigDecimal yearlyInterest = BigDecimal.ZERO;
-            BigDecimal endBalance = BigDecimal.ZERO;
+            long yearlyPrincipal = 0;
+            long yearlyInterest = 0;
+            long endBalance = 0;
 
             int startIdx = (year - 1) * 12;
             int endIdx = Math.min(year * 12, schedule.size());
 
             for (int i = startIdx; i < endIdx; i++) {
-                AmortizationEntryDto entry = schedule.get(i);
-                yearlyPrincipal = yearlyPrincipal.add(entry.principalPayment());
-                yearlyInterest = yearlyInterest.add(entry.interestPayment());
-                endBalance = entry.remainingBalance();
+                yearlyPrincipal += schedule.principalCents(i);
+                yearlyInterest += schedule.interestCents(i);
+                endBalance = schedule.balanceCents(i);
             }
 
             yearTable.addCell(new Cell().add(new Paragraph(String.valueOf(year))));
@@ -832,4 +831,8 @@ public class PdfExportService {
     private String formatCurrency(BigDecimal amount) {
         return String.format("$%,.2f", amount);
     }
+
+    private String formatCurrency(long cents) {
+        return formatCurrency(CentsMath.toMoney(cents));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.RateTermGridDto;
+import com.mortgagecalculator.dto.RateTermGridRequestDto;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.RateTermGrid;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Prices one fixed-rate loan across a rate x term x frequency grid in a single pass, for pricing screens
+ * that would otherwise calculate a full schedule per cell.
+ */
+@Service
+public class RateTermGridService {
+
+    private final MortgageProperties properties;
+    private final AnnuityFactors annuityFactors;
+
+    public RateTermGridService(MortgageProperties properties, AnnuityFactorCache annuityFactors) {
+        this.properties = properties;
+        this.annuityFactors = annuityFactors;
+    }
+
+    public RateTermGridDto calculateGrid(RateTermGridRequestDto request) {
+        List<PaymentFrequency> frequencies = request.paymentFrequencies() == null || request.paymentFrequencies().isEmpty()
+            ? List.of(PaymentFrequency.MONTHLY)
+            : request.paymentFrequencies();
+        long cells = (long) request.interestRates().size() * request.loanTermYears().size() * frequencies.size();
+        if (cells > properties.getMaxGridCells()) {
+            throw new IllegalArgumentException("A grid may contain at most " + properties.getMaxGridCells() + " cells");
+        }
+        if (!CentsMath.isWholeCents(request.loanAmount())) {
+            throw new IllegalArgumentException("Loan amount must be a whole number of cents");
+        }
+
+        RateTermGrid grid = RateTermGrid.evaluate(
+            CentsMath.toCents(request.loanAmount()),
+            request.interestRates().toArray(BigDecimal[]::new),
+            request.loanTermYears().stream().mapToInt(Integer::intValue).toArray(),
+            frequencies.stream().mapToInt(PaymentFrequency::getPaymentsPerYear).toArray(),
+            annuityFactors);
+
+        BigDecimal[] payments = new BigDecimal[grid.size()];
+        BigDecimal[] totalInterest = new BigDecimal[grid.size()];
+        for (int cell = 0; cell < grid.size(); cell++) {
+            payments[cell] = CentsMath.toMoney(grid.paymentCents(cell));
+            totalInterest[cell] = CentsMath.toMoney(grid.totalInterestCents(cell));
+        }
+
+        return new RateTermGridDto(
+            CentsMath.toMoney(CentsMath.toCents(request.loanAmount())),
+            request.interestRates(),
+            request.loanTermYears(),
+            frequencies,
+            List.of(payments),
+            List.of(totalInterest)
+        );
+    }
+}
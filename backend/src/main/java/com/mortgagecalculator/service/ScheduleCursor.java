@@ -0,0 +1,87 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.ScheduleCheckpoint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
+/**
+ * Opaque paging token: the engine checkpoint plus the schedule start date, bound to the input it was issued
+ * for and ending in a CRC-32 of the rest, so a truncated or edited token is rejected rather than resumed
+ */
+record ScheduleCursor(int inputFingerprint, long startEpochDay, ScheduleCheckpoint checkpoint) {
+
+    private static final byte VERSION = 3;
+    private static final int PAYLOAD_LENGTH = 1 + 4 + 8 + 4 + 8 + 8 + 8 + 8 + 1;
+    private static final int ENCODED_LENGTH = PAYLOAD_LENGTH + 4;
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_LENGTH)
+                .put(VERSION)
+                .putInt(inputFingerprint)
+                .putLong(startEpochDay)
+                .putInt(checkpoint.paymentNumber())
+                .putLong(checkpoint.balance())
+                .putLong(checkpoint.totalInterest())
+                .putLong(checkpoint.baselineBalance())
+                .putLong(checkpoint.baselineInterest())
+                .put((byte) (checkpoint.oneTimeApplied() ? 1 : 0));
+        buffer.putInt(checksum(buffer.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static ScheduleCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed schedule cursor");
+        }
+        if (bytes.length != ENCODED_LENGTH || bytes[0] != VERSION
+                || ByteBuffer.wrap(bytes).getInt(PAYLOAD_LENGTH) != checksum(bytes)) {
+            throw new IllegalArgumentException("Malformed schedule cursor");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, PAYLOAD_LENGTH - 1);
+        int fingerprint = buffer.getInt();
+        long startEpochDay = buffer.getLong();
+        ScheduleCheckpoint checkpoint = new ScheduleCheckpoint(
+                buffer.getInt(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.get() == 1);
+        return new ScheduleCursor(fingerprint, startEpochDay, checkpoint);
+    }
+
+    /**
+     * Fingerprint of the inputs that determine the schedule, in canonical form so equal loans written
+     * differently (300000 and 300000.00, an omitted buydown and NONE) share cursors, while a cursor cannot
+     * be replayed against another loan. The start date is the one the request gave, if any.
+     */
+    static int fingerprint(MortgageInputDto input) {
+        MortgageInputDto canonical = input.canonicalize(input.startDate());
+        StringBuilder content = new StringBuilder("schedule");
+        append(content, canonical.loanAmount());
+        append(content, canonical.interestRate());
+        append(content, canonical.loanTermYears());
+        append(content, canonical.mortgageType());
+        append(content, canonical.paymentFrequency());
+        append(content, canonical.buydownType());
+        append(content, canonical.additionalPrincipalPayment());
+        append(content, canonical.additionalPaymentFrequency());
+        append(content, canonical.startDate());
+        CRC32 crc = new CRC32();
+        crc.update(content.toString().getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static void append(StringBuilder content, Object value) {
+        content.append('|').append(value != null ? value : "-");
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, PAYLOAD_LENGTH);
+        return (int) crc.getValue();
+    }
+}
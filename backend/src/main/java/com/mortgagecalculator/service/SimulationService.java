@@ -0,0 +1,242 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.dto.PercentilesDto;
+import com.mortgagecalculator.dto.SimulationRequestDto;
+import com.mortgagecalculator.dto.SimulationResultDto;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.engine.RatePathModel;
+import com.mortgagecalculator.engine.VariableRateSimulation;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.RateModel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Monte Carlo simulation of variable-rate mortgages.
+ * <p>
+ * Paths are simulated in fixed-size tasks on a dedicated pool. Each task draws from its own
+ * {@link SplittableRandom}, split from the request seed in task order before any task starts, so a
+ * seed reproduces the same result whatever the thread count or scheduling.
+ * <p>
+ * The historical rate file, when configured, is read at startup: a missing or malformed file stops the
+ * application rather than failing each HISTORICAL request with a server error.
+ */
+@Service
+public class SimulationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationService.class);
+
+    private static final int PATHS_PER_TASK = 1_024;
+    private static final int DEFAULT_RESET_MONTHS = 12;
+    private static final double DEFAULT_MEAN_REVERSION = 0.15;
+    private static final double DEFAULT_VOLATILITY_PERCENT = 1.0;
+
+    private final MortgageProperties.Simulation settings;
+    private final ForkJoinPool pool;
+    private final double[] historicalChanges;
+
+    public SimulationService(MortgageProperties properties) {
+        this.settings = properties.getSimulation();
+        int parallelism = settings.getParallelism() > 0
+            ? settings.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        String historicalRates = settings.getHistoricalRates();
+        this.historicalChanges = historicalRates != null && !historicalRates.isBlank()
+            ? loadMonthlyChanges(Path.of(historicalRates))
+            : null;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public SimulationResultDto simulate(SimulationRequestDto request) {
+        MortgageInputDto input = request.mortgage().canonicalize(LocalDate.now());
+        input.validate();
+        if (input.mortgageType() != MortgageType.VARIABLE) {
+            throw new IllegalArgumentException("Simulation applies to variable-rate mortgages");
+        }
+        if (input.buydownType() != null && input.buydownType() != BuydownType.NONE) {
+            throw new IllegalArgumentException("Buydowns cannot be combined with a simulated variable rate");
+        }
+        if (!LongCentsAmortizationEngine.supports(input)) {
+            throw new IllegalArgumentException("Amounts must be whole cents");
+        }
+        int paths = request.paths() != null ? request.paths() : settings.getDefaultPaths();
+        if (paths > settings.getMaxPaths()) {
+            throw new IllegalArgumentException("A simulation may run at most " + settings.getMaxPaths() + " paths");
+        }
+
+        RateModel modelType = request.model() != null ? request.model() : RateModel.VASICEK;
+        int resetMonths = request.resetIntervalMonths() != null ? request.resetIntervalMonths() : DEFAULT_RESET_MONTHS;
+        long seed = request.seed() != null ? request.seed() : new SplittableRandom().nextLong();
+        VariableRateSimulation simulation = simulationFor(input, resetMonths);
+        RatePathModel model = rateModel(modelType, request, input.interestRate().doubleValue() / 100);
+
+        double[] maxPayment = new double[paths];
+        double[] totalInterest = new double[paths];
+        double[] finalRate = new double[paths];
+        long started = System.nanoTime();
+        SplittableRandom root = new SplittableRandom(seed);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int from = 0; from < paths; from += PATHS_PER_TASK) {
+            SplittableRandom random = root.split();
+            int start = from;
+            int end = Math.min(paths, from + PATHS_PER_TASK);
+            pending.add(CompletableFuture.runAsync(
+                () -> simulation.run(model, random, start, end, maxPayment, totalInterest, finalRate), pool));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        logger.info("Simulated {} {} rate paths in {} ms", paths, modelType, (System.nanoTime() - started) / 1_000_000);
+
+        for (int path = 0; path < paths; path++) {
+            finalRate[path] *= 100;
+        }
+        return new SimulationResultDto(
+            modelType,
+            paths,
+            seed,
+            resetMonths,
+            round(simulation.initialPayment(), 2),
+            percentiles(maxPayment, 2),
+            percentiles(totalInterest, 2),
+            percentiles(finalRate, 3)
+        );
+    }
+
+    private static VariableRateSimulation simulationFor(MortgageInputDto input, int resetMonths) {
+        int paymentsPerYear = input.paymentFrequency().getPaymentsPerYear();
+        // Resets fall on the payment nearest each interval, and never more often than every payment
+        int resetPayments = Math.max(1, Math.round(resetMonths * paymentsPerYear / 12f));
+        AdditionalPaymentFrequency frequency = input.additionalPaymentFrequency() != null
+            ? input.additionalPaymentFrequency()
+            : AdditionalPaymentFrequency.MONTHLY;
+        long extraCents = input.additionalPrincipalPayment() != null ? CentsMath.toCents(input.additionalPrincipalPayment()) : 0;
+        return new VariableRateSimulation(
+            CentsMath.toCents(input.loanAmount()),
+            input.interestRate().doubleValue() / 100,
+            paymentsPerYear,
+            input.loanTermYears() * paymentsPerYear,
+            resetPayments,
+            extraCents,
+            frequency.isOneTime(),
+            frequency.isOneTime() ? 0 : frequency.getPaymentInterval(input.paymentFrequency())
+        );
+    }
+
+    private RatePathModel rateModel(RateModel type, SimulationRequestDto request, double initialRate) {
+        double speed = request.meanReversion() != null ? request.meanReversion().doubleValue() : DEFAULT_MEAN_REVERSION;
+        double mean = request.longRunRate() != null ? request.longRunRate().doubleValue() / 100 : initialRate;
+        double volatility = (request.volatility() != null ? request.volatility().doubleValue() : DEFAULT_VOLATILITY_PERCENT) / 100;
+        return switch (type) {
+            case VASICEK -> RatePathModel.vasicek(speed, mean, volatility);
+            // Scaled so the volatility at the starting rate is the one requested
+            case CIR -> RatePathModel.cir(speed, mean, volatility / Math.sqrt(initialRate));
+            case HISTORICAL -> RatePathModel.bootstrap(historicalChanges());
+        };
+    }
+
+    /**
+     * Month-on-month changes of the configured historical series, loaded at startup
+     */
+    private double[] historicalChanges() {
+        if (historicalChanges == null) {
+            throw new IllegalArgumentException("The HISTORICAL model needs app.mortgage.simulation.historical-rates to name a rate file");
+        }
+        return historicalChanges;
+    }
+
+    /**
+     * Read {@code date,ratePercent} lines in date order; blank lines, {@code #} comments and a header
+     * line are skipped
+     */
+    static double[] loadMonthlyChanges(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read historical rates from " + file, e);
+        }
+
+        double[] rates = new double[lines.size()];
+        int count = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            try {
+                if (fields.length < 2) {
+                    throw new NumberFormatException();
+                }
+                double rate = Double.parseDouble(fields[1].trim());
+                rates[count++] = rate / 100;
+            } catch (NumberFormatException e) {
+                if (count == 0) {
+                    // Header line
+                    continue;
+                }
+                throw new IllegalStateException("Malformed rate on line " + (i + 1) + " of " + file);
+            }
+        }
+        if (count < 2) {
+            throw new IllegalStateException("Historical rates in " + file + " need at least two observations");
+        }
+
+        double[] changes = new double[count - 1];
+        for (int i = 1; i < count; i++) {
+            changes[i - 1] = rates[i] - rates[i - 1];
+        }
+        return changes;
+    }
+
+    /**
+     * 5th, 50th and 95th percentiles by nearest rank, and the mean; sorts {@code values} in place
+     */
+    private static PercentilesDto percentiles(double[] values, int scale) {
+        Arrays.sort(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return new PercentilesDto(
+            round(rank(values, 5), scale),
+            round(rank(values, 50), scale),
+            round(rank(values, 95), scale),
+            round(sum / values.length, scale)
+        );
+    }
+
+    private static double rank(double[] sorted, int percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static BigDecimal round(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+}
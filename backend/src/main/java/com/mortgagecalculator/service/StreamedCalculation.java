@@ -0,0 +1,20 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.enums.ScheduleField;
+
+import java.util.Set;
+
+/**
+ * A calculation ready to be written as JSON: either a complete result, or the result's totals with an
+ * empty schedule and the plan whose rows are written as the engine produces them, with the requested
+ * columns
+ */
+public record StreamedCalculation(MortgageCalculationDto result, LongCentsAmortizationEngine.Plan plan,
+        Set<ScheduleField> fields) {
+
+    public boolean isStreamed() {
+        return plan != null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.mortgagecalculator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.dto.WhatIfRequestDto;
+import com.mortgagecalculator.dto.WhatIfResultDto;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.engine.ScheduleCheckpoint;
+import com.mortgagecalculator.model.MortgageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recalculates a previous calculation after a change to its extra payments from one payment onwards.
+ * <p>
+ * Payments before the change are those of the base schedule, so they are not replayed: the first
+ * what-if on a calculation records a checkpoint at the end of every year of its schedule, and each
+ * request resumes from the last checkpoint before the change, steps at most a year to reach it, and
+ * computes only the rows from there on.
+ */
+@Service
+public class WhatIfService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WhatIfService.class);
+
+    private final CalculationIndex calculationIndex;
+    private final MortgageCalculationService calculationService;
+    private final Cache<String, BaseSchedule> baseSchedules;
+
+    public WhatIfService(MortgageProperties properties, CalculationIndex calculationIndex,
+            MortgageCalculationService calculationService) {
+        this.calculationIndex = calculationIndex;
+        this.calculationService = calculationService;
+        this.baseSchedules = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxCheckpointedCalculations())
+            .build();
+    }
+
+    /**
+     * Apply the change to a recently issued calculation; empty when its ID is no longer indexed
+     */
+    public Optional<WhatIfResultDto> recalculate(WhatIfRequestDto request) {
+        if (request.additionalPrincipalPayment() == null && request.lumpSum() == null) {
+            throw new IllegalArgumentException("Specify a new additional principal payment, a lump sum, or both");
+        }
+        return calculationIndex.findCalculation(request.baseCalculationId())
+            .map(input -> recalculate(request, input));
+    }
+
+    private WhatIfResultDto recalculate(WhatIfRequestDto request, MortgageInputDto input) {
+        if (input.mortgageType() == MortgageType.INTEREST_ONLY) {
+            throw new IllegalArgumentException("Extra principal payments do not apply to interest-only loans");
+        }
+        BaseSchedule base = baseSchedule(request.baseCalculationId(), input);
+        ScheduleCheckpoint end = base.checkpoints().get(base.checkpoints().size() - 1);
+        int fromPayment = request.fromPayment();
+        if (fromPayment > end.paymentNumber()) {
+            throw new IllegalArgumentException("The base schedule ends at payment " + end.paymentNumber());
+        }
+
+        LongCentsAmortizationEngine.Plan plan = base.plan();
+        if (request.additionalPrincipalPayment() != null) {
+            if (fromPayment > 1 && input.additionalPaymentFrequency() != null
+                    && input.additionalPaymentFrequency().isOneTime()) {
+                throw new IllegalArgumentException("A one-time additional payment is made with the first payment; use a lump sum to pay extra later");
+            }
+            plan = plan.withExtraCents(toCents(request.additionalPrincipalPayment()));
+        }
+        if (request.lumpSum() != null && request.lumpSum().signum() > 0) {
+            plan = plan.withLumpSum(fromPayment, toCents(request.lumpSum()));
+        }
+
+        // The unchanged prefix comes from the base plan; the change takes effect from fromPayment
+        ScheduleCheckpoint checkpoint = base.checkpoints().get((fromPayment - 1) / base.interval());
+        LongCentsAmortizationEngine.State state = base.plan().resume(checkpoint);
+        LongCentsAmortizationEngine.advanceTo(base.plan(), state, fromPayment - 1);
+        List<AmortizationEntryDto> entries = LongCentsAmortizationEngine.generateRows(plan, state, plan.totalPayments());
+
+        int payoffPaymentNumber = state.getPaymentNumber();
+        BigDecimal totalInterest = CentsMath.toMoney(state.getTotalInterest());
+        logger.info("What-if on {} from payment {} resumed at payment {}", request.baseCalculationId(), fromPayment,
+            checkpoint.paymentNumber());
+        return new WhatIfResultDto(
+            request.baseCalculationId(),
+            fromPayment,
+            entries,
+            totalInterest,
+            input.loanAmount().add(totalInterest),
+            payoffPaymentNumber,
+            plan.paymentDate(payoffPaymentNumber),
+            CentsMath.toMoney(end.totalInterest() - state.getTotalInterest()),
+            end.paymentNumber() - payoffPaymentNumber
+        );
+    }
+
+    /**
+     * Plan and yearly checkpoints of a base calculation, recorded in one pass that builds no rows
+     */
+    private BaseSchedule baseSchedule(String calculationId, MortgageInputDto input) {
+        BaseSchedule cached = baseSchedules.getIfPresent(calculationId);
+        if (cached != null && cached.input().equals(input)) {
+            return cached;
+        }
+        LongCentsAmortizationEngine.Plan plan = calculationService.planFor(input);
+        int interval = input.paymentFrequency().getPaymentsPerYear();
+        BaseSchedule base = new BaseSchedule(input, plan, interval, LongCentsAmortizationEngine.checkpoints(plan, interval));
+        baseSchedules.put(calculationId, base);
+        return base;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (!CentsMath.isWholeCents(amount)) {
+            throw new IllegalArgumentException("Extra payment amounts must be whole cents");
+        }
+        return CentsMath.toCents(amount);
+    }
+
+    /**
+     * @param checkpoints the state after every {@code interval} payments from the start, then the final state
+     */
+    private record BaseSchedule(MortgageInputDto input, LongCentsAmortizationEngine.Plan plan, int interval,
+            List<ScheduleCheckpoint> checkpoints) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.mortgagecalculator;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Timing harness for the {@code *Benchmark} classes under src/test. Surefire only runs {@code *Test}
+ * classes by default, so benchmarks run on request, one class at a time:
+ * {@code mvn test -Dtest=BalanceQuoteBenchmark}.
+ * <p>
+ * Each operation is warmed up, then timed over rounds of about {@link #ROUND_NANOS}; the median round
+ * is reported, with the bytes allocated per operation. Results are meant for comparing variants within
+ * one run on one machine, as JMH would, not as absolute figures.
+ */
+public final class MicroBenchmark {
+
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long ROUND_NANOS = 100_000_000L;
+    private static final int ROUNDS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Results are folded in here so the JIT cannot drop the work that produced them
+    private static volatile long sink;
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * @param nanosPerOperation median time of one operation
+     * @param bytesPerOperation heap allocated by one operation on the calling thread
+     */
+    public record Result(String name, double nanosPerOperation, double bytesPerOperation) {
+
+        public double microsPerOperation() {
+            return nanosPerOperation / 1_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-60s %14.1f ns/op %14.1f B/op", name, nanosPerOperation, bytesPerOperation);
+        }
+    }
+
+    /**
+     * Measure an operation, printing and returning the result; the operation returns any value derived
+     * from its work
+     */
+    public static Result measure(String name, LongSupplier operation) {
+        int operations = calibrate(operation);
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            round(operation, operations);
+        }
+
+        double[] nanos = new double[ROUNDS];
+        double[] bytes = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long allocatedBefore = allocatedBytes();
+            nanos[i] = (double) round(operation, operations) / operations;
+            bytes[i] = (double) (allocatedBytes() - allocatedBefore) / operations;
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+        Result result = new Result(name, nanos[ROUNDS / 2], bytes[ROUNDS / 2]);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Measure variants of one operation against each other, printing and returning a result per
+     * variant. {@code select} switches the operation to a variant; rounds of the variants are
+     * interleaved, so drift in machine speed during the run affects each alike, which makes their
+     * ratios steadier than those of separate {@link #measure} calls.
+     */
+    public static Result[] compare(String[] names, IntConsumer select, LongSupplier operation) {
+        int[] operations = new int[names.length];
+        for (int variant = 0; variant < names.length; variant++) {
+            select.accept(variant);
+            operations[variant] = calibrate(operation);
+        }
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS * names.length;
+        while (System.nanoTime() < warmupEnd) {
+            for (int variant = 0; variant < names.length; variant++) {
+                select.accept(variant);
+                round(operation, operations[variant]);
+            }
+        }
+
+        int rounds = ROUNDS * 3;
+        double[][] nanos = new double[names.length][rounds];
+        double[][] bytes = new double[names.length][rounds];
+        for (int i = 0; i < rounds; i++) {
+            for (int variant = 0; variant < names.length; variant++) {
+                select.accept(variant);
+                long allocatedBefore = allocatedBytes();
+                nanos[variant][i] = (double) round(operation, operations[variant]) / operations[variant];
+                bytes[variant][i] = (double) (allocatedBytes() - allocatedBefore) / operations[variant];
+            }
+        }
+        Result[] results = new Result[names.length];
+        for (int variant = 0; variant < names.length; variant++) {
+            Arrays.sort(nanos[variant]);
+            Arrays.sort(bytes[variant]);
+            results[variant] = new Result(names[variant], nanos[variant][rounds / 2], bytes[variant][rounds / 2]);
+            System.out.println(results[variant]);
+        }
+        return results;
+    }
+
+    /**
+     * Operations per round, doubled until a round takes at least {@link #ROUND_NANOS}
+     */
+    private static int calibrate(LongSupplier operation) {
+        int operations = 1;
+        while (operations < Integer.MAX_VALUE / 2 && round(operation, operations) < ROUND_NANOS) {
+            operations *= 2;
+        }
+        return operations;
+    }
+
+    private static long round(LongSupplier operation, int operations) {
+        long result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            result += operation.getAsLong();
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += result;
+        return elapsed;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,111 @@
+package com.mortgagecalculator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.MortgageComparisonRequestDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.exception.GlobalExceptionHandler;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import com.mortgagecalculator.service.AnnuityFactorCache;
+import com.mortgagecalculator.service.BinaryCalculationWriter;
+import com.mortgagecalculator.service.CalculationIndex;
+import com.mortgagecalculator.service.CalculationJsonWriter;
+import com.mortgagecalculator.service.CalculationResultCache;
+import com.mortgagecalculator.service.MoneyJsonModule;
+import com.mortgagecalculator.service.MortgageCalculationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request handling of the calculate and compare endpoints, through the application's exception handler
+ */
+class MortgageControllerTest {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new MoneyJsonModule())
+        .build();
+
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(controller())
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .setMessageConverters(new MappingJackson2HttpMessageConverter(MAPPER))
+        .build();
+
+    @ParameterizedTest
+    @ValueSource(strings = { MediaType.APPLICATION_JSON_VALUE, BinaryCalculationWriter.MEDIA_TYPE })
+    void unknownCalculationFieldIsReportedWithTheValidFields(String accept) throws Exception {
+        mvc.perform(post("/api/mortgage/calculate").param("fields", "remainingBalance,balance")
+                .contentType(MediaType.APPLICATION_JSON).accept(accept)
+                .content(MAPPER.writeValueAsString(loan("300000"))))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.status").value("error"))
+            .andExpect(jsonPath("$.message").value(containsString("Unknown schedule field 'balance'")))
+            .andExpect(jsonPath("$.message").value(containsString("remainingBalance")))
+            .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { MediaType.APPLICATION_JSON_VALUE, BinaryCalculationWriter.MEDIA_TYPE })
+    void unknownComparisonFieldIsReportedWithTheValidFields(String accept) throws Exception {
+        MortgageComparisonRequestDto request = new MortgageComparisonRequestDto(List.of(loan("300000"), loan("350000")));
+        mvc.perform(post("/api/mortgage/compare").param("fields", "rate")
+                .contentType(MediaType.APPLICATION_JSON).accept(accept)
+                .content(MAPPER.writeValueAsString(request)))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.message").value(containsString("Unknown schedule field 'rate'")))
+            .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @Test
+    void knownFieldsProjectTheSchedule() throws Exception {
+        mvc.perform(post("/api/mortgage/calculate").param("fields", "paymentNumber,remainingBalance")
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+                .content(MAPPER.writeValueAsString(loan("300000"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.amortizationSchedule[0].paymentNumber").value(1))
+            .andExpect(jsonPath("$.amortizationSchedule[0].remainingBalance").exists())
+            .andExpect(jsonPath("$.amortizationSchedule[0].interestPayment").doesNotExist());
+    }
+
+    private static MortgageInputDto loan(String amount) {
+        return new MortgageInputDto(new BigDecimal(amount), new BigDecimal("6.5"), 30, null, null, MortgageType.FIXED,
+            PaymentFrequency.MONTHLY, BuydownType.NONE, null, AdditionalPaymentFrequency.MONTHLY,
+            LocalDate.of(2025, 1, 1));
+    }
+
+    /**
+     * The controller with the services the calculate and compare endpoints use; the others are unused here
+     */
+    private static MortgageController controller() {
+        MortgageProperties properties = new MortgageProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MortgageCalculationService calculationService = new MortgageCalculationService(properties,
+            new AnnuityFactorCache(properties, registry), new CalculationResultCache(properties, registry),
+            new CalculationIndex(properties));
+        return new MortgageController(calculationService, null, null, null, null, null, null, null, null,
+            new CalculationJsonWriter(MAPPER), new BinaryCalculationWriter(MAPPER));
+    }
+}
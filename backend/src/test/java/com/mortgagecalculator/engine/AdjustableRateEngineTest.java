@@ -0,0 +1,127 @@
+package com.mortgagecalculator.engine;
+
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reset rates of a ten-year monthly loan at 4.5% with two fixed years, then annual resets, against
+ * rates worked out by hand from a small index that rises and falls: margin 2.75, 2/1/5 caps (so a
+ * ceiling of 9.5%), the floor at the margin and a 45-day lookback. Payments fall every 30 days from
+ * 2025-01-01, so reset payment 25 is on 2026-12-22 and reads the index for 2026-11-07.
+ */
+class AdjustableRateEngineTest {
+
+    private static final String INDEX = """
+        date,ratePercent
+        2026-01,3.00
+        2026-11-15,4.10
+        2027-11-01,9.99
+        2027-11-20,3.0625
+        2028-10,6.30
+        2028-11,1.00
+        2029-10,7.50
+        2030-10,8.00
+        2032-10,0.20
+        2033-10,-0.50
+        """;
+
+    private static final AdjustableRateEngine.Terms TERMS = new AdjustableRateEngine.Terms(24, 12,
+        new BigDecimal("2.75"), new BigDecimal("2"), new BigDecimal("1"), new BigDecimal("5"), new BigDecimal("2.75"), 45);
+
+    @Test
+    void resetsApplyRoundingCapsAndLookback(@TempDir Path directory) throws IOException {
+        AdjustableRateEngine.Plan plan = plan(TERMS, IndexSeries.load(indexFile(directory)));
+
+        List<AdjustableRateEngine.Reset> resets = plan.resets();
+        assertThat(resets).hasSize(8);
+        // index 4.10 + 2.75 = 6.85, nearest eighth 6.875; the initial cap holds it to 4.5 + 2
+        assertReset(resets.get(0), 25, "2026-11-07", "4.10", "6.875", "6.5");
+        // 3.0625 + 2.75 = 5.8125 rounds half up to 5.875; the month's later line replaced 9.99
+        assertReset(resets.get(1), 37, "2027-11-02", "3.0625", "5.875", "5.875");
+        // Read in October, two months before the December payment; November's 1.00 would give 4.875
+        assertReset(resets.get(2), 49, "2028-10-27", "6.30", "9.000", "6.875");
+        // The periodic cap limits each later rise to a point
+        assertReset(resets.get(3), 61, "2029-10-22", "7.50", "10.250", "7.875");
+        assertReset(resets.get(4), 73, "2030-10-17", "8.00", "10.750", "8.875");
+        // No October 2031 observation: October 2030 carries forward, and the lifetime cap stops at 9.5
+        assertReset(resets.get(5), 85, "2031-10-12", "8.00", "10.750", "9.5");
+        // Falls are capped as well
+        assertReset(resets.get(6), 97, "2032-10-06", "0.20", "3.000", "8.5");
+        assertReset(resets.get(7), 109, "2033-10-01", "-0.50", "2.250", "7.5");
+    }
+
+    @Test
+    void paymentChangesOnlyAtResets(@TempDir Path directory) throws IOException {
+        AdjustableRateEngine.Plan plan = plan(TERMS, IndexSeries.load(indexFile(directory)));
+        ColumnarSchedule schedule = AdjustableRateEngine.generateSchedule(plan);
+        Set<Integer> resetPayments = plan.resets().stream()
+            .map(AdjustableRateEngine.Reset::paymentNumber)
+            .collect(Collectors.toSet());
+
+        assertThat(schedule.size()).isEqualTo(120);
+        BigDecimal rate = new BigDecimal("4.5");
+        for (int row = 1; row < schedule.size(); row++) {
+            int paymentNumber = schedule.paymentNumber(row);
+            boolean reset = resetPayments.contains(paymentNumber);
+            assertThat(schedule.regularCents(row) != schedule.regularCents(row - 1))
+                .as("payment %d changed", paymentNumber)
+                .isEqualTo(reset);
+            if (reset) {
+                rate = plan.resets().stream().filter(r -> r.paymentNumber() == paymentNumber).findFirst()
+                    .orElseThrow().rate();
+            }
+            assertThat(schedule.annualRate(row)).as("rate of payment %d", paymentNumber).isEqualByComparingTo(rate);
+        }
+    }
+
+    @Test
+    void floorHoldsTheRateUpWhenTheCapsAllowAFall() {
+        AdjustableRateEngine.Terms terms = new AdjustableRateEngine.Terms(24, 12, new BigDecimal("2.75"),
+            new BigDecimal("5"), new BigDecimal("5"), new BigDecimal("5"), new BigDecimal("3.5"), 45);
+        AdjustableRateEngine.Plan plan = plan(terms, IndexSeries.flat(new BigDecimal("-0.5")));
+
+        // -0.5 + 2.75 = 2.25 is within the caps of 4.5 but under the floor
+        assertThat(plan.resets()).allSatisfy(reset -> {
+            assertThat(reset.fullyIndexedRate()).isEqualByComparingTo("2.25");
+            assertThat(reset.rate()).isEqualByComparingTo("3.5");
+        });
+    }
+
+    private static void assertReset(AdjustableRateEngine.Reset reset, int paymentNumber, String indexDate,
+            String indexRate, String fullyIndexedRate, String rate) {
+        assertThat(reset.paymentNumber()).isEqualTo(paymentNumber);
+        assertThat(reset.indexDate()).as("index date of payment %d", paymentNumber).isEqualTo(indexDate);
+        assertThat(reset.indexRate()).as("index at payment %d", paymentNumber).isEqualByComparingTo(indexRate);
+        assertThat(reset.fullyIndexedRate()).as("fully indexed rate at payment %d", paymentNumber)
+            .isEqualByComparingTo(fullyIndexedRate);
+        assertThat(reset.rate()).as("rate at payment %d", paymentNumber).isEqualTo(new BigDecimal(rate));
+    }
+
+    private static AdjustableRateEngine.Plan plan(AdjustableRateEngine.Terms terms, IndexSeries index) {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        MortgageInputDto loan = new MortgageInputDto(new BigDecimal("300000"), new BigDecimal("4.5"), 10, null, null,
+            MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.NONE, null, AdditionalPaymentFrequency.MONTHLY,
+            start).canonicalize(start);
+        return AdjustableRateEngine.Plan.of(loan, terms, index, AnnuityFactors.DIRECT, start);
+    }
+
+    private static Path indexFile(Path directory) throws IOException {
+        return Files.writeString(directory.resolve("index.csv"), INDEX);
+    }
+}
@@ -0,0 +1,70 @@
+package com.mortgagecalculator.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The scaled-long products must round exactly as the BigDecimal arithmetic they replace
+ */
+class CentsMathTest {
+
+    @Test
+    void multiplyRoundedMatchesBigDecimalForRandomOperands() {
+        Random random = new Random(17);
+        for (int i = 0; i < 2_000_000; i++) {
+            long cents = random.nextLong() % POWERS[1 + random.nextInt(8)];
+            long factor = random.nextLong() % POWERS[1 + random.nextInt(8)];
+            assertMatches(cents, factor, random.nextInt(19));
+        }
+    }
+
+    @Test
+    void multiplyRoundedMatchesBigDecimalAtEveryRoundingBoundary() {
+        // Products ending in ...5, ...49, ...50 and ...9 at every digit, where a carry can hide
+        for (int scale = 1; scale <= 18; scale++) {
+            for (int digit = 0; digit <= 18; digit++) {
+                for (long tail : new long[] { 5, 49, 50, 499, 500, 999, 4_999_999_999L }) {
+                    long cents = 1_234_567 + tail * POWERS[Math.min(digit, 8)] % 1_000_000_007L;
+                    for (long factor : new long[] { 1, 3, 5, 7, 45_833_333_333L / POWERS[Math.min(digit, 10)], 9_999_999_999L }) {
+                        assertMatches(cents, factor, scale);
+                        assertMatches(-cents, factor, scale);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void multiplyRoundedMatchesBigDecimalForScheduleOperands() {
+        // Balances up to the largest loan against ten-digit periodic rates and payment factors
+        Random random = new Random(5);
+        for (int i = 0; i < 2_000_000; i++) {
+            long balance = 1 + (long) (random.nextDouble() * 1_000_000_000L);
+            long factor = POWERS[9] + random.nextLong(9 * POWERS[9]);
+            assertMatches(balance, factor, 10 + random.nextInt(5));
+        }
+    }
+
+    private static final long[] POWERS = new long[19];
+
+    static {
+        POWERS[0] = 1;
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * 10;
+        }
+    }
+
+    private static void assertMatches(long cents, long factorUnscaled, int factorScale) {
+        long expected = CentsMath.toCents(CentsMath.toMoney(cents)
+            .multiply(BigDecimal.valueOf(factorUnscaled, factorScale), PaymentMath.PRECISION)
+            .setScale(PaymentMath.SCALE, RoundingMode.HALF_UP));
+        assertThat(CentsMath.multiplyRounded(cents, factorUnscaled, factorScale))
+            .as("%d cents x %de-%d", cents, factorUnscaled, factorScale)
+            .isEqualTo(expected);
+    }
+}
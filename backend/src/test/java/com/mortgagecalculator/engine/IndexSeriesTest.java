@@ -0,0 +1,88 @@
+package com.mortgagecalculator.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Loading index observations from CSV into the month-indexed series
+ */
+class IndexSeriesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void missingMonthsCarryThePreviousObservationForward() throws IOException {
+        IndexSeries series = IndexSeries.load(file("""
+            # monthly averages
+            date,ratePercent
+            2024-01,4.00
+
+            2024-04-15,4.50
+            """));
+
+        assertThat(series.rateOn(LocalDate.of(2024, 1, 31))).isEqualByComparingTo("4.00");
+        assertThat(series.rateOn(LocalDate.of(2024, 3, 31))).isEqualByComparingTo("4.00");
+        assertThat(series.rateOn(LocalDate.of(2024, 4, 1))).isEqualByComparingTo("4.50");
+        // Flat beyond the last observation
+        assertThat(series.rateOn(LocalDate.of(2040, 6, 1))).isEqualByComparingTo("4.50");
+    }
+
+    @Test
+    void lastObservationInAMonthWins() throws IOException {
+        IndexSeries series = IndexSeries.load(file("""
+            2024-01-02,4.00
+            2024-01-20,4.25
+            2024-01,4.10
+            2024-02-01,4.40
+            """));
+
+        assertThat(series.rateOn(LocalDate.of(2024, 1, 5))).isEqualByComparingTo("4.10");
+        assertThat(series.rateOn(LocalDate.of(2024, 2, 5))).isEqualByComparingTo("4.40");
+    }
+
+    @Test
+    void outOfOrderLinesAreRejected() throws IOException {
+        Path file = file("""
+            2024-03,4.00
+            2024-02,4.10
+            """);
+
+        assertThatThrownBy(() -> IndexSeries.load(file))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("out of date order at line 2");
+    }
+
+    @Test
+    void malformedLineAfterTheFirstObservationIsRejected() throws IOException {
+        Path file = file("""
+            2024-01,4.00
+            2024-02,four
+            """);
+
+        assertThatThrownBy(() -> IndexSeries.load(file))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void datesBeforeTheSeriesHaveNoValue() throws IOException {
+        IndexSeries series = IndexSeries.load(file("2024-01,4.00\n"));
+
+        assertThatThrownBy(() -> series.rateOn(LocalDate.of(2023, 12, 31)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("the series starts in 2024-01");
+    }
+
+    private Path file(String content) throws IOException {
+        return Files.writeString(directory.resolve("index.csv"), content);
+    }
+}
@@ -0,0 +1,91 @@
+package com.mortgagecalculator.engine;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Batch payment quotes for 10,000 random loans (0.1-30%, 1-50 years, every frequency) with the scalar
+ * and SIMD kernels, and with the per-loan BigDecimal payment they replace. The vector kernel needs
+ * {@code --add-modules jdk.incubator.vector}, which the surefire configuration adds. Run with
+ * {@code mvn test -Dtest=PaymentKernelBenchmark}.
+ */
+class PaymentKernelBenchmark {
+
+    private static final int LOANS = 10_000;
+    private static final int BIG_DECIMAL_LOANS = 100;
+
+    private final double[] principal = new double[LOANS];
+    private final double[] periodicRate = new double[LOANS];
+    private final double[] totalPayments = new double[LOANS];
+    private final BigDecimal[] amounts = new BigDecimal[LOANS];
+    private final BigDecimal[] annualRates = new BigDecimal[LOANS];
+    private final int[] paymentsPerYear = new int[LOANS];
+
+    @Test
+    void vectorKernelAgainstScalar() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+            "run with --add-modules jdk.incubator.vector");
+        Random random = new Random(20);
+        PaymentFrequency[] frequencies = PaymentFrequency.values();
+        for (int i = 0; i < LOANS; i++) {
+            amounts[i] = BigDecimal.valueOf(50_000_00L + random.nextInt(1_950_000_00), 2);
+            annualRates[i] = BigDecimal.valueOf(10 + random.nextInt(2_991), 2);
+            paymentsPerYear[i] = frequencies[random.nextInt(frequencies.length)].getPaymentsPerYear();
+            principal[i] = amounts[i].doubleValue();
+            periodicRate[i] = annualRates[i].doubleValue() / 100 / paymentsPerYear[i];
+            totalPayments[i] = (1 + random.nextInt(50)) * paymentsPerYear[i];
+        }
+
+        PaymentKernel[] kernels = { new ScalarPaymentKernel(), new VectorPaymentKernel() };
+        double[][] payments = new double[kernels.length][LOANS];
+        double[][] interest = new double[kernels.length][LOANS];
+        for (int k = 0; k < kernels.length; k++) {
+            kernels[k].evaluate(principal, periodicRate, totalPayments, payments[k], interest[k], LOANS);
+        }
+        // Lanewise LOG1P/EXPM1 need not be bit-identical to Math's; PaymentKernelTest checks the bounds
+        for (int i = 0; i < LOANS; i++) {
+            assertThat(payments[1][i]).isCloseTo(payments[0][i], within(0.01 + 1e-9));
+        }
+
+        int[] selected = new int[1];
+        MicroBenchmark.Result[] results = MicroBenchmark.compare(
+            new String[] { "scalar kernel, 10,000 loans", "vector kernel, 10,000 loans" },
+            variant -> selected[0] = variant,
+            () -> {
+                int k = selected[0];
+                kernels[k].evaluate(principal, periodicRate, totalPayments, payments[k], interest[k], LOANS);
+                return (long) payments[k][LOANS - 1] + (long) interest[k][0];
+            });
+        MicroBenchmark.Result bigDecimal = MicroBenchmark.measure("BigDecimal payment, 100 loans", () -> {
+            long sum = 0;
+            for (int i = 0; i < BIG_DECIMAL_LOANS; i++) {
+                sum += bigDecimalPayment(i).unscaledValue().longValue();
+            }
+            return sum;
+        });
+
+        System.out.printf("ns/loan: scalar %.1f, vector %.1f (%.1fx), BigDecimal %.0f%n",
+            results[0].nanosPerOperation() / LOANS, results[1].nanosPerOperation() / LOANS,
+            results[0].nanosPerOperation() / results[1].nanosPerOperation(),
+            bigDecimal.nanosPerOperation() / BIG_DECIMAL_LOANS);
+        assertThat(results[1].nanosPerOperation()).isLessThan(results[0].nanosPerOperation());
+    }
+
+    /**
+     * The level payment as the calculation service solves it for one loan
+     */
+    private BigDecimal bigDecimalPayment(int loan) {
+        BigDecimal rate = PaymentMath.periodicRate(annualRates[loan], paymentsPerYear[loan]);
+        BigDecimal multiplier = PaymentMath.paymentMultiplier(rate, (int) totalPayments[loan]);
+        return amounts[loan].multiply(multiplier, PaymentMath.PRECISION).setScale(PaymentMath.SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,117 @@
+package com.mortgagecalculator.engine;
+
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Both kernels must stay within the bounds {@link PaymentKernel} documents against the BigDecimal payment
+ * the calculation service charges, and agree with each other to the cent
+ */
+class PaymentKernelTest {
+
+    private static final int LOANS = 20_000;
+
+    /** A cent, with room for the binary representation of the amounts */
+    private static final double CENT = 0.01 + 1e-9;
+
+    private final double[] principal = new double[LOANS];
+    private final double[] periodicRate = new double[LOANS];
+    private final double[] totalPayments = new double[LOANS];
+    private final BigDecimal[] amounts = new BigDecimal[LOANS];
+    private final BigDecimal[] annualRates = new BigDecimal[LOANS];
+    private final int[] paymentsPerYear = new int[LOANS];
+    private final int[] termYears = new int[LOANS];
+
+    @Test
+    void scalarPaymentsAreWithinACentOfBigDecimal() {
+        randomLoans(31);
+        assertWithinDocumentedBounds(new ScalarPaymentKernel());
+    }
+
+    @Test
+    void vectorPaymentsAreWithinACentOfBigDecimal() {
+        assumeVectorModule();
+        randomLoans(32);
+        assertWithinDocumentedBounds(new VectorPaymentKernel());
+    }
+
+    @Test
+    void vectorKernelAgreesWithScalar() {
+        assumeVectorModule();
+        randomLoans(33);
+        double[][] payments = new double[2][LOANS];
+        double[][] interest = new double[2][LOANS];
+        new ScalarPaymentKernel().evaluate(principal, periodicRate, totalPayments, payments[0], interest[0], LOANS);
+        new VectorPaymentKernel().evaluate(principal, periodicRate, totalPayments, payments[1], interest[1], LOANS);
+
+        for (int i = 0; i < LOANS; i++) {
+            // LOG1P and EXPM1 lanes need not be bit-identical to Math.log1p and Math.expm1, so a payment
+            // sitting on a half cent may round the other way
+            assertThat(payments[1][i]).as(describe(i)).isCloseTo(payments[0][i], within(CENT));
+            assertThat(interest[1][i]).as(describe(i)).isCloseTo(interest[0][i], within(totalPayments[i] * CENT));
+        }
+    }
+
+    private void assertWithinDocumentedBounds(PaymentKernel kernel) {
+        double[] payment = new double[LOANS];
+        double[] totalInterest = new double[LOANS];
+        kernel.evaluate(principal, periodicRate, totalPayments, payment, totalInterest, LOANS);
+
+        int exempt = 0;
+        for (int i = 0; i < LOANS; i++) {
+            double expected = bigDecimalPayment(i).doubleValue();
+            if (annualRates[i].compareTo(BigDecimal.ONE) < 0 && termYears[i] <= 2) {
+                // (1+r)^n - 1 is tiny here and the 10-digit reference loses digits, so it may be cents off
+                exempt++;
+                assertThat(payment[i]).as(describe(i)).isCloseTo(expected, within(expected * 1e-4));
+                continue;
+            }
+            assertThat(payment[i]).as(describe(i)).isCloseTo(expected, within(CENT));
+        }
+        assertThat(exempt).isLessThan(LOANS / 100);
+    }
+
+    /**
+     * Loans of $50k-$2M at 0.1-30% over 1-50 years at every frequency, the ranges the quote endpoint accepts
+     */
+    private void randomLoans(long seed) {
+        Random random = new Random(seed);
+        PaymentFrequency[] frequencies = PaymentFrequency.values();
+        for (int i = 0; i < LOANS; i++) {
+            amounts[i] = BigDecimal.valueOf(50_000_00L + random.nextInt(1_950_000_00), 2);
+            annualRates[i] = BigDecimal.valueOf(10 + random.nextInt(2_991), 2);
+            paymentsPerYear[i] = frequencies[random.nextInt(frequencies.length)].getPaymentsPerYear();
+            termYears[i] = 1 + random.nextInt(50);
+            principal[i] = amounts[i].doubleValue();
+            periodicRate[i] = annualRates[i].doubleValue() / 100 / paymentsPerYear[i];
+            totalPayments[i] = termYears[i] * paymentsPerYear[i];
+        }
+    }
+
+    private static void assumeVectorModule() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+            "run with --add-modules jdk.incubator.vector");
+    }
+
+    /**
+     * The level payment as the calculation service solves it for one loan
+     */
+    private BigDecimal bigDecimalPayment(int loan) {
+        BigDecimal rate = PaymentMath.periodicRate(annualRates[loan], paymentsPerYear[loan]);
+        BigDecimal multiplier = PaymentMath.paymentMultiplier(rate, (int) totalPayments[loan]);
+        return amounts[loan].multiply(multiplier, PaymentMath.PRECISION).setScale(PaymentMath.SCALE, RoundingMode.HALF_UP);
+    }
+
+    private String describe(int loan) {
+        return String.format("%s at %s%% over %d payments a year for %d years",
+            amounts[loan], annualRates[loan], paymentsPerYear[loan], termYears[loan]);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mortgagecalculator.model;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.engine.PaymentMath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Buydown-year payments of a 3-2-1 buydown on a 30-year bi-weekly loan (78 buydown periods), computed
+ * only, without the rest of the schedule. Before the payment plan, every period re-solved its annuity
+ * multiplier with a 10-digit {@code pow}; the plan solves it once per year, and the calculation
+ * service shares plans across requests. Run with {@code mvn test -Dtest=BuydownPaymentPlanBenchmark}.
+ */
+class BuydownPaymentPlanBenchmark {
+
+    private static final int TERM_YEARS = 30;
+    private static final PaymentFrequency FREQUENCY = PaymentFrequency.BI_WEEKLY;
+    private static final BigDecimal BALANCE = new BigDecimal("400000.00");
+
+    private final Buydown buydown = Buydown.createThreeTwoOneBuydown(new BigDecimal("6.5"));
+    private final int paymentsPerYear = FREQUENCY.getPaymentsPerYear();
+    private final int buydownPeriods = buydown.getDuration() * paymentsPerYear;
+
+    @Test
+    void planAvoidsReSolvingThePaymentEveryPeriod() {
+        BuydownPaymentPlan shared = buydown.createPaymentPlan(TERM_YEARS, FREQUENCY, AnnuityFactors.DIRECT);
+        for (int period = 1; period <= buydownPeriods; period++) {
+            int year = yearOf(period);
+            assertThat(shared.paymentFor(year, BALANCE)).isEqualTo(reSolvedPayment(year, BALANCE));
+        }
+
+        MicroBenchmark.Result perPeriod = MicroBenchmark.measure("re-solve every period (before)", () -> {
+            long sum = 0;
+            for (int period = 1; period <= buydownPeriods; period++) {
+                sum += reSolvedPayment(yearOf(period), BALANCE).unscaledValue().longValue();
+            }
+            return sum;
+        });
+        MicroBenchmark.measure("plan built per calculation", () -> {
+            BuydownPaymentPlan plan = buydown.createPaymentPlan(TERM_YEARS, FREQUENCY, AnnuityFactors.DIRECT);
+            long sum = 0;
+            for (int period = 1; period <= buydownPeriods; period++) {
+                sum += plan.paymentFor(yearOf(period), BALANCE).unscaledValue().longValue();
+            }
+            return sum;
+        });
+        MicroBenchmark.Result cached = MicroBenchmark.measure("plan shared across calculations", () -> {
+            long sum = 0;
+            for (int period = 1; period <= buydownPeriods; period++) {
+                sum += shared.paymentFor(yearOf(period), BALANCE).unscaledValue().longValue();
+            }
+            return sum;
+        });
+
+        assertThat(cached.nanosPerOperation()).isLessThan(perPeriod.nanosPerOperation());
+    }
+
+    private int yearOf(int period) {
+        return (period - 1) / paymentsPerYear + 1;
+    }
+
+    /**
+     * The payment as the schedule computed it before the plan: the multiplier for the year's rate over
+     * the remaining whole-year term, solved again for the period
+     */
+    private BigDecimal reSolvedPayment(int year, BigDecimal balance) {
+        BigDecimal periodicRate = PaymentMath.periodicRate(buydown.getRateForYear(year), paymentsPerYear);
+        BigDecimal multiplier = PaymentMath.paymentMultiplier(periodicRate, (TERM_YEARS - year + 1) * paymentsPerYear);
+        return balance.multiply(multiplier, PaymentMath.PRECISION).setScale(PaymentMath.SCALE, RoundingMode.HALF_UP);
+    }
+}
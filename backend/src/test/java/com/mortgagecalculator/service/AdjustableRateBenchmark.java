@@ -0,0 +1,114 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.AdjustableRateEngine;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import com.mortgagecalculator.engine.IndexSeries;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Adjustable-rate schedules against the fixed-rate long-cents path: 64 thirty-year monthly loans as 7/6
+ * ARMs over an index that rises and falls, each with 46 resets, and the same loans at a fixed
+ * rate. Plans are built inside the operation, as a request builds them. Run with
+ * {@code mvn test -Dtest=AdjustableRateBenchmark}.
+ */
+class AdjustableRateBenchmark {
+
+    private static final int LOANS = 64;
+    private static final BigDecimal MARGIN = new BigDecimal("2.75");
+
+    @Test
+    void armScheduleAgainstFixedRate(@TempDir Path directory) throws IOException {
+        MortgageCalculationService service = TestServices.uncachedCalculationService();
+        // Segment multipliers come from the shared cache, as in ArmService
+        AnnuityFactors factors = new AnnuityFactorCache(new MortgageProperties(), new SimpleMeterRegistry());
+        IndexSeries index = IndexSeries.load(indexFile(directory));
+        MortgageInputDto[] loans = new MortgageInputDto[LOANS];
+        for (int i = 0; i < LOANS; i++) {
+            loans[i] = new MortgageInputDto(BigDecimal.valueOf(200_000 + 5_000 * i),
+                new BigDecimal("5.5").add(BigDecimal.valueOf(i % 16, 1)), 30, null, null, MortgageType.FIXED,
+                PaymentFrequency.MONTHLY, BuydownType.NONE, null, AdditionalPaymentFrequency.MONTHLY,
+                LocalDate.of(2025, 1, 1)).canonicalize(LocalDate.of(2025, 1, 1));
+        }
+
+        // Without a reset inside the term, the ARM must be the fixed-rate loan
+        for (MortgageInputDto loan : loans) {
+            AdjustableRateEngine.Plan unadjusted = AdjustableRateEngine.Plan.of(loan, terms(360), index, factors,
+                loan.startDate());
+            assertThat(AdjustableRateEngine.generateSchedule(unadjusted).totalInterestCents())
+                .isEqualTo(LongCentsAmortizationEngine.generateSchedule(service.planFor(loan)).totalInterestCents());
+        }
+        AdjustableRateEngine.Plan[] armPlans = new AdjustableRateEngine.Plan[LOANS];
+        for (int i = 0; i < LOANS; i++) {
+            armPlans[i] = armPlan(loans[i], index, factors);
+        }
+        assertThat(armPlans[0].resets()).hasSize(46);
+
+        int[] variant = new int[1];
+        LongSupplier build = () -> {
+            long result = 0;
+            for (int i = 0; i < LOANS; i++) {
+                result += switch (variant[0]) {
+                    case 0 -> LongCentsAmortizationEngine.generateSchedule(service.planFor(loans[i])).size();
+                    case 1 -> AdjustableRateEngine.generateSchedule(armPlan(loans[i], index, factors)).size();
+                    default -> AdjustableRateEngine.generateSchedule(armPlans[i]).size();
+                };
+            }
+            return result;
+        };
+        MicroBenchmark.Result[] results = MicroBenchmark.compare(
+            new String[] { "fixed-rate schedule", "7/6 ARM schedule", "7/6 ARM schedule, plan built beforehand" },
+            selected -> variant[0] = selected, build);
+
+        System.out.printf("ARM / fixed: %.2fx, of which building the plan %.2fx%n",
+            results[1].nanosPerOperation() / results[0].nanosPerOperation(),
+            (results[1].nanosPerOperation() - results[2].nanosPerOperation()) / results[0].nanosPerOperation());
+        // Resets re-solve the payment but the per-period loop only reads arrays
+        assertThat(results[2].nanosPerOperation()).isLessThan(2 * results[0].nanosPerOperation());
+    }
+
+    private static AdjustableRateEngine.Plan armPlan(MortgageInputDto loan, IndexSeries index, AnnuityFactors factors) {
+        return AdjustableRateEngine.Plan.of(loan, terms(84), index, factors, loan.startDate());
+    }
+
+    /**
+     * 7/6 caps (5/1/5) with the floor at the margin
+     */
+    private static AdjustableRateEngine.Terms terms(int fixedPayments) {
+        return new AdjustableRateEngine.Terms(fixedPayments, 6, MARGIN, new BigDecimal("5"), BigDecimal.ONE,
+            new BigDecimal("5"), MARGIN, 45);
+    }
+
+    /**
+     * Monthly index values from 2020 to 2060 swinging between 1% and 7% over a twelve-year cycle
+     */
+    private static Path indexFile(Path directory) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("date,ratePercent");
+        for (int month = 0; month < 41 * 12; month++) {
+            double rate = 4 + 3 * Math.sin(2 * Math.PI * month / 144);
+            lines.add(String.format("%d-%02d-01,%.2f", 2020 + month / 12, month % 12 + 1, rate));
+        }
+        return Files.write(directory.resolve("index.csv"), lines);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.engine.AnnuityFactors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payment multipliers of a monthly rate sheet (2-12% in eighths, 10/15/20/30 years, 324 factors),
+ * solved every time against looked up in the warmed shared cache. Run with
+ * {@code mvn test -Dtest=AnnuityFactorCacheBenchmark}.
+ */
+class AnnuityFactorCacheBenchmark {
+
+    private static final int[] TERM_YEARS = { 10, 15, 20, 30 };
+
+    @Test
+    void cachedLookupAgainstSolvingTheFactor() {
+        AnnuityFactors cache = new AnnuityFactorCache(new MortgageProperties(), new SimpleMeterRegistry());
+        BigDecimal[] rates = new BigDecimal[81];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = BigDecimal.valueOf(2_000 + 125 * i, 3);
+        }
+        for (BigDecimal rate : rates) {
+            for (int years : TERM_YEARS) {
+                assertThat(cache.multiplier(rate, 12, years * 12))
+                    .isEqualTo(AnnuityFactors.DIRECT.multiplier(rate, 12, years * 12));
+            }
+        }
+
+        AnnuityFactors[] factors = { AnnuityFactors.DIRECT, cache };
+        int[] selected = new int[1];
+        MicroBenchmark.Result[] results = MicroBenchmark.compare(
+            new String[] { "solve every factor", "shared cache, warmed" },
+            variant -> selected[0] = variant,
+            () -> {
+                long sum = 0;
+                for (BigDecimal rate : rates) {
+                    for (int years : TERM_YEARS) {
+                        sum += factors[selected[0]].multiplier(rate, 12, years * 12).unscaledValue().longValue();
+                    }
+                }
+                return sum;
+            });
+
+        int lookups = rates.length * TERM_YEARS.length;
+        System.out.printf("ns/factor: solved %.0f, cached %.0f%n",
+            results[0].nanosPerOperation() / lookups, results[1].nanosPerOperation() / lookups);
+        assertThat(results[1].nanosPerOperation()).isLessThan(results[0].nanosPerOperation());
+    }
+}
@@ -0,0 +1,126 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.ArmCalculationDto;
+import com.mortgagecalculator.dto.ArmRequestDto;
+import com.mortgagecalculator.dto.ArmResetDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.ArmProduct;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Adjustable-rate calculations through the service: terms resolved from the request and product, the
+ * configured index file, and the resets reported with the schedule
+ */
+class ArmServiceTest {
+
+    private static final BigDecimal MARGIN = new BigDecimal("2.75");
+
+    private final MortgageProperties properties = new MortgageProperties();
+
+    @Test
+    void configuredIndexDrivesResetsAndPaymentsChangeOnlyThere(@TempDir Path directory) throws IOException {
+        Path index = Files.writeString(directory.resolve("index.csv"), """
+            date,ratePercent
+            2026-01,3.00
+            2026-11,4.10
+            2027-11,3.0625
+            2028-10,6.30
+            2028-11,1.00
+            """);
+        properties.getArm().setIndexRates(index.toString());
+
+        // Two fixed years, then annual resets with 2/1/5 caps and the configured 45-day lookback
+        ArmCalculationDto result = service().calculate(new ArmRequestDto(loan(), null, 2, 12, MARGIN,
+            new BigDecimal("2"), new BigDecimal("1"), new BigDecimal("5"), null, null, null));
+
+        assertThat(result.resets()).extracting(ArmResetDto::paymentNumber)
+            .containsExactly(25, 37, 49, 61, 73, 85, 97, 109);
+        assertThat(result.resets()).extracting(ArmResetDto::indexDate).startsWith(
+            LocalDate.of(2026, 11, 7), LocalDate.of(2027, 11, 2), LocalDate.of(2028, 10, 27));
+        // 6.875 capped to 6.5, 5.875, 9.0 capped to 6.875, then 1.00 + 2.75 = 3.75 falling a point a year
+        assertThat(result.resets()).extracting(ArmResetDto::rate).containsExactly(new BigDecimal("6.5"),
+            new BigDecimal("5.875"), new BigDecimal("6.875"), new BigDecimal("5.875"), new BigDecimal("4.875"),
+            new BigDecimal("3.875"), new BigDecimal("3.75"), new BigDecimal("3.75"));
+        assertThat(result.maxRate()).isEqualByComparingTo("6.875");
+
+        Set<Integer> resetPayments = result.resets().stream().map(ArmResetDto::paymentNumber).collect(Collectors.toSet());
+        List<AmortizationEntryDto> schedule = result.amortizationSchedule();
+        for (int row = 1; row < schedule.size(); row++) {
+            AmortizationEntryDto entry = schedule.get(row);
+            AmortizationEntryDto previous = schedule.get(row - 1);
+            if (entry.regularPayment().compareTo(previous.regularPayment()) != 0) {
+                assertThat(resetPayments).as("payment %d changed", entry.paymentNumber()).contains(entry.paymentNumber());
+            }
+            if (entry.interestRate().compareTo(previous.interestRate()) != 0) {
+                // A reset to the same rate re-solves the payment but need not change it
+                assertThat(entry.regularPayment()).as("payment %d", entry.paymentNumber())
+                    .isNotEqualByComparingTo(previous.regularPayment());
+            }
+        }
+        for (ArmResetDto reset : result.resets()) {
+            assertThat(reset.payment()).isEqualByComparingTo(schedule.get(reset.paymentNumber() - 1).regularPayment());
+        }
+    }
+
+    @Test
+    void floorDefaultsToTheMargin() {
+        // -2 + 2.75 = 0.75; the initial cap alone would allow 4.5 - 2 = 2.5
+        ArmCalculationDto result = service().calculate(new ArmRequestDto(loan(), ArmProduct.FIVE_ONE, null, null,
+            MARGIN, null, null, null, null, new BigDecimal("-2"), null));
+
+        assertThat(result.resets()).isNotEmpty().allSatisfy(reset -> {
+            assertThat(reset.fullyIndexedRate()).isEqualByComparingTo("0.75");
+            assertThat(reset.rate()).isEqualByComparingTo(MARGIN);
+        });
+    }
+
+    @Test
+    void floorAboveTheLifetimeCapIsRejected() {
+        ArmRequestDto request = new ArmRequestDto(loan(), ArmProduct.FIVE_ONE, null, null, MARGIN, null, null,
+            null, new BigDecimal("10"), new BigDecimal("3"), null);
+
+        assertThatThrownBy(() -> service().calculate(request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The floor cannot be above the lifetime cap");
+    }
+
+    @Test
+    void indexIsRequiredWithoutAConfiguredFile() {
+        ArmRequestDto request = new ArmRequestDto(loan(), ArmProduct.SEVEN_SIX, null, null, MARGIN, null, null,
+            null, null, null, null);
+
+        assertThatThrownBy(() -> service().calculate(request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("app.mortgage.arm.index-rates");
+    }
+
+    private ArmService service() {
+        return new ArmService(properties, new AnnuityFactorCache(properties, new SimpleMeterRegistry()));
+    }
+
+    private static MortgageInputDto loan() {
+        return new MortgageInputDto(new BigDecimal("300000"), new BigDecimal("4.5"), 10, null, null,
+            MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.NONE, null, AdditionalPaymentFrequency.MONTHLY,
+            LocalDate.of(2025, 1, 1));
+    }
+}
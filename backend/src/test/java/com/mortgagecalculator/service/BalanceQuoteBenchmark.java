@@ -0,0 +1,57 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of a balance quote by payment number on a 50-year weekly loan (2,600 payments), against the
+ * full schedule it replaces. Every payment number quoted is the 51st of its year, so each quote steps
+ * the most a quote ever does from its checkpoint. Run with {@code mvn test -Dtest=BalanceQuoteBenchmark}.
+ */
+class BalanceQuoteBenchmark {
+
+    private static final MortgageInputDto LOAN = new MortgageInputDto(new BigDecimal("400000"), new BigDecimal("6.5"),
+        50, null, null, MortgageType.FIXED, PaymentFrequency.WEEKLY, BuydownType.NONE, null, null, LocalDate.of(2025, 1, 1));
+
+    @Test
+    void quoteCostDoesNotGrowWithThePaymentNumber() {
+        MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+        // One operation for every payment number, so each measurement runs the same compiled code
+        int[] period = new int[1];
+        LongSupplier quote = () -> service.getBalanceQuote(LOAN, period[0], null, null).remainingBalance().unscaledValue().longValue();
+        List<MicroBenchmark.Result> quotes = new ArrayList<>();
+        for (int paymentNumber : new int[] { 51, 571, 1_351, 2_131, 2_599 }) {
+            period[0] = paymentNumber;
+            quotes.add(MicroBenchmark.measure("quote at payment " + paymentNumber, quote));
+        }
+
+        // Paid once per loan, by its first quote
+        LongCentsAmortizationEngine.Plan plan = service.planFor(LOAN);
+        MicroBenchmark.measure("yearly checkpoints of the loan",
+            () -> LongCentsAmortizationEngine.checkpoints(plan, 52).size());
+        MicroBenchmark.measure("full schedule, LONG_CENTS",
+            () -> service.calculateMortgage(LOAN, new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL))
+                .amortizationSchedule().size());
+
+        // A quote steps at most one year from its checkpoint, whatever the payment number
+        double fastest = quotes.stream().mapToDouble(MicroBenchmark.Result::nanosPerOperation).min().orElseThrow();
+        double slowest = quotes.stream().mapToDouble(MicroBenchmark.Result::nanosPerOperation).max().orElseThrow();
+        assertThat(slowest / fastest).isLessThan(3);
+    }
+}
@@ -0,0 +1,145 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.BalanceQuoteDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Balance quotes must agree to the cent with the schedule a full calculation returns
+ */
+class BalanceQuoteTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private final MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+    @Test
+    void quotesEveryPaymentOfAHighRateLongTermLoanExactly() {
+        // The unrounded recurrence drifts by tens of thousands of dollars on this loan
+        assertQuotesMatchSchedule(loan("3719146.70", "27.53", 49, PaymentFrequency.WEEKLY, MortgageType.FIXED,
+            BuydownType.NONE, null, null), 1);
+    }
+
+    @Test
+    void quotesEveryPaymentOfBuydownAndExtraPaymentLoansExactly() {
+        assertQuotesMatchSchedule(loan("400000", "6.5", 50, PaymentFrequency.WEEKLY, MortgageType.FIXED,
+            BuydownType.THREE_TWO_ONE, "25", AdditionalPaymentFrequency.MONTHLY), 1);
+        assertQuotesMatchSchedule(loan("250000.50", "7.125", 30, PaymentFrequency.BI_WEEKLY, MortgageType.VARIABLE,
+            BuydownType.TWO_ONE, "1000.55", AdditionalPaymentFrequency.QUARTERLY), 1);
+        assertQuotesMatchSchedule(loan("123456.78", "4.875", 15, PaymentFrequency.MONTHLY, MortgageType.INTEREST_ONLY,
+            BuydownType.NONE, "200", AdditionalPaymentFrequency.ANNUALLY), 1);
+        assertQuotesMatchSchedule(loan("500000", "5", 30, PaymentFrequency.MONTHLY, MortgageType.FIXED,
+            BuydownType.NONE, "100000", AdditionalPaymentFrequency.ONE_TIME), 1);
+    }
+
+    @Test
+    void quotesRandomLoansExactly() {
+        Random random = new Random(4);
+        for (int i = 0; i < 300; i++) {
+            MortgageInputDto input = new MortgageInputDto(
+                BigDecimal.valueOf(100_000 + random.nextInt(999_900_000), 2),
+                BigDecimal.valueOf(10 + random.nextInt(2990), 2),
+                1 + random.nextInt(50), null, null,
+                pick(random, MortgageType.values()), pick(random, PaymentFrequency.values()),
+                pick(random, BuydownType.values()),
+                random.nextBoolean() ? BigDecimal.ZERO : BigDecimal.valueOf(random.nextInt(500_000), 2),
+                pick(random, AdditionalPaymentFrequency.values()), START);
+            assertQuotesMatchSchedule(input, 1 + random.nextInt(37));
+        }
+    }
+
+    @Test
+    void quotesByDateUseTheLastPaymentOnOrBeforeIt() {
+        MortgageInputDto input = loan("400000", "6.5", 30, PaymentFrequency.MONTHLY, MortgageType.FIXED,
+            BuydownType.NONE, null, null);
+        List<AmortizationEntryDto> schedule = schedule(input);
+        AmortizationEntryDto row = schedule.get(59);
+
+        BalanceQuoteDto quote = service.getBalanceQuote(input, null, row.paymentDate().plusDays(3), null);
+
+        assertThat(quote.paymentNumber()).isEqualTo(60);
+        assertThat(quote.remainingBalance()).isEqualByComparingTo(row.remainingBalance());
+        assertThat(service.getBalanceQuote(input, null, START.minusDays(1), null).paymentNumber()).isZero();
+    }
+
+    @Test
+    void rejectsPaymentNumbersOutsideTheTerm() {
+        MortgageInputDto input = loan("400000", "6.5", 30, PaymentFrequency.MONTHLY, MortgageType.FIXED,
+            BuydownType.NONE, null, null);
+
+        assertThatThrownBy(() -> service.getBalanceQuote(input, 361, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getBalanceQuote(input, 12, START, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Quote every {@code stride}-th payment, the first and the last, and one past the schedule's end
+     */
+    private void assertQuotesMatchSchedule(MortgageInputDto input, int stride) {
+        List<AmortizationEntryDto> schedule = schedule(input);
+        int totalPayments = input.loanTermYears() * input.paymentFrequency().getPaymentsPerYear();
+        BigDecimal loan = input.loanAmount();
+
+        BalanceQuoteDto initial = service.getBalanceQuote(input, 0, null, null);
+        assertThat(initial.remainingBalance()).isEqualByComparingTo(loan);
+        assertThat(initial.cumulativeInterest()).isZero();
+        assertThat(initial.paidOff()).isFalse();
+
+        BigDecimal cumulativeInterest = BigDecimal.ZERO;
+        for (int row = 0; row < schedule.size(); row++) {
+            AmortizationEntryDto entry = schedule.get(row);
+            cumulativeInterest = cumulativeInterest.add(entry.interestPayment());
+            if (row % stride != 0 && row != schedule.size() - 1) {
+                continue;
+            }
+            BalanceQuoteDto quote = service.getBalanceQuote(input, entry.paymentNumber(), null, null);
+            assertThat(quote.remainingBalance()).as("balance after payment %d of %s", entry.paymentNumber(), input)
+                .isEqualByComparingTo(entry.remainingBalance());
+            assertThat(quote.cumulativeInterest()).as("interest after payment %d of %s", entry.paymentNumber(), input)
+                .isEqualByComparingTo(cumulativeInterest);
+            assertThat(quote.cumulativePrincipal()).as("principal after payment %d of %s", entry.paymentNumber(), input)
+                .isEqualByComparingTo(loan.subtract(entry.remainingBalance()));
+            assertThat(quote.paymentDate()).isEqualTo(entry.paymentDate());
+            assertThat(quote.paidOff()).isEqualTo(entry.remainingBalance().signum() == 0);
+        }
+
+        Integer expectedPayoff = schedule.size() < totalPayments ? schedule.size() : null;
+        BalanceQuoteDto end = service.getBalanceQuote(input, totalPayments, null, null);
+        assertThat(end.payoffPaymentNumber()).as("payoff of %s", input).isEqualTo(expectedPayoff);
+        assertThat(end.cumulativeInterest()).as("total interest of %s", input).isEqualByComparingTo(cumulativeInterest);
+        if (schedule.size() < totalPayments) {
+            assertThat(service.getBalanceQuote(input, schedule.size() + 1, null, null).remainingBalance()).isZero();
+        }
+    }
+
+    private List<AmortizationEntryDto> schedule(MortgageInputDto input) {
+        return service.calculateMortgage(input, new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.FULL))
+            .amortizationSchedule();
+    }
+
+    private static MortgageInputDto loan(String amount, String rate, int termYears, PaymentFrequency frequency,
+            MortgageType type, BuydownType buydown, String extra, AdditionalPaymentFrequency extraFrequency) {
+        return new MortgageInputDto(new BigDecimal(amount), new BigDecimal(rate), termYears, null, null, type,
+            frequency, buydown, extra != null ? new BigDecimal(extra) : null, extraFrequency, START);
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,157 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.mortgagecalculator.enums.DetailLevel;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A million-line NDJSON batch streamed end to end: every loan must be answered exactly once, and the
+ * heap left after a collection must not grow between the first hundred thousand loans and the last.
+ * Lines are generated as they are read and results checked as they are written, so the harness holds
+ * nothing per loan itself. Run with {@code mvn test -Dtest=BatchStreamBenchmark}.
+ */
+class BatchStreamBenchmark {
+
+    private static final int LOANS = 1_000_000;
+
+    @Test
+    void millionLineBatchStreamsInFlatMemory() throws Exception {
+        BatchCalculationService service = BatchStreamTest.batchService(TestServices.uncachedCalculationService(),
+            new BatchStreamTest.CountingValidator(), 256, 0);
+        try {
+            GeneratedLoans input = new GeneratedLoans();
+            IndexCheckingOutput output = new IndexCheckingOutput();
+
+            long start = System.nanoTime();
+            service.streamBatch(input, output, new CalculationOptions(null, DetailLevel.SUMMARY));
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%d loans in %.1f s (%.0f loans/s)%n", LOANS, seconds, LOANS / seconds);
+            System.out.printf("heap after GC: %.1f MB at %d loans, %.1f MB at %d loans%n",
+                input.earlyHeap / 1e6, LOANS / 10, input.lateHeap / 1e6, LOANS - 1);
+
+            assertThat(output.lines).isEqualTo(LOANS);
+            assertThat(output.failed).isZero();
+            assertThat(output.seen.cardinality()).isEqualTo(LOANS);
+            assertThat(input.lateHeap - input.earlyHeap).as("heap growth over 900,000 loans").isLessThan(16_000_000);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static long heapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * NDJSON loans produced as they are read, sampling the heap as the reader passes two points
+     */
+    private static final class GeneratedLoans extends InputStream {
+
+        private int next;
+        private byte[] line = new byte[0];
+        private int position;
+        long earlyHeap;
+        long lateHeap;
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == line.length && !nextLine()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextLine() {
+            if (next == LOANS) {
+                return false;
+            }
+            if (next == LOANS / 10) {
+                earlyHeap = heapAfterGc();
+            } else if (next == LOANS - 1) {
+                lateHeap = heapAfterGc();
+            }
+            try {
+                line = (BatchStreamTest.MAPPER.writeValueAsString(BatchStreamTest.loan(next++)) + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            position = 0;
+            return true;
+        }
+    }
+
+    /**
+     * Records the index of every result line without keeping the lines
+     */
+    private static final class IndexCheckingOutput extends OutputStream {
+
+        private static final byte[] INDEX = "\"index\":".getBytes(StandardCharsets.UTF_8);
+        private static final byte[] ERROR = "\"error\":\"".getBytes(StandardCharsets.UTF_8);
+
+        final BitSet seen = new BitSet(LOANS);
+        long lines;
+        long failed;
+        private final byte[] line = new byte[64 * 1024];
+        private int length;
+
+        @Override
+        public void write(int b) {
+            if (b != '\n') {
+                line[length++] = (byte) b;
+                return;
+            }
+            int index = indexOf(INDEX);
+            int value = 0;
+            for (int i = index + INDEX.length; i < length && line[i] >= '0' && line[i] <= '9'; i++) {
+                value = value * 10 + (line[i] - '0');
+            }
+            assertThat(seen.get(value)).as("index %d answered twice", value).isFalse();
+            seen.set(value);
+            lines++;
+            if (indexOf(ERROR) >= 0) {
+                failed++;
+            }
+            length = 0;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int count) {
+            for (int i = offset; i < offset + count; i++) {
+                write(buffer[i]);
+            }
+        }
+
+        private int indexOf(byte[] token) {
+            outer:
+            for (int i = 0; i + token.length <= length; i++) {
+                for (int j = 0; j < token.length; j++) {
+                    if (line[i + j] != token[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.BatchItemResultDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.executable.ExecutableValidator;
+import jakarta.validation.metadata.BeanDescriptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The NDJSON batch stream must answer every loan exactly once under the index it was read at, and a
+ * client that stops reading must stop the reader within the stream buffer
+ */
+class BatchStreamTest {
+
+    static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new MoneyJsonModule())
+        .build();
+
+    private static final CalculationOptions SUMMARY = new CalculationOptions(null, DetailLevel.SUMMARY);
+
+    private final CountingValidator validator = new CountingValidator();
+    private BatchCalculationService batchService;
+
+    @AfterEach
+    void shutdown() {
+        if (batchService != null) {
+            batchService.shutdown();
+        }
+    }
+
+    @Test
+    void answersEveryLoanOnceUnderItsIndex() throws Exception {
+        MortgageCalculationService calculationService = TestServices.uncachedCalculationService();
+        batchService = batchService(calculationService, 16, 4);
+
+        // Blank lines are skipped without taking an index; malformed and invalid loans still get one
+        int loans = 3_000;
+        StringBuilder body = new StringBuilder();
+        Map<Integer, String> expectedIds = new HashMap<>();
+        Map<Integer, String> expectedErrors = new HashMap<>();
+        for (int i = 0; i < loans; i++) {
+            if (i % 97 == 0) {
+                body.append("\n   \n");
+            }
+            if (i % 101 == 0) {
+                body.append("{\"loanAmount\": ").append('\n');
+                expectedErrors.put(i, "Invalid JSON");
+                continue;
+            }
+            MortgageInputDto loan = loan(i);
+            if (i % 103 == 0) {
+                loan = withRate(loan, "45");
+                expectedErrors.put(i, "interestRate: Interest rate cannot exceed 30%");
+            } else {
+                expectedIds.put(i, calculationService.calculateMortgage(loan, SUMMARY).calculationId());
+            }
+            body.append(MAPPER.writeValueAsString(loan)).append('\n');
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        batchService.streamBatch(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), output, SUMMARY);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(loans);
+        boolean[] seen = new boolean[loans];
+        for (String line : lines) {
+            BatchItemResultDto item = MAPPER.readValue(line, BatchItemResultDto.class);
+            int index = item.index();
+            assertThat(seen[index]).as("index %d answered twice", index).isFalse();
+            seen[index] = true;
+            if (expectedErrors.containsKey(index)) {
+                assertThat(item.result()).as("result of loan %d", index).isNull();
+                assertThat(item.error()).as("error of loan %d", index).startsWith(expectedErrors.get(index));
+            } else {
+                assertThat(item.error()).as("error of loan %d", index).isNull();
+                assertThat(item.result().calculationId()).as("result of loan %d", index).isEqualTo(expectedIds.get(index));
+            }
+        }
+    }
+
+    @Test
+    void aClientThatStopsReadingStopsTheReader() throws Exception {
+        int capacity = 8;
+        batchService = batchService(TestServices.uncachedCalculationService(), capacity, 2);
+
+        int loans = 5_000;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < loans; i++) {
+            body.append(MAPPER.writeValueAsString(loan(i))).append('\n');
+        }
+        // The writer can hand the response buffer whole lines before it blocks, each freeing a slot
+        int bound = capacity + 64 * 1024 / minimumLineLength() + 1;
+
+        GatedOutputStream output = new GatedOutputStream();
+        CompletableFuture<Void> stream = CompletableFuture.runAsync(() -> {
+            try {
+                batchService.streamBatch(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+                    output, SUMMARY);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertThat(output.blocked.await(30, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(500);
+        int calculated = validator.validated.get();
+        assertThat(calculated).as("loans calculated while the client was not reading").isLessThanOrEqualTo(bound);
+        Thread.sleep(500);
+        assertThat(validator.validated.get()).as("loans calculated a little later").isEqualTo(calculated);
+
+        output.open.countDown();
+        stream.get(60, TimeUnit.SECONDS);
+        assertThat(validator.validated.get()).isEqualTo(loans);
+        assertThat(output.bytes.toString(StandardCharsets.UTF_8).split("\n")).hasSize(loans);
+    }
+
+    private static int minimumLineLength() throws IOException {
+        BatchCalculationService service = batchService(TestServices.uncachedCalculationService(), new CountingValidator(), 8, 1);
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < 200; i++) {
+                body.append(MAPPER.writeValueAsString(loan(i))).append('\n');
+            }
+            service.streamBatch(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), output, SUMMARY);
+            int shortest = Integer.MAX_VALUE;
+            for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+                shortest = Math.min(shortest, line.length() + 1);
+            }
+            return shortest;
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private BatchCalculationService batchService(MortgageCalculationService calculationService, int capacity, int parallelism) {
+        return batchService(calculationService, validator, capacity, parallelism);
+    }
+
+    static BatchCalculationService batchService(MortgageCalculationService calculationService, Validator validator,
+            int capacity, int parallelism) {
+        MortgageProperties properties = new MortgageProperties();
+        properties.setStreamBufferSize(capacity);
+        properties.setBatchParallelism(parallelism);
+        return new BatchCalculationService(calculationService, validator, properties, MAPPER);
+    }
+
+    /**
+     * A loan of its own for every index
+     */
+    static MortgageInputDto loan(int index) {
+        return new MortgageInputDto(BigDecimal.valueOf(100_000 + index), new BigDecimal("6.5"), 1 + index % 50,
+            null, null, MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.NONE, null, null, LocalDate.of(2025, 1, 1));
+    }
+
+    private static MortgageInputDto withRate(MortgageInputDto input, String rate) {
+        return new MortgageInputDto(input.loanAmount(), new BigDecimal(rate), input.loanTermYears(), null, null,
+            input.mortgageType(), input.paymentFrequency(), input.buydownType(), null, null, input.startDate());
+    }
+
+    /**
+     * A client that reads nothing until it is opened
+     */
+    private static final class GatedOutputStream extends OutputStream {
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch open = new CountDownLatch(1);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                blocked.countDown();
+                open.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            synchronized (bytes) {
+                bytes.write(b, off, len);
+            }
+        }
+    }
+
+    /**
+     * Counts the loans handed to calculation, which validates each one first
+     */
+    static final class CountingValidator implements Validator {
+
+        final AtomicInteger validated = new AtomicInteger();
+        private final Validator delegate = Validation.buildDefaultValidatorFactory().getValidator();
+
+        @Override
+        public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+            validated.incrementAndGet();
+            return delegate.validate(object, groups);
+        }
+
+        @Override
+        public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+            return delegate.validateProperty(object, propertyName, groups);
+        }
+
+        @Override
+        public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value,
+                Class<?>... groups) {
+            return delegate.validateValue(beanType, propertyName, value, groups);
+        }
+
+        @Override
+        public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+            return delegate.getConstraintsForClass(clazz);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            return delegate.unwrap(type);
+        }
+
+        @Override
+        public ExecutableValidator forExecutables() {
+            return delegate.forExecutables();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageComparisonDto;
+import com.mortgagecalculator.dto.MortgageComparisonRequestDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.ColumnarSchedule;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.ScheduleField;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pins the binary response layout documented on {@link BinaryCalculationWriter}, and keeps the fixtures
+ * the frontend decoder is tested against ({@code frontend/src/__tests__/scheduleBinary.spec.ts}) in step
+ * with the writer. Each fixture is a {@code .bin} response with the {@code .json} response for the same
+ * result. After an intended format change, regenerate them with
+ * {@code mvn test -Dtest=BinaryCalculationWriterTest -DregenerateFixtures=true}.
+ */
+class BinaryCalculationWriterTest {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new MoneyJsonModule())
+        .build();
+
+    private static final Path FIXTURES = Path.of("../frontend/src/__tests__/fixtures");
+    private static final boolean REGENERATE = Boolean.getBoolean("regenerateFixtures");
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private final BinaryCalculationWriter writer = new BinaryCalculationWriter(MAPPER);
+    private final MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+    @Test
+    void headerIsTheJsonResponseWithoutItsSchedule() throws IOException {
+        MortgageCalculationDto calculation = service.calculateMortgage(loan("250000", null, PaymentFrequency.MONTHLY),
+            new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL));
+        byte[] header = MAPPER.writeValueAsBytes(new MortgageCalculationDto(calculation.monthlyPayment(),
+            calculation.totalInterest(), calculation.totalPayments(), List.of(), calculation.summary(),
+            calculation.calculationId()));
+
+        Input in = new Input(writer.write(calculation));
+        assertThat(in.bytes(4)).isEqualTo("MCS1".getBytes(StandardCharsets.US_ASCII));
+        assertThat(in.varint()).isEqualTo(header.length);
+        assertThat(in.bytes(header.length)).isEqualTo(header);
+        assertThat(in.varint()).as("schedule count").isEqualTo(1);
+        assertThat(in.varint()).as("rows").isEqualTo(calculation.amortizationSchedule().size());
+    }
+
+    @Test
+    void varintsAreLeb128AndSignedValuesZigzag() {
+        // The 2-byte header "{}", then an empty schedule and one of 300 payment numbers
+        byte[] bytes = BinaryCalculationWriter.write(new byte[] { '{', '}' },
+            List.of(List.of(), entries(300)));
+        assertThat(Arrays.copyOfRange(bytes, 4, 8)).containsExactly(2, '{', '}', 2);
+        assertThat(Arrays.copyOfRange(bytes, 8, 11)).as("0 rows, then 300 rows as LEB128")
+            .containsExactly(0, 0xAC - 256, 0x02);
+        // Payment numbers 1..300, no other field: bit 0, scale 2, first payment number 1
+        assertThat(Arrays.copyOfRange(bytes, 11, bytes.length)).containsExactly(1, 2, 1);
+    }
+
+    @Test
+    void fullScheduleColumnsFollowTheDocumentedOrder() {
+        List<AmortizationEntryDto> rows = List.of(
+            row(1, "2025-01-01", "100.00", "50.00", "0.00", "150.00", "150.00", "900.00", "6.5", "0.00"),
+            row(2, "2025-02-01", "101.00", "49.00", "10.00", "150.00", "160.00", "789.00", "6.5", "0.00"),
+            row(3, "2025-03-01", "102.50", "47.50", "0.00", "150.00", "150.00", "686.50", "7", "0.00"));
+
+        Layout expected = new Layout()
+            .varint(3)                        // rows
+            .varint(0b11_1111_1111)           // every field
+            .varint(2)                        // cents
+            .varint(1)                        // first payment number
+            .signed(LocalDate.of(2025, 1, 1).toEpochDay()).varint(1).signed(31).signed(28)  // uneven dates
+            .signed(100_00).signed(1_00).signed(1_50)           // principal deltas
+            .signed(50_00).signed(-1_00).signed(-1_50)          // interest deltas
+            .varint(1).varint(3).signed(150_00)                 // regular: one run
+            .varint(3).varint(1).signed(0).varint(1).signed(10_00).varint(1).signed(-10_00)  // additional runs
+            .varint(2).varint(2).signed(65).signed(1).varint(1).signed(7).signed(0)         // rate runs
+            .signed(1000_00).signed(0).signed(0).signed(0)      // balance from the opening balance
+            .varint(0);                                         // no interest saved
+
+        assertThat(schedule(rows)).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void projectedScheduleSendsTotalAndBalanceOnTheirOwn() {
+        List<AmortizationEntryDto> rows = List.of(
+            projected(1, "2025-01-15", "150.00", "900.00"),
+            projected(2, "2025-01-29", "150.00", "801.25"),
+            projected(3, "2025-02-12", "75.125", "726.125"));
+
+        Layout expected = new Layout()
+            .varint(3)
+            .varint(1 << ScheduleField.PAYMENT_NUMBER.ordinal() | 1 << ScheduleField.PAYMENT_DATE.ordinal()
+                | 1 << ScheduleField.TOTAL_PAYMENT.ordinal() | 1 << ScheduleField.REMAINING_BALANCE.ordinal())
+            .varint(3)                        // the largest amount scale, so nothing is rounded
+            .varint(1)
+            .signed(LocalDate.of(2025, 1, 15).toEpochDay()).varint(0).signed(14)   // evenly spaced dates
+            .varint(2).varint(2).signed(150_000).varint(1).signed(-74_875)      // total runs
+            .signed(900_000).signed(-98_750).signed(-75_125);                   // balance deltas
+
+        assertThat(schedule(rows)).isEqualTo(expected.toByteArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "long-cents-full", "big-decimal-sub-cent", "projected", "comparison" })
+    void fixturesMatchTheWriter(String fixture) throws IOException {
+        assumeTrue(REGENERATE || Files.isDirectory(FIXTURES), "the frontend is not checked out next to the backend");
+        Object response = response(fixture);
+        byte[] binary = response instanceof MortgageComparisonDto comparison
+            ? writer.write(comparison)
+            : writer.write((MortgageCalculationDto) response);
+        byte[] json = MAPPER.writeValueAsBytes(response);
+
+        Path binaryFile = FIXTURES.resolve(fixture + ".bin");
+        Path jsonFile = FIXTURES.resolve(fixture + ".json");
+        if (REGENERATE) {
+            Files.createDirectories(FIXTURES);
+            Files.write(binaryFile, binary);
+            Files.write(jsonFile, json);
+        }
+        assertThat(Files.readAllBytes(binaryFile)).as("%s; regenerate if the format changed on purpose", binaryFile)
+            .isEqualTo(binary);
+        assertThat(Files.readAllBytes(jsonFile)).as(jsonFile.toString()).isEqualTo(json);
+    }
+
+    /**
+     * The responses the frontend fixtures hold: each engine's schedule representation, a projection
+     * that leaves out the columns the others are derived from, and several schedules in one response
+     */
+    private Object response(String fixture) {
+        return switch (fixture) {
+            case "long-cents-full" -> {
+                MortgageCalculationDto calculation = service.calculateMortgage(
+                    loan("325000", "200", PaymentFrequency.MONTHLY, BuydownType.TWO_ONE, 10),
+                    new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL));
+                assertThat(calculation.amortizationSchedule()).isInstanceOf(ColumnarSchedule.class);
+                yield calculation;
+            }
+            case "big-decimal-sub-cent" -> {
+                MortgageCalculationDto calculation = service.calculateMortgage(
+                    loan("180000.005", "75.125", PaymentFrequency.BI_WEEKLY, BuydownType.NONE, 3),
+                    new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.FULL));
+                assertThat(calculation.amortizationSchedule()).anyMatch(entry -> entry.totalPayment().scale() > 2);
+                yield calculation;
+            }
+            case "projected" -> service.calculateMortgage(
+                loan("275000", "150", PaymentFrequency.MONTHLY, BuydownType.THREE_TWO_ONE, 10),
+                new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL, EnumSet.of(
+                    ScheduleField.PAYMENT_NUMBER, ScheduleField.TOTAL_PAYMENT, ScheduleField.REMAINING_BALANCE,
+                    ScheduleField.INTEREST_RATE, ScheduleField.INTEREST_SAVED)));
+            case "comparison" -> service.compareMortgages(new MortgageComparisonRequestDto(List.of(
+                    loan("300000", null, PaymentFrequency.MONTHLY, BuydownType.NONE, 5),
+                    loan("300000", "100", PaymentFrequency.BI_WEEKLY, BuydownType.TWO_ONE, 3))),
+                new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL));
+            default -> throw new IllegalArgumentException(fixture);
+        };
+    }
+
+    /**
+     * The encoded schedule alone, after the magic, an empty header and the schedule count
+     */
+    private static byte[] schedule(List<AmortizationEntryDto> rows) {
+        byte[] bytes = BinaryCalculationWriter.write(new byte[0], List.of(rows));
+        return Arrays.copyOfRange(bytes, 6, bytes.length);
+    }
+
+    private static List<AmortizationEntryDto> entries(int rows) {
+        return IntStream.rangeClosed(1, rows)
+            .mapToObj(n -> new AmortizationEntryDto(n, null, null, null, null, null, null, null, null, null))
+            .toList();
+    }
+
+    private static AmortizationEntryDto row(int number, String date, String principal, String interest,
+            String additional, String regular, String total, String balance, String rate, String saved) {
+        return new AmortizationEntryDto(number, LocalDate.parse(date), new BigDecimal(principal),
+            new BigDecimal(interest), new BigDecimal(additional), new BigDecimal(regular), new BigDecimal(total),
+            new BigDecimal(balance), new BigDecimal(rate), new BigDecimal(saved));
+    }
+
+    private static AmortizationEntryDto projected(int number, String date, String total, String balance) {
+        return new AmortizationEntryDto(number, LocalDate.parse(date), null, null, null, null,
+            new BigDecimal(total), new BigDecimal(balance), null, null);
+    }
+
+    private static MortgageInputDto loan(String amount, String extra, PaymentFrequency frequency) {
+        return loan(amount, extra, frequency, BuydownType.NONE, 30);
+    }
+
+    private static MortgageInputDto loan(String amount, String extra, PaymentFrequency frequency,
+            BuydownType buydown, int termYears) {
+        return new MortgageInputDto(new BigDecimal(amount), new BigDecimal("6.875"), termYears, null, null,
+            MortgageType.FIXED, frequency, buydown, extra != null ? new BigDecimal(extra) : null,
+            AdditionalPaymentFrequency.MONTHLY, START);
+    }
+
+    /**
+     * Expected bytes written field by field, with the writer's varint and zigzag encodings
+     */
+    private static final class Layout {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Layout varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+            return this;
+        }
+
+        Layout signed(long value) {
+            return varint((value << 1) ^ (value >> 63));
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    private static final class Input {
+        private final byte[] bytes;
+        private int offset;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte[] bytes(int length) {
+            offset += length;
+            return Arrays.copyOfRange(bytes, offset - length, offset);
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.ScheduleField;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A streamed calculation must be byte for byte the JSON Jackson writes for the complete result
+ */
+class CalculationJsonWriterTest {
+
+    private final MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void streamedBytesEqualJacksonOfTheBuiltResult(boolean moneyModule) throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (moneyModule) {
+            builder.modulesToInstall(new MoneyJsonModule());
+        }
+        ObjectMapper mapper = builder.build();
+        CalculationJsonWriter writer = new CalculationJsonWriter(mapper);
+
+        List<MortgageInputDto> loans = List.of(
+            loan(MortgageType.FIXED, BuydownType.THREE_TWO_ONE, PaymentFrequency.MONTHLY, 30, "250",
+                AdditionalPaymentFrequency.MONTHLY),
+            loan(MortgageType.FIXED, BuydownType.TWO_ONE, PaymentFrequency.WEEKLY, 50, "1000",
+                AdditionalPaymentFrequency.QUARTERLY),
+            loan(MortgageType.FIXED, BuydownType.NONE, PaymentFrequency.BI_WEEKLY, 15, "20000",
+                AdditionalPaymentFrequency.ONE_TIME),
+            loan(MortgageType.FIXED, BuydownType.NONE, PaymentFrequency.MONTHLY, 30, null, null),
+            loan(MortgageType.INTEREST_ONLY, BuydownType.NONE, PaymentFrequency.MONTHLY, 10, null, null),
+            loan(MortgageType.INTEREST_ONLY, BuydownType.TWO_ONE, PaymentFrequency.BI_WEEKLY, 10, "500",
+                AdditionalPaymentFrequency.MONTHLY));
+        List<Set<ScheduleField>> projections = List.of(
+            EnumSet.allOf(ScheduleField.class),
+            EnumSet.of(ScheduleField.REMAINING_BALANCE),
+            EnumSet.of(ScheduleField.PAYMENT_DATE, ScheduleField.INTEREST_SAVED),
+            EnumSet.complementOf(EnumSet.of(ScheduleField.PAYMENT_DATE, ScheduleField.INTEREST_RATE)));
+
+        for (MortgageInputDto loan : loans) {
+            for (Set<ScheduleField> fields : projections) {
+                CalculationOptions options = new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL, fields);
+                StreamedCalculation calculation = service.prepareCalculation(loan, options);
+                assertThat(calculation.isStreamed()).isTrue();
+
+                ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+                writer.write(calculation, streamed);
+                byte[] expected = mapper.writeValueAsBytes(service.calculateMortgage(loan, options));
+                assertThat(streamed.toString(StandardCharsets.UTF_8)).as("%s of %s", fields, loan)
+                    .isEqualTo(new String(expected, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static MortgageInputDto loan(MortgageType type, BuydownType buydown, PaymentFrequency frequency,
+            int termYears, String extra, AdditionalPaymentFrequency extraFrequency) {
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        return new MortgageInputDto(new BigDecimal("412500"), new BigDecimal("6.625"), termYears, null, null, type,
+            frequency, buydown, extra != null ? new BigDecimal(extra) : null, extraFrequency, start);
+    }
+}
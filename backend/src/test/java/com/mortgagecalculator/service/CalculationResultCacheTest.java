@@ -0,0 +1,69 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalculationResultCacheTest {
+
+    private static final MortgageInputDto LOAN = new MortgageInputDto(new BigDecimal("400000"), new BigDecimal("6.5"),
+        30, null, null, MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.NONE, null,
+        AdditionalPaymentFrequency.MONTHLY, LocalDate.of(2025, 1, 1));
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new MoneyJsonModule())
+        .build();
+
+    @Test
+    void eachEngineIsServedItsOwnResult() throws Exception {
+        MortgageCalculationService cached = TestServices.calculationService(new MortgageProperties());
+        MortgageCalculationService uncached = TestServices.uncachedCalculationService();
+
+        for (CalculationEngine first : CalculationEngine.values()) {
+            for (CalculationEngine second : CalculationEngine.values()) {
+                // A loan of its own for each pair, so earlier pairs leave nothing cached for it
+                MortgageInputDto input = withTerm(LOAN, 10 + 2 * first.ordinal() + second.ordinal());
+                CalculationOptions options = new CalculationOptions(second, DetailLevel.FULL);
+                cached.calculateMortgage(input, new CalculationOptions(first, DetailLevel.FULL));
+
+                assertThat(json(cached, input, options))
+                    .as("%s after %s", second, first)
+                    .isEqualTo(json(uncached, input, options));
+            }
+        }
+    }
+
+    @Test
+    void summariesAreSharedBetweenEngines() {
+        MortgageCalculationService service = TestServices.calculationService(new MortgageProperties());
+
+        assertThat(service.calculateMortgage(LOAN, new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.SUMMARY)))
+            .isSameAs(service.calculateMortgage(LOAN, new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.SUMMARY)));
+    }
+
+    private String json(MortgageCalculationService service, MortgageInputDto input, CalculationOptions options)
+            throws Exception {
+        return mapper.writeValueAsString(service.calculateMortgage(input, options));
+    }
+
+    private static MortgageInputDto withTerm(MortgageInputDto input, int termYears) {
+        return new MortgageInputDto(input.loanAmount(), input.interestRate(), termYears, input.downPayment(),
+            input.propertyValue(), input.mortgageType(), input.paymentFrequency(), input.buydownType(),
+            input.additionalPrincipalPayment(), input.additionalPaymentFrequency(), input.startDate());
+    }
+}
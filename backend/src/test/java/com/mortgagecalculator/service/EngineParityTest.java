@@ -0,0 +1,139 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * The long-cents engine must reproduce the BigDecimal schedule to the cent, and the summary-only
+ * mode its totals, for every combination of mortgage type, buydown, extra payment frequency and
+ * payment frequency
+ */
+class EngineParityTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private static final String[] LOANS = { "400000", "1000.00", "9999999.99", "250000.50", "3719146.70" };
+    private static final String[] RATES = { "6.5", "0.1", "3.0", "30", "7.125", "27.53" };
+    private static final int[] TERMS = { 1, 15, 30, 49, 50 };
+    private static final String[] EXTRAS = { null, "0", "200", "1000.55", "500000" };
+
+    private final MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+    static Stream<Arguments> combinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        BuydownType[] buydowns = { null, BuydownType.NONE, BuydownType.TWO_ONE, BuydownType.THREE_TWO_ONE };
+        List<AdditionalPaymentFrequency> extraFrequencies = new ArrayList<>();
+        extraFrequencies.add(null);
+        extraFrequencies.addAll(List.of(AdditionalPaymentFrequency.values()));
+        for (MortgageType mortgageType : MortgageType.values()) {
+            for (BuydownType buydownType : buydowns) {
+                for (AdditionalPaymentFrequency extraFrequency : extraFrequencies) {
+                    for (PaymentFrequency paymentFrequency : PaymentFrequency.values()) {
+                        combinations.add(Arguments.of(mortgageType, buydownType, extraFrequency, paymentFrequency));
+                    }
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest(name = "{0} {1} extra {2} paid {3}")
+    @MethodSource("combinations")
+    void longCentsMatchesBigDecimalForEveryCombination(MortgageType mortgageType, BuydownType buydownType,
+            AdditionalPaymentFrequency extraFrequency, PaymentFrequency paymentFrequency) {
+        // Seeded per combination, so a failure names a reproducible input
+        Random random = new Random(31L * mortgageType.ordinal() + 7L * paymentFrequency.ordinal()
+            + (buydownType != null ? 101L * buydownType.ordinal() : 0)
+            + (extraFrequency != null ? 1009L * extraFrequency.ordinal() : 0));
+        for (String loan : LOANS) {
+            String extra = EXTRAS[random.nextInt(EXTRAS.length)];
+            assertParity(new MortgageInputDto(new BigDecimal(loan), new BigDecimal(RATES[random.nextInt(RATES.length)]),
+                TERMS[random.nextInt(TERMS.length)], null, null, mortgageType, paymentFrequency, buydownType,
+                extra != null ? new BigDecimal(extra) : null, extraFrequency, START));
+        }
+    }
+
+    @Test
+    void longCentsMatchesBigDecimalForRandomLoans() {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            BigDecimal loan = BigDecimal.valueOf(1000 + random.nextInt(999_000_000), 2)
+                .add(BigDecimal.valueOf(random.nextInt(9_000_000)));
+            BigDecimal rate = BigDecimal.valueOf(10 + random.nextInt(2990), 2);
+            BigDecimal extra = random.nextBoolean() ? BigDecimal.ZERO : BigDecimal.valueOf(random.nextInt(5_000_000), 2);
+            assertParity(new MortgageInputDto(loan, rate, 1 + random.nextInt(50), null, null,
+                pick(random, MortgageType.values()), pick(random, PaymentFrequency.values()),
+                pick(random, BuydownType.values()), extra, pick(random, AdditionalPaymentFrequency.values()), START));
+        }
+    }
+
+    private void assertParity(MortgageInputDto input) {
+        MortgageCalculationDto reference = service.calculateMortgage(input,
+            new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.FULL));
+        MortgageCalculationDto cents = service.calculateMortgage(input,
+            new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL));
+        MortgageCalculationDto summary = service.calculateMortgage(input,
+            new CalculationOptions(null, DetailLevel.SUMMARY));
+
+        assertThat(cents.monthlyPayment()).as("monthly payment of %s", input).isEqualByComparingTo(reference.monthlyPayment());
+        assertThat(cents.totalInterest()).as("total interest of %s", input).isEqualByComparingTo(reference.totalInterest());
+        assertThat(cents.summary().payoffDate()).as("payoff date of %s", input).isEqualTo(reference.summary().payoffDate());
+        assertThat(summary.monthlyPayment()).as("summary monthly payment of %s", input).isEqualByComparingTo(reference.monthlyPayment());
+        assertThat(summary.totalInterest()).as("summary total interest of %s", input).isEqualByComparingTo(reference.totalInterest());
+        assertThat(summary.summary().payoffDate()).as("summary payoff date of %s", input).isEqualTo(reference.summary().payoffDate());
+
+        List<AmortizationEntryDto> expected = reference.amortizationSchedule();
+        List<AmortizationEntryDto> actual = cents.amortizationSchedule();
+        assertThat(actual).as("schedule length of %s", input).hasSameSizeAs(expected);
+        for (int row = 0; row < expected.size(); row++) {
+            if (!sameAmounts(expected.get(row), actual.get(row))) {
+                fail("Row %d of %s differs:%n  BIG_DECIMAL %s%n  LONG_CENTS  %s", row, input, expected.get(row), actual.get(row));
+            }
+        }
+    }
+
+    /**
+     * Equal field by field, amounts by value so trailing zeros do not matter
+     */
+    private static boolean sameAmounts(AmortizationEntryDto expected, AmortizationEntryDto actual) {
+        return expected.paymentNumber().equals(actual.paymentNumber())
+            && expected.paymentDate().equals(actual.paymentDate())
+            && sameAmount(expected.principalPayment(), actual.principalPayment())
+            && sameAmount(expected.interestPayment(), actual.interestPayment())
+            && sameAmount(expected.additionalPrincipalPayment(), actual.additionalPrincipalPayment())
+            && sameAmount(expected.regularPayment(), actual.regularPayment())
+            && sameAmount(expected.totalPayment(), actual.totalPayment())
+            && sameAmount(expected.remainingBalance(), actual.remainingBalance())
+            && sameAmount(expected.interestRate(), actual.interestRate())
+            && sameAmount(expected.interestSaved(), actual.interestSaved());
+    }
+
+    private static boolean sameAmount(BigDecimal expected, BigDecimal actual) {
+        return expected.compareTo(actual) == 0;
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
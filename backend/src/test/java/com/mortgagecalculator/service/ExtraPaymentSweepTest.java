@@ -0,0 +1,77 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.ExtraPaymentSweepDto;
+import com.mortgagecalculator.dto.ExtraPaymentSweepRequestDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every point of an extra payment curve must agree with a full BigDecimal calculation of the loan with
+ * that extra
+ */
+class ExtraPaymentSweepTest {
+
+    private final MortgageCalculationService calculationService = TestServices.uncachedCalculationService();
+    private final ExtraPaymentService service = new ExtraPaymentService(calculationService);
+
+    @Test
+    void pointsMatchFullCalculationsOfAHighRateLongTermLoan() {
+        // The unrounded recurrence drifts by tens of thousands of dollars on this loan
+        assertPointsMatch(loan("3719146.70", "27.53", 49, PaymentFrequency.WEEKLY, BuydownType.NONE,
+            AdditionalPaymentFrequency.MONTHLY), "0", "25000", 26);
+    }
+
+    @Test
+    void pointsMatchFullCalculationsWithBuydownsAndEveryFrequency() {
+        for (AdditionalPaymentFrequency frequency : AdditionalPaymentFrequency.values()) {
+            assertPointsMatch(loan("400000", "6.5", 30, PaymentFrequency.MONTHLY, BuydownType.THREE_TWO_ONE, frequency),
+                "0", "5000", 11);
+            assertPointsMatch(loan("250000.50", "7.125", 50, PaymentFrequency.BI_WEEKLY, BuydownType.TWO_ONE, frequency),
+                "0.01", "1000.01", 11);
+        }
+    }
+
+    private void assertPointsMatch(MortgageInputDto input, String minExtra, String maxExtra, int points) {
+        ExtraPaymentSweepDto sweep = service.sweep(new ExtraPaymentSweepRequestDto(input, new BigDecimal(minExtra),
+            new BigDecimal(maxExtra), points, null));
+
+        MortgageCalculationDto baseline = calculate(input, BigDecimal.ZERO);
+        assertThat(sweep.baselineTotalInterest()).as("baseline interest of %s", input)
+            .isEqualByComparingTo(baseline.totalInterest());
+        for (int i = 0; i < points; i++) {
+            BigDecimal extra = sweep.extraPayments().get(i);
+            MortgageCalculationDto full = calculate(input, extra);
+            assertThat(sweep.totalInterest().get(i)).as("interest with %s extra on %s", extra, input)
+                .isEqualByComparingTo(full.totalInterest());
+            assertThat(sweep.payoffDates().get(i)).as("payoff with %s extra on %s", extra, input)
+                .isEqualTo(full.summary().payoffDate());
+            assertThat(sweep.interestSaved().get(i)).as("interest saved with %s extra on %s", extra, input)
+                .isEqualByComparingTo(baseline.totalInterest().subtract(full.totalInterest()));
+        }
+    }
+
+    private MortgageCalculationDto calculate(MortgageInputDto input, BigDecimal extra) {
+        MortgageInputDto withExtra = new MortgageInputDto(input.loanAmount(), input.interestRate(), input.loanTermYears(),
+            null, null, input.mortgageType(), input.paymentFrequency(), input.buydownType(), extra,
+            input.additionalPaymentFrequency(), input.startDate());
+        return calculationService.calculateMortgage(withExtra, new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.FULL));
+    }
+
+    private static MortgageInputDto loan(String amount, String rate, int termYears, PaymentFrequency frequency,
+            BuydownType buydown, AdditionalPaymentFrequency extraFrequency) {
+        return new MortgageInputDto(new BigDecimal(amount), new BigDecimal(rate), termYears, null, null,
+            MortgageType.FIXED, frequency, buydown, null, extraFrequency, LocalDate.of(2025, 1, 1));
+    }
+}
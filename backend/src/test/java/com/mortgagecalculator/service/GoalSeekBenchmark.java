@@ -0,0 +1,83 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.GoalSeekRequestDto;
+import com.mortgagecalculator.dto.GoalSeekResultDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.GoalSeekTarget;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Goal-seek solves for the loan amount, the rate and the term that meet a target payment, over eight
+ * loans mixing payment frequencies, buydowns and extra principal. Run with
+ * {@code mvn test -Dtest=GoalSeekBenchmark}.
+ */
+class GoalSeekBenchmark {
+
+    @Test
+    void solveTimesByTarget() {
+        MortgageProperties properties = new MortgageProperties();
+        properties.getResultCache().setEnabled(false);
+        GoalSeekService service = new GoalSeekService(TestServices.calculationService(properties),
+            new AnnuityFactorCache(properties, new SimpleMeterRegistry()),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+        PaymentFrequency[] frequencies = PaymentFrequency.values();
+        BuydownType[] buydowns = { BuydownType.NONE, BuydownType.TWO_ONE, BuydownType.THREE_TWO_ONE };
+        GoalSeekTarget[] targets = GoalSeekTarget.values();
+        GoalSeekRequestDto[][] requests = new GoalSeekRequestDto[targets.length][8];
+        for (int i = 0; i < 8; i++) {
+            MortgageInputDto loan = new MortgageInputDto(BigDecimal.valueOf(300_000 + 20_000 * i),
+                new BigDecimal("5.75").add(BigDecimal.valueOf(25 * i, 2)), 30, null, null, MortgageType.FIXED,
+                frequencies[i % frequencies.length], buydowns[i % buydowns.length],
+                i % 2 == 0 ? null : BigDecimal.valueOf(50 * i), AdditionalPaymentFrequency.MONTHLY,
+                LocalDate.of(2025, 1, 1));
+            // 9% of the loan a year: reachable in under 30 years at these rates, so every target solves
+            BigDecimal target = loan.loanAmount().multiply(new BigDecimal("0.09"))
+                .divide(BigDecimal.valueOf(loan.paymentFrequency().getPaymentsPerYear()), 2, RoundingMode.HALF_UP);
+            for (int t = 0; t < targets.length; t++) {
+                requests[t][i] = new GoalSeekRequestDto(targets[t], target, loan);
+            }
+        }
+
+        int[] iterations = new int[targets.length];
+        for (int t = 0; t < targets.length; t++) {
+            for (GoalSeekRequestDto request : requests[t]) {
+                GoalSeekResultDto result = service.solve(request);
+                assertThat(result.residual()).as("residual of %s", request).isNotNegative();
+                iterations[t] += result.iterations();
+            }
+        }
+
+        int[] selected = new int[1];
+        String[] names = new String[targets.length];
+        for (int t = 0; t < targets.length; t++) {
+            names[t] = "solve for " + targets[t] + ", 8 loans";
+        }
+        MicroBenchmark.Result[] results = MicroBenchmark.compare(names, variant -> selected[0] = variant, () -> {
+            long sum = 0;
+            for (GoalSeekRequestDto request : requests[selected[0]]) {
+                sum += service.solve(request).solvedValue().unscaledValue().longValue();
+            }
+            return sum;
+        });
+
+        for (int t = 0; t < targets.length; t++) {
+            System.out.printf("%-14s %6.1f us/solve, %.1f iterations/solve%n", targets[t],
+                results[t].microsPerOperation() / 8, iterations[t] / 8.0);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.GoalSeekRequestDto;
+import com.mortgagecalculator.dto.GoalSeekResultDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.GoalSeekTarget;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Each solved value must meet the target payment, as a full calculation reports it, and the next step
+ * past it (a cent more loan, 0.001% more rate, a year less term) must not
+ */
+class GoalSeekServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final CalculationOptions SUMMARY = new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.SUMMARY);
+
+    private final MortgageProperties properties = new MortgageProperties();
+    private final MortgageCalculationService calculationService = TestServices.uncachedCalculationService();
+    private final GoalSeekService service = new GoalSeekService(calculationService,
+        new AnnuityFactorCache(properties, new SimpleMeterRegistry()),
+        Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void solvedValueMeetsTheTargetAndTheNextStepDoesNot() {
+        List<MortgageInputDto> loans = List.of(
+            loan("400000", "6.5", 30, MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.THREE_TWO_ONE, null, null),
+            loan("275000", "7.125", 30, MortgageType.FIXED, PaymentFrequency.BI_WEEKLY, BuydownType.TWO_ONE, null, null),
+            loan("350000", "5.875", 30, MortgageType.INTEREST_ONLY, PaymentFrequency.MONTHLY, BuydownType.NONE, null, null),
+            loan("500000", "6.25", 30, MortgageType.INTEREST_ONLY, PaymentFrequency.WEEKLY, BuydownType.NONE, "100",
+                AdditionalPaymentFrequency.MONTHLY),
+            // The extra falls with the first payment, so it counts against the target
+            loan("450000", "6.75", 30, MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.NONE, "250",
+                AdditionalPaymentFrequency.MONTHLY),
+            loan("300000", "6", 30, MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.NONE, "5000",
+                AdditionalPaymentFrequency.ONE_TIME),
+            // Every fourth payment only, so it does not
+            loan("325000", "6.375", 30, MortgageType.FIXED, PaymentFrequency.WEEKLY, BuydownType.TWO_ONE, "150",
+                AdditionalPaymentFrequency.MONTHLY));
+
+        for (MortgageInputDto loan : loans) {
+            for (String fraction : new String[] { "0.08", "0.1", "0.14" }) {
+                // A share of the loan a year, spread over the year's payments
+                BigDecimal target = loan.loanAmount().multiply(new BigDecimal(fraction))
+                    .divide(BigDecimal.valueOf(loan.paymentFrequency().getPaymentsPerYear()), 2, RoundingMode.HALF_UP);
+                if (loan.additionalPrincipalPayment() != null) {
+                    target = target.add(loan.additionalPrincipalPayment());
+                }
+
+                GoalSeekResultDto amount = solve(GoalSeekTarget.LOAN_AMOUNT, target, loan);
+                assertBoundary(amount, target,
+                    with(loan, amount.solvedValue(), loan.interestRate(), loan.loanTermYears()),
+                    with(loan, amount.solvedValue().add(new BigDecimal("0.01")), loan.interestRate(), loan.loanTermYears()));
+
+                GoalSeekResultDto rate = solve(GoalSeekTarget.INTEREST_RATE, target, loan);
+                assertBoundary(rate, target,
+                    with(loan, loan.loanAmount(), rate.solvedValue(), loan.loanTermYears()),
+                    with(loan, loan.loanAmount(), rate.solvedValue().add(new BigDecimal("0.001")), loan.loanTermYears()));
+
+                if (loan.mortgageType() != MortgageType.INTEREST_ONLY) {
+                    GoalSeekResultDto term = solve(GoalSeekTarget.LOAN_TERM, target, loan);
+                    int years = term.solvedValue().intValueExact();
+                    MortgageInputDto solved = with(loan, loan.loanAmount(), loan.interestRate(), years);
+                    if (years > 1) {
+                        assertBoundary(term, target, solved, with(loan, loan.loanAmount(), loan.interestRate(), years - 1));
+                    } else {
+                        assertThat(payment(solved)).isLessThanOrEqualTo(target);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void targetBelowTheMinimumLoanIsRejected() {
+        MortgageInputDto loan = loan("400000", "6.5", 30, MortgageType.FIXED, PaymentFrequency.MONTHLY,
+            BuydownType.NONE, null, null);
+
+        // $1,000 over 30 years at 6.5% costs $6.32 a month, and so does $1,000.68
+        assertThatThrownBy(() -> solve(GoalSeekTarget.LOAN_AMOUNT, new BigDecimal("6.31"), loan))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Even the minimum loan amount exceeds the target payment");
+        assertThat(solve(GoalSeekTarget.LOAN_AMOUNT, new BigDecimal("6.32"), loan).solvedValue())
+            .isEqualByComparingTo("1000.68");
+    }
+
+    @Test
+    void targetBelowTheInterestIsRejectedForEveryTerm() {
+        MortgageInputDto loan = loan("400000", "6.5", 30, MortgageType.FIXED, PaymentFrequency.MONTHLY,
+            BuydownType.NONE, null, null);
+
+        // The first month's interest alone is $2,166.67; over 50 years the payment is $2,255.99
+        assertThatThrownBy(() -> solve(GoalSeekTarget.LOAN_TERM, new BigDecimal("2200"), loan))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("No term up to 50 years meets the target payment");
+    }
+
+    @Test
+    void termOfAnInterestOnlyLoanIsRejected() {
+        MortgageInputDto loan = loan("400000", "6.5", 30, MortgageType.INTEREST_ONLY, PaymentFrequency.MONTHLY,
+            BuydownType.NONE, null, null);
+
+        assertThatThrownBy(() -> solve(GoalSeekTarget.LOAN_TERM, new BigDecimal("3000"), loan))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Interest-only payments do not depend on the loan term");
+    }
+
+    private GoalSeekResultDto solve(GoalSeekTarget target, BigDecimal payment, MortgageInputDto loan) {
+        return service.solve(new GoalSeekRequestDto(target, payment, loan));
+    }
+
+    private void assertBoundary(GoalSeekResultDto result, BigDecimal target, MortgageInputDto solved,
+            MortgageInputDto nextStep) {
+        BigDecimal payment = payment(solved);
+        assertThat(payment).as("%s for %s", result.solveFor(), solved).isLessThanOrEqualTo(target);
+        assertThat(result.payment()).isEqualByComparingTo(payment);
+        assertThat(result.residual()).isEqualByComparingTo(target.subtract(payment));
+        assertThat(payment(nextStep)).as("%s one step past %s", result.solveFor(), solved).isGreaterThan(target);
+    }
+
+    private BigDecimal payment(MortgageInputDto input) {
+        return calculationService.calculateMortgage(input.canonicalize(START), SUMMARY).monthlyPayment();
+    }
+
+    private static MortgageInputDto with(MortgageInputDto loan, BigDecimal amount, BigDecimal rate, int termYears) {
+        return new MortgageInputDto(amount, rate, termYears, null, null, loan.mortgageType(), loan.paymentFrequency(),
+            loan.buydownType(), loan.additionalPrincipalPayment(), loan.additionalPaymentFrequency(), START);
+    }
+
+    private static MortgageInputDto loan(String amount, String rate, int termYears, MortgageType type,
+            PaymentFrequency frequency, BuydownType buydown, String extra, AdditionalPaymentFrequency extraFrequency) {
+        return new MortgageInputDto(new BigDecimal(amount), new BigDecimal(rate), termYears, null, null, type,
+            frequency, buydown, extra != null ? new BigDecimal(extra) : null, extraFrequency, START);
+    }
+}
@@ -0,0 +1,92 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.engine.ColumnarSchedule;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of exact interest saved: a long-cents schedule built while the loan without extra payments is
+ * stepped in the same loop, against the same build with that loan switched off. One operation builds
+ * the schedules of eight thirty-year loans with extra payments. Run with
+ * {@code mvn test -Dtest=InterestSavedBenchmark}.
+ */
+class InterestSavedBenchmark {
+
+    @Test
+    void fusedBaselineCostsLessThanThirtyPercent() {
+        MortgageCalculationService service = TestServices.uncachedCalculationService();
+        BuydownType[] buydowns = { BuydownType.NONE, BuydownType.TWO_ONE, BuydownType.THREE_TWO_ONE };
+        LongCentsAmortizationEngine.Plan[] plans = new LongCentsAmortizationEngine.Plan[8];
+        for (int i = 0; i < plans.length; i++) {
+            plans[i] = service.planFor(new MortgageInputDto(BigDecimal.valueOf(250_000 + 25_000 * i),
+                new BigDecimal("5.25").add(BigDecimal.valueOf(25 * i, 2)), 30, null, null, MortgageType.FIXED,
+                PaymentFrequency.MONTHLY, buydowns[i % buydowns.length], BigDecimal.valueOf(100 + 50 * i),
+                AdditionalPaymentFrequency.MONTHLY, LocalDate.of(2025, 1, 1)));
+        }
+
+        // One operation for every variant, so each measurement runs the same compiled code
+        boolean[] trackSavings = new boolean[1];
+        boolean[] keepRows = new boolean[1];
+        LongSupplier build = () -> {
+            long result = 0;
+            for (LongCentsAmortizationEngine.Plan plan : plans) {
+                result += keepRows[0] ? schedule(plan, trackSavings[0]).size() : totalInterest(plan, trackSavings[0]);
+            }
+            return result;
+        };
+
+        MicroBenchmark.Result[] results = MicroBenchmark.compare(
+            new String[] { "stepping loop alone", "stepping loop with fused baseline",
+                "schedule without interest saved", "schedule with fused baseline" },
+            variant -> {
+                keepRows[0] = variant >= 2;
+                trackSavings[0] = variant % 2 == 1;
+            }, build);
+
+        // Without rows to build, the baseline's own rounding is a large share of the loop
+        System.out.printf("fused / single: schedule %.2fx, bare loop %.2fx%n",
+            results[3].nanosPerOperation() / results[2].nanosPerOperation(),
+            results[1].nanosPerOperation() / results[0].nanosPerOperation());
+        assertThat(results[3].nanosPerOperation()).isLessThan(1.3 * results[2].nanosPerOperation());
+    }
+
+    /**
+     * The full schedule as {@link LongCentsAmortizationEngine#generateSchedule} builds it, with the
+     * fused baseline switched on or off
+     */
+    private static ColumnarSchedule schedule(LongCentsAmortizationEngine.Plan plan, boolean trackSavings) {
+        ColumnarSchedule.Builder schedule = ColumnarSchedule.builder(plan.totalPayments());
+        LongCentsAmortizationEngine.RowSink sink = (paymentNumber, principal, interest, additional, regular, total,
+                balance, annualRate, interestSaved) -> schedule.add(paymentNumber,
+                        plan.paymentDate(paymentNumber).toEpochDay(), principal, interest, additional, regular, balance,
+                        annualRate, interestSaved);
+        LongCentsAmortizationEngine.State state = plan.initialState();
+        while (LongCentsAmortizationEngine.step(plan, state, sink, trackSavings)) {
+            // rows are collected by the sink
+        }
+        return schedule.build();
+    }
+
+    private static long totalInterest(LongCentsAmortizationEngine.Plan plan, boolean trackSavings) {
+        LongCentsAmortizationEngine.RowSink sink = (paymentNumber, principal, interest, additional, regular, total,
+                balance, annualRate, interestSaved) -> {
+        };
+        LongCentsAmortizationEngine.State state = plan.initialState();
+        while (LongCentsAmortizationEngine.step(plan, state, sink, trackSavings)) {
+            // totals accumulate in the state
+        }
+        return state.getTotalInterest() + state.getInterestSaved();
+    }
+}
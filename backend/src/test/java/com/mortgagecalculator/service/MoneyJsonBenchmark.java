@@ -0,0 +1,82 @@
+package com.mortgagecalculator.service;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A full long-cents calculation of a $400k loan with extra payments, serialized through the row record
+ * serializer and through {@link MoneyJsonModule}, which writes cents from the schedule's columns. Times
+ * and allocations are reported per schedule row. Run with {@code mvn test -Dtest=MoneyJsonBenchmark}.
+ */
+class MoneyJsonBenchmark {
+
+    private final MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+    @Test
+    void thirtyYearMonthly() throws IOException {
+        compare(PaymentFrequency.MONTHLY, 30);
+    }
+
+    @Test
+    void fiftyYearWeekly() throws IOException {
+        compare(PaymentFrequency.WEEKLY, 50);
+    }
+
+    private void compare(PaymentFrequency frequency, int termYears) throws IOException {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        MortgageCalculationDto result = service.calculateMortgage(new MortgageInputDto(new BigDecimal("400000"),
+                new BigDecimal("6.5"), termYears, null, null, MortgageType.FIXED, frequency, BuydownType.TWO_ONE,
+                new BigDecimal("200"), AdditionalPaymentFrequency.MONTHLY, start).canonicalize(start),
+            new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL));
+        ObjectWriter[] writers = {
+            Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer(),
+            Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new MoneyJsonModule())
+                .build()
+                .writer()
+        };
+        assertThat(writers[1].writeValueAsBytes(result)).isEqualTo(writers[0].writeValueAsBytes(result));
+
+        int rows = result.amortizationSchedule().size();
+        int[] selected = new int[1];
+        MicroBenchmark.Result[] results = MicroBenchmark.compare(
+            new String[] { "record serializer, " + rows + " rows", "MoneyJsonModule, " + rows + " rows" },
+            variant -> selected[0] = variant,
+            () -> {
+                try {
+                    writers[selected[0]].writeValue(OutputStream.nullOutputStream(), result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return rows;
+            });
+
+        System.out.printf("%d rows: record serializer %.0f ns/row, %.0f B/row; MoneyJsonModule %.0f ns/row, %.0f B/row%n",
+            rows, results[0].nanosPerOperation() / rows, results[0].bytesPerOperation() / rows,
+            results[1].nanosPerOperation() / rows, results[1].bytesPerOperation() / rows);
+        assertThat(results[1].bytesPerOperation()).isLessThan(results[0].bytesPerOperation() / 4);
+    }
+}
@@ -0,0 +1,139 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.dto.SchedulePageDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Schedule pages, followed by their cursors or started at a payment number, must concatenate to the full
+ * schedule
+ */
+class SchedulePageTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private final MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+    // 2600 weekly payments, paid off early by the monthly extra
+    private final MortgageInputDto loan = loan("450000", "25");
+
+    @Test
+    void pagesFollowedByCursorConcatenateToTheFullSchedule() {
+        List<AmortizationEntryDto> full = fullSchedule(loan);
+        assertThat(full.size()).isLessThan(2600);
+
+        for (int limit : new int[] { 1, 7, 52, 365, 600 }) {
+            List<AmortizationEntryDto> paged = new ArrayList<>();
+            SchedulePageDto page = service.getSchedulePage(loan, 1, limit, null);
+            int pages = 1;
+            while (true) {
+                assertThat(page.from()).isEqualTo(paged.size() + 1);
+                assertThat(page.totalPayments()).isEqualTo(2600);
+                paged.addAll(page.entries());
+                if (!page.hasMore()) {
+                    assertThat(page.nextCursor()).isNull();
+                    break;
+                }
+                page = service.getSchedulePage(loan, 1, limit, page.nextCursor());
+                pages++;
+            }
+            assertThat(pages).as("pages of %d", limit).isEqualTo((full.size() + limit - 1) / limit);
+            assertThat(ScheduleRows.byValue(paged)).isEqualTo(ScheduleRows.byValue(full));
+        }
+    }
+
+    @Test
+    void pageStartingAtAPaymentMatchesTheFullSchedule() {
+        List<AmortizationEntryDto> full = fullSchedule(loan);
+        for (int from : new int[] { 1, 2, 52, 157, 1000, full.size() }) {
+            SchedulePageDto page = service.getSchedulePage(loan, from, 100, null);
+            assertThat(page.from()).isEqualTo(from);
+            assertThat(ScheduleRows.byValue(page.entries()))
+                .isEqualTo(ScheduleRows.byValue(full.subList(from - 1, Math.min(from - 1 + 100, full.size()))));
+        }
+    }
+
+    @Test
+    void windowBeyondTheFinalPaymentIsEmpty() {
+        int payments = fullSchedule(loan).size();
+        for (int from : new int[] { payments + 1, 2600, 5000 }) {
+            SchedulePageDto page = service.getSchedulePage(loan, from, 10, null);
+            assertThat(page.entries()).isEmpty();
+            assertThat(page.from()).isEqualTo(from);
+            assertThat(page.hasMore()).isFalse();
+            assertThat(page.nextCursor()).isNull();
+        }
+    }
+
+    @Test
+    void cursorIsAcceptedForTheSameLoanWrittenDifferently() {
+        String cursor = service.getSchedulePage(loan, 1, 10, null).nextCursor();
+        MortgageInputDto rewritten = new MortgageInputDto(new BigDecimal("450000.00"), new BigDecimal("6.50"), 50,
+            null, null, MortgageType.FIXED, PaymentFrequency.WEEKLY, BuydownType.TWO_ONE, new BigDecimal("25.0"),
+            null, START);
+
+        assertThat(service.getSchedulePage(rewritten, 1, 10, cursor).from()).isEqualTo(11);
+    }
+
+    @Test
+    void cursorForAnotherLoanIsRejected() {
+        String cursor = service.getSchedulePage(loan, 1, 10, null).nextCursor();
+
+        for (MortgageInputDto other : List.of(loan("450000.01", "25"), loan("450000", "26"),
+                new MortgageInputDto(loan.loanAmount(), loan.interestRate(), 50, null, null, MortgageType.FIXED,
+                    PaymentFrequency.WEEKLY, BuydownType.TWO_ONE, loan.additionalPrincipalPayment(),
+                    AdditionalPaymentFrequency.MONTHLY, START.plusDays(1)))) {
+            assertThatThrownBy(() -> service.getSchedulePage(other, 1, 10, cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Schedule cursor was issued for different inputs");
+        }
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        String cursor = service.getSchedulePage(loan, 1, 10, null).nextCursor();
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+
+        for (int i = 1; i < bytes.length; i++) {
+            byte[] edited = bytes.clone();
+            edited[i] ^= 0x01;
+            String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(edited);
+            assertThatThrownBy(() -> service.getSchedulePage(loan, 1, 10, tampered))
+                .as("byte %d edited", i)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Malformed schedule cursor");
+        }
+        for (String malformed : new String[] { cursor.substring(1), cursor + "AA", "not a cursor!" }) {
+            assertThatThrownBy(() -> service.getSchedulePage(loan, 1, 10, malformed))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Malformed schedule cursor");
+        }
+    }
+
+    private List<AmortizationEntryDto> fullSchedule(MortgageInputDto input) {
+        return service.calculateMortgage(input, new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL))
+            .amortizationSchedule();
+    }
+
+    private static MortgageInputDto loan(String amount, String extra) {
+        return new MortgageInputDto(new BigDecimal(amount), new BigDecimal("6.5"), 50, null, null, MortgageType.FIXED,
+            PaymentFrequency.WEEKLY, BuydownType.TWO_ONE, new BigDecimal(extra), AdditionalPaymentFrequency.MONTHLY,
+            START);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.ScheduleField;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A projected schedule must hold exactly the requested fields of the full schedule's rows, with the
+ * same totals, whichever engine computes it
+ */
+class ScheduleProjectionTest {
+
+    private final MortgageCalculationService service = TestServices.uncachedCalculationService();
+
+    @ParameterizedTest
+    @EnumSource(CalculationEngine.class)
+    void projectedRowsCarryOnlyTheRequestedFields(CalculationEngine engine) {
+        List<MortgageInputDto> loans = List.of(
+            loan(MortgageType.FIXED, BuydownType.THREE_TWO_ONE, PaymentFrequency.MONTHLY, "150"),
+            loan(MortgageType.FIXED, BuydownType.NONE, PaymentFrequency.BI_WEEKLY, null),
+            loan(MortgageType.INTEREST_ONLY, BuydownType.NONE, PaymentFrequency.MONTHLY, null));
+        List<Set<ScheduleField>> projections = List.of(
+            EnumSet.of(ScheduleField.REMAINING_BALANCE),
+            EnumSet.of(ScheduleField.PAYMENT_NUMBER, ScheduleField.INTEREST_SAVED),
+            EnumSet.complementOf(EnumSet.of(ScheduleField.PAYMENT_DATE, ScheduleField.INTEREST_SAVED)));
+
+        for (MortgageInputDto loan : loans) {
+            MortgageCalculationDto full = service.calculateMortgage(loan, new CalculationOptions(engine, DetailLevel.FULL));
+            for (Set<ScheduleField> fields : projections) {
+                MortgageCalculationDto projected = service.calculateMortgage(loan,
+                    new CalculationOptions(engine, DetailLevel.FULL, fields));
+
+                assertThat(projected.totalInterest()).isEqualByComparingTo(full.totalInterest());
+                assertThat(projected.monthlyPayment()).isEqualByComparingTo(full.monthlyPayment());
+                assertThat(projected.summary().payoffDate()).isEqualTo(full.summary().payoffDate());
+                assertThat(projected.amortizationSchedule()).hasSameSizeAs(full.amortizationSchedule());
+                for (int row = 0; row < full.amortizationSchedule().size(); row++) {
+                    assertThat(projected.amortizationSchedule().get(row)).as("%s row %d of %s", fields, row, loan)
+                        .isEqualTo(project(full.amortizationSchedule().get(row), fields));
+                }
+            }
+        }
+    }
+
+    private static AmortizationEntryDto project(AmortizationEntryDto entry, Set<ScheduleField> fields) {
+        return new AmortizationEntryDto(
+            fields.contains(ScheduleField.PAYMENT_NUMBER) ? entry.paymentNumber() : null,
+            fields.contains(ScheduleField.PAYMENT_DATE) ? entry.paymentDate() : null,
+            fields.contains(ScheduleField.PRINCIPAL_PAYMENT) ? entry.principalPayment() : null,
+            fields.contains(ScheduleField.INTEREST_PAYMENT) ? entry.interestPayment() : null,
+            fields.contains(ScheduleField.ADDITIONAL_PRINCIPAL_PAYMENT) ? entry.additionalPrincipalPayment() : null,
+            fields.contains(ScheduleField.REGULAR_PAYMENT) ? entry.regularPayment() : null,
+            fields.contains(ScheduleField.TOTAL_PAYMENT) ? entry.totalPayment() : null,
+            fields.contains(ScheduleField.REMAINING_BALANCE) ? entry.remainingBalance() : null,
+            fields.contains(ScheduleField.INTEREST_RATE) ? entry.interestRate() : null,
+            fields.contains(ScheduleField.INTEREST_SAVED) ? entry.interestSaved() : null);
+    }
+
+    private static MortgageInputDto loan(MortgageType type, BuydownType buydown, PaymentFrequency frequency, String extra) {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        return new MortgageInputDto(new BigDecimal("325000"), new BigDecimal("6.875"), 30, null, null, type, frequency,
+            buydown, extra != null ? new BigDecimal(extra) : null, AdditionalPaymentFrequency.MONTHLY, start);
+    }
+}
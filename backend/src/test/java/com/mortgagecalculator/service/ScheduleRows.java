@@ -0,0 +1,28 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Schedule rows compared by value, so an amount of 0.00 from one engine equals 0 from another
+ */
+final class ScheduleRows {
+
+    private ScheduleRows() {
+    }
+
+    static List<AmortizationEntryDto> byValue(List<AmortizationEntryDto> rows) {
+        return rows.stream()
+            .map(row -> new AmortizationEntryDto(row.paymentNumber(), row.paymentDate(),
+                strip(row.principalPayment()), strip(row.interestPayment()), strip(row.additionalPrincipalPayment()),
+                strip(row.regularPayment()), strip(row.totalPayment()), strip(row.remainingBalance()),
+                strip(row.interestRate()), strip(row.interestSaved())))
+            .toList();
+    }
+
+    private static BigDecimal strip(BigDecimal amount) {
+        return amount != null ? amount.stripTrailingZeros() : null;
+    }
+}
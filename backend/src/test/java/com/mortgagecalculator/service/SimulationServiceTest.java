@@ -0,0 +1,194 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.dto.PercentilesDto;
+import com.mortgagecalculator.dto.SimulationRequestDto;
+import com.mortgagecalculator.dto.SimulationResultDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.enums.RateModel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Monte Carlo simulation: reproducible by seed, exact when nothing is random, and distributed as the
+ * rate model says
+ */
+class SimulationServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void seedGivesTheSameResultOnOneThreadAndOnFour() {
+        for (RateModel model : RateModel.values()) {
+            SimulationRequestDto request = new SimulationRequestDto(loan("100"), model, 5_000, 12, null, null,
+                new BigDecimal("1.5"), 42L);
+
+            SimulationResultDto single = service(1, historicalFile()).simulate(request);
+            SimulationResultDto parallel = service(4, historicalFile()).simulate(request);
+
+            assertThat(parallel).as("%s", model).isEqualTo(single);
+            assertThat(single.totalInterest().p5()).as("%s", model).isLessThan(single.totalInterest().p95());
+        }
+    }
+
+    @Test
+    void zeroVolatilityIsTheFixedRateLoan() {
+        SimulationResultDto result = service(2, null).simulate(new SimulationRequestDto(loan(null), RateModel.VASICEK,
+            2_000, 12, null, null, BigDecimal.ZERO, 7L));
+
+        MortgageInputDto fixed = new MortgageInputDto(new BigDecimal("400000"), new BigDecimal("6"), 30, null, null,
+            MortgageType.FIXED, PaymentFrequency.MONTHLY, BuydownType.NONE, null, AdditionalPaymentFrequency.MONTHLY,
+            START);
+        MortgageCalculationDto expected = TestServices.uncachedCalculationService().calculateMortgage(fixed,
+            new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.SUMMARY));
+
+        // Every path holds the long-run rate, which defaults to the loan's own
+        assertSinglePoint(result.finalRate(), new BigDecimal("6"), BigDecimal.ZERO);
+        assertSinglePoint(result.maxPayment(), expected.monthlyPayment(), new BigDecimal("0.01"));
+        assertThat(result.initialPayment()).isEqualByComparingTo(expected.monthlyPayment());
+        // The simulation carries amounts unrounded; the schedule rounds each of 360 payments to the cent
+        assertSinglePoint(result.totalInterest(), expected.totalInterest(), new BigDecimal("3.60"));
+    }
+
+    @Test
+    void vasicekFinalRatesFollowTheClosedForm() {
+        double speed = 0.15;
+        double mean = 5;
+        double volatility = 0.8;
+        SimulationResultDto result = service(4, null).simulate(new SimulationRequestDto(loan(null), RateModel.VASICEK,
+            50_000, 12, BigDecimal.valueOf(speed), BigDecimal.valueOf(mean), BigDecimal.valueOf(volatility), 2026L));
+
+        // The last reset of 360 monthly payments is at payment 349, 29 years of monthly steps from 6%
+        double years = 29;
+        double expectedMean = mean + (6 - mean) * Math.exp(-speed * years);
+        double deviation = volatility * Math.sqrt((1 - Math.exp(-2 * speed * years)) / (2 * speed));
+        double z95 = 1.6448536;
+        PercentilesDto finalRate = result.finalRate();
+
+        // Three standard errors of each sample statistic over 50,000 paths
+        assertThat(finalRate.mean().doubleValue()).isCloseTo(expectedMean, offset(0.025));
+        assertThat(finalRate.p50().doubleValue()).isCloseTo(expectedMean, offset(0.025));
+        assertThat(finalRate.p5().doubleValue()).isCloseTo(expectedMean - z95 * deviation, offset(0.045));
+        assertThat(finalRate.p95().doubleValue()).isCloseTo(expectedMean + z95 * deviation, offset(0.045));
+    }
+
+    @Test
+    void historicalRatesSkipHeaderCommentsAndBlankLines() throws IOException {
+        Path file = Files.writeString(directory.resolve("rates.csv"), """
+            # Freddie Mac monthly averages
+            date,ratePercent
+            2024-01,6.50
+
+            2024-02, 6.75
+            # revised
+            2024-03,6.25,provisional
+            2024-04,6.25
+            """);
+
+        assertThat(SimulationService.loadMonthlyChanges(file))
+            .containsExactly(new double[] { 0.0025, -0.005, 0 }, offset(1e-12));
+    }
+
+    @Test
+    void malformedHistoricalRatesAreRejectedWithTheLine() throws IOException {
+        Path malformed = Files.writeString(directory.resolve("malformed.csv"), """
+            date,ratePercent
+            2024-01,6.50
+            2024-02,6.75
+            2024-03
+            """);
+        Path single = Files.writeString(directory.resolve("single.csv"), "2024-01,6.50\n");
+
+        assertThatThrownBy(() -> SimulationService.loadMonthlyChanges(malformed))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Malformed rate on line 4 of " + malformed);
+        assertThatThrownBy(() -> SimulationService.loadMonthlyChanges(single))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Historical rates in " + single + " need at least two observations");
+    }
+
+    @Test
+    void badHistoricalRatesFileStopsTheServiceFromStarting() throws IOException {
+        Path malformed = Files.writeString(directory.resolve("malformed.csv"), "2024-01,6.50\n2024-02,n/a\n");
+
+        assertThatThrownBy(() -> service(1, malformed))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("line 2");
+        assertThatThrownBy(() -> service(1, directory.resolve("missing.csv")))
+            .hasMessageContaining("Cannot read historical rates");
+    }
+
+    @Test
+    void historicalModelNeedsAConfiguredFile() {
+        SimulationRequestDto request = new SimulationRequestDto(loan(null), RateModel.HISTORICAL, 10, 12, null,
+            null, null, 1L);
+
+        assertThatThrownBy(() -> service(1, null).simulate(request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("app.mortgage.simulation.historical-rates");
+    }
+
+    private Path historicalFile() {
+        try {
+            return Files.writeString(directory.resolve("history.csv"), """
+                date,ratePercent
+                2023-01,6.27
+                2023-02,6.26
+                2023-03,6.54
+                2023-04,6.34
+                2023-05,6.43
+                2023-06,6.71
+                2023-07,6.84
+                2023-08,7.07
+                2023-09,7.20
+                2023-10,7.62
+                2023-11,7.44
+                2023-12,6.82
+                """);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SimulationService service(int parallelism, Path historicalRates) {
+        MortgageProperties properties = new MortgageProperties();
+        properties.getSimulation().setParallelism(parallelism);
+        if (historicalRates != null) {
+            properties.getSimulation().setHistoricalRates(historicalRates.toString());
+        }
+        return new SimulationService(properties);
+    }
+
+    private static void assertSinglePoint(PercentilesDto percentiles, BigDecimal expected, BigDecimal tolerance) {
+        for (BigDecimal value : new BigDecimal[] { percentiles.p5(), percentiles.p50(), percentiles.p95(), percentiles.mean() }) {
+            assertThat(value).isCloseTo(expected, within(tolerance));
+        }
+    }
+
+    private static MortgageInputDto loan(String extra) {
+        return new MortgageInputDto(new BigDecimal("400000"), new BigDecimal("6"), 30, null, null,
+            MortgageType.VARIABLE, PaymentFrequency.MONTHLY, BuydownType.NONE, extra != null ? new BigDecimal(extra) : null,
+            AdditionalPaymentFrequency.MONTHLY, START);
+    }
+}
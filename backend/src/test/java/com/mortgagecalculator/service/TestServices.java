@@ -0,0 +1,28 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Services wired by hand, without a Spring context
+ */
+final class TestServices {
+
+    private TestServices() {
+    }
+
+    static MortgageCalculationService calculationService(MortgageProperties properties) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new MortgageCalculationService(properties, new AnnuityFactorCache(properties, registry),
+            new CalculationResultCache(properties, registry), new CalculationIndex(properties));
+    }
+
+    /**
+     * A calculation service without the result cache, so every call computes
+     */
+    static MortgageCalculationService uncachedCalculationService() {
+        MortgageProperties properties = new MortgageProperties();
+        properties.getResultCache().setEnabled(false);
+        return calculationService(properties);
+    }
+}
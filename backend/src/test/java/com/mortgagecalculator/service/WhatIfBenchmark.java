@@ -0,0 +1,70 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.MicroBenchmark;
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.dto.WhatIfRequestDto;
+import com.mortgagecalculator.dto.WhatIfResultDto;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What-if recalculations adding monthly extra principal to a 50-year weekly loan (2600 payments), resumed
+ * from the base schedule's checkpoints, against a full long-cents calculation of the changed loan. Run
+ * with {@code mvn test -Dtest=WhatIfBenchmark}.
+ */
+class WhatIfBenchmark {
+
+    private static final String BASE_ID = "calc_whatifbenchmark";
+
+    @Test
+    void resumedRecalculationAgainstFullCalculation() {
+        MortgageProperties properties = new MortgageProperties();
+        properties.getResultCache().setEnabled(false);
+        MortgageCalculationService calculationService = TestServices.calculationService(properties);
+        CalculationIndex index = new CalculationIndex(properties);
+        WhatIfService service = new WhatIfService(properties, index, calculationService);
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        MortgageInputDto base = new MortgageInputDto(new BigDecimal("450000"), new BigDecimal("6.25"), 50, null, null,
+            MortgageType.FIXED, PaymentFrequency.WEEKLY, BuydownType.TWO_ONE, null,
+            AdditionalPaymentFrequency.MONTHLY, start).canonicalize(start);
+        index.registerCalculation(BASE_ID, base);
+        MortgageInputDto changed = new MortgageInputDto(base.loanAmount(), base.interestRate(), base.loanTermYears(),
+            null, null, base.mortgageType(), base.paymentFrequency(), base.buydownType(), new BigDecimal("150"),
+            base.additionalPaymentFrequency(), start).canonicalize(start);
+        CalculationOptions full = new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL);
+
+        WhatIfRequestDto fromStart = new WhatIfRequestDto(BASE_ID, 1, new BigDecimal("150"), null);
+        WhatIfRequestDto early = new WhatIfRequestDto(BASE_ID, 2, new BigDecimal("150"), null);
+        WhatIfRequestDto late = new WhatIfRequestDto(BASE_ID, 2400, new BigDecimal("150"), null);
+        WhatIfResultDto resumed = service.recalculate(fromStart).orElseThrow();
+        assertThat(resumed.totalInterest())
+            .isEqualByComparingTo(calculationService.calculateMortgage(changed, full).totalInterest());
+
+        int[] selected = new int[1];
+        MicroBenchmark.Result[] results = MicroBenchmark.compare(
+            new String[] { "full long-cents calculation", "what-if from payment 2", "what-if from payment 2400" },
+            variant -> selected[0] = variant,
+            () -> switch (selected[0]) {
+                case 0 -> calculationService.calculateMortgage(changed, full).amortizationSchedule().size();
+                case 1 -> service.recalculate(early).orElseThrow().entries().size();
+                default -> service.recalculate(late).orElseThrow().entries().size();
+            });
+
+        System.out.printf("what-if / full: from payment 2 %.2fx, from payment 2400 %.3fx%n",
+            results[1].nanosPerOperation() / results[0].nanosPerOperation(),
+            results[2].nanosPerOperation() / results[0].nanosPerOperation());
+        assertThat(results[2].nanosPerOperation()).isLessThan(results[0].nanosPerOperation() / 5);
+    }
+}
@@ -0,0 +1,145 @@
+package com.mortgagecalculator.service;
+
+import com.mortgagecalculator.config.MortgageProperties;
+import com.mortgagecalculator.dto.AmortizationEntryDto;
+import com.mortgagecalculator.dto.MortgageCalculationDto;
+import com.mortgagecalculator.dto.MortgageInputDto;
+import com.mortgagecalculator.dto.WhatIfRequestDto;
+import com.mortgagecalculator.dto.WhatIfResultDto;
+import com.mortgagecalculator.engine.CentsMath;
+import com.mortgagecalculator.engine.LongCentsAmortizationEngine;
+import com.mortgagecalculator.enums.AdditionalPaymentFrequency;
+import com.mortgagecalculator.enums.CalculationEngine;
+import com.mortgagecalculator.enums.DetailLevel;
+import com.mortgagecalculator.model.BuydownType;
+import com.mortgagecalculator.model.MortgageType;
+import com.mortgagecalculator.model.PaymentFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * What-if results resumed from checkpoints must be the schedule a calculation from scratch gives
+ */
+class WhatIfServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final CalculationOptions BIG_DECIMAL = new CalculationOptions(CalculationEngine.BIG_DECIMAL, DetailLevel.FULL);
+
+    private final MortgageProperties properties = new MortgageProperties();
+    private final MortgageCalculationService calculationService = TestServices.uncachedCalculationService();
+    private final CalculationIndex index = new CalculationIndex(properties);
+    private final WhatIfService service = new WhatIfService(properties, index, calculationService);
+
+    @Test
+    void changeFromTheFirstPaymentIsTheFullCalculationOfTheChangedLoan() {
+        List<MortgageInputDto> bases = List.of(
+            loan("400000", "6.5", 30, PaymentFrequency.MONTHLY, BuydownType.THREE_TWO_ONE, "100", AdditionalPaymentFrequency.MONTHLY),
+            loan("275000.25", "7.125", 25, PaymentFrequency.BI_WEEKLY, BuydownType.NONE, null, AdditionalPaymentFrequency.QUARTERLY),
+            loan("650000", "5.75", 40, PaymentFrequency.WEEKLY, BuydownType.TWO_ONE, "50", AdditionalPaymentFrequency.MONTHLY));
+
+        for (MortgageInputDto base : bases) {
+            String id = register(base);
+            for (String extra : new String[] { "0", "275.50", "2500" }) {
+                WhatIfResultDto result = service.recalculate(new WhatIfRequestDto(id, 1, new BigDecimal(extra), null))
+                    .orElseThrow();
+                MortgageCalculationDto expected = calculationService.calculateMortgage(withExtra(base, extra), BIG_DECIMAL);
+
+                assertThat(ScheduleRows.byValue(result.entries())).isEqualTo(ScheduleRows.byValue(expected.amortizationSchedule()));
+                assertThat(result.totalInterest()).isEqualByComparingTo(expected.totalInterest());
+                assertThat(result.payoffDate()).isEqualTo(expected.summary().payoffDate());
+                assertThat(result.payoffPaymentNumber()).isEqualTo(expected.amortizationSchedule().size());
+            }
+        }
+    }
+
+    @Test
+    void resumingFromACheckpointMatchesAReplayFromTheStart() {
+        MortgageInputDto base = loan("525000", "6.875", 30, PaymentFrequency.BI_WEEKLY, BuydownType.TWO_ONE, "150",
+            AdditionalPaymentFrequency.MONTHLY);
+        String id = register(base);
+        List<AmortizationEntryDto> baseRows = calculationService.calculateMortgage(base,
+            new CalculationOptions(CalculationEngine.LONG_CENTS, DetailLevel.FULL)).amortizationSchedule();
+        LongCentsAmortizationEngine.Plan basePlan = calculationService.planFor(base);
+
+        Random random = new Random(16);
+        for (int i = 0; i < 40; i++) {
+            int fromPayment = 1 + random.nextInt(baseRows.size());
+            BigDecimal extra = BigDecimal.valueOf(random.nextInt(300_000), 2);
+            BigDecimal lumpSum = random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(5_000_000), 2) : null;
+            WhatIfResultDto result = service.recalculate(new WhatIfRequestDto(id, fromPayment, extra, lumpSum))
+                .orElseThrow();
+
+            // Every payment stepped from the start: the base plan before the change, the changed plan after
+            LongCentsAmortizationEngine.Plan changed = basePlan.withExtraCents(CentsMath.toCents(extra));
+            if (lumpSum != null && lumpSum.signum() > 0) {
+                changed = changed.withLumpSum(fromPayment, CentsMath.toCents(lumpSum));
+            }
+            LongCentsAmortizationEngine.State state = basePlan.initialState();
+            List<AmortizationEntryDto> prefix = LongCentsAmortizationEngine.generateRows(basePlan, state, fromPayment - 1);
+            List<AmortizationEntryDto> rest = LongCentsAmortizationEngine.generateRows(changed, state, changed.totalPayments());
+
+            assertThat(ScheduleRows.byValue(prefix)).isEqualTo(ScheduleRows.byValue(baseRows.subList(0, fromPayment - 1)));
+            assertThat(ScheduleRows.byValue(result.entries())).isEqualTo(ScheduleRows.byValue(rest));
+            assertThat(result.entries().get(0).paymentNumber()).isEqualTo(fromPayment);
+            assertThat(result.totalInterest()).isEqualByComparingTo(CentsMath.toMoney(state.getTotalInterest()));
+            assertThat(result.payoffPaymentNumber()).isEqualTo(state.getPaymentNumber());
+        }
+    }
+
+    @Test
+    void lumpSumWithTheFirstPaymentIsAOneTimeExtraPayment() {
+        MortgageInputDto base = loan("350000", "6.25", 30, PaymentFrequency.MONTHLY, BuydownType.THREE_TWO_ONE, null,
+            AdditionalPaymentFrequency.MONTHLY);
+        String id = register(base);
+
+        WhatIfResultDto result = service.recalculate(new WhatIfRequestDto(id, 1, null, new BigDecimal("40000")))
+            .orElseThrow();
+        MortgageInputDto oneTime = new MortgageInputDto(base.loanAmount(), base.interestRate(), base.loanTermYears(),
+            null, null, base.mortgageType(), base.paymentFrequency(), base.buydownType(), new BigDecimal("40000"),
+            AdditionalPaymentFrequency.ONE_TIME, START).canonicalize(START);
+        MortgageCalculationDto expected = calculationService.calculateMortgage(oneTime, BIG_DECIMAL);
+
+        assertThat(ScheduleRows.byValue(result.entries())).isEqualTo(ScheduleRows.byValue(expected.amortizationSchedule()));
+        assertThat(result.totalInterest()).isEqualByComparingTo(expected.totalInterest());
+        assertThat(result.paymentsSavedVsBase()).isPositive();
+    }
+
+    @Test
+    void changeAfterTheBaseScheduleEndsIsRejected() {
+        MortgageInputDto base = loan("200000", "6", 15, PaymentFrequency.MONTHLY, BuydownType.NONE, "500",
+            AdditionalPaymentFrequency.MONTHLY);
+        String id = register(base);
+        int lastPayment = calculationService.calculateMortgage(base, BIG_DECIMAL).amortizationSchedule().size();
+
+        assertThatThrownBy(() -> service.recalculate(new WhatIfRequestDto(id, lastPayment + 1, BigDecimal.ONE, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The base schedule ends at payment " + lastPayment);
+        assertThat(service.recalculate(new WhatIfRequestDto("calc_unknown", 1, BigDecimal.ONE, null))).isEmpty();
+    }
+
+    private String register(MortgageInputDto base) {
+        String id = "calc_" + Integer.toHexString(base.hashCode());
+        index.registerCalculation(id, base);
+        return id;
+    }
+
+    private static MortgageInputDto withExtra(MortgageInputDto base, String extra) {
+        return new MortgageInputDto(base.loanAmount(), base.interestRate(), base.loanTermYears(), null, null,
+            base.mortgageType(), base.paymentFrequency(), base.buydownType(), new BigDecimal(extra),
+            base.additionalPaymentFrequency(), START).canonicalize(START);
+    }
+
+    private static MortgageInputDto loan(String amount, String rate, int termYears, PaymentFrequency frequency,
+            BuydownType buydown, String extra, AdditionalPaymentFrequency extraFrequency) {
+        return new MortgageInputDto(new BigDecimal(amount), new BigDecimal(rate), termYears, null, null,
+            MortgageType.FIXED, frequency, buydown, extra != null ? new BigDecimal(extra) : null, extraFrequency, START)
+            .canonicalize(START);
+    }
+}
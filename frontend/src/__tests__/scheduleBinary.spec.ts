@@ -0,0 +1,60 @@
+// @vitest-environment node
+import { readFileSync } from 'node:fs'
+import { describe, it, expect } from 'vitest'
+
+import { decodeCalculation, decodeComparison } from '@/services/scheduleBinary'
+
+// Each fixture is a binary response and the JSON response for the same result, both written by the
+// backend's BinaryCalculationWriterTest; regenerate them there when the format changes
+const fixture = (name: string, extension: string): Buffer =>
+  readFileSync(new URL(`./fixtures/${name}.${extension}`, import.meta.url))
+
+const binary = (name: string): ArrayBuffer => {
+  const bytes = fixture(name, 'bin')
+  return bytes.buffer.slice(bytes.byteOffset, bytes.byteOffset + bytes.byteLength) as ArrayBuffer
+}
+
+const json = (name: string): unknown => JSON.parse(fixture(name, 'json').toString('utf8'))
+
+describe('scheduleBinary', () => {
+  it('decodes a full long-cents schedule as the JSON response', () => {
+    const calculation = decodeCalculation(binary('long-cents-full'))
+    expect(calculation).toEqual(json('long-cents-full'))
+    const schedule = calculation.amortizationSchedule
+    expect(schedule[schedule.length - 1].remainingBalance).toBe(0)
+  })
+
+  it('decodes sub-cent BigDecimal amounts without rounding them', () => {
+    const calculation = decodeCalculation(binary('big-decimal-sub-cent'))
+    expect(calculation).toEqual(json('big-decimal-sub-cent'))
+    const subCent = (amount: number): boolean => (String(amount).split('.')[1] ?? '').length > 2
+    expect(calculation.amortizationSchedule.some((entry) => subCent(entry.totalPayment))).toBe(true)
+  })
+
+  it('decodes a projected schedule with only the requested fields', () => {
+    const calculation = decodeCalculation(binary('projected'))
+    expect(calculation).toEqual(json('projected'))
+    expect(Object.keys(calculation.amortizationSchedule[0])).toEqual([
+      'paymentNumber',
+      'totalPayment',
+      'remainingBalance',
+      'interestRate',
+      'interestSaved'
+    ])
+  })
+
+  it('decodes a comparison with a schedule for each mortgage', () => {
+    const comparison = decodeComparison(binary('comparison'))
+    expect(comparison).toEqual(json('comparison'))
+    expect(comparison.mortgages).toHaveLength(2)
+  })
+
+  it('rejects data that is not a binary schedule response', () => {
+    expect(() => decodeCalculation(new TextEncoder().encode('{"monthlyPayment":1}').buffer)).toThrow(
+      'Not a binary schedule response'
+    )
+    const full = binary('long-cents-full')
+    const truncated = full.slice(0, full.byteLength - 10)
+    expect(() => decodeCalculation(truncated)).toThrow('Truncated schedule data')
+  })
+})
@@ -1,10 +1,12 @@
-import axios from 'axios'
+import axios, { type AxiosResponse } from 'axios'
 import type { 
   MortgageInput, 
   MortgageCalculation, 
   MortgageComparison,
+  SchedulePage,
   ExportRequest 
 } from '@/types/mortgage'
+import { SCHEDULE_BINARY_MEDIA_TYPE, decodeCalculation, decodeComparison } from './scheduleBinary'
 
 // Runtime configuration for Azure Container Apps
 const getApiBaseUrl = (): string => {
@@ -48,12 +50,41 @@ apiClient.interceptors.response.use(
   }
 )
 
+// Ask for the binary schedule format, accepting JSON from servers that do not offer it
+const binaryRequest = {
+  headers: { Accept: `${SCHEDULE_BINARY_MEDIA_TYPE}, application/json` },
+  responseType: 'arraybuffer' as const
+}
+
+const decodeResponse = <T>(response: AxiosResponse<ArrayBuffer>, decodeBinary: (buffer: ArrayBuffer) => T): T => {
+  const contentType = String(response.headers['content-type'] ?? '')
+  if (contentType.startsWith(SCHEDULE_BINARY_MEDIA_TYPE)) {
+    return decodeBinary(response.data)
+  }
+  return JSON.parse(new TextDecoder().decode(response.data)) as T
+}
+
 export class MortgageApiService {
   /**
    * Calculate mortgage details and amortization schedule
    */
   static async calculateMortgage(input: MortgageInput): Promise<MortgageCalculation> {
-    const response = await apiClient.post<MortgageCalculation>('/mortgage/calculate', input)
+    const response = await apiClient.post<ArrayBuffer>('/mortgage/calculate', input, binaryRequest)
+    return decodeResponse(response, decodeCalculation)
+  }
+
+  /**
+   * Fetch one window of the amortization schedule; pass the previous page's nextCursor to continue
+   */
+  static async getSchedulePage(
+    input: MortgageInput,
+    from: number = 1,
+    limit: number = 120,
+    cursor?: string | null
+  ): Promise<SchedulePage> {
+    const response = await apiClient.post<SchedulePage>('/mortgage/schedule', input, {
+      params: { from, limit, cursor: cursor ?? undefined }
+    })
     return response.data
   }
 
@@ -61,8 +92,8 @@ export class MortgageApiService {
    * Compare multiple mortgages
    */
   static async compareMortgages(mortgages: MortgageInput[]): Promise<MortgageComparison> {
-    const response = await apiClient.post<MortgageComparison>('/mortgage/compare', { mortgages })
-    return response.data
+    const response = await apiClient.post<ArrayBuffer>('/mortgage/compare', { mortgages }, binaryRequest)
+    return decodeResponse(response, decodeComparison)
   }
 
   /**
@@ -0,0 +1,226 @@
+import type { AmortizationEntry, MortgageCalculation, MortgageComparison } from '@/types/mortgage'
+
+/**
+ * Decoder for the compact binary responses of /mortgage/calculate and /mortgage/compare
+ * (see BinaryCalculationWriter on the backend for the layout). The result has exactly the
+ * shape of the JSON response, and every amount is the same number JSON.parse would give.
+ */
+export const SCHEDULE_BINARY_MEDIA_TYPE = 'application/vnd.mortgage.schedule+binary'
+
+const MAGIC = 'MCS1'
+const DAY_MS = 86_400_000
+
+// Row fields in the order of the backend's ScheduleField, whose ordinal is the field's bit
+const FIELDS = [
+  'paymentNumber',
+  'paymentDate',
+  'principalPayment',
+  'interestPayment',
+  'additionalPrincipalPayment',
+  'regularPayment',
+  'totalPayment',
+  'remainingBalance',
+  'interestRate',
+  'interestSaved'
+] as const
+
+type ScheduleField = (typeof FIELDS)[number]
+
+class Reader {
+  private readonly bytes: Uint8Array
+  private offset = 0
+
+  constructor(buffer: ArrayBuffer) {
+    this.bytes = new Uint8Array(buffer)
+  }
+
+  /** Unsigned LEB128; arithmetic rather than bit operations so values up to 2^53 survive */
+  varint(): number {
+    let value = 0
+    let multiplier = 1
+    for (;;) {
+      if (this.offset >= this.bytes.length) {
+        throw new Error('Truncated schedule data')
+      }
+      const byte = this.bytes[this.offset++]
+      value += (byte & 0x7f) * multiplier
+      if (byte < 0x80) {
+        return value
+      }
+      multiplier *= 128
+    }
+  }
+
+  /** Zigzag-decoded varint */
+  signed(): number {
+    const value = this.varint()
+    return value % 2 === 0 ? value / 2 : -(value + 1) / 2
+  }
+
+  text(length: number): string {
+    const slice = this.bytes.subarray(this.offset, this.offset + length)
+    this.offset += length
+    return new TextDecoder().decode(slice)
+  }
+}
+
+const isoDate = (epochDay: number): string => new Date(epochDay * DAY_MS).toISOString().slice(0, 10)
+
+const readDeltas = (reader: Reader, rows: number): number[] => {
+  const values = new Array<number>(rows)
+  let value = 0
+  for (let row = 0; row < rows; row++) {
+    value += reader.signed()
+    values[row] = value
+  }
+  return values
+}
+
+const readRuns = (reader: Reader, rows: number): number[] => {
+  const values = new Array<number>(rows)
+  const runs = reader.varint()
+  let row = 0
+  let value = 0
+  for (let run = 0; run < runs; run++) {
+    const length = reader.varint()
+    value += reader.signed()
+    values.fill(value, row, row + length)
+    row += length
+  }
+  return values
+}
+
+const readDates = (reader: Reader, rows: number): string[] => {
+  const first = reader.signed()
+  const dates = new Array<string>(rows)
+  dates[0] = isoDate(first)
+  if (reader.varint() === 0) {
+    const step = reader.signed()
+    for (let row = 1; row < rows; row++) {
+      dates[row] = isoDate(first + step * row)
+    }
+  } else {
+    for (let row = 1, day = first; row < rows; row++) {
+      day += reader.signed()
+      dates[row] = isoDate(day)
+    }
+  }
+  return dates
+}
+
+const readRates = (reader: Reader, rows: number): number[] => {
+  const rates = new Array<number>(rows)
+  const runs = reader.varint()
+  for (let run = 0, row = 0; run < runs; run++) {
+    const length = reader.varint()
+    const unscaled = reader.signed()
+    const scale = reader.signed()
+    rates.fill(scale >= 0 ? unscaled / 10 ** scale : unscaled * 10 ** -scale, row, row + length)
+    row += length
+  }
+  return rates
+}
+
+/**
+ * Rows carry only the fields the schedule was projected onto, in the JSON response's order
+ */
+const readSchedule = (reader: Reader): AmortizationEntry[] => {
+  const rows = reader.varint()
+  if (rows === 0) {
+    return []
+  }
+  const fields = reader.varint()
+  const has = (field: ScheduleField): boolean => (fields & (1 << FIELDS.indexOf(field))) !== 0
+  const divisor = 10 ** reader.varint()
+  const columns: Partial<Record<ScheduleField, (number | string)[]>> = {}
+
+  if (has('paymentNumber')) {
+    const first = reader.varint()
+    columns.paymentNumber = Array.from({ length: rows }, (_, row) => first + row)
+  }
+  if (has('paymentDate')) {
+    columns.paymentDate = readDates(reader, rows)
+  }
+  const principal = has('principalPayment') ? readDeltas(reader, rows) : null
+  const interest = has('interestPayment') ? readDeltas(reader, rows) : null
+  const regular = has('regularPayment') ? readRuns(reader, rows) : null
+  const additional = has('additionalPrincipalPayment') ? readRuns(reader, rows) : null
+  let total: number[] | null = null
+  if (has('totalPayment')) {
+    total = regular && additional ? regular.map((value, row) => value + additional[row]) : readRuns(reader, rows)
+  }
+  if (has('interestRate')) {
+    columns.interestRate = readRates(reader, rows)
+  }
+  let balance: number[] | null = null
+  if (has('remainingBalance')) {
+    if (principal && additional) {
+      balance = new Array<number>(rows)
+      let previous = reader.signed()
+      for (let row = 0; row < rows; row++) {
+        previous = previous - principal[row] - additional[row] - reader.signed()
+        balance[row] = previous
+      }
+    } else {
+      balance = readDeltas(reader, rows)
+    }
+  }
+  let saved: number[] | null = null
+  if (has('interestSaved')) {
+    saved = reader.varint() === 1 ? readDeltas(reader, rows) : new Array<number>(rows).fill(0)
+  }
+
+  const amounts: [ScheduleField, number[] | null][] = [
+    ['principalPayment', principal],
+    ['interestPayment', interest],
+    ['additionalPrincipalPayment', additional],
+    ['regularPayment', regular],
+    ['totalPayment', total],
+    ['remainingBalance', balance],
+    ['interestSaved', saved]
+  ]
+  for (const [field, values] of amounts) {
+    if (values) {
+      columns[field] = values.map((value) => value / divisor)
+    }
+  }
+
+  const present = FIELDS.filter((field) => columns[field])
+  const schedule = new Array<AmortizationEntry>(rows)
+  for (let row = 0; row < rows; row++) {
+    const entry: Record<string, number | string> = {}
+    for (const field of present) {
+      entry[field] = columns[field]![row]
+    }
+    schedule[row] = entry as unknown as AmortizationEntry
+  }
+  return schedule
+}
+
+const readEnvelope = <T>(buffer: ArrayBuffer): { header: T; schedules: AmortizationEntry[][] } => {
+  const reader = new Reader(buffer)
+  if (reader.text(MAGIC.length) !== MAGIC) {
+    throw new Error('Not a binary schedule response')
+  }
+  const header = JSON.parse(reader.text(reader.varint())) as T
+  const count = reader.varint()
+  const schedules: AmortizationEntry[][] = []
+  for (let i = 0; i < count; i++) {
+    schedules.push(readSchedule(reader))
+  }
+  return { header, schedules }
+}
+
+export const decodeCalculation = (buffer: ArrayBuffer): MortgageCalculation => {
+  const { header, schedules } = readEnvelope<MortgageCalculation>(buffer)
+  header.amortizationSchedule = schedules[0] ?? []
+  return header
+}
+
+export const decodeComparison = (buffer: ArrayBuffer): MortgageComparison => {
+  const { header, schedules } = readEnvelope<MortgageComparison>(buffer)
+  header.mortgages.forEach((mortgage, i) => {
+    mortgage.amortizationSchedule = schedules[i] ?? []
+  })
+  return header
+}
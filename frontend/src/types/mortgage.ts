@@ -9,6 +9,7 @@ export interface MortgageInput {
   buydownType?: BuydownType
   additionalPrincipalPayment?: number
   additionalPaymentFrequency?: AdditionalPaymentFrequency
+  startDate?: string
 }
 
 export interface AmortizationEntry {
@@ -24,6 +25,14 @@ export interface AmortizationEntry {
   interestSaved: number
 }
 
+export interface SchedulePage {
+  entries: AmortizationEntry[]
+  from: number
+  totalPayments: number
+  hasMore: boolean
+  nextCursor: string | null
+}
+
 export interface MortgageCalculation {
   monthlyPayment: number
   totalInterest: number
@@ -40,6 +49,7 @@ export interface MortgageSummary {
   interestRate: number
   loanTermYears: number
   paymentFrequency: PaymentFrequency
+  payoffDate?: string
 }
 
 export interface MortgageComparison {
@@ -48,10 +58,33 @@ export interface MortgageComparison {
     bestMonthlyPayment: number
     bestTotalInterest: number
     differences: ComparisonDifference[]
+    differenceMatrix: DifferenceMatrix[]
+    bestByMetric: BestOptions[]
+    ranking: RankedOption[]
   }
   comparisonId: string
 }
 
+export interface DifferenceMatrix {
+  metric: string
+  unit: 'CURRENCY' | 'DAYS'
+  values: (number | null)[][]
+}
+
+export interface BestOptions {
+  metric: string
+  optionIndexes: number[]
+}
+
+export interface RankedOption {
+  rank: number
+  optionIndex: number
+  calculationId: string
+  totalAmountPaid: number
+  monthlyPayment: number
+  totalInterest: number
+}
+
 export interface ComparisonDifference {
   metric: string
   mortgage1: number
@@ -91,4 +124,171 @@ export interface ExportRequest {
   calculationId: string
   format: 'PDF' | 'EXCEL'
   includeChart: boolean
-}
\ No newline at end of file
+}
+
+export interface RateTermGridRequest {
+  loanAmount: number
+  interestRates: number[]
+  loanTermYears: number[]
+  paymentFrequencies?: PaymentFrequency[]
+}
+
+// Cells are flattened frequency-major, then rate, then term
+export interface RateTermGrid {
+  loanAmount: number
+  interestRates: number[]
+  loanTermYears: number[]
+  paymentFrequencies: PaymentFrequency[]
+  payments: number[]
+  totalInterest: number[]
+}
+
+export type GoalSeekTarget = 'LOAN_AMOUNT' | 'INTEREST_RATE' | 'LOAN_TERM'
+
+export interface GoalSeekRequest {
+  solveFor: GoalSeekTarget
+  targetPayment: number
+  mortgage: Partial<MortgageInput>
+}
+
+export interface GoalSeekResult {
+  solveFor: GoalSeekTarget
+  solvedValue: number
+  targetPayment: number
+  payment: number
+  residual: number
+  method: 'ANALYTIC' | 'NEWTON'
+  iterations: number
+}
+
+export interface ExtraPaymentSweepRequest {
+  mortgage: MortgageInput
+  minExtra?: number
+  maxExtra?: number
+  points?: number
+  targetTermYears?: number
+}
+
+export interface ExtraPaymentSolution {
+  targetTermYears: number
+  requiredExtra: number
+  payoffPaymentNumber: number
+  payoffDate: string
+  totalInterest: number
+}
+
+export interface ExtraPaymentSweep {
+  additionalPaymentFrequency: AdditionalPaymentFrequency
+  scheduledPayments: number
+  baselineTotalInterest: number
+  extraPayments: number[]
+  payoffPaymentNumbers: number[]
+  payoffDates: string[]
+  totalInterest: number[]
+  interestSaved: number[]
+  solution?: ExtraPaymentSolution
+}
+
+export interface WhatIfRequest {
+  baseCalculationId: string
+  fromPayment: number
+  additionalPrincipalPayment?: number
+  lumpSum?: number
+}
+
+export interface WhatIfResult {
+  baseCalculationId: string
+  fromPayment: number
+  entries: AmortizationEntry[]
+  totalInterest: number
+  totalAmountPaid: number
+  payoffPaymentNumber: number
+  payoffDate: string
+  interestSavedVsBase: number
+  paymentsSavedVsBase: number
+}
+
+export type RateModel = 'VASICEK' | 'CIR' | 'HISTORICAL'
+
+export interface SimulationRequest {
+  mortgage: MortgageInput
+  model?: RateModel
+  paths?: number
+  resetIntervalMonths?: number
+  meanReversion?: number
+  longRunRate?: number
+  volatility?: number
+  seed?: number
+}
+
+export interface Percentiles {
+  p5: number
+  p50: number
+  p95: number
+  mean: number
+}
+
+export interface SimulationResult {
+  model: RateModel
+  paths: number
+  seed: number
+  resetIntervalMonths: number
+  initialPayment: number
+  maxPayment: Percentiles
+  totalInterest: Percentiles
+  finalRate: Percentiles
+}
+
+export type ArmProduct = 'FIVE_ONE' | 'SEVEN_SIX' | 'TEN_SIX'
+
+export interface ArmRequest {
+  mortgage: MortgageInput
+  product?: ArmProduct
+  initialFixedYears?: number
+  resetIntervalMonths?: number
+  margin: number
+  initialCap?: number
+  periodicCap?: number
+  lifetimeCap?: number
+  floor?: number
+  indexRate?: number
+  lookbackDays?: number
+}
+
+export interface ArmReset {
+  paymentNumber: number
+  paymentDate: string
+  indexDate: string
+  indexRate: number
+  fullyIndexedRate: number
+  rate: number
+  payment: number
+}
+
+export interface ArmCalculation {
+  product?: ArmProduct
+  fixedPayments: number
+  resetPayments: number
+  initialPayment: number
+  maxRate: number
+  maxPayment: number
+  resets: ArmReset[]
+  totalInterest: number
+  totalAmountPaid: number
+  payoffPaymentNumber: number
+  payoffDate: string
+  amortizationSchedule: AmortizationEntry[]
+}
+
+export interface PaymentQuoteRequest {
+  loanAmounts: number[]
+  interestRates: number[]
+  loanTermYears: number[]
+  paymentFrequencies?: PaymentFrequency[]
+}
+
+export interface PaymentQuote {
+  kernel: 'VECTOR' | 'SCALAR'
+  payments: number[]
+  totalInterest: number[]
+}